@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.impl.HazelcastInstanceImpl;
+import com.hazelcast.instance.impl.HazelcastInstanceProxy;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+/**
+ * Helpers shared by the benchmarks which need a running member.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Returns the configuration of a standalone member which does not try
+     * to discover other members and does not run Jet.
+     */
+    public static Config newConfig() {
+        Config config = new Config()
+                .setClusterName("benchmark")
+                .setProperty(ClusterProperty.PHONE_HOME_ENABLED.getName(), "false");
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getJetConfig().setEnabled(false);
+        return config;
+    }
+
+    public static NodeEngineImpl getNodeEngine(HazelcastInstance instance) {
+        HazelcastInstanceImpl instanceImpl = instance instanceof HazelcastInstanceProxy proxy
+                ? proxy.getOriginal()
+                : (HazelcastInstanceImpl) instance;
+        return instanceImpl.node.getNodeEngine();
+    }
+
+    /**
+     * Returns {@code count} serialized keys, each of them starting with the
+     * given prefix, which are owned by the given partition.
+     */
+    public static Data[] keysOf(NodeEngineImpl nodeEngine, int partitionId, String prefix, int count) {
+        Data[] keys = new Data[count];
+        int found = 0;
+        for (int i = 0; found < count; i++) {
+            Data key = nodeEngine.toData(prefix + "-" + i);
+            if (nodeEngine.getPartitionService().getPartitionId(key) == partitionId) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.client;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageReader;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures encoding and decoding of a {@link MapPutCodec} request, both
+ * between the parameters and the {@link ClientMessage} and between the
+ * {@link ClientMessage} and the wire format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientMessageBenchmark {
+
+    private static final int BUFFER_SIZE = 128 * 1024;
+
+    @Param({"100", "10000"})
+    private int valueSize;
+
+    private InternalSerializationService ss;
+    private Data key;
+    private Data value;
+    private ClientMessage request;
+    private ByteBuffer buffer;
+    private ByteBuffer wireFormat;
+    private ClientMessageWriter writer;
+    private ClientMessageReader reader;
+
+    @Setup
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        key = ss.toData("key");
+        value = ss.toData(new byte[valueSize]);
+        request = MapPutCodec.encodeRequest("map", key, value, 1, -1);
+
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        writer = new ClientMessageWriter();
+        reader = new ClientMessageReader(-1);
+
+        writer.writeTo(buffer, request);
+        buffer.flip();
+        wireFormat = ByteBuffer.allocate(buffer.remaining()).put(buffer);
+        wireFormat.flip();
+        buffer.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ss.dispose();
+    }
+
+    @Benchmark
+    public ClientMessage encodeRequest() {
+        return MapPutCodec.encodeRequest("map", key, value, 1, -1);
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters decodeRequest() {
+        return MapPutCodec.decodeRequest(request);
+    }
+
+    @Benchmark
+    public boolean writeToBuffer() {
+        buffer.clear();
+        return writer.writeTo(buffer, request);
+    }
+
+    @Benchmark
+    public ClientMessage readFromBuffer() {
+        reader.reset();
+        reader.readFrom(wireFormat.duplicate(), true);
+        return reader.getClientMessage();
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters roundTrip() {
+        ClientMessage message = MapPutCodec.encodeRequest("map", key, value, 1, -1);
+        buffer.clear();
+        writer.writeTo(buffer, message);
+        buffer.flip();
+        reader.reset();
+        reader.readFrom(buffer, true);
+        return MapPutCodec.decodeRequest(reader.getClientMessage());
+    }
+}
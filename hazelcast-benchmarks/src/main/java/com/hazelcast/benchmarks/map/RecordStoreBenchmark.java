@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.map;
+
+import com.hazelcast.benchmarks.BenchmarkSupport;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.recordstore.DefaultRecordStore;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.offheap.OffHeapStorage;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures put, get and eviction directly on the {@link DefaultRecordStore}
+ * of a single partition, bypassing the operation system.
+ * <p>
+ * The record store is normally confined to its partition thread, here it is
+ * accessed by the benchmark thread only. The {@code storage} parameter selects
+ * between the default heap storage and the storages which are enabled by
+ * {@link OffHeapStorage#OFF_HEAP_STORAGE_MAPS} and
+ * {@link PackedRecordFactory#PACKED_RECORD_MAPS}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordStoreBenchmark {
+
+    private static final int PARTITION_ID = 0;
+    private static final int BOUNDED_MAP_SIZE = 1_000;
+    private static final int VALUE_SIZE = 100;
+
+    @Param({"heap", "offheap", "packed"})
+    private String storage;
+
+    @Param({"10000"})
+    private int keyCount;
+
+    private HazelcastInstance instance;
+    private RecordStore recordStore;
+    private RecordStore boundedRecordStore;
+    private Data[] keys;
+    private Data[] newKeys;
+    private Data value;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Config config = BenchmarkSupport.newConfig()
+                .setProperty(OffHeapStorage.OFF_HEAP_STORAGE_MAPS.getName(), "offheap*")
+                .setProperty(PackedRecordFactory.PACKED_RECORD_MAPS.getName(), "packed*");
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.BINARY);
+        config.getMapConfig(storage + "-bounded").setInMemoryFormat(InMemoryFormat.BINARY)
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(BOUNDED_MAP_SIZE);
+        instance = Hazelcast.newHazelcastInstance(config);
+
+        NodeEngineImpl nodeEngine = BenchmarkSupport.getNodeEngine(instance);
+        MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        recordStore = mapService.getMapServiceContext().getRecordStore(PARTITION_ID, storage + "-map");
+        boundedRecordStore = mapService.getMapServiceContext().getRecordStore(PARTITION_ID, storage + "-bounded");
+
+        keys = BenchmarkSupport.keysOf(nodeEngine, PARTITION_ID, "key", keyCount);
+        newKeys = BenchmarkSupport.keysOf(nodeEngine, PARTITION_ID, "new-key", keyCount);
+        value = nodeEngine.toData(new byte[VALUE_SIZE]);
+        for (Data key : keys) {
+            recordStore.set(key, value, UNSET, UNSET);
+            recordStore.disposeDeferredBlocks();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public Object get() {
+        return recordStore.get(nextKey(), false, null, true);
+    }
+
+    @Benchmark
+    public Object set() {
+        Object oldValue = recordStore.set(nextKey(), value, UNSET, UNSET);
+        recordStore.disposeDeferredBlocks();
+        return oldValue;
+    }
+
+    @Benchmark
+    public Object setAndEvict() {
+        Data key = newKeys[nextIndex()];
+        recordStore.set(key, value, UNSET, UNSET);
+        Object evicted = recordStore.evict(key, false);
+        recordStore.disposeDeferredBlocks();
+        return evicted;
+    }
+
+    @Benchmark
+    public Object setWithSizeBasedEviction() {
+        Data key = newKeys[nextIndex()];
+        Object oldValue = boundedRecordStore.set(key, value, UNSET, UNSET);
+        boundedRecordStore.evictEntries(key);
+        boundedRecordStore.disposeDeferredBlocks();
+        return oldValue;
+    }
+
+    private Data nextKey() {
+        return keys[nextIndex()];
+    }
+
+    private int nextIndex() {
+        int i = index;
+        index = i + 1 == keyCount ? 0 : i + 1;
+        return i;
+    }
+}
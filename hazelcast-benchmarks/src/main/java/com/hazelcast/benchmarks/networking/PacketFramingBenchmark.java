@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.networking;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.nio.NioOutboundPipeline;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.tcp.PacketDecoder;
+import com.hazelcast.internal.server.tcp.PacketEncoder;
+import com.hazelcast.internal.util.counters.SwCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures the framing of member to member packets by the
+ * {@link PacketEncoder} and the {@link PacketDecoder}.
+ * <p>
+ * The encoder is driven the way the {@link NioOutboundPipeline} drives it:
+ * it pulls the pending packets from a write queue into a buffer sized like
+ * the socket send buffer, and whenever the buffer is full it is drained as
+ * if the socket accepted all of it. No socket is involved, so the numbers
+ * exclude the system calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketFramingBenchmark {
+
+    private static final int BATCH_SIZE = 16;
+    private static final int BUFFER_SIZE = 128 * 1024;
+
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    private final Queue<Packet> writeQueue = new ArrayDeque<>();
+
+    private Packet[] packets;
+    private PacketEncoder encoder;
+    private ByteBuffer encoded;
+    private PacketDecoder decoder;
+    private ByteBuffer decoderSrc;
+    private Packet lastDecoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        packets = new Packet[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            packets[i] = new Packet(new byte[payloadSize], i);
+        }
+
+        encoder = new PacketEncoder();
+        encoder.src(writeQueue::poll);
+        encoder.dst((ByteBuffer) ByteBuffer.allocate(BUFFER_SIZE).flip());
+
+        // the encoded form of a batch is the input of the decoder
+        int batchLength = 0;
+        for (Packet packet : packets) {
+            batchLength += packet.getFrameLength();
+            writeQueue.add(packet);
+        }
+        encoded = ByteBuffer.allocate(batchLength);
+        while (encoder.onWrite() != CLEAN) {
+            encoded.put(encoder.dst());
+        }
+        encoded.put(encoder.dst());
+        encoded.flip();
+
+        decoderSrc = ByteBuffer.allocate(Math.max(BUFFER_SIZE, batchLength));
+        decoder = new PacketDecoder(null, packet -> lastDecoded = packet);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+        decoder.setPriorityPacketsRead(SwCounter.newSwCounter());
+        decoder.src(decoderSrc);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int encode() throws Exception {
+        for (Packet packet : packets) {
+            writeQueue.add(packet);
+        }
+        int written = 0;
+        HandlerStatus status;
+        do {
+            status = encoder.onWrite();
+            // emulates a socket which accepts everything
+            ByteBuffer dst = encoder.dst();
+            written += dst.remaining();
+            dst.position(dst.limit());
+        } while (status != CLEAN);
+        return written;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Packet decode() throws Exception {
+        decoderSrc.put(encoded.duplicate());
+        decoder.onRead();
+        return lastDecoded;
+    }
+}
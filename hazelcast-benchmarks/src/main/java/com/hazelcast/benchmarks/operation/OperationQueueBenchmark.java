@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.operation;
+
+import com.hazelcast.spi.impl.operationexecutor.impl.ArrayOperationQueue;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueue;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the hand-off of tasks through an {@link OperationQueueImpl} and
+ * an {@link ArrayOperationQueue}: several threads offer tasks the way the I/O and user threads do, a single
+ * thread polls them the way a partition thread does.
+ * <p>
+ * The producers back off while the queue holds more than
+ * {@link #MAX_PENDING} tasks, so the queue length stays bounded when the
+ * consumer cannot keep up. The reported throughput is per thread role.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationQueueBenchmark {
+
+    private static final int MAX_PENDING = 64 * 1024;
+    private static final Object TASK = new Object();
+    private static final Object PRIORITY_TASK = new Object();
+
+    @Param({"linked", "array"})
+    private String queueType;
+
+    private OperationQueue queue;
+
+    @Setup
+    public void setUp() {
+        switch (queueType) {
+            case "linked":
+                queue = new OperationQueueImpl();
+                break;
+            case "array":
+                queue = new ArrayOperationQueue(MAX_PENDING, null);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown queue type: " + queueType);
+        }
+    }
+
+    @Benchmark
+    @Group("normal")
+    @GroupThreads(3)
+    public boolean normalOffer() {
+        return offer(TASK, false);
+    }
+
+    @Benchmark
+    @Group("normal")
+    @GroupThreads(1)
+    public Object normalPoll() {
+        return queue.poll();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public boolean mixedNormalOffer() {
+        return offer(TASK, false);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedPriorityOffer() {
+        return offer(PRIORITY_TASK, true);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Object mixedPoll() {
+        return queue.poll();
+    }
+
+    private boolean offer(Object task, boolean priority) {
+        // a priority task also adds a trigger to the normal queue
+        if (queue.normalSize() >= MAX_PENDING) {
+            Thread.onSpinWait();
+            return false;
+        }
+        queue.add(task, priority);
+        return true;
+    }
+}
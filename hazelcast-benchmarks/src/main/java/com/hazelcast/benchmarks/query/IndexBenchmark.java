@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.query;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.monitor.impl.MemberPartitionStateImpl;
+import com.hazelcast.internal.monitor.impl.PerIndexStats;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.query.impl.OrderedIndexStore;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures point and range lookups of a global {@link IndexImpl}. The
+ * sorted index is backed by an {@link OrderedIndexStore}, the hash index
+ * by an unordered one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBenchmark {
+
+    private static final int RANGE_WIDTH = 10;
+
+    @Param({"100000"})
+    private int entryCount;
+
+    /**
+     * Number of entries sharing the same attribute value.
+     */
+    @Param({"1", "100"})
+    private int entriesPerValue;
+
+    private InternalSerializationService ss;
+    private IndexImpl hashIndex;
+    private IndexImpl sortedIndex;
+    private int distinctValues;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        Extractors extractors = Extractors.newBuilder(ss).build();
+        hashIndex = newIndex(IndexType.HASH, extractors);
+        sortedIndex = newIndex(IndexType.SORTED, extractors);
+
+        distinctValues = entryCount / entriesPerValue;
+        for (int i = 0; i < entryCount; i++) {
+            CachedQueryEntry<?, ?> entry = new CachedQueryEntry<>(ss, ss.toData(i), (long) (i % distinctValues), extractors);
+            hashIndex.putEntry(entry, null, entry, Index.OperationSource.USER);
+            sortedIndex.putEntry(entry, null, entry, Index.OperationSource.USER);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashIndex.destroy();
+        sortedIndex.destroy();
+        ss.dispose();
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> hashPointLookup() {
+        return hashIndex.getRecords(nextValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> sortedPointLookup() {
+        return sortedIndex.getRecords(nextValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> sortedRangeLookup() {
+        long from = nextValue();
+        return sortedIndex.getRecords(from, true, from + RANGE_WIDTH, false);
+    }
+
+    private long nextValue() {
+        int value = next;
+        next = value + 1 == distinctValues ? 0 : value + 1;
+        return value;
+    }
+
+    private IndexImpl newIndex(IndexType type, Extractors extractors) {
+        return new IndexImpl(
+                null,
+                IndexUtils.validateAndNormalize("benchmark", IndexUtils.createIndexConfig(type, THIS_ATTRIBUTE_NAME.value())),
+                ss,
+                extractors,
+                IndexCopyBehavior.COPY_ON_READ,
+                PerIndexStats.EMPTY,
+                MemberPartitionStateImpl.DEFAULT_PARTITION_COUNT,
+                "benchmark"
+        );
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.SerializationServiceV1;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures {@link SerializationServiceV1} round trips of the same object
+ * graph in the compact, {@link IdentifiedDataSerializable} and
+ * {@link Portable} formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int FACTORY_ID = 1;
+    private static final int CLASS_ID = 1;
+    private static final int AGE = 42;
+    private static final long BIRTH_DATE = 1_700_000_000_000L;
+
+    private InternalSerializationService ss;
+
+    private CompactPerson compactPerson;
+    private IdsPerson idsPerson;
+    private PortablePerson portablePerson;
+
+    private Data compactData;
+    private Data idsData;
+    private Data portableData;
+
+    @Setup
+    public void setUp() {
+        SerializationConfig config = new SerializationConfig();
+        config.addDataSerializableFactory(FACTORY_ID, id -> new IdsPerson());
+        config.addPortableFactory(FACTORY_ID, id -> new PortablePerson());
+        config.getCompactSerializationConfig().addSerializer(new CompactPersonSerializer());
+        ss = new DefaultSerializationServiceBuilder()
+                .setConfig(config)
+                .setSchemaService(new LocalSchemaService())
+                .build();
+
+        compactPerson = new CompactPerson(AGE, BIRTH_DATE, "Jane Doe", "Amsterdam");
+        idsPerson = new IdsPerson(AGE, BIRTH_DATE, "Jane Doe", "Amsterdam");
+        portablePerson = new PortablePerson(AGE, BIRTH_DATE, "Jane Doe", "Amsterdam");
+
+        compactData = ss.toData(compactPerson);
+        idsData = ss.toData(idsPerson);
+        portableData = ss.toData(portablePerson);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ss.dispose();
+    }
+
+    @Benchmark
+    public Data compactToData() {
+        return ss.toData(compactPerson);
+    }
+
+    @Benchmark
+    public Object compactToObject() {
+        return ss.toObject(compactData);
+    }
+
+    @Benchmark
+    public Data identifiedDataSerializableToData() {
+        return ss.toData(idsPerson);
+    }
+
+    @Benchmark
+    public Object identifiedDataSerializableToObject() {
+        return ss.toObject(idsData);
+    }
+
+    @Benchmark
+    public Data portableToData() {
+        return ss.toData(portablePerson);
+    }
+
+    @Benchmark
+    public Object portableToObject() {
+        return ss.toObject(portableData);
+    }
+
+    /**
+     * Keeps the schemas in the local process, there is no cluster to
+     * replicate them to.
+     */
+    private static final class LocalSchemaService implements SchemaService {
+
+        private final Map<Long, Schema> schemas = new ConcurrentHashMap<>();
+
+        @Override
+        public Schema get(long schemaId) {
+            return schemas.get(schemaId);
+        }
+
+        @Override
+        public void put(Schema schema) {
+            schemas.putIfAbsent(schema.getSchemaId(), schema);
+        }
+
+        @Override
+        public void putLocal(Schema schema) {
+            put(schema);
+        }
+    }
+
+    record CompactPerson(int age, long birthDate, String name, String city) {
+    }
+
+    static final class CompactPersonSerializer implements CompactSerializer<CompactPerson> {
+
+        @Nonnull
+        @Override
+        public CompactPerson read(@Nonnull CompactReader reader) {
+            return new CompactPerson(reader.readInt32("age"), reader.readInt64("birthDate"),
+                    reader.readString("name"), reader.readString("city"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull CompactPerson person) {
+            writer.writeInt32("age", person.age());
+            writer.writeInt64("birthDate", person.birthDate());
+            writer.writeString("name", person.name());
+            writer.writeString("city", person.city());
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName() {
+            return "person";
+        }
+
+        @Nonnull
+        @Override
+        public Class<CompactPerson> getCompactClass() {
+            return CompactPerson.class;
+        }
+    }
+
+    static final class IdsPerson implements IdentifiedDataSerializable {
+
+        private int age;
+        private long birthDate;
+        private String name;
+        private String city;
+
+        IdsPerson() {
+        }
+
+        IdsPerson(int age, long birthDate, String name, String city) {
+            this.age = age;
+            this.birthDate = birthDate;
+            this.name = name;
+            this.city = city;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(age);
+            out.writeLong(birthDate);
+            out.writeString(name);
+            out.writeString(city);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            age = in.readInt();
+            birthDate = in.readLong();
+            name = in.readString();
+            city = in.readString();
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+    }
+
+    static final class PortablePerson implements Portable {
+
+        private int age;
+        private long birthDate;
+        private String name;
+        private String city;
+
+        PortablePerson() {
+        }
+
+        PortablePerson(int age, long birthDate, String name, String city) {
+            this.age = age;
+            this.birthDate = birthDate;
+            this.name = name;
+            this.city = city;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("age", age);
+            writer.writeLong("birthDate", birthDate);
+            writer.writeString("name", name);
+            writer.writeString("city", city);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            age = reader.readInt("age");
+            birthDate = reader.readLong("birthDate");
+            name = reader.readString("name");
+            city = reader.readString("city");
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks.tpc;
+
+import com.hazelcast.internal.tpcengine.Reactor;
+import com.hazelcast.internal.tpcengine.ReactorBuilder;
+import com.hazelcast.internal.tpcengine.iobuffer.IOBuffer;
+import com.hazelcast.internal.tpcengine.net.AsyncServerSocket;
+import com.hazelcast.internal.tpcengine.net.AsyncSocket;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketReader;
+import com.hazelcast.internal.tpcengine.nio.BatchingNioReactorBuilder;
+import com.hazelcast.internal.tpcengine.nio.NioReactor;
+import com.hazelcast.internal.tpcengine.nio.NioReactorBuilder;
+import com.hazelcast.internal.tpcengine.util.BufferUtil;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.TCP_NODELAY;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the {@link NioReactor} with the io_uring stand-in built by the
+ * {@link BatchingNioReactorBuilder} over a loopback connection.
+ * <p>
+ * Every invocation writes {@link #concurrency} requests to the client socket
+ * and waits until the server echoed all of them; the server answers each
+ * request as soon as it is read, from the reactor thread. Besides the round
+ * trips per time unit, it reports the socket read and write system calls
+ * of both sides ({@code syscalls}) and the number of echoed messages
+ * ({@code messages}); their ratio is the number of system calls per
+ * message. The select calls of the eventloops are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactorLoopbackBenchmark {
+
+    private static final int SIZEOF_HEADER = Integer.BYTES;
+
+    @Param({"nio", "iouring"})
+    private String reactorType;
+
+    @Param({"1", "32"})
+    private int concurrency;
+
+    @Param({"64", "1024"})
+    private int payloadSize;
+
+    private final AtomicLong responses = new AtomicLong();
+    private final CompletableFuture<AsyncSocket> serverSocketFuture = new CompletableFuture<>();
+
+    private Reactor clientReactor;
+    private Reactor serverReactor;
+    private AsyncServerSocket acceptSocket;
+    private AsyncSocket clientSocket;
+    private AsyncSocket serverSocket;
+    private byte[] payload;
+    private long lastSyscalls;
+
+    /**
+     * The counters are reported as totals per iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long messages;
+        public long syscalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+            syscalls = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        payload = new byte[payloadSize];
+        clientReactor = newReactorBuilder().build().start();
+        serverReactor = newReactorBuilder().build().start();
+
+        acceptSocket = serverReactor.newAsyncServerSocketBuilder()
+                .setAcceptConsumer(acceptRequest -> {
+                    AsyncSocket socket = serverReactor.newAsyncSocketBuilder(acceptRequest)
+                            .set(TCP_NODELAY, true)
+                            .setReader(new EchoReader(false))
+                            .build();
+                    socket.start();
+                    serverSocketFuture.complete(socket);
+                })
+                .build();
+        acceptSocket.bind(new InetSocketAddress("127.0.0.1", 0));
+        acceptSocket.start();
+
+        clientSocket = clientReactor.newAsyncSocketBuilder()
+                .set(TCP_NODELAY, true)
+                .setReader(new EchoReader(true))
+                .build();
+        clientSocket.start();
+        clientSocket.connect(acceptSocket.getLocalAddress()).join();
+        serverSocket = serverSocketFuture.join();
+    }
+
+    private ReactorBuilder newReactorBuilder() {
+        // the stand-in is created directly, so it is measured on any OS
+        switch (reactorType) {
+            case "nio":
+                return new NioReactorBuilder();
+            case "iouring":
+                return new BatchingNioReactorBuilder();
+            default:
+                throw new IllegalArgumentException("Unknown reactor type: " + reactorType);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        clientSocket.close();
+        acceptSocket.close();
+        clientReactor.shutdown();
+        serverReactor.shutdown();
+        clientReactor.awaitTermination(5, SECONDS);
+        serverReactor.awaitTermination(5, SECONDS);
+    }
+
+    @Benchmark
+    public long roundTrip(Counters counters) {
+        long expected = responses.get() + concurrency;
+        for (int k = 0; k < concurrency; k++) {
+            IOBuffer request = new IOBuffer(SIZEOF_HEADER + payloadSize, true);
+            request.writeInt(payloadSize);
+            request.writeBytes(payload);
+            request.flip();
+            if (!clientSocket.write(request)) {
+                throw new IllegalStateException("The write queue of " + clientSocket + " is full");
+            }
+        }
+        clientSocket.flush();
+
+        long received;
+        while ((received = responses.get()) < expected) {
+            Thread.onSpinWait();
+        }
+
+        long syscalls = syscalls(clientSocket) + syscalls(serverSocket);
+        counters.messages += concurrency;
+        counters.syscalls += syscalls - lastSyscalls;
+        lastSyscalls = syscalls;
+        return received;
+    }
+
+    private static long syscalls(AsyncSocket socket) {
+        return socket.metrics().readEvents() + socket.metrics().writeEvents();
+    }
+
+    /**
+     * On the server side it echoes every message, on the client side it
+     * counts the responses.
+     */
+    private final class EchoReader extends AsyncSocketReader {
+        private final boolean client;
+        private IOBuffer message;
+
+        private EchoReader(boolean client) {
+            this.client = client;
+        }
+
+        @Override
+        public void onRead(ByteBuffer src) {
+            for (; ; ) {
+                if (message == null) {
+                    if (src.remaining() < SIZEOF_HEADER) {
+                        break;
+                    }
+                    int size = src.getInt();
+                    message = new IOBuffer(SIZEOF_HEADER + size, true);
+                    message.byteBuffer().limit(SIZEOF_HEADER + size);
+                    message.writeInt(size);
+                }
+
+                BufferUtil.put(message.byteBuffer(), src);
+                if (message.remaining() > 0) {
+                    break;
+                }
+                message.flip();
+
+                if (client) {
+                    responses.incrementAndGet();
+                } else if (!socket.unsafeWriteAndFlush(message)) {
+                    throw new IllegalStateException("The write queue of " + socket + " is full");
+                }
+                message = null;
+            }
+        }
+    }
+}
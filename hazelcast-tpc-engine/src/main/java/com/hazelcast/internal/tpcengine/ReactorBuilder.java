@@ -16,6 +16,9 @@
 
 package com.hazelcast.internal.tpcengine;
 
+import com.hazelcast.internal.tpcengine.logging.TpcLoggerLocator;
+import com.hazelcast.internal.tpcengine.nio.BatchingNioReactorBuilder;
+import com.hazelcast.internal.tpcengine.nio.NioReactorBuilder;
 import com.hazelcast.internal.util.ThreadAffinity;
 
 import java.util.concurrent.ThreadFactory;
@@ -82,6 +85,35 @@ public abstract class ReactorBuilder {
         this.spin = Boolean.parseBoolean(getProperty(NAME_REACTOR_SPIN, Boolean.toString(DEFAULT_SPIN)));
     }
 
+    /**
+     * Creates a ReactorBuilder for the given {@link ReactorType}.
+     * <p/>
+     * If the type is {@link ReactorType#IOURING} and it isn't supported on this system,
+     * a builder for {@link ReactorType#NIO} is returned instead.
+     *
+     * @param type the type of reactor.
+     * @return the created ReactorBuilder.
+     * @throws NullPointerException if type is <code>null</code>.
+     */
+    public static ReactorBuilder newReactorBuilder(ReactorType type) {
+        checkNotNull(type, "type");
+
+        switch (type) {
+            case NIO:
+                return new NioReactorBuilder();
+            case IOURING:
+                if (BatchingNioReactorBuilder.isSupported()) {
+                    return new BatchingNioReactorBuilder();
+                }
+                TpcLoggerLocator.getLogger(ReactorBuilder.class)
+                        .warning(type + " is not supported on " + System.getProperty("os.name")
+                                + " " + System.getProperty("os.version") + ", falling back to " + ReactorType.NIO);
+                return new NioReactorBuilder();
+            default:
+                throw new IllegalArgumentException("Unrecognized reactor type [" + type + ']');
+        }
+    }
+
     /**
      * Builds a Reactor based on the configuration of this {@link ReactorBuilder}.
      * <p/>
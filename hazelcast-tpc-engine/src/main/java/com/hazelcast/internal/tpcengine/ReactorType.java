@@ -21,7 +21,18 @@ package com.hazelcast.internal.tpcengine;
  */
 public enum ReactorType {
 
-    NIO, IOURING;
+    /**
+     * A {@link Reactor} based on NIO {@link java.nio.channels.Selector}; every socket read
+     * and write is a separate system call.
+     */
+    NIO,
+
+    /**
+     * A {@link Reactor} that batches the socket submissions and completions per eventloop
+     * iteration like io_uring does. Without a native io_uring binding, it is backed by a pure
+     * Java stand-in, see {@link com.hazelcast.internal.tpcengine.nio.BatchingNioReactorBuilder}.
+     */
+    IOURING;
 
     public static ReactorType fromString(String type) {
         if (type.equalsIgnoreCase("io_uring") || type.equalsIgnoreCase("iouring")) {
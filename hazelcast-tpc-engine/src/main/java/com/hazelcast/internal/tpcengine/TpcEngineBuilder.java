@@ -16,8 +16,6 @@
 
 package com.hazelcast.internal.tpcengine;
 
-import com.hazelcast.internal.tpcengine.nio.NioReactorBuilder;
-
 import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
 
@@ -27,10 +25,12 @@ import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
 public class TpcEngineBuilder {
 
     public static final String NAME_REACTOR_COUNT = "hazelcast.tpc.reactor.count";
+    public static final String NAME_REACTOR_TYPE = "hazelcast.tpc.reactor.type";
 
     int reactorCount = Integer.getInteger(NAME_REACTOR_COUNT, Runtime.getRuntime().availableProcessors());
 
-    ReactorBuilder reactorBuilder = new NioReactorBuilder();
+    ReactorBuilder reactorBuilder = ReactorBuilder.newReactorBuilder(
+            ReactorType.fromString(System.getProperty(NAME_REACTOR_TYPE, "nio")));
 
     /**
      * Sets the ReactorBuilder.
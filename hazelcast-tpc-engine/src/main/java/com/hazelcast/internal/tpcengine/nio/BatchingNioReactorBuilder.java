@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.nio;
+
+import com.hazelcast.internal.tpcengine.ReactorType;
+import com.hazelcast.internal.tpcengine.util.OS;
+
+/**
+ * A {@link NioReactorBuilder} that builds reactors of type {@link ReactorType#IOURING}
+ * using a pure Java stand-in for io_uring.
+ * <p>
+ * With io_uring, socket operations are put on a submission queue and
+ * submitted to the kernel in a single call per eventloop iteration; their
+ * completions are collected from a completion queue, again in a single call.
+ * The stand-in mimics this on top of NIO: the flushes of all sockets of the
+ * reactor are collected on a {@link NioSubmissionQueue} and submitted
+ * together at the end of the eventloop iteration, so a socket does at most
+ * one (gathering) write per iteration no matter how often it got flushed.
+ * Completions are the ready keys of the single select call at the start of
+ * the next iteration.
+ * <p>
+ * The sockets are regular {@link NioAsyncSocket} instances, so they are
+ * used through the same {@link com.hazelcast.internal.tpcengine.net.AsyncSocket} API.
+ *
+ * @see com.hazelcast.internal.tpcengine.ReactorBuilder#newReactorBuilder(ReactorType)
+ */
+public class BatchingNioReactorBuilder extends NioReactorBuilder {
+
+    static final int MIN_KERNEL_MAJOR_VERSION = 5;
+    static final int MIN_KERNEL_MINOR_VERSION = 1;
+
+    /**
+     * Creates a new BatchingNioReactorBuilder.
+     */
+    public BatchingNioReactorBuilder() {
+        super(ReactorType.IOURING);
+        this.batchSubmissions = true;
+    }
+
+    /**
+     * Checks if reactors of type {@link ReactorType#IOURING} are supported on
+     * this system; that is the case on Linux with a 5.1 or newer kernel. The
+     * stand-in itself runs everywhere, but it only replaces the native io_uring
+     * binding, so it is available under the same conditions.
+     *
+     * @return true if supported, false otherwise.
+     */
+    public static boolean isSupported() {
+        if (!OS.isLinux()) {
+            return false;
+        }
+
+        int major = OS.linuxKernelMajorVersion();
+        int minor = OS.linuxKernelMinorVersion();
+        return major > MIN_KERNEL_MAJOR_VERSION
+                || (major == MIN_KERNEL_MAJOR_VERSION && minor >= MIN_KERNEL_MINOR_VERSION);
+    }
+}
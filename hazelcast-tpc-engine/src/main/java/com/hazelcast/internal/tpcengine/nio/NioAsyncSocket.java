@@ -64,6 +64,8 @@ public final class NioAsyncSocket extends AsyncSocket {
     private final Thread eventloopThread;
     private final SelectionKey key;
     private final IOVector ioVector;
+    // null unless the reactor batches its submissions
+    private final NioSubmissionQueue submissionQueue;
     private final AsyncSocketReader reader;
     private final CircularQueue localTaskQueue;
     private final AsyncSocketWriter writer;
@@ -84,6 +86,7 @@ public final class NioAsyncSocket extends AsyncSocket {
         try {
             this.reactor = builder.reactor;
             this.localTaskQueue = builder.reactor.eventloop().localTaskQueue;
+            this.submissionQueue = ((NioEventloop) builder.reactor.eventloop()).submissionQueue;
             this.options = builder.options;
             this.eventloopThread = reactor.eventloopThread();
             this.socketChannel = builder.socketChannel;
@@ -398,6 +401,7 @@ public final class NioAsyncSocket extends AsyncSocket {
         private final ByteBuffer rcvBuffer;
         private final AsyncSocketMetrics metrics = NioAsyncSocket.this.metrics;
         private final ByteBuffer sndBuffer;
+        private final Runnable submission = this::write;
 
         private Handler(NioAsyncSocketBuilder builder) throws SocketException {
             this.rcvBuffer = allocateBuffer(builder.directBuffers, builder.options.get(SO_RCVBUF));
@@ -411,6 +415,15 @@ public final class NioAsyncSocket extends AsyncSocket {
 
         @Override
         public void run() {
+            if (submissionQueue != null) {
+                // the write is done when the submission queue of the eventloop is submitted.
+                submissionQueue.add(submission);
+            } else {
+                write();
+            }
+        }
+
+        private void write() {
             try {
                 handleWrite();
             } catch (Throwable e) {
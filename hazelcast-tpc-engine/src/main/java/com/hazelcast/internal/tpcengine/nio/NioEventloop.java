@@ -35,9 +35,12 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 class NioEventloop extends Eventloop {
 
     final Selector selector = SelectorOptimizer.newSelector();
+    // null unless the reactor is built by the BatchingNioReactorBuilder
+    final NioSubmissionQueue submissionQueue;
 
     NioEventloop(NioReactor reactor, NioReactorBuilder builder) {
         super(reactor, builder);
+        this.submissionQueue = builder.batchSubmissions ? new NioSubmissionQueue() : null;
     }
 
     @SuppressWarnings("java:S3776")
@@ -49,6 +52,7 @@ class NioEventloop extends Eventloop {
         final AtomicBoolean wakeupNeeded0 = wakeupNeeded;
         final MpmcArrayQueue externalTaskQueue0 = externalTaskQueue;
         final Scheduler scheduler0 = scheduler;
+        final NioSubmissionQueue submissionQueue0 = submissionQueue;
 
         boolean moreWork = false;
         do {
@@ -94,11 +98,20 @@ class NioEventloop extends Eventloop {
             moreWork |= scheduler0.tick();
             moreWork |= runScheduledTasks();
             moreWork |= runLocalTasks();
+
+            if (submissionQueue0 != null) {
+                // all writes triggered in this iteration go out together
+                submissionQueue0.submit();
+            }
         } while (!stop);
     }
 
     @Override
     protected void destroy() {
+        if (submissionQueue != null) {
+            submissionQueue.clear();
+        }
+
         for (SelectionKey key : selector.keys()) {
             NioHandler handler = (NioHandler) key.attachment();
 
@@ -25,6 +25,9 @@ import com.hazelcast.internal.tpcengine.ReactorType;
  */
 public class NioReactorBuilder extends ReactorBuilder {
 
+    // see BatchingNioReactorBuilder
+    boolean batchSubmissions;
+
     /**
      * Creates a new NioReactorBuilder.
      */
@@ -32,6 +35,10 @@ public class NioReactorBuilder extends ReactorBuilder {
         super(ReactorType.NIO);
     }
 
+    NioReactorBuilder(ReactorType type) {
+        super(type);
+    }
+
     @Override
     public Reactor build() {
         return new NioReactor(this);
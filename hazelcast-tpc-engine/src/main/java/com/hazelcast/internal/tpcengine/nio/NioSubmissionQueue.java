@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.nio;
+
+import com.hazelcast.internal.tpcengine.logging.TpcLogger;
+import com.hazelcast.internal.tpcengine.logging.TpcLoggerLocator;
+
+import java.util.Arrays;
+
+/**
+ * The stand-in for the io_uring submission queue of a reactor built by the
+ * {@link BatchingNioReactorBuilder}.
+ * <p>
+ * Socket writes are added during an eventloop iteration and are all
+ * submitted at the end of it by {@link #submit()}. A socket adds its write
+ * at most once until it has been submitted, because the flush of an
+ * {@link NioAsyncSocket} is deduplicated.
+ * <p>
+ * This class is not thread-safe; it is only accessed from the eventloop thread.
+ */
+final class NioSubmissionQueue {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final TpcLogger logger = TpcLoggerLocator.getLogger(getClass());
+    private Runnable[] entries = new Runnable[INITIAL_CAPACITY];
+    private int size;
+    private long submitCount;
+    private long submittedCount;
+
+    /**
+     * Adds an entry that is run on the next {@link #submit()}.
+     *
+     * @param entry the entry.
+     */
+    void add(Runnable entry) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = entry;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Runs all the pending entries, including the ones that are added while
+     * submitting.
+     *
+     * @return true if any entry got submitted.
+     */
+    boolean submit() {
+        if (size == 0) {
+            return false;
+        }
+
+        submitCount++;
+        for (int k = 0; k < size; k++) {
+            Runnable entry = entries[k];
+            entries[k] = null;
+            try {
+                entry.run();
+            } catch (Exception e) {
+                logger.warning(e);
+            }
+        }
+        submittedCount += size;
+        size = 0;
+        return true;
+    }
+
+    /**
+     * Returns the number of times a non-empty queue got submitted.
+     */
+    long submitCount() {
+        return submitCount;
+    }
+
+    /**
+     * Returns the total number of entries that got submitted.
+     */
+    long submittedCount() {
+        return submittedCount;
+    }
+
+    void clear() {
+        Arrays.fill(entries, 0, size, null);
+        size = 0;
+    }
+}
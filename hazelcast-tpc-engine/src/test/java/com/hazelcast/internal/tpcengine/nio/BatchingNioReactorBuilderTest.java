@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.internal.tpcengine.nio;
+
+import com.hazelcast.internal.tpcengine.Reactor;
+import com.hazelcast.internal.tpcengine.ReactorBuilder;
+import com.hazelcast.internal.tpcengine.ReactorBuilderTest;
+import com.hazelcast.internal.tpcengine.ReactorType;
+import com.hazelcast.internal.tpcengine.util.OS;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeFalse;
+
+public class BatchingNioReactorBuilderTest extends ReactorBuilderTest {
+
+    @Override
+    public ReactorBuilder newBuilder() {
+        return new BatchingNioReactorBuilder();
+    }
+
+    @Test
+    public void test_build() {
+        Reactor reactor = newBuilder().build();
+        try {
+            assertEquals(ReactorType.IOURING, reactor.type());
+            assertNotNull(((NioEventloop) reactor.eventloop()).submissionQueue);
+        } finally {
+            reactor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_isSupported_whenNotLinux() {
+        assumeFalse(OS.isLinux());
+
+        assertFalse(BatchingNioReactorBuilder.isSupported());
+    }
+
+    @Test
+    public void test_newReactorBuilder() {
+        ReactorBuilder builder = ReactorBuilder.newReactorBuilder(ReactorType.IOURING);
+
+        if (BatchingNioReactorBuilder.isSupported()) {
+            assertSame(BatchingNioReactorBuilder.class, builder.getClass());
+        } else {
+            // falls back to NIO
+            assertSame(NioReactorBuilder.class, builder.getClass());
+        }
+    }
+
+    @Test
+    public void test_newReactorBuilder_whenNio() {
+        ReactorBuilder builder = ReactorBuilder.newReactorBuilder(ReactorType.NIO);
+
+        assertSame(NioReactorBuilder.class, builder.getClass());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_newReactorBuilder_whenNull() {
+        ReactorBuilder.newReactorBuilder(null);
+    }
+}
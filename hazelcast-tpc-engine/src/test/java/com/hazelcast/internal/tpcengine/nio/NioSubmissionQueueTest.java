@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.nio;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NioSubmissionQueueTest {
+
+    private final NioSubmissionQueue queue = new NioSubmissionQueue();
+
+    @Test
+    public void test_submit_whenEmpty() {
+        assertFalse(queue.submit());
+        assertEquals(0, queue.submitCount());
+    }
+
+    @Test
+    public void test_submit() {
+        List<Integer> submitted = new ArrayList<>();
+        for (int k = 0; k < 100; k++) {
+            int value = k;
+            queue.add(() -> submitted.add(value));
+        }
+        assertEquals(100, queue.size());
+
+        assertTrue(queue.submit());
+
+        assertEquals(100, submitted.size());
+        for (int k = 0; k < 100; k++) {
+            assertEquals(Integer.valueOf(k), submitted.get(k));
+        }
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.submitCount());
+        assertEquals(100, queue.submittedCount());
+    }
+
+    @Test
+    public void test_submit_whenAddedWhileSubmitting() {
+        List<String> submitted = new ArrayList<>();
+        queue.add(() -> {
+            submitted.add("first");
+            queue.add(() -> submitted.add("second"));
+        });
+
+        queue.submit();
+
+        assertEquals(asList("first", "second"), submitted);
+        assertEquals(0, queue.size());
+        assertEquals(2, queue.submittedCount());
+    }
+
+    @Test
+    public void test_submit_whenEntryFails() {
+        List<String> submitted = new ArrayList<>();
+        queue.add(() -> {
+            throw new RuntimeException();
+        });
+        queue.add(() -> submitted.add("second"));
+
+        queue.submit();
+
+        assertEquals(asList("second"), submitted);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_clear() {
+        List<String> submitted = new ArrayList<>();
+        queue.add(() -> submitted.add("first"));
+
+        queue.clear();
+
+        assertFalse(queue.submit());
+        assertTrue(submitted.isEmpty());
+    }
+}
@@ -57,7 +57,21 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
 
     @Override
     public final void accumulate(I entry) {
+        accumulate(entry, false);
+    }
+
+    /**
+     * Reverts the accumulation of the given previously accumulated entry.
+     * Supported just by the aggregators implementing {@link InvertibleAggregator}.
+     *
+     * @param entry the entry to deaccumulate.
+     * @throws UnsupportedOperationException if the aggregator is not invertible.
+     */
+    public final void deaccumulate(I entry) {
+        accumulate(entry, true);
+    }
 
+    private void accumulate(I entry, boolean inverse) {
         E extractedValue = extract(entry);
         if (extractedValue instanceof MultiResult) {
             boolean nullEmptyTargetSkipped = false;
@@ -73,10 +87,18 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
                     nullEmptyTargetSkipped = true;
                     continue;
                 }
-                accumulateExtracted(entry, results.get(i));
+                accumulateExtracted(entry, results.get(i), inverse);
             }
         } else if (extractedValue != NonTerminalJsonValue.INSTANCE) {
-            accumulateExtracted(entry, extractedValue);
+            accumulateExtracted(entry, extractedValue, inverse);
+        }
+    }
+
+    private void accumulateExtracted(I entry, E value, boolean inverse) {
+        if (inverse) {
+            deaccumulateExtracted(entry, value);
+        } else {
+            accumulateExtracted(entry, value);
         }
     }
 
@@ -105,6 +127,19 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
      */
     protected abstract void accumulateExtracted(I entry, E value);
 
+    /**
+     * Reverts the accumulation of a single extracted value, the counterpart
+     * of {@link #accumulateExtracted}. Overridden by the aggregators
+     * implementing {@link InvertibleAggregator}.
+     *
+     * @param entry The entry containing the value.
+     * @param value The value to deaccumulate, extracted the same way as for
+     *              {@link #accumulateExtracted}.
+     */
+    protected void deaccumulateExtracted(I entry, E value) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " is not invertible");
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Implemented by the {@link Aggregator aggregators} able to revert the accumulation of a previously
+ * accumulated entry, that allows to keep an aggregation up to date on
+ * entry updates and removals without accumulating all the entries again.
+ * <p>
+ * The result of an aggregation after a deaccumulation is exactly the same
+ * as if the deaccumulated entry was never accumulated, the aggregators with
+ * inexact inversion (floating point sums for instance) are not invertible.
+ *
+ * @param <I> input type
+ */
+public interface InvertibleAggregator<I> {
+
+    /**
+     * Reverts the accumulation of the given previously accumulated entry.
+     *
+     * @param entry the entry to deaccumulate.
+     */
+    void deaccumulate(I entry);
+
+}
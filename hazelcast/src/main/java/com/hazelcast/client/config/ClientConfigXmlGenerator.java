@@ -611,6 +611,7 @@ public final class ClientConfigXmlGenerator {
                 .node("time-to-live-seconds", nearCache.getTimeToLiveSeconds())
                 .node("max-idle-seconds", nearCache.getMaxIdleSeconds())
                 .node("local-update-policy", nearCache.getLocalUpdatePolicy())
+                .node("admission-policy", nearCache.getAdmissionPolicy())
                 .node("eviction", null, "size", eviction.getSize(),
                         "max-size-policy", eviction.getMaxSizePolicy(),
                         "eviction-policy", eviction.getEvictionPolicy(),
@@ -619,7 +620,8 @@ public final class ClientConfigXmlGenerator {
                 .node("preloader", null, "enabled", preloader.isEnabled(),
                         "directory", preloader.getDirectory(),
                         "store-initial-delay-seconds", preloader.getStoreInitialDelaySeconds(),
-                        "store-interval-seconds", preloader.getStoreIntervalSeconds());
+                        "store-interval-seconds", preloader.getStoreIntervalSeconds(),
+                        "store-values", preloader.isStoreValues());
         //close near-cache
         gen.close();
     }
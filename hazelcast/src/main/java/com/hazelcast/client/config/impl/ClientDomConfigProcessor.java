@@ -311,6 +311,8 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
                 nearCacheConfig.setInvalidateOnChange(Boolean.parseBoolean(getTextContent(child)));
             } else if (matches("local-update-policy", nodeName)) {
                 nearCacheConfig.setLocalUpdatePolicy(NearCacheConfig.LocalUpdatePolicy.valueOf(getTextContent(child)));
+            } else if (matches("admission-policy", nodeName)) {
+                nearCacheConfig.setAdmissionPolicy(NearCacheConfig.AdmissionPolicy.valueOf(getTextContent(child)));
             } else if (matches("eviction", nodeName)) {
                 nearCacheConfig.setEvictionConfig(getEvictionConfig(child));
             } else if (matches("preloader", nodeName)) {
@@ -394,6 +396,7 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         String directory = getAttribute(node, "directory");
         String storeInitialDelaySeconds = getAttribute(node, "store-initial-delay-seconds");
         String storeIntervalSeconds = getAttribute(node, "store-interval-seconds");
+        String storeValues = getAttribute(node, "store-values");
         if (enabled != null) {
             preloaderConfig.setEnabled(getBooleanValue(enabled));
         }
@@ -407,6 +410,9 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         if (storeIntervalSeconds != null) {
             preloaderConfig.setStoreIntervalSeconds(getIntegerValue("storage-interval-seconds", storeIntervalSeconds));
         }
+        if (storeValues != null) {
+            preloaderConfig.setStoreValues(getBooleanValue(storeValues));
+        }
         return preloaderConfig;
     }
 
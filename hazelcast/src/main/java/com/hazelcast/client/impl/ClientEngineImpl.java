@@ -260,7 +260,12 @@ public class ClientEngineImpl implements ClientEngine, CoreService,
         if (isUrgent(messageTask)) {
             operationService.execute((UrgentMessageTask) messageTask);
         } else if (messageTask instanceof AbstractPartitionMessageTask task) {
-            operationService.execute(task);
+            if (tpcEnabled) {
+                // when read by the reactor owning the partition, the task runs without a hand-off
+                operationService.getOperationExecutor().runOrExecute(task);
+            } else {
+                operationService.execute(task);
+            }
         } else if (isQuery(messageTask)) {
             queryExecutor.execute(messageTask);
         } else if (messageTask instanceof TransactionalMessageTask) {
@@ -366,6 +366,14 @@ public class ClientExceptionFactory {
 
     public Throwable createException(ClientMessage clientMessage) {
         List<ErrorHolder> errorHolders = ErrorsCodec.decode(clientMessage);
+        return createException(errorHolders);
+    }
+
+    /**
+     * Creates the exception described by the given error holders, the
+     * holders of the causes follow the holder of the exception.
+     */
+    public Throwable createException(List<ErrorHolder> errorHolders) {
         return createException(errorHolders.iterator());
     }
 
@@ -413,6 +421,14 @@ public class ClientExceptionFactory {
     }
 
     public ClientMessage createExceptionMessage(Throwable throwable) {
+        return ErrorsCodec.encode(createErrorHolders(throwable));
+    }
+
+    /**
+     * Creates the error holders describing the given exception and its
+     * causes, see {@link #createException(List)}.
+     */
+    public List<ErrorHolder> createErrorHolders(Throwable throwable) {
         List<ErrorHolder> errorHolders = new LinkedList<>();
         errorHolders.add(convertToErrorHolder(throwable));
         Throwable cause = throwable.getCause();
@@ -420,8 +436,7 @@ public class ClientExceptionFactory {
             errorHolders.add(convertToErrorHolder(cause));
             cause = cause.getCause();
         }
-
-        return ErrorsCodec.encode(errorHolders);
+        return errorHolders;
     }
 
     private ErrorHolder convertToErrorHolder(Throwable t) {
@@ -95,6 +95,12 @@ import java.util.Objects;
  * ;int32                   = 32BIT
  * ;int64                   = 64BIT
  * ;UUID                    = int64 int64
+ *
+ * A client message is represented either by a linked list of {@link Frame}s
+ * or, when it's built by a {@link ClientMessageBuilder}, by a contiguous
+ * buffer holding the frames in their wire format. The contiguous
+ * representation is written to the network in bulk, it's converted to the
+ * linked one on the first access to its frames.
  */
 @SuppressWarnings("checkstyle:MagicNumber")
 public final class ClientMessage implements OutboundFrame {
@@ -133,6 +139,12 @@ public final class ClientMessage implements OutboundFrame {
     private transient Frame startFrame;
     private Frame endFrame;
 
+    // the contiguous representation, null if the message is represented by the linked frames
+    private transient byte[] buffer;
+    private transient int bufferLength;
+    // the offsets of the frames in the buffer, computed on demand
+    private transient int[] frameOffsets;
+
     private transient boolean isRetryable;
     private transient String operationName;
     private transient Connection connection;
@@ -163,15 +175,75 @@ public final class ClientMessage implements OutboundFrame {
         return new ClientMessage(startFrame);
     }
 
+    /**
+     * Creates a message represented by the given contiguous buffer.
+     *
+     * @param buffer the frames of the message in their wire format, the
+     *               last frame must have the {@link #IS_FINAL_FLAG} set.
+     * @param length the length of the frames in the buffer.
+     */
+    static ClientMessage createFlat(byte[] buffer, int length) {
+        ClientMessage message = new ClientMessage();
+        message.buffer = buffer;
+        message.bufferLength = length;
+        return message;
+    }
+
+    /**
+     * Returns {@code true} if the message is represented by a contiguous
+     * buffer, see {@link #getBuffer()}.
+     */
+    public boolean isFlat() {
+        return buffer != null;
+    }
+
+    /**
+     * Returns the contiguous buffer holding the frames of the message in
+     * their wire format, the length of the frames is {@link #getFrameLength()}.
+     * The last frame has the {@link #IS_FINAL_FLAG} set.
+     *
+     * @throws IllegalStateException if the message is not flat.
+     */
+    public byte[] getBuffer() {
+        checkFlat();
+        return buffer;
+    }
+
+    /**
+     * Returns the offsets of the frames in the {@link #getBuffer() buffer}
+     * of the message, one per frame. The returned array must not be
+     * modified.
+     *
+     * @throws IllegalStateException if the message is not flat.
+     */
+    public int[] getFrameOffsets() {
+        checkFlat();
+        if (frameOffsets == null) {
+            int[] offsets = new int[8];
+            int count = 0;
+            for (int offset = 0; offset < bufferLength; offset += Bits.readIntL(buffer, offset)) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = offset;
+            }
+            frameOffsets = Arrays.copyOf(offsets, count);
+        }
+        return frameOffsets;
+    }
+
     public Frame getStartFrame() {
+        inflate();
         return startFrame;
     }
 
     public Frame getEndFrame() {
+        inflate();
         return endFrame;
     }
 
     public ClientMessage add(Frame frame) {
+        inflate();
         frame.next = null;
         if (startFrame == null) {
             startFrame = frame;
@@ -185,24 +257,25 @@ public final class ClientMessage implements OutboundFrame {
     }
 
     public ForwardFrameIterator frameIterator() {
+        inflate();
         return new ForwardFrameIterator(startFrame);
     }
 
     public int getMessageType() {
-        return Bits.readIntL(startFrame.content, ClientMessage.TYPE_FIELD_OFFSET);
+        return Bits.readIntL(headerContent(), headerOffset() + TYPE_FIELD_OFFSET);
     }
 
     public ClientMessage setMessageType(int messageType) {
-        Bits.writeIntL(startFrame.content, TYPE_FIELD_OFFSET, messageType);
+        Bits.writeIntL(headerContent(), headerOffset() + TYPE_FIELD_OFFSET, messageType);
         return this;
     }
 
     public long getCorrelationId() {
-        return Bits.readLongL(startFrame.content, CORRELATION_ID_FIELD_OFFSET);
+        return Bits.readLongL(headerContent(), headerOffset() + CORRELATION_ID_FIELD_OFFSET);
     }
 
     public ClientMessage setCorrelationId(long correlationId) {
-        Bits.writeLongL(startFrame.content, CORRELATION_ID_FIELD_OFFSET, correlationId);
+        Bits.writeLongL(headerContent(), headerOffset() + CORRELATION_ID_FIELD_OFFSET, correlationId);
         return this;
     }
 
@@ -210,7 +283,7 @@ public final class ClientMessage implements OutboundFrame {
      * @return the number of acks will be send for a request
      */
     public byte getNumberOfBackupAcks() {
-        return getStartFrame().content[RESPONSE_BACKUP_ACKS_FIELD_OFFSET];
+        return headerContent()[headerOffset() + RESPONSE_BACKUP_ACKS_FIELD_OFFSET];
     }
 
     /**
@@ -220,23 +293,40 @@ public final class ClientMessage implements OutboundFrame {
      * @return The ClientMessage with the new dataOffset field value.
      */
     public ClientMessage setNumberOfBackupAcks(final byte numberOfAcks) {
-        getStartFrame().content[RESPONSE_BACKUP_ACKS_FIELD_OFFSET] = numberOfAcks;
+        headerContent()[headerOffset() + RESPONSE_BACKUP_ACKS_FIELD_OFFSET] = numberOfAcks;
         return this;
     }
 
     public int getPartitionId() {
-        return Bits.readIntL(startFrame.content, PARTITION_ID_FIELD_OFFSET);
+        return Bits.readIntL(headerContent(), headerOffset() + PARTITION_ID_FIELD_OFFSET);
     }
 
     public ClientMessage setPartitionId(int partitionId) {
-        Bits.writeIntL(startFrame.content, PARTITION_ID_FIELD_OFFSET, partitionId);
+        Bits.writeIntL(headerContent(), headerOffset() + PARTITION_ID_FIELD_OFFSET, partitionId);
         return this;
     }
 
     public int getHeaderFlags() {
+        if (buffer != null) {
+            // the final flag is a part of the wire format only
+            return (Bits.readShortL(buffer, Bits.INT_SIZE_IN_BYTES) & 0xFFFF) & ~IS_FINAL_FLAG;
+        }
         return startFrame.flags;
     }
 
+    /**
+     * Sets the given flags on the initial frame of the message, without
+     * converting a flat message to the linked frames.
+     */
+    public void addHeaderFlags(int flags) {
+        if (buffer != null) {
+            int headerFlags = Bits.readShortL(buffer, Bits.INT_SIZE_IN_BYTES) & 0xFFFF;
+            Bits.writeShortL(buffer, Bits.INT_SIZE_IN_BYTES, (short) (headerFlags | flags));
+        } else {
+            startFrame.flags |= flags;
+        }
+    }
+
     public boolean isRetryable() {
         return isRetryable;
     }
@@ -276,6 +366,9 @@ public final class ClientMessage implements OutboundFrame {
 
     @Override
     public int getFrameLength() {
+        if (buffer != null) {
+            return bufferLength;
+        }
         int frameLength = 0;
         Frame currentFrame = startFrame;
         while (currentFrame != null) {
@@ -286,6 +379,9 @@ public final class ClientMessage implements OutboundFrame {
     }
 
     public int getBufferLength() {
+        if (buffer != null) {
+            return bufferLength;
+        }
         int length = 0;
         Frame currentFrame = startFrame;
         while (currentFrame != null) {
@@ -302,11 +398,14 @@ public final class ClientMessage implements OutboundFrame {
     }
 
     public void merge(ClientMessage fragment) {
+        inflate();
+        fragment.inflate();
         endFrame.next = fragment.startFrame;
         endFrame = fragment.endFrame;
     }
 
     public void dropFragmentationFrame() {
+        inflate();
         startFrame = startFrame.next;
     }
 
@@ -322,6 +421,12 @@ public final class ClientMessage implements OutboundFrame {
     public String toString() {
         final StringBuilder sb = new StringBuilder("ClientMessage{");
         sb.append("connection=").append(connection);
+        if (buffer != null) {
+            sb.append(", length=").append(getFrameLength());
+            sb.append(", operation=").append(getOperationName());
+            sb.append(", isRetryable=").append(isRetryable());
+            sb.append(", isFlat=true");
+        }
         if (startFrame != null) {
             sb.append(", length=").append(getFrameLength());
             sb.append(", operation=").append(getOperationName());
@@ -359,22 +464,15 @@ public final class ClientMessage implements OutboundFrame {
      * @return the copy message
      */
     public ClientMessage copyWithNewCorrelationId(long correlationId) {
-        Frame initialFrameCopy = startFrame.deepCopy();
-        ClientMessage newMessage = new ClientMessage(initialFrameCopy, endFrame);
-
+        ClientMessage newMessage = copyMessageWithSharedNonInitialFrames();
         newMessage.setCorrelationId(correlationId);
-
-        newMessage.isRetryable = isRetryable;
-        newMessage.operationName = operationName;
-        newMessage.containsSerializedDataInRequest = containsSerializedDataInRequest;
-
         return newMessage;
     }
 
     /**
      * Only deep copies the initial frame to not duplicate the rest of the
      * message to get rid of unnecessary allocations for the retry of the same
-     * client message.
+     * client message. A flat message is copied entirely.
      * <p>
      * It is expected that the correlation id for the returned message is set
      * later.
@@ -382,8 +480,14 @@ public final class ClientMessage implements OutboundFrame {
      * @return the copied message
      */
     public ClientMessage copyMessageWithSharedNonInitialFrames() {
-        Frame initialFrameCopy = startFrame.deepCopy();
-        ClientMessage newMessage = new ClientMessage(initialFrameCopy, endFrame);
+        ClientMessage newMessage;
+        if (buffer != null) {
+            newMessage = createFlat(Arrays.copyOf(buffer, bufferLength), bufferLength);
+            newMessage.frameOffsets = frameOffsets;
+        } else {
+            Frame initialFrameCopy = startFrame.deepCopy();
+            newMessage = new ClientMessage(initialFrameCopy, endFrame);
+        }
 
         newMessage.isRetryable = isRetryable;
         newMessage.operationName = operationName;
@@ -392,6 +496,46 @@ public final class ClientMessage implements OutboundFrame {
         return newMessage;
     }
 
+    private byte[] headerContent() {
+        return buffer != null ? buffer : startFrame.content;
+    }
+
+    private int headerOffset() {
+        return buffer != null ? SIZE_OF_FRAME_LENGTH_AND_FLAGS : 0;
+    }
+
+    private void checkFlat() {
+        if (buffer == null) {
+            throw new IllegalStateException("The client message is not flat");
+        }
+    }
+
+    /**
+     * Converts a flat message to the linked frames, the final flag of the
+     * last frame is dropped as it's a part of the wire format only.
+     */
+    private void inflate() {
+        if (buffer == null) {
+            return;
+        }
+        int offset = 0;
+        while (offset < bufferLength) {
+            int frameLength = Bits.readIntL(buffer, offset);
+            int flags = Bits.readShortL(buffer, offset + Bits.INT_SIZE_IN_BYTES) & 0xFFFF;
+            byte[] content = Arrays.copyOfRange(buffer, offset + SIZE_OF_FRAME_LENGTH_AND_FLAGS, offset + frameLength);
+            offset += frameLength;
+            Frame frame = new Frame(content, offset == bufferLength ? flags & ~IS_FINAL_FLAG : flags);
+            if (startFrame == null) {
+                startFrame = frame;
+            } else {
+                endFrame.next = frame;
+            }
+            endFrame = frame;
+        }
+        buffer = null;
+        frameOffsets = null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol;
+
+import com.hazelcast.internal.nio.Bits;
+
+import java.util.Arrays;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_DATA_STRUCTURE_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.END_DATA_STRUCTURE_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.IS_NULL_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
+
+/**
+ * Encodes a {@link ClientMessage} into a contiguous buffer, without
+ * allocating a {@link ClientMessage.Frame} and a content array per frame.
+ * The frames are written in their wire format and their offsets are kept
+ * in an int array, the built message is written to the network in bulk.
+ * <p>
+ * The builders are pooled per thread, a builder is acquired by
+ * {@link #acquire()} and released by {@link #build()}, or by {@link #close()}
+ * when the encoding fails before the message is built. The buffer of a
+ * pooled builder is reused for the subsequent messages, a message built by
+ * it holds a copy of its exact length only.
+ * <p>
+ * A typical encoder writes the initial frame, with the fixed size fields,
+ * followed by the variable size fields:
+ * <pre>{@code
+ * ClientMessage clientMessage;
+ * try (ClientMessageBuilder builder = ClientMessageBuilder.acquire()) {
+ *     int offset = builder.addFrame(UNFRAGMENTED_MESSAGE, REQUEST_INITIAL_FRAME_SIZE);
+ *     encodeInt(builder.getBuffer(), offset + TYPE_FIELD_OFFSET, REQUEST_MESSAGE_TYPE);
+ *     StringCodec.encode(builder, name);
+ *     clientMessage = builder.build();
+ * }
+ * }</pre>
+ */
+public final class ClientMessageBuilder implements AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int INITIAL_FRAME_CAPACITY = 16;
+    /**
+     * The buffers growing beyond this capacity are not kept by the pooled
+     * builders, to not retain the memory of an occasional large message.
+     */
+    private static final int MAX_POOLED_CAPACITY = 1 << 16;
+
+    private static final ThreadLocal<ClientMessageBuilder> POOL = ThreadLocal.withInitial(ClientMessageBuilder::new);
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int[] frameOffsets = new int[INITIAL_FRAME_CAPACITY];
+    private int frameCount;
+    private boolean acquired;
+
+    private ClientMessageBuilder() {
+    }
+
+    /**
+     * Acquires the builder of the current thread, a new builder is created
+     * if the builder of the thread is already acquired.
+     */
+    public static ClientMessageBuilder acquire() {
+        ClientMessageBuilder builder = POOL.get();
+        if (builder.acquired) {
+            builder = new ClientMessageBuilder();
+        }
+        builder.acquired = true;
+        return builder;
+    }
+
+    /**
+     * Adds a frame with the given flags and content length.
+     *
+     * @return the offset of the content of the frame in the
+     * {@link #getBuffer() buffer}, the content is zeroed.
+     */
+    public int addFrame(int flags, int contentLength) {
+        int contentOffset = addFrameHeader(flags, contentLength);
+        Arrays.fill(buffer, contentOffset, contentOffset + contentLength, (byte) 0);
+        return contentOffset;
+    }
+
+    /**
+     * Adds a frame with the given flags and a copy of the given content.
+     */
+    public void addFrame(int flags, byte[] content) {
+        addFrame(flags, content, 0, content.length);
+    }
+
+    /**
+     * Adds a frame with the given flags and a copy of the given range of
+     * the given content.
+     */
+    public void addFrame(int flags, byte[] content, int offset, int contentLength) {
+        int contentOffset = addFrameHeader(flags, contentLength);
+        System.arraycopy(content, offset, buffer, contentOffset, contentLength);
+    }
+
+    public void addNullFrame() {
+        addFrame(IS_NULL_FLAG, 0);
+    }
+
+    public void addBeginFrame() {
+        addFrame(BEGIN_DATA_STRUCTURE_FLAG, 0);
+    }
+
+    public void addEndFrame() {
+        addFrame(END_DATA_STRUCTURE_FLAG, 0);
+    }
+
+    /**
+     * Adds copies of the frames of the given message, from the frame at
+     * the given index, inclusive, to the frame at the given index,
+     * exclusive. A flat message is copied in bulk.
+     */
+    public void addFrames(ClientMessage message, int fromIndex, int toIndex) {
+        if (!message.isFlat()) {
+            ClientMessage.ForwardFrameIterator iterator = message.frameIterator();
+            for (int i = 0; i < toIndex && iterator.hasNext(); i++) {
+                ClientMessage.Frame frame = iterator.next();
+                if (i >= fromIndex) {
+                    addFrame(frame.flags, frame.content);
+                }
+            }
+            return;
+        }
+
+        int[] offsets = message.getFrameOffsets();
+        int from = offsets[fromIndex];
+        int to = toIndex == offsets.length ? message.getFrameLength() : offsets[toIndex];
+        ensureCapacity(to - from);
+        System.arraycopy(message.getBuffer(), from, buffer, length, to - from);
+        for (int i = fromIndex; i < toIndex; i++) {
+            addFrameOffset(length + offsets[i] - from);
+        }
+        length += to - from;
+        // the final flag is set on the last frame of the built message only
+        clearFlag(frameCount - 1, IS_FINAL_FLAG);
+    }
+
+    /**
+     * Returns the buffer the frames are written to, it may be replaced by
+     * a larger one when a frame is added.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the number of the added frames.
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Sets the given flags on the frame at the given index.
+     */
+    public void addFlags(int frameIndex, int flags) {
+        int flagsOffset = frameOffsets[frameIndex] + Bits.INT_SIZE_IN_BYTES;
+        Bits.writeShortL(buffer, flagsOffset, (short) (Bits.readShortL(buffer, flagsOffset) | flags));
+    }
+
+    /**
+     * Builds the message from the added frames and releases the builder.
+     * The builder must not be used afterwards.
+     */
+    public ClientMessage build() {
+        assert frameCount > 0 : "A client message must have at least one frame";
+        addFlags(frameCount - 1, IS_FINAL_FLAG);
+        ClientMessage message = ClientMessage.createFlat(Arrays.copyOf(buffer, length), length);
+        release();
+        return message;
+    }
+
+    /**
+     * Releases the builder if it was not released by {@link #build()}, so
+     * that a failed encoding does not leave the pooled builder of the
+     * thread acquired.
+     */
+    @Override
+    public void close() {
+        if (acquired) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (buffer.length > MAX_POOLED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        length = 0;
+        frameCount = 0;
+        acquired = false;
+    }
+
+    private int addFrameHeader(int flags, int contentLength) {
+        int frameLength = SIZE_OF_FRAME_LENGTH_AND_FLAGS + contentLength;
+        ensureCapacity(frameLength);
+        addFrameOffset(length);
+        Bits.writeIntL(buffer, length, frameLength);
+        Bits.writeShortL(buffer, length + Bits.INT_SIZE_IN_BYTES, (short) flags);
+        int contentOffset = length + SIZE_OF_FRAME_LENGTH_AND_FLAGS;
+        length += frameLength;
+        return contentOffset;
+    }
+
+    private void addFrameOffset(int offset) {
+        if (frameCount == frameOffsets.length) {
+            frameOffsets = Arrays.copyOf(frameOffsets, frameCount * 2);
+        }
+        frameOffsets[frameCount++] = offset;
+    }
+
+    private void clearFlag(int frameIndex, int flag) {
+        int flagsOffset = frameOffsets[frameIndex] + Bits.INT_SIZE_IN_BYTES;
+        Bits.writeShortL(buffer, flagsOffset, (short) (Bits.readShortL(buffer, flagsOffset) & ~flag));
+    }
+
+    private void ensureCapacity(int additionalLength) {
+        int requiredLength = length + additionalLength;
+        if (requiredLength > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(requiredLength, buffer.length * 2));
+        }
+    }
+}
@@ -30,6 +30,9 @@ public class ClientMessageWriter {
     private transient int writeOffset = -1;
 
     public boolean writeTo(ByteBuffer dst, ClientMessage clientMessage) {
+        if (clientMessage.isFlat()) {
+            return writeFlat(dst, clientMessage);
+        }
         if (currentFrame == null) {
             currentFrame = clientMessage.getStartFrame();
         }
@@ -48,6 +51,20 @@ public class ClientMessageWriter {
         }
     }
 
+    private boolean writeFlat(ByteBuffer dst, ClientMessage clientMessage) {
+        // the frames are in their wire format already, so they are written in bulk
+        int offset = writeOffset == -1 ? 0 : writeOffset;
+        int bytesWrite = Math.min(dst.remaining(), clientMessage.getFrameLength() - offset);
+        dst.put(clientMessage.getBuffer(), offset, bytesWrite);
+        offset += bytesWrite;
+        if (offset == clientMessage.getFrameLength()) {
+            writeOffset = -1;
+            return true;
+        }
+        writeOffset = offset;
+        return false;
+    }
+
     private boolean writeFrame(ByteBuffer dst, ClientMessage.Frame frame, boolean isLastFrame) {
         // the number of bytes that can be written to the bb
         int bytesWritable = dst.remaining();
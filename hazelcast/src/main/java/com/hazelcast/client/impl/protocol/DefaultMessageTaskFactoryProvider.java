@@ -393,6 +393,7 @@ import com.hazelcast.client.impl.protocol.codec.XATransactionCreateCodec;
 import com.hazelcast.client.impl.protocol.codec.XATransactionFinalizeCodec;
 import com.hazelcast.client.impl.protocol.codec.XATransactionPrepareCodec;
 import com.hazelcast.client.impl.protocol.codec.XATransactionRollbackCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.MapBatchCodec;
 import com.hazelcast.client.impl.protocol.task.AddBackupListenerMessageTask;
 import com.hazelcast.client.impl.protocol.task.AddClusterViewListenerMessageTask;
 import com.hazelcast.client.impl.protocol.task.AddDistributedObjectListenerMessageTask;
@@ -562,6 +563,7 @@ import com.hazelcast.client.impl.protocol.task.map.MapExecuteOnAllKeysMessageTas
 import com.hazelcast.client.impl.protocol.task.map.MapExecuteOnKeyMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapExecuteOnKeysMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapExecuteWithPredicateMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapBatchMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapFetchEntriesMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapFetchKeysMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapFetchNearCacheInvalidationMetadataTask;
@@ -1418,6 +1420,8 @@ public class DefaultMessageTaskFactoryProvider implements MessageTaskFactoryProv
                 (cm, con) -> new MapPutIfAbsentWithMaxIdleMessageTask(cm, node, con));
         factories.put(MapPutTransientWithMaxIdleCodec.REQUEST_MESSAGE_TYPE,
                 (cm, con) -> new MapPutTransientWithMaxIdleMessageTask(cm, node, con));
+        factories.put(MapBatchCodec.REQUEST_MESSAGE_TYPE,
+                (cm, con) -> new MapBatchMessageTask(cm, node, con));
         factories.put(MapPutAllWithMetadataCodec.REQUEST_MESSAGE_TYPE,
                 (cm, con) -> new MapPutAllWithMetadataMessageTask(cm, node, con));
     }
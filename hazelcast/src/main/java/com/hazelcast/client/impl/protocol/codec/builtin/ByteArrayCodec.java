@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol.codec.builtin;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
 
 public final class ByteArrayCodec {
 
@@ -27,6 +28,10 @@ public final class ByteArrayCodec {
         clientMessage.add(new ClientMessage.Frame(bytes));
     }
 
+    public static void encode(ClientMessageBuilder builder, byte[] bytes) {
+        builder.addFrame(ClientMessage.DEFAULT_FLAGS, bytes);
+    }
+
     public static byte[] decode(ClientMessage.ForwardFrameIterator iterator) {
         return iterator.next().content;
     }
@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol.codec.builtin;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.serialization.Data;
 
@@ -40,6 +41,18 @@ public final class DataCodec {
         }
     }
 
+    public static void encode(ClientMessageBuilder builder, Data data) {
+        builder.addFrame(ClientMessage.DEFAULT_FLAGS, data.toByteArray());
+    }
+
+    public static void encodeNullable(ClientMessageBuilder builder, Data data) {
+        if (data == null) {
+            builder.addNullFrame();
+        } else {
+            encode(builder, data);
+        }
+    }
+
     public static Data decode(ClientMessage.ForwardFrameIterator iterator) {
         return new HeapData(iterator.next().content);
     }
@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol.codec.builtin;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
 import com.hazelcast.client.impl.protocol.codec.holder.VectorPairHolder;
 import com.hazelcast.vector.VectorValues;
 
@@ -47,6 +48,15 @@ public final class ListMultiFrameCodec {
         clientMessage.add(END_FRAME.copy());
     }
 
+    public static <T> void encode(ClientMessageBuilder builder, Iterable<T> collection,
+                                  BiConsumer<ClientMessageBuilder, T> encodeFunction) {
+        builder.addBeginFrame();
+        for (T item : collection) {
+            encodeFunction.accept(builder, item);
+        }
+        builder.addEndFrame();
+    }
+
     public static <T> void encodeContainsNullable(ClientMessage clientMessage, Iterable<T> collection,
                                                   BiConsumer<ClientMessage, T> encodeFunction) {
         clientMessage.add(BEGIN_FRAME.copy());
@@ -60,6 +70,19 @@ public final class ListMultiFrameCodec {
         clientMessage.add(END_FRAME.copy());
     }
 
+    public static <T> void encodeContainsNullable(ClientMessageBuilder builder, Iterable<T> collection,
+                                                  BiConsumer<ClientMessageBuilder, T> encodeFunction) {
+        builder.addBeginFrame();
+        for (T item : collection) {
+            if (item == null) {
+                builder.addNullFrame();
+            } else {
+                encodeFunction.accept(builder, item);
+            }
+        }
+        builder.addEndFrame();
+    }
+
     public static <T> void encodeNullable(ClientMessage clientMessage, Collection<T> collection,
                                           BiConsumer<ClientMessage, T> encodeFunction) {
         if (collection == null) {
@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol.codec.builtin;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
 
 import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.decodeLong;
@@ -36,6 +37,14 @@ public final class LongArrayCodec {
         clientMessage.add(frame);
     }
 
+    public static void encode(ClientMessageBuilder builder, long[] array) {
+        int itemCount = array.length;
+        int offset = builder.addFrame(ClientMessage.DEFAULT_FLAGS, itemCount * LONG_SIZE_IN_BYTES);
+        for (int i = 0; i < itemCount; i++) {
+            encodeLong(builder.getBuffer(), offset + i * LONG_SIZE_IN_BYTES, array[i]);
+        }
+    }
+
     public static long[] decode(ClientMessage.Frame frame) {
         int itemCount = frame.content.length / LONG_SIZE_IN_BYTES;
         long[] result = new long[itemCount];
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.codec.builtin;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
+import com.hazelcast.client.impl.protocol.codec.custom.ErrorHolderCodec;
+import com.hazelcast.client.impl.protocol.exception.ErrorHolder;
+import com.hazelcast.internal.serialization.Data;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.PARTITION_ID_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.RESPONSE_BACKUP_ACKS_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.TYPE_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.INT_SIZE_IN_BYTES;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.encodeInt;
+
+/**
+ * Encodes and decodes the {@code Map.Batch} messages, which execute a batch
+ * of get, put, set and remove operations on the given keys of a map. The
+ * operations are independent of each other, they may belong to different
+ * partitions and they are executed concurrently. The response contains a
+ * result for each operation, the results of the failed operations are
+ * {@code null} and their errors are listed separately.
+ * <p>
+ * Written by hand in the layout of the generated codecs. The requests are
+ * encoded into flat messages by a {@link ClientMessageBuilder}. The message types
+ * follow the last {@code Map} message type, they aren't defined in the
+ * client protocol definitions, so the non-Java clients don't support them.
+ */
+public final class MapBatchCodec {
+
+    // hex: 0x014A00
+    public static final int REQUEST_MESSAGE_TYPE = 84480;
+    // hex: 0x014A01
+    public static final int RESPONSE_MESSAGE_TYPE = 84481;
+    private static final int REQUEST_INITIAL_FRAME_SIZE = PARTITION_ID_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int RESPONSE_INITIAL_FRAME_SIZE = RESPONSE_BACKUP_ACKS_FIELD_OFFSET + BYTE_SIZE_IN_BYTES;
+
+    private MapBatchCodec() {
+    }
+
+    @SuppressFBWarnings("URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+    public static class RequestParameters {
+
+        /**
+         * name of map
+         */
+        public String name;
+
+        /**
+         * the types of the operations
+         */
+        public byte[] operationTypes;
+
+        /**
+         * the keys of the operations
+         */
+        public List<Data> keys;
+
+        /**
+         * the values of the operations, null for the operations without a value
+         */
+        public List<Data> values;
+
+        /**
+         * the ids of the threads executing the operations
+         */
+        public long[] threadIds;
+    }
+
+    public static ClientMessage encodeRequest(String name, byte[] operationTypes, Collection<Data> keys,
+                                              Collection<Data> values, long[] threadIds) {
+        ClientMessage clientMessage;
+        try (ClientMessageBuilder builder = ClientMessageBuilder.acquire()) {
+            int offset = builder.addFrame(UNFRAGMENTED_MESSAGE, REQUEST_INITIAL_FRAME_SIZE);
+            encodeInt(builder.getBuffer(), offset + TYPE_FIELD_OFFSET, REQUEST_MESSAGE_TYPE);
+            encodeInt(builder.getBuffer(), offset + PARTITION_ID_FIELD_OFFSET, -1);
+            StringCodec.encode(builder, name);
+            ByteArrayCodec.encode(builder, operationTypes);
+            ListMultiFrameCodec.encode(builder, keys, DataCodec::encode);
+            ListMultiFrameCodec.encodeContainsNullable(builder, values, DataCodec::encode);
+            LongArrayCodec.encode(builder, threadIds);
+            clientMessage = builder.build();
+        }
+        clientMessage.setContainsSerializedDataInRequest(true);
+        clientMessage.setRetryable(false);
+        clientMessage.setOperationName("Map.Batch");
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        ClientMessage.ForwardFrameIterator iterator = clientMessage.frameIterator();
+        RequestParameters request = new RequestParameters();
+        //empty initial frame
+        iterator.next();
+        request.name = StringCodec.decode(iterator);
+        request.operationTypes = ByteArrayCodec.decode(iterator);
+        request.keys = ListMultiFrameCodec.decode(iterator, DataCodec::decode);
+        request.values = ListMultiFrameCodec.decodeContainsNullable(iterator, DataCodec::decode);
+        request.threadIds = LongArrayCodec.decode(iterator);
+        return request;
+    }
+
+    @SuppressFBWarnings("URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+    public static class ResponseParameters {
+
+        /**
+         * the results of the operations, null for the failed operations
+         */
+        public List<Data> results;
+
+        /**
+         * the indexes of the failed operations
+         */
+        public List<Integer> errorIndexes;
+
+        /**
+         * the errors of the failed operations, each one followed by its causes
+         */
+        public List<List<ErrorHolder>> errors;
+    }
+
+    public static ClientMessage encodeResponse(Collection<Data> results, Collection<Integer> errorIndexes,
+                                               Collection<List<ErrorHolder>> errors) {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[RESPONSE_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, RESPONSE_MESSAGE_TYPE);
+        clientMessage.add(initialFrame);
+
+        ListMultiFrameCodec.encodeContainsNullable(clientMessage, results, DataCodec::encode);
+        ListIntegerCodec.encode(clientMessage, errorIndexes);
+        ListMultiFrameCodec.encode(clientMessage, errors,
+                (message, errorHolders) -> ListMultiFrameCodec.encode(message, errorHolders, ErrorHolderCodec::encode));
+        return clientMessage;
+    }
+
+    public static ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ClientMessage.ForwardFrameIterator iterator = clientMessage.frameIterator();
+        ResponseParameters response = new ResponseParameters();
+        //empty initial frame
+        iterator.next();
+        response.results = ListMultiFrameCodec.decodeContainsNullable(iterator, DataCodec::decode);
+        response.errorIndexes = ListIntegerCodec.decode(iterator);
+        response.errors = ListMultiFrameCodec.decode(iterator,
+                errorsIterator -> ListMultiFrameCodec.decode(errorsIterator, ErrorHolderCodec::decode));
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.codec.builtin;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.IS_EVENT_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.PARTITION_ID_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.TYPE_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.INT_SIZE_IN_BYTES;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.encodeInt;
+
+/**
+ * Encodes and decodes the Near Cache invalidation events sent to the
+ * listeners added by {@code Map.AddNearCacheInvalidationListener} with the
+ * compact batch listener flag. The event carries a batch of invalidations in
+ * the compact binary encoding, optionally deflated.
+ * <p>
+ * Written by hand in the layout of the generated codecs. The message type
+ * follows the {@link MapBatchCodec} message types, it isn't defined in the
+ * client protocol definitions, so it is sent only to the clients which set
+ * the listener flag.
+ */
+public final class MapNearCacheCompactBatchInvalidationCodec {
+
+    // hex: 0x014B02
+    public static final int EVENT_I_MAP_COMPACT_BATCH_INVALIDATION_MESSAGE_TYPE = 84738;
+    private static final int EVENT_I_MAP_COMPACT_BATCH_INVALIDATION_INITIAL_FRAME_SIZE =
+            PARTITION_ID_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+
+    private MapNearCacheCompactBatchInvalidationCodec() {
+    }
+
+    public static ClientMessage encodeIMapCompactBatchInvalidationEvent(byte[] batch) {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(
+                new byte[EVENT_I_MAP_COMPACT_BATCH_INVALIDATION_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        initialFrame.flags |= IS_EVENT_FLAG;
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, EVENT_I_MAP_COMPACT_BATCH_INVALIDATION_MESSAGE_TYPE);
+        encodeInt(initialFrame.content, PARTITION_ID_FIELD_OFFSET, -1);
+        clientMessage.add(initialFrame);
+
+        ByteArrayCodec.encode(clientMessage, batch);
+        return clientMessage;
+    }
+
+    /**
+     * Returns the batch of invalidations in the compact binary encoding.
+     */
+    public static byte[] decodeIMapCompactBatchInvalidationEvent(ClientMessage clientMessage) {
+        ClientMessage.ForwardFrameIterator iterator = clientMessage.frameIterator();
+        //empty initial frame
+        iterator.next();
+        return ByteArrayCodec.decode(iterator);
+    }
+}
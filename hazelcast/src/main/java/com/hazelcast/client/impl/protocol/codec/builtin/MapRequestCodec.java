@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.codec.builtin;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.client.impl.protocol.codec.MapSetCodec;
+import com.hazelcast.internal.serialization.Data;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.PARTITION_ID_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.TYPE_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.INT_SIZE_IN_BYTES;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.encodeInt;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.encodeLong;
+
+/**
+ * Encodes the most frequent map requests, {@code Map.Get}, {@code Map.Put}
+ * and {@code Map.Set}, into flat messages by a {@link ClientMessageBuilder}.
+ * <p>
+ * The generated codecs can't be changed by hand, so the requests are encoded
+ * here in the exact wire format of {@link MapGetCodec}, {@link MapPutCodec}
+ * and {@link MapSetCodec}, which still decode them.
+ */
+public final class MapRequestCodec {
+
+    private static final int REQUEST_THREAD_ID_FIELD_OFFSET = PARTITION_ID_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int REQUEST_TTL_FIELD_OFFSET = REQUEST_THREAD_ID_FIELD_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int GET_REQUEST_INITIAL_FRAME_SIZE = REQUEST_THREAD_ID_FIELD_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int PUT_REQUEST_INITIAL_FRAME_SIZE = REQUEST_TTL_FIELD_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private MapRequestCodec() {
+    }
+
+    /**
+     * Encodes a request the same way as {@link MapGetCodec#encodeRequest}.
+     */
+    public static ClientMessage encodeGetRequest(String name, Data key, long threadId) {
+        ClientMessage clientMessage;
+        try (ClientMessageBuilder builder = ClientMessageBuilder.acquire()) {
+            int offset = builder.addFrame(UNFRAGMENTED_MESSAGE, GET_REQUEST_INITIAL_FRAME_SIZE);
+            byte[] buffer = builder.getBuffer();
+            encodeInt(buffer, offset + TYPE_FIELD_OFFSET, MapGetCodec.REQUEST_MESSAGE_TYPE);
+            encodeInt(buffer, offset + PARTITION_ID_FIELD_OFFSET, -1);
+            encodeLong(buffer, offset + REQUEST_THREAD_ID_FIELD_OFFSET, threadId);
+            StringCodec.encode(builder, name);
+            DataCodec.encode(builder, key);
+            clientMessage = builder.build();
+        }
+        clientMessage.setContainsSerializedDataInRequest(true);
+        clientMessage.setRetryable(true);
+        clientMessage.setOperationName("Map.Get");
+        return clientMessage;
+    }
+
+    /**
+     * Encodes a request the same way as {@link MapPutCodec#encodeRequest}.
+     */
+    public static ClientMessage encodePutRequest(String name, Data key, Data value, long threadId, long ttl) {
+        ClientMessage clientMessage = encodePutRequest(MapPutCodec.REQUEST_MESSAGE_TYPE, name, key, value, threadId, ttl);
+        clientMessage.setOperationName("Map.Put");
+        return clientMessage;
+    }
+
+    /**
+     * Encodes a request the same way as {@link MapSetCodec#encodeRequest}.
+     */
+    public static ClientMessage encodeSetRequest(String name, Data key, Data value, long threadId, long ttl) {
+        ClientMessage clientMessage = encodePutRequest(MapSetCodec.REQUEST_MESSAGE_TYPE, name, key, value, threadId, ttl);
+        clientMessage.setOperationName("Map.Set");
+        return clientMessage;
+    }
+
+    private static ClientMessage encodePutRequest(int messageType, String name, Data key, Data value, long threadId,
+                                                  long ttl) {
+        ClientMessage clientMessage;
+        try (ClientMessageBuilder builder = ClientMessageBuilder.acquire()) {
+            int offset = builder.addFrame(UNFRAGMENTED_MESSAGE, PUT_REQUEST_INITIAL_FRAME_SIZE);
+            byte[] buffer = builder.getBuffer();
+            encodeInt(buffer, offset + TYPE_FIELD_OFFSET, messageType);
+            encodeInt(buffer, offset + PARTITION_ID_FIELD_OFFSET, -1);
+            encodeLong(buffer, offset + REQUEST_THREAD_ID_FIELD_OFFSET, threadId);
+            encodeLong(buffer, offset + REQUEST_TTL_FIELD_OFFSET, ttl);
+            StringCodec.encode(builder, name);
+            DataCodec.encode(builder, key);
+            DataCodec.encode(builder, value);
+            clientMessage = builder.build();
+        }
+        clientMessage.setContainsSerializedDataInRequest(true);
+        clientMessage.setRetryable(false);
+        return clientMessage;
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol.codec.builtin;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
 
 import java.nio.charset.StandardCharsets;
 
@@ -29,6 +30,10 @@ public final class StringCodec {
         clientMessage.add(new ClientMessage.Frame(value.getBytes(StandardCharsets.UTF_8)));
     }
 
+    public static void encode(ClientMessageBuilder builder, String value) {
+        builder.addFrame(ClientMessage.DEFAULT_FLAGS, value.getBytes(StandardCharsets.UTF_8));
+    }
+
     public static String decode(ClientMessage.ForwardFrameIterator iterator) {
         return new String(iterator.next().content, StandardCharsets.UTF_8);
     }
@@ -61,7 +61,7 @@ public class AddBackupListenerMessageTask
     @Override
     public void accept(long backupCorrelationId) {
         ClientMessage eventMessage = ClientLocalBackupListenerCodec.encodeBackupEvent(backupCorrelationId);
-        eventMessage.getStartFrame().flags |= ClientMessage.BACKUP_EVENT_FLAG;
+        eventMessage.addHeaderFlags(ClientMessage.BACKUP_EVENT_FLAG);
         sendClientMessage(eventMessage);
     }
 
@@ -33,8 +33,8 @@ abstract class AbstractMapClientNearCacheInvalidationListener
     private final ClientEndpoint endpoint;
 
     AbstractMapClientNearCacheInvalidationListener(ClientEndpoint endpoint,
-                                                   UUID localMemberUuid, long correlationId) {
-        super(localMemberUuid, correlationId);
+                                                   UUID localMemberUuid, long correlationId, int listenerFlags) {
+        super(localMemberUuid, correlationId, listenerFlags);
         this.endpoint = endpoint;
     }
 
@@ -45,8 +45,8 @@ public abstract class AbstractMapQueryWithPagingPredicateMessageTask<P> extends
     protected Object reduce(Collection<QueryResultRow> result) {
         ArrayList<QueryableEntry> accumulatedList = new ArrayList<>(result.size());
 
-        // TODO: The following lines will be replaced by k-way merge sort algorithm as described at
-        //  https://github.com/hazelcast/hazelcast/issues/12205
+        // The rows are concatenated sorted runs of the members, they are k-way
+        // merged up to the requested page while getting the page data.
         result.forEach(
                 row -> accumulatedList.add(new CachedQueryEntry(serializationService, row.getKey(), row.getValue(), null)));
 
@@ -19,7 +19,9 @@ package com.hazelcast.client.impl.protocol.task.map;
 import com.hazelcast.client.impl.ClientEndpoint;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheInvalidationListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.MapNearCacheCompactBatchInvalidationCodec;
 import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch;
 import com.hazelcast.internal.nearcache.impl.invalidation.Invalidation;
 import com.hazelcast.map.impl.EventListenerFilter;
 import com.hazelcast.map.impl.nearcache.invalidation.UuidFilter;
@@ -31,6 +33,9 @@ import com.hazelcast.spi.impl.eventservice.EventFilter;
 import java.util.List;
 import java.util.UUID;
 
+import static com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.COMPACT_BATCH_LISTENER_FLAG;
+import static com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.COMPRESSION_LISTENER_FLAG;
+
 /**
  * Clients which are AWARE of eventual consistent Near Cache should call this task.
  *
@@ -83,18 +88,20 @@ public class MapAddNearCacheInvalidationListenerMessageTask
     protected Object newMapListener() {
         UUID uuid = nodeEngine.getLocalMember().getUuid();
         long correlationId = clientMessage.getCorrelationId();
-        return new NearCacheInvalidationListener(endpoint, uuid, correlationId);
+        return new NearCacheInvalidationListener(endpoint, uuid, correlationId, parameters.listenerFlags);
     }
 
     @Override
     protected EventFilter getEventFilter() {
-        return new EventListenerFilter(parameters.listenerFlags, new UuidFilter(endpoint.getUuid()));
+        int listenerFlags = parameters.listenerFlags & ~(COMPACT_BATCH_LISTENER_FLAG | COMPRESSION_LISTENER_FLAG);
+        return new EventListenerFilter(listenerFlags, new UuidFilter(endpoint.getUuid()));
     }
 
     private final class NearCacheInvalidationListener extends AbstractMapClientNearCacheInvalidationListener {
 
-        NearCacheInvalidationListener(ClientEndpoint endpoint, UUID localMemberUuid, long correlationId) {
-            super(endpoint, localMemberUuid, correlationId);
+        NearCacheInvalidationListener(ClientEndpoint endpoint, UUID localMemberUuid, long correlationId,
+                                      int listenerFlags) {
+            super(endpoint, localMemberUuid, correlationId, listenerFlags);
         }
 
         @Override
@@ -104,6 +111,13 @@ public class MapAddNearCacheInvalidationListenerMessageTask
                     partitionUuids, sequences);
         }
 
+        @Override
+        protected ClientMessage encodeCompactBatchInvalidation(String name, List<Invalidation> invalidations,
+                                                               boolean compress) {
+            byte[] batch = CompactInvalidationBatch.encode(invalidations, compress);
+            return MapNearCacheCompactBatchInvalidationCodec.encodeIMapCompactBatchInvalidationEvent(batch);
+        }
+
         @Override
         protected ClientMessage encodeSingleInvalidation(String name, Data key, UUID sourceUuid,
                                                          UUID partitionUuid, long sequence) {
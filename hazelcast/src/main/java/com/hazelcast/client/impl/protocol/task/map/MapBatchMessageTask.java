@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.impl.protocol.ClientExceptionFactory;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.builtin.MapBatchCodec;
+import com.hazelcast.client.impl.protocol.exception.ErrorHolder;
+import com.hazelcast.client.impl.protocol.task.AbstractAsyncMessageTask;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.internal.namespace.NamespaceUtil;
+import com.hazelcast.internal.nio.Connection;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Timer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.security.SecurityInterceptorConstants;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.security.permission.UserCodeNamespacePermission;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Executes a batch of independent map operations sent by a client. Each
+ * operation is invoked on its own partition, all of them concurrently, and
+ * the response is sent once all of them complete. A failure of an operation
+ * is reported in the response and doesn't affect the others.
+ * <p>
+ * Unlike the partition message tasks of the single operations, the batches
+ * aren't run on the partition threads, so the operations of the batches of
+ * a client may be executed in a different order than they were sent in.
+ * The client sends batches only when it's enabled to, see
+ * {@link com.hazelcast.client.properties.ClientProperty#MAP_BATCH_WINDOW_MICROS}.
+ */
+public class MapBatchMessageTask
+        extends AbstractAsyncMessageTask<MapBatchCodec.RequestParameters, MapBatchMessageTask.BatchResult> {
+
+    /**
+     * Operation type of {@code IMap.get}.
+     */
+    public static final byte GET = 0;
+    /**
+     * Operation type of {@code IMap.put} without a TTL or max idle.
+     */
+    public static final byte PUT = 1;
+    /**
+     * Operation type of {@code IMap.set} without a TTL or max idle.
+     */
+    public static final byte SET = 2;
+    /**
+     * Operation type of {@code IMap.remove}.
+     */
+    public static final byte REMOVE = 3;
+
+    private transient long startTimeNanos;
+
+    public MapBatchMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected void processMessage() {
+        NamespaceUtil.runWithNamespace(nodeEngine, getUserCodeNamespace(), super::processMessage);
+    }
+
+    @Override
+    protected void beforeProcess() {
+        startTimeNanos = Timer.nanos();
+    }
+
+    @Override
+    protected CompletableFuture<BatchResult> processInternal() {
+        int operationCount = parameters.operationTypes.length;
+        BatchResult batchResult = new BatchResult(operationCount);
+        if (operationCount == 0) {
+            return CompletableFuture.completedFuture(batchResult);
+        }
+
+        String name = parameters.name;
+        MapServiceContext mapServiceContext = getMapServiceContext();
+        MapOperationProvider operationProvider = mapServiceContext.getMapOperationProvider(name);
+        LocalMapStatsImpl stats = mapServiceContext.getMapContainer(name).getMapConfig().isStatisticsEnabled()
+                ? mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name) : null;
+        OperationService operationService = nodeEngine.getOperationService();
+        ClientExceptionFactory exceptionFactory = clientEngine.getExceptionFactory();
+
+        CompletableFuture<BatchResult> future = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(operationCount);
+        for (int i = 0; i < operationCount; i++) {
+            int index = i;
+            byte operationType = parameters.operationTypes[i];
+            CompletableFuture<Object> operationFuture;
+            try {
+                MapOperation op = createOperation(operationProvider, operationType, i);
+                op.setThreadId(parameters.threadIds[i]);
+                op.setCallerUuid(endpoint.getUuid());
+                int partitionId = nodeEngine.getPartitionService().getPartitionId(parameters.keys.get(i));
+                operationFuture = operationService.createInvocationBuilder(getServiceName(), op, partitionId)
+                        .setResultDeserialized(false).invoke();
+            } catch (Exception e) {
+                operationFuture = CompletableFuture.failedFuture(e);
+            }
+            operationFuture.whenCompleteAsync((response, throwable) -> {
+                if (throwable == null) {
+                    // the result of a set is not returned to the client
+                    batchResult.results[index] = operationType == SET ? null : serializationService.toData(response);
+                    if (stats != null) {
+                        updateStats(stats, operationType);
+                    }
+                } else {
+                    batchResult.setError(index, exceptionFactory.createErrorHolders(throwable));
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    future.complete(batchResult);
+                }
+            }, CALLER_RUNS);
+        }
+        return future;
+    }
+
+    private MapOperation createOperation(MapOperationProvider operationProvider, byte operationType, int index) {
+        String name = parameters.name;
+        Data key = parameters.keys.get(index);
+        return switch (operationType) {
+            case GET -> operationProvider.createGetOperation(name, key);
+            case PUT -> operationProvider.createPutOperation(name, key, parameters.values.get(index), UNSET, UNSET);
+            case SET -> operationProvider.createSetOperation(name, key, parameters.values.get(index), UNSET, UNSET);
+            case REMOVE -> operationProvider.createRemoveOperation(name, key);
+            default -> throw new IllegalArgumentException("Unknown batch operation type: " + operationType);
+        };
+    }
+
+    private void updateStats(LocalMapStatsImpl stats, byte operationType) {
+        long latencyNanos = Timer.nanosElapsed(startTimeNanos);
+        switch (operationType) {
+            case GET -> stats.incrementGetLatencyNanos(latencyNanos);
+            case PUT -> stats.incrementPutLatencyNanos(latencyNanos);
+            case SET -> stats.incrementSetLatencyNanos(latencyNanos);
+            case REMOVE -> stats.incrementRemoveLatencyNanos(latencyNanos);
+            default -> {
+            }
+        }
+    }
+
+    private MapServiceContext getMapServiceContext() {
+        MapService mapService = getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext();
+    }
+
+    @Override
+    protected MapBatchCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapBatchCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        BatchResult batchResult = (BatchResult) response;
+        return MapBatchCodec.encodeResponse(Arrays.asList(batchResult.results), batchResult.errorIndexes,
+                batchResult.errors);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        Set<String> actions = new HashSet<>();
+        for (byte operationType : parameters.operationTypes) {
+            actions.add(switch (operationType) {
+                case GET -> ActionConstants.ACTION_READ;
+                case PUT, SET -> ActionConstants.ACTION_PUT;
+                case REMOVE -> ActionConstants.ACTION_REMOVE;
+                default -> throw new IllegalArgumentException("Unknown batch operation type: " + operationType);
+            });
+        }
+        return new MapPermission(parameters.name, actions.toArray(new String[0]));
+    }
+
+    @Override
+    public Permission getUserCodeNamespacePermission() {
+        String namespace = getUserCodeNamespace();
+        return namespace != null ? new UserCodeNamespacePermission(namespace, ActionConstants.ACTION_USE) : null;
+    }
+
+    private String getUserCodeNamespace() {
+        return MapService.lookupNamespace(nodeEngine, getDistributedObjectName());
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return SecurityInterceptorConstants.BATCH;
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.keys, parameters.values};
+    }
+
+    static final class BatchResult {
+
+        final Data[] results;
+        final List<Integer> errorIndexes = new ArrayList<>();
+        final List<List<ErrorHolder>> errors = new ArrayList<>();
+
+        BatchResult(int operationCount) {
+            this.results = new Data[operationCount];
+        }
+
+        synchronized void setError(int index, List<ErrorHolder> errorHolders) {
+            errorIndexes.add(index);
+            errors.add(errorHolders);
+        }
+    }
+}
@@ -17,9 +17,11 @@
 package com.hazelcast.client.impl.protocol.util;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
 import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.spi.impl.sequence.CallIdSequenceWithoutBackpressure;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -53,6 +55,9 @@ public final class ClientMessageSplitter {
             return Collections.singletonList(clientMessage);
         }
         long fragmentId = FRAGMENT_ID_SEQUENCE.next();
+        if (clientMessage.isFlat()) {
+            return getFlatFragments(maxFrameSize, clientMessage, fragmentId);
+        }
         LinkedList<ClientMessage> fragments = new LinkedList<>();
         ClientMessage.ForwardFrameIterator iterator = clientMessage.frameIterator();
 
@@ -96,6 +101,52 @@ public final class ClientMessageSplitter {
         return fragments;
     }
 
+    /**
+     * Splits a flat message into flat fragments, the frames of a fragment
+     * are copied in bulk. The frames are grouped the same way as the
+     * frames of a linked message.
+     */
+    private static List<ClientMessage> getFlatFragments(int maxFrameSize, ClientMessage clientMessage, long fragmentId) {
+        List<ClientMessage> fragments = new ArrayList<>();
+        int[] frameOffsets = clientMessage.getFrameOffsets();
+        int frameCount = frameOffsets.length;
+        int fragmentStart = 0;
+        int length = 0;
+        for (int i = 0; i < frameCount; i++) {
+            int frameEnd = i + 1 == frameCount ? clientMessage.getFrameLength() : frameOffsets[i + 1];
+            int frameSize = frameEnd - frameOffsets[i];
+            if (frameSize > maxFrameSize) {
+                if (fragmentStart < i) {
+                    fragments.add(createFlatFragment(fragmentId, clientMessage, fragmentStart, i));
+                }
+                fragments.add(createFlatFragment(fragmentId, clientMessage, i, i + 1));
+                fragmentStart = i + 1;
+                length = 0;
+            } else if (length + frameSize <= maxFrameSize) {
+                length += frameSize;
+            } else {
+                fragments.add(createFlatFragment(fragmentId, clientMessage, fragmentStart, i));
+                fragmentStart = i;
+                length = frameSize;
+            }
+        }
+        if (fragmentStart < frameCount) {
+            fragments.add(createFlatFragment(fragmentId, clientMessage, fragmentStart, frameCount));
+        }
+        fragments.get(0).addHeaderFlags(BEGIN_FRAGMENT_FLAG);
+        fragments.get(fragments.size() - 1).addHeaderFlags(END_FRAGMENT_FLAG);
+        return fragments;
+    }
+
+    private static ClientMessage createFlatFragment(long fragmentId, ClientMessage clientMessage, int fromFrame, int toFrame) {
+        try (ClientMessageBuilder builder = ClientMessageBuilder.acquire()) {
+            int offset = builder.addFrame(ClientMessage.DEFAULT_FLAGS, Bits.LONG_SIZE_IN_BYTES);
+            Bits.writeLongL(builder.getBuffer(), offset + ClientMessage.FRAGMENTATION_ID_OFFSET, fragmentId);
+            builder.addFrames(clientMessage, fromFrame, toFrame);
+            return builder.build();
+        }
+    }
+
     private static ClientMessage createFragment(long fragmentId) {
         ClientMessage fragment;
         fragment = ClientMessage.createForEncode();
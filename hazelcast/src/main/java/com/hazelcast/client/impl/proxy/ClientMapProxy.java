@@ -77,7 +77,6 @@ import com.hazelcast.client.impl.protocol.codec.MapRemovePartitionLostListenerCo
 import com.hazelcast.client.impl.protocol.codec.MapReplaceAllCodec;
 import com.hazelcast.client.impl.protocol.codec.MapReplaceCodec;
 import com.hazelcast.client.impl.protocol.codec.MapReplaceIfSameCodec;
-import com.hazelcast.client.impl.protocol.codec.MapSetCodec;
 import com.hazelcast.client.impl.protocol.codec.MapSetTtlCodec;
 import com.hazelcast.client.impl.protocol.codec.MapSetWithMaxIdleCodec;
 import com.hazelcast.client.impl.protocol.codec.MapSizeCodec;
@@ -89,7 +88,9 @@ import com.hazelcast.client.impl.protocol.codec.MapUnlockCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPagingPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPredicateCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.MapRequestCodec;
 import com.hazelcast.client.impl.protocol.codec.holder.PagingPredicateHolder;
+import com.hazelcast.client.impl.protocol.task.map.MapBatchMessageTask;
 import com.hazelcast.client.impl.spi.ClientContext;
 import com.hazelcast.client.impl.spi.ClientPartitionService;
 import com.hazelcast.client.impl.spi.ClientProxy;
@@ -97,6 +98,7 @@ import com.hazelcast.client.impl.spi.EventHandler;
 import com.hazelcast.client.impl.spi.impl.ClientInvocation;
 import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.impl.spi.impl.ListenerMessageCodec;
+import com.hazelcast.client.map.impl.ClientMapBatcher;
 import com.hazelcast.client.map.impl.iterator.ClientMapIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapIterator;
 import com.hazelcast.client.map.impl.iterator.ClientMapPartitionIterable;
@@ -105,6 +107,7 @@ import com.hazelcast.client.map.impl.iterator.ClientMapQueryIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryPartitionIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryPartitionIterator;
 import com.hazelcast.client.map.impl.querycache.ClientQueryCacheContext;
+import com.hazelcast.client.properties.ClientProperty;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.core.EntryEvent;
@@ -120,6 +123,7 @@ import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.SerializationUtil;
 import com.hazelcast.internal.util.CollectionUtil;
 import com.hazelcast.internal.util.ConcurrencyUtil;
+import com.hazelcast.internal.util.IterableUtil;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.EventJournalMapEvent;
@@ -133,6 +137,10 @@ import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.query.IterationTypeProjection;
+import com.hazelcast.map.impl.query.LazyQueryResultCollection;
+import com.hazelcast.map.impl.query.LazyQueryResultSet;
+import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheEndToEndProvider;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequest;
 import com.hazelcast.map.impl.querycache.subscriber.SubscriberContext;
@@ -149,6 +157,7 @@ import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
 import com.hazelcast.spi.impl.UnmodifiableLazySet;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -173,6 +182,7 @@ import java.util.function.Function;
 import static com.hazelcast.internal.util.CollectionUtil.objectToDataCollection;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
+import static com.hazelcast.internal.util.Preconditions.checkFalse;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.ThreadUtil.getThreadId;
@@ -216,6 +226,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
     private ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private ClientQueryCacheContext queryCacheContext;
     private boolean useDefaultReplaceAllOperation;
+    private ClientMapBatcher batcher;
 
     public ClientMapProxy(String serviceName, String name, ClientContext context) {
         super(serviceName, name, context);
@@ -227,6 +238,12 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
         lockReferenceIdGenerator = getClient().getLockReferenceIdGenerator();
         queryCacheContext = getContext().getQueryCacheContext();
+        HazelcastProperties properties = getClient().getProperties();
+        long batchWindowNanos = properties.getNanos(ClientProperty.MAP_BATCH_WINDOW_MICROS);
+        if (batchWindowNanos > 0) {
+            int batchMaxSize = Math.max(1, properties.getInteger(ClientProperty.MAP_BATCH_MAX_SIZE));
+            batcher = new ClientMapBatcher(getClient(), name, batchWindowNanos, batchMaxSize);
+        }
     }
 
     @Override
@@ -262,7 +279,10 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
     protected Object getInternal(Object key) {
         Data keyData = toData(key);
-        ClientMessage request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
+        if (batcher != null) {
+            return batcher.submit(MapBatchMessageTask.GET, keyData, null, getThreadId()).joinInternal();
+        }
+        ClientMessage request = MapRequestCodec.encodeGetRequest(name, keyData, getThreadId());
         ClientMessage response = invoke(request, keyData);
         return MapGetCodec.decodeResponse(response);
     }
@@ -296,6 +316,9 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
     protected Data removeInternal(Object key) {
         Data keyData = toData(key);
+        if (batcher != null) {
+            return batcher.<Data>submit(MapBatchMessageTask.REMOVE, keyData, null, getThreadId()).joinInternal();
+        }
         ClientMessage request = MapRemoveCodec.encodeRequest(name, keyData, getThreadId());
         ClientMessage response = invoke(request, keyData);
         return MapRemoveCodec.decodeResponse(response);
@@ -360,13 +383,22 @@ public class ClientMapProxy<K, V> extends ClientProxy
     protected ClientInvocationFuture getAsyncInternal(Object key) {
         try {
             Data keyData = toData(key);
-            ClientMessage request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
+            ClientMessage request = MapRequestCodec.encodeGetRequest(name, keyData, getThreadId());
             return invokeOnKeyOwner(request, keyData);
         } catch (Exception e) {
             throw rethrow(e);
         }
     }
 
+    /**
+     * Returns {@code true} if the synchronous operation with the given TTL
+     * and max idle is sent in a batch, only the operations without a TTL or
+     * max idle are batched.
+     */
+    private boolean isBatched(long ttl, Long maxIdle) {
+        return batcher != null && ttl == UNSET && maxIdle == null;
+    }
+
     private ClientInvocationFuture invokeOnKeyOwner(ClientMessage request, Data keyData) {
         int partitionId = getContext().getPartitionService().getPartitionId(keyData);
         ClientInvocation clientInvocation = new ClientInvocation(getClient(), request, getName(), partitionId);
@@ -413,7 +445,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
                 request = MapPutWithMaxIdleCodec.encodeRequest(name, keyData, valueData, getThreadId(),
                         ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
             } else {
-                request = MapPutCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+                request = MapRequestCodec.encodePutRequest(name, keyData, valueData, getThreadId(), ttlMillis);
             }
             ClientInvocationFuture future = invokeOnKeyOwner(request, keyData);
             SerializationService ss = getSerializationService();
@@ -460,7 +492,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
                 request = MapSetWithMaxIdleCodec.encodeRequest(name, keyData, valueData, getThreadId(),
                         ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
             } else {
-                request = MapSetCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+                request = MapRequestCodec.encodeSetRequest(name, keyData, valueData, getThreadId(), ttlMillis);
             }
 
             ClientInvocationFuture future = invokeOnKeyOwner(request, keyData);
@@ -551,13 +583,17 @@ public class ClientMapProxy<K, V> extends ClientProxy
     protected V putInternal(long ttl, TimeUnit ttlUnit, Long maxIdle, TimeUnit maxIdleUnit, Object key, Object value) {
         Data keyData = toData(key);
         Data valueData = toData(value);
+        if (isBatched(ttl, maxIdle)) {
+            return toObject(batcher.<Data>submit(MapBatchMessageTask.PUT, keyData, valueData, getThreadId())
+                    .joinInternal());
+        }
         long ttlMillis = timeInMsOrOneIfResultIsZero(ttl, ttlUnit);
         ClientMessage request;
         if (maxIdle != null) {
             request = MapPutWithMaxIdleCodec.encodeRequest(name, keyData, valueData,
                     getThreadId(), ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
         } else {
-            request = MapPutCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+            request = MapRequestCodec.encodePutRequest(name, keyData, valueData, getThreadId(), ttlMillis);
         }
         ClientMessage response = invoke(request, keyData);
         return toObject(MapPutCodec.decodeResponse(response));
@@ -704,13 +740,17 @@ public class ClientMapProxy<K, V> extends ClientProxy
     protected void setInternal(long ttl, TimeUnit timeunit, Long maxIdle, TimeUnit maxIdleUnit, Object key, Object value) {
         Data keyData = toData(key);
         Data valueData = toData(value);
+        if (isBatched(ttl, maxIdle)) {
+            batcher.submit(MapBatchMessageTask.SET, keyData, valueData, getThreadId()).joinInternal();
+            return;
+        }
         long ttlMillis = timeInMsOrOneIfResultIsZero(ttl, timeunit);
         ClientMessage request;
         if (maxIdle != null) {
             request = MapSetWithMaxIdleCodec.encodeRequest(name, keyData, valueData, getThreadId(),
                     ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
         } else {
-            request = MapSetCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+            request = MapRequestCodec.encodeSetRequest(name, keyData, valueData, getThreadId(), ttlMillis);
         }
         invoke(request, keyData);
     }
@@ -1932,6 +1972,65 @@ public class ClientMapProxy<K, V> extends ClientProxy
         return new ClientMapQueryIterable<>(this, fetchSize, partitionCount, projection, predicate);
     }
 
+    /**
+     * Returns the keys of the entries which satisfy the {@code predicate}
+     * as a collection consumed lazily, the keys are fetched from one
+     * partition at a time in batches when iterating the collection.
+     * Unlike {@link #keySet(Predicate)}, the result is never materialized
+     * as a whole and it isn't subject to the query result size limit.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the keys
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return a read-only collection of the keys, running the query on each iteration
+     * @throws IllegalArgumentException if the predicate is or contains a
+     *                                  {@link PagingPredicate} or a {@link PartitionPredicate}
+     * @see LazyQueryResultCollection
+     */
+    @Nonnull
+    public Set<K> streamingKeySet(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return new LazyQueryResultSet<>(streamingQuery(fetchSize, predicate, IterationType.KEY, "streamingKeySet"));
+    }
+
+    /**
+     * Returns the values of the entries which satisfy the {@code predicate}
+     * as a collection consumed lazily, see {@link #streamingKeySet(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the values
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return a read-only collection of the values, running the query on each iteration
+     */
+    @Nonnull
+    public Collection<V> streamingValues(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return new LazyQueryResultCollection<>(streamingQuery(fetchSize, predicate, IterationType.VALUE, "streamingValues"));
+    }
+
+    /**
+     * Returns the entries which satisfy the {@code predicate} as a
+     * collection consumed lazily, see {@link #streamingKeySet(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the entries
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return a read-only collection of the entries, running the query on each iteration
+     */
+    @Nonnull
+    public Set<Entry<K, V>> streamingEntrySet(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        Iterable<QueryResultRow> rows = streamingQuery(fetchSize, predicate, IterationType.ENTRY, "streamingEntrySet");
+        // the rows carry the serialized keys and values, see IterationTypeProjection
+        return new LazyQueryResultSet<>(IterableUtil.<QueryResultRow, Entry<K, V>>map(rows,
+                row -> new AbstractMap.SimpleImmutableEntry<>(toObject(row.getKey()), toObject(row.getValue()))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> Iterable<R> streamingQuery(int fetchSize, Predicate<K, V> predicate, IterationType iterationType,
+                                           String methodName) {
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkDoesNotContainPagingPredicate(predicate, methodName);
+        checkFalse(predicate instanceof PartitionPredicate,
+                "Partition predicate is not supported in " + methodName + " method");
+        Iterable<?> results = iterable(fetchSize, new IterationTypeProjection(iterationType), predicate);
+        return (Iterable<R>) results;
+    }
+
     /**
      * Returns an iterable for iterating entries in the all of the partitions. If
      * {@code prefetchValues} is {@code true}, values will be sent along with
@@ -275,7 +275,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
 
         ClientMessage clientMessage = invocation.getClientMessage();
         if (isBackupAckToClientEnabled) {
-            clientMessage.getStartFrame().flags |= ClientMessage.BACKUP_AWARE_FLAG;
+            clientMessage.addHeaderFlags(ClientMessage.BACKUP_AWARE_FLAG);
         }
 
         registerInvocation(invocation, connection);
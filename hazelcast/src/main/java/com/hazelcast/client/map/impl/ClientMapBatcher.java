@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map.impl;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientExceptionFactory;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.builtin.MapBatchCodec;
+import com.hazelcast.client.impl.spi.ClientPartitionService;
+import com.hazelcast.client.impl.protocol.task.map.MapBatchMessageTask;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.internal.util.ConcurrencyUtil.getDefaultAsyncExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Collects the synchronous map operations called concurrently on a client
+ * map proxy and sends them in batches, one batch per member owning the keys
+ * of the operations.
+ * <p>
+ * A batch is sent when its configured time window elapses or when it
+ * reaches its maximum size, whichever comes first. The member executes the
+ * operations of a batch concurrently and the future of each operation is
+ * completed with its own result or error.
+ * <p>
+ * A batch is invoked on the owner of the partition of its first key, so it's
+ * retried on the new owner if the owner leaves or the partition migrates,
+ * the same way as a single operation. The member invokes each operation on
+ * the owner of its own partition.
+ * <p>
+ * The operations of a batch, and of different batches, are executed in no
+ * particular order. Since the calling thread waits for its operation to
+ * complete, a thread has at most one operation in the batches and its
+ * operations are executed in the order it called them. The asynchronous
+ * operations are therefore never batched.
+ *
+ * @see com.hazelcast.client.properties.ClientProperty#MAP_BATCH_WINDOW_MICROS
+ * @see com.hazelcast.client.properties.ClientProperty#MAP_BATCH_MAX_SIZE
+ */
+public class ClientMapBatcher {
+
+    private final HazelcastClientInstanceImpl client;
+    private final String name;
+    private final long windowNanos;
+    private final int maxSize;
+    private final ClientPartitionService partitionService;
+
+    /**
+     * The batches being collected by the owners of their keys, the batch of
+     * the keys without a known owner is mapped to {@code null}.
+     */
+    private final Map<UUID, Batch> batches = new HashMap<>();
+
+    public ClientMapBatcher(HazelcastClientInstanceImpl client, String name, long windowNanos, int maxSize) {
+        this.client = client;
+        this.name = name;
+        this.windowNanos = windowNanos;
+        this.maxSize = maxSize;
+        this.partitionService = client.getClientPartitionService();
+    }
+
+    /**
+     * Submits an operation to be sent in the next batch of the owner of its
+     * key.
+     *
+     * @param operationType the type of the operation, one of the operation
+     *                      types of {@link MapBatchMessageTask}.
+     * @param key           the key of the operation.
+     * @param value         the value of the operation or {@code null} for
+     *                      the operations without a value.
+     * @param threadId      the id of the thread executing the operation, which
+     *                      has to wait for the returned future.
+     * @return the future completed with the serialized result of the
+     * operation.
+     */
+    public <V> InternalCompletableFuture<V> submit(byte operationType, Data key, Data value, long threadId) {
+        InternalCompletableFuture<V> future = new InternalCompletableFuture<>();
+        int partitionId = partitionService.getPartitionId(key);
+        UUID owner = partitionService.getPartitionOwner(partitionId);
+
+        Batch newBatch = null;
+        Batch fullBatch = null;
+        synchronized (batches) {
+            Batch batch = batches.get(owner);
+            if (batch == null) {
+                batch = new Batch(owner, partitionId);
+                batches.put(owner, batch);
+                newBatch = batch;
+            }
+            batch.add(operationType, key, value, threadId, future);
+            if (batch.size == maxSize) {
+                batches.remove(owner);
+                fullBatch = batch;
+            }
+        }
+
+        if (fullBatch != null) {
+            send(fullBatch);
+        } else if (newBatch != null) {
+            scheduleFlush(newBatch);
+        }
+        return future;
+    }
+
+    private void scheduleFlush(Batch batch) {
+        try {
+            client.getTaskScheduler().schedule(() -> flush(batch), windowNanos, NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (batches) {
+            if (!batches.remove(batch.owner, batch)) {
+                // already sent on reaching its maximum size
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        try {
+            ClientMessage request = MapBatchCodec.encodeRequest(name, Arrays.copyOf(batch.operationTypes, batch.size),
+                    batch.keys, batch.values, Arrays.copyOf(batch.threadIds, batch.size));
+            ClientInvocation invocation = new ClientInvocation(client, request, name, batch.partitionId);
+            invocation.invoke().whenCompleteAsync((response, throwable) -> {
+                if (throwable == null) {
+                    complete(batch, MapBatchCodec.decodeResponse(response));
+                } else {
+                    completeExceptionally(batch, throwable);
+                }
+            }, getDefaultAsyncExecutor());
+        } catch (Throwable t) {
+            completeExceptionally(batch, t);
+        }
+    }
+
+    private void complete(Batch batch, MapBatchCodec.ResponseParameters response) {
+        ClientExceptionFactory exceptionFactory = client.getClientExceptionFactory();
+        Throwable[] errors = new Throwable[batch.size];
+        for (int i = 0; i < response.errorIndexes.size(); i++) {
+            errors[response.errorIndexes.get(i)] = exceptionFactory.createException(response.errors.get(i));
+        }
+        for (int i = 0; i < batch.size; i++) {
+            if (errors[i] == null) {
+                batch.futures.get(i).complete(response.results.get(i));
+            } else {
+                batch.futures.get(i).completeExceptionally(errors[i]);
+            }
+        }
+    }
+
+    private static void completeExceptionally(Batch batch, Throwable throwable) {
+        for (InternalCompletableFuture<Object> future : batch.futures) {
+            future.completeExceptionally(throwable);
+        }
+    }
+
+    private final class Batch {
+
+        final UUID owner;
+        final int partitionId;
+        final byte[] operationTypes = new byte[maxSize];
+        final long[] threadIds = new long[maxSize];
+        final List<Data> keys = new ArrayList<>();
+        final List<Data> values = new ArrayList<>();
+        final List<InternalCompletableFuture<Object>> futures = new ArrayList<>();
+
+        int size;
+
+        Batch(UUID owner, int partitionId) {
+            this.owner = owner;
+            this.partitionId = partitionId;
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(byte operationType, Data key, Data value, long threadId, InternalCompletableFuture<?> future) {
+            operationTypes[size] = operationType;
+            threadIds[size] = threadId;
+            keys.add(key);
+            values.add(value);
+            futures.add((InternalCompletableFuture<Object>) future);
+            size++;
+        }
+    }
+}
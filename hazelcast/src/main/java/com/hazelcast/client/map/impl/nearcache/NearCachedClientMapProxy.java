@@ -21,17 +21,20 @@ import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheInvalidationListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
 import com.hazelcast.client.impl.protocol.codec.MapRemoveEntryListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.MapNearCacheCompactBatchInvalidationCodec;
 import com.hazelcast.client.impl.proxy.ClientMapProxy;
 import com.hazelcast.client.impl.spi.ClientContext;
 import com.hazelcast.client.impl.spi.EventHandler;
 import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.impl.spi.impl.ListenerMessageCodec;
+import com.hazelcast.client.properties.ClientProperty;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.internal.adapter.IMapDataStructureAdapter;
 import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheManager;
+import com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch;
 import com.hazelcast.internal.nearcache.impl.invalidation.RepairingHandler;
 import com.hazelcast.internal.nearcache.impl.invalidation.RepairingTask;
 import com.hazelcast.internal.nio.Connection;
@@ -43,6 +46,7 @@ import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.core.ReadOnly;
 import javax.annotation.Nonnull;
 import java.util.Collection;
@@ -54,11 +58,14 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.client.impl.protocol.codec.builtin.MapNearCacheCompactBatchInvalidationCodec.EVENT_I_MAP_COMPACT_BATCH_INVALIDATION_MESSAGE_TYPE;
 import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
 import static com.hazelcast.internal.nearcache.NearCache.NOT_CACHED;
 import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
 import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.COMPACT_BATCH_LISTENER_FLAG;
+import static com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.COMPRESSION_LISTENER_FLAG;
 import static com.hazelcast.internal.util.CollectionUtil.objectToDataCollection;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
@@ -654,7 +661,8 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
 
     private void registerInvalidationListener() {
         try {
-            invalidationListenerId = addNearCacheInvalidationListener(new NearCacheInvalidationEventHandler());
+            invalidationListenerId = registerListener(createNearCacheInvalidationListenerCodec(getInvalidationListenerFlags()),
+                    new NearCacheInvalidationEventHandler());
         } catch (Exception e) {
             ILogger logger = getContext().getLoggingService().getLogger(getClass());
             logger.severe("-----------------\nNear Cache is not initialized!\n-----------------", e);
@@ -662,15 +670,15 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
     }
 
     public UUID addNearCacheInvalidationListener(EventHandler handler) {
-        return registerListener(createNearCacheInvalidationListenerCodec(), handler);
+        return registerListener(createNearCacheInvalidationListenerCodec(INVALIDATION.getType()), handler);
     }
 
     @SuppressWarnings("checkstyle:anoninnerlength")
-    private ListenerMessageCodec createNearCacheInvalidationListenerCodec() {
+    private ListenerMessageCodec createNearCacheInvalidationListenerCodec(int listenerFlags) {
         return new ListenerMessageCodec() {
             @Override
             public ClientMessage encodeAddRequest(boolean localOnly) {
-                return MapAddNearCacheInvalidationListenerCodec.encodeRequest(name, INVALIDATION.getType(), localOnly);
+                return MapAddNearCacheInvalidationListenerCodec.encodeRequest(name, listenerFlags, localOnly);
             }
 
             @Override
@@ -690,6 +698,22 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         };
     }
 
+    /**
+     * Returns the flags {@link NearCacheInvalidationEventHandler} is
+     * registered with, it's the only handler decoding the compact batches.
+     */
+    private int getInvalidationListenerFlags() {
+        HazelcastProperties properties = getClient().getProperties();
+        int listenerFlags = INVALIDATION.getType();
+        if (properties.getBoolean(ClientProperty.MAP_NEAR_CACHE_COMPACT_INVALIDATION)) {
+            listenerFlags |= COMPACT_BATCH_LISTENER_FLAG;
+            if (properties.getBoolean(ClientProperty.MAP_NEAR_CACHE_INVALIDATION_COMPRESSION)) {
+                listenerFlags |= COMPRESSION_LISTENER_FLAG;
+            }
+        }
+        return listenerFlags;
+    }
+
     private void removeNearCacheInvalidationListener() {
         UUID invalidationListenerId = this.invalidationListenerId;
         if (invalidationListenerId == null) {
@@ -715,6 +739,16 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
             repairingHandler = repairingTask.registerAndGetHandler(name, nearCache);
         }
 
+        @Override
+        public void handle(ClientMessage clientMessage) {
+            if (clientMessage.getMessageType() == EVENT_I_MAP_COMPACT_BATCH_INVALIDATION_MESSAGE_TYPE) {
+                byte[] batch = MapNearCacheCompactBatchInvalidationCodec.decodeIMapCompactBatchInvalidationEvent(clientMessage);
+                repairingHandler.handle(CompactInvalidationBatch.decode(batch));
+                return;
+            }
+            super.handle(clientMessage);
+        }
+
         @Override
         public void handleIMapInvalidationEvent(Data key, UUID sourceUuid,
                                                 UUID partitionUuid, long sequence) {
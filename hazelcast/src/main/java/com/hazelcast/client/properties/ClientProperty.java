@@ -23,6 +23,7 @@ import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.client.util.ClientConnectivityLogger;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -355,6 +356,58 @@ public final class ClientProperty {
     public static final HazelcastProperty CLIENT_CONNECTIVITY_LOGGING_DELAY_SECONDS
             = new HazelcastProperty("hazelcast.client.connectivity.logging.delay.seconds", 10);
 
+    /**
+     * The time window in microseconds during which the concurrent
+     * synchronous {@code get}, {@code put}, {@code set} and {@code remove}
+     * calls on an {@link com.hazelcast.map.IMap} without a TTL or max idle
+     * are collected and sent to the member owning their keys in a single
+     * request. The member executes the collected operations concurrently
+     * and each call completes with its own result or error.
+     * <p>
+     * The batching trades the latency of the calls, up to the configured
+     * window, for a higher throughput under a high concurrency. It's
+     * disabled when the window is {@code 0}, which is the default.
+     * <p>
+     * The asynchronous variants of the calls are not batched, so that the
+     * calls made by a thread are still executed in the order they were made.
+     */
+    public static final HazelcastProperty MAP_BATCH_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.map.batch.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of the map operations sent in a single request
+     * when the batching is enabled by {@link #MAP_BATCH_WINDOW_MICROS}. A
+     * batch reaching this size is sent without waiting for the end of the
+     * window.
+     */
+    public static final HazelcastProperty MAP_BATCH_MAX_SIZE
+            = new HazelcastProperty("hazelcast.client.map.batch.max.size", 64);
+
+    /**
+     * Whether the members are asked to send the batched invalidations of
+     * the {@link com.hazelcast.map.IMap} Near Caches in a compact encoding.
+     * The compact encoding writes the partition UUID once per partition,
+     * the sequences as deltas and the source UUIDs as indexes, and the
+     * client applies the invalidations of a partition in bulk. When a gap
+     * is detected in the sequences of a partition, all the Near Cached
+     * entries of that partition are invalidated.
+     * <p>
+     * The members not supporting the compact encoding keep sending the
+     * batched invalidations as lists.
+     */
+    public static final HazelcastProperty MAP_NEAR_CACHE_COMPACT_INVALIDATION
+            = new HazelcastProperty("hazelcast.client.map.nearcache.invalidation.compact", true);
+
+    /**
+     * Whether the members are asked to deflate the large compact batches
+     * of invalidations, see {@link #MAP_NEAR_CACHE_COMPACT_INVALIDATION}.
+     * The compression trades CPU on both sides for a lower invalidation
+     * traffic, mostly useful when many clients Near Cache a write-heavy
+     * map.
+     */
+    public static final HazelcastProperty MAP_NEAR_CACHE_INVALIDATION_COMPRESSION
+            = new HazelcastProperty("hazelcast.client.map.nearcache.invalidation.compression", false);
+
     private ClientProperty() {
     }
 }
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.readNullableList;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeNullableList;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
@@ -50,6 +51,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     /** Default index type. */
     public static final IndexType DEFAULT_TYPE = IndexType.SORTED;
 
+    /** Default structure of sorted indexes. */
+    public static final SortedIndexStructure DEFAULT_SORTED_INDEX_STRUCTURE = SortedIndexStructure.SKIP_LIST;
+
     /** Name of the index. */
     private String name;
 
@@ -63,6 +67,8 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
 
     private BTreeIndexConfig bTreeIndexConfig = new BTreeIndexConfig();
 
+    private SortedIndexStructure sortedIndexStructure = DEFAULT_SORTED_INDEX_STRUCTURE;
+
     public IndexConfig() {
         // No-op.
     }
@@ -97,6 +103,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         this.type = other.type;
         this.bitmapIndexOptions = other.bitmapIndexOptions == null ? null : new BitmapIndexOptions(other.bitmapIndexOptions);
         this.bTreeIndexConfig = other.bTreeIndexConfig == null ? null : new BTreeIndexConfig(other.bTreeIndexConfig);
+        this.sortedIndexStructure = other.sortedIndexStructure;
 
         for (String attribute : other.getAttributes()) {
             addAttributeInternal(attribute);
@@ -243,6 +250,34 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         return this;
     }
 
+    /**
+     * Gets the data structure of the index if it is an on-heap
+     * {@link IndexType#SORTED sorted} index.
+     * <p>
+     * Defaults to {@link SortedIndexStructure#SKIP_LIST}.
+     *
+     * @return the sorted index structure.
+     */
+    public SortedIndexStructure getSortedIndexStructure() {
+        return sortedIndexStructure;
+    }
+
+    /**
+     * Sets the data structure of the index if it is an on-heap
+     * {@link IndexType#SORTED sorted} index. Ignored by other index types and
+     * by indexes of maps with the {@link InMemoryFormat#NATIVE NATIVE}
+     * in-memory format.
+     * <p>
+     * Defaults to {@link SortedIndexStructure#SKIP_LIST}.
+     *
+     * @param sortedIndexStructure the sorted index structure.
+     * @return this index config instance.
+     */
+    public IndexConfig setSortedIndexStructure(SortedIndexStructure sortedIndexStructure) {
+        this.sortedIndexStructure = checkNotNull(sortedIndexStructure, "Sorted index structure cannot be null.");
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -260,6 +295,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         writeNullableList(attributes, out);
         out.writeObject(bitmapIndexOptions);
         out.writeObject(bTreeIndexConfig);
+        if (out.getVersion().isGreaterOrEqual(V6_0)) {
+            out.writeInt(sortedIndexStructure.getId());
+        }
     }
 
     @Override
@@ -269,6 +307,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         attributes = readNullableList(in);
         bitmapIndexOptions = in.readObject();
         bTreeIndexConfig = in.readObject();
+        if (in.getVersion().isGreaterOrEqual(V6_0)) {
+            sortedIndexStructure = SortedIndexStructure.getById(in.readInt());
+        }
     }
 
     @Override
@@ -299,6 +340,10 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
             return false;
         }
 
+        if (sortedIndexStructure != that.sortedIndexStructure) {
+            return false;
+        }
+
         return getAttributes().equals(that.getAttributes());
     }
 
@@ -310,6 +355,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         result = 31 * result + getAttributes().hashCode();
         result = 31 * result + getBitmapIndexOptions().hashCode();
         result = 31 * result + getBTreeIndexConfig().hashCode();
+        result = 31 * result + sortedIndexStructure.hashCode();
 
         return result;
     }
@@ -323,6 +369,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         if (bTreeIndexConfig != null) {
             string += ", bTreeIndexConfig=" + bTreeIndexConfig;
         }
+        if (sortedIndexStructure != DEFAULT_SORTED_INDEX_STRUCTURE) {
+            string += ", sortedIndexStructure=" + sortedIndexStructure;
+        }
         return string + '}';
     }
 }
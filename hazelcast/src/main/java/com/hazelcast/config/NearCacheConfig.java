@@ -20,11 +20,13 @@ import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Objects;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.Preconditions.isNotNull;
@@ -33,7 +35,7 @@ import static com.hazelcast.internal.util.Preconditions.isNotNull;
  * Contains the configuration for a Near Cache.
  */
 @SuppressWarnings("checkstyle:methodcount")
-public class NearCacheConfig implements IdentifiedDataSerializable, Serializable, NamedConfig {
+public class NearCacheConfig implements IdentifiedDataSerializable, Versioned, Serializable, NamedConfig {
 
     /**
      * Default value for the in-memory format.
@@ -70,6 +72,11 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
      */
     public static final String DEFAULT_NAME = "default";
 
+    /**
+     * @see AdmissionPolicy#ALWAYS
+     */
+    public static final AdmissionPolicy DEFAULT_ADMISSION_POLICY = AdmissionPolicy.ALWAYS;
+
     /**
      * Defines how to reflect local updates to the Near Cache.
      */
@@ -87,6 +94,25 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
         CACHE_ON_UPDATE
     }
 
+    /**
+     * Defines which new entries are admitted to a full Near Cache.
+     */
+    public enum AdmissionPolicy {
+        /**
+         * Every new entry is admitted, the eviction
+         * policy alone selects the entry to evict.
+         */
+        ALWAYS,
+
+        /**
+         * New entries are admitted to a small window, an entry
+         * leaving the window replaces the eviction candidate
+         * only if it was requested more frequently. The access
+         * frequencies are estimated by a compact frequency sketch.
+         */
+        WINDOW_TINY_LFU
+    }
+
     private boolean cacheLocalEntries;
     private boolean serializeKeys = DEFAULT_SERIALIZE_KEYS;
     private boolean invalidateOnChange = DEFAULT_INVALIDATE_ON_CHANGE;
@@ -96,6 +122,7 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
     private EvictionConfig evictionConfig = new EvictionConfig();
     private InMemoryFormat inMemoryFormat = DEFAULT_MEMORY_FORMAT;
     private LocalUpdatePolicy localUpdatePolicy = DEFAULT_LOCAL_UPDATE_POLICY;
+    private AdmissionPolicy admissionPolicy = DEFAULT_ADMISSION_POLICY;
     private NearCachePreloaderConfig preloaderConfig = new NearCachePreloaderConfig();
 
     public NearCacheConfig() {
@@ -115,6 +142,7 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
         this.evictionConfig = config.evictionConfig;
         this.cacheLocalEntries = config.cacheLocalEntries;
         this.localUpdatePolicy = config.localUpdatePolicy;
+        this.admissionPolicy = config.admissionPolicy;
         this.preloaderConfig = config.preloaderConfig;
     }
 
@@ -364,6 +392,32 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
         return this;
     }
 
+    /**
+     * Returns the {@link AdmissionPolicy} of this Near Cache.
+     *
+     * @return the {@link AdmissionPolicy} of this Near Cache
+     */
+    public AdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+    /**
+     * Sets the {@link AdmissionPolicy} of this Near Cache.
+     * <p>
+     * {@link AdmissionPolicy#WINDOW_TINY_LFU} keeps frequently requested entries
+     * cached on workloads with skewed access patterns or occasional scans,
+     * where admitting every new entry would evict them. It has no effect when
+     * the eviction policy is {@link EvictionPolicy#NONE} or when the
+     * in-memory-format is {@code NATIVE}.
+     *
+     * @param admissionPolicy the {@link AdmissionPolicy} of this Near Cache
+     * @return this Near Cache config instance
+     */
+    public NearCacheConfig setAdmissionPolicy(AdmissionPolicy admissionPolicy) {
+        this.admissionPolicy = checkNotNull(admissionPolicy, "Admission policy cannot be null!");
+        return this;
+    }
+
     /**
      * Returns the {@link NearCachePreloaderConfig} of this Near Cache.
      *
@@ -405,6 +459,9 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
         out.writeInt(localUpdatePolicy.ordinal());
         out.writeObject(evictionConfig);
         out.writeObject(preloaderConfig);
+        if (out.getVersion().isGreaterOrEqual(V6_0)) {
+            out.writeInt(admissionPolicy.ordinal());
+        }
     }
 
     @Override
@@ -418,6 +475,9 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
         localUpdatePolicy = LocalUpdatePolicy.values()[in.readInt()];
         evictionConfig = in.readObject();
         preloaderConfig = in.readObject();
+        if (in.getVersion().isGreaterOrEqual(V6_0)) {
+            admissionPolicy = AdmissionPolicy.values()[in.readInt()];
+        }
     }
 
     @Override
@@ -431,6 +491,7 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
                 + ", evictionConfig=" + evictionConfig
                 + ", cacheLocalEntries=" + cacheLocalEntries
                 + ", localUpdatePolicy=" + localUpdatePolicy
+                + ", admissionPolicy=" + admissionPolicy
                 + ", preloaderConfig=" + preloaderConfig
                 + '}';
     }
@@ -474,6 +535,9 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
         if (localUpdatePolicy != that.localUpdatePolicy) {
             return false;
         }
+        if (admissionPolicy != that.admissionPolicy) {
+            return false;
+        }
         return Objects.equals(preloaderConfig, that.preloaderConfig);
     }
 
@@ -489,6 +553,7 @@ public class NearCacheConfig implements IdentifiedDataSerializable, Serializable
         result = 31 * result + (evictionConfig != null ? evictionConfig.hashCode() : 0);
         result = 31 * result + (cacheLocalEntries ? 1 : 0);
         result = 31 * result + (localUpdatePolicy != null ? localUpdatePolicy.hashCode() : 0);
+        result = 31 * result + (admissionPolicy != null ? admissionPolicy.hashCode() : 0);
         result = 31 * result + (preloaderConfig != null ? preloaderConfig.hashCode() : 0);
         return result;
     }
@@ -31,7 +31,10 @@ import static com.hazelcast.internal.util.Preconditions.checkPositive;
  * Configuration for storing and preloading Near Cache keys.
  * <p>
  * Preloader re-populates Near Cache after client/server restart to provide
- * fast access.
+ * fast access. When {@link #setStoreValues(boolean) storing values} is
+ * enabled, the values are stored along with the keys and the ones not
+ * invalidated since they were stored are preloaded without fetching them
+ * from the cluster.
  *
  * @since 3.8
  */
@@ -48,10 +51,16 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
      */
     public static final int DEFAULT_STORE_INTERVAL_SECONDS = 600;
 
+    /**
+     * Default value of the store values flag.
+     */
+    public static final boolean DEFAULT_STORE_VALUES = false;
+
     private boolean enabled;
     private String directory = "";
     private int storeInitialDelaySeconds = DEFAULT_STORE_INITIAL_DELAY_SECONDS;
     private int storeIntervalSeconds = DEFAULT_STORE_INTERVAL_SECONDS;
+    private boolean storeValues = DEFAULT_STORE_VALUES;
 
     public NearCachePreloaderConfig() {
     }
@@ -60,6 +69,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         this(nearCachePreloaderConfig.enabled, nearCachePreloaderConfig.directory);
         this.storeInitialDelaySeconds = nearCachePreloaderConfig.storeInitialDelaySeconds;
         this.storeIntervalSeconds = nearCachePreloaderConfig.storeIntervalSeconds;
+        this.storeValues = nearCachePreloaderConfig.storeValues;
     }
 
     public NearCachePreloaderConfig(String directory) {
@@ -108,6 +118,37 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         return this;
     }
 
+    /**
+     * Returns {@code true} if the values are stored along with the keys.
+     *
+     * @return {@code true} if the values are stored along with the keys
+     * @since 6.0
+     */
+    public boolean isStoreValues() {
+        return storeValues;
+    }
+
+    /**
+     * Sets whether the values are stored along with the keys.
+     * <p>
+     * The stored values are preloaded into the Near Cache locally if their
+     * partitions haven't been invalidated since they were stored, the
+     * other ones are fetched from the cluster. The values can only be
+     * validated when {@link NearCacheConfig#isInvalidateOnChange()} is
+     * enabled, otherwise they are all fetched from the cluster.
+     * <p>
+     * Storing the values makes the stored files bigger, it's disabled by
+     * default.
+     *
+     * @param storeValues {@code true} to store the values along with the keys
+     * @return this config instance
+     * @since 6.0
+     */
+    public NearCachePreloaderConfig setStoreValues(boolean storeValues) {
+        this.storeValues = storeValues;
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -141,6 +182,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
                 + ", directory=" + directory
                 + ", storeInitialDelaySeconds=" + storeInitialDelaySeconds
                 + ", storeIntervalSeconds=" + storeIntervalSeconds
+                + ", storeValues=" + storeValues
                 + '}';
     }
 
@@ -164,6 +206,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         if (storeIntervalSeconds != that.storeIntervalSeconds) {
             return false;
         }
+        if (storeValues != that.storeValues) {
+            return false;
+        }
         return directory != null ? directory.equals(that.directory) : that.directory == null;
     }
 
@@ -173,6 +218,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         result = 31 * result + (directory != null ? directory.hashCode() : 0);
         result = 31 * result + storeInitialDelaySeconds;
         result = 31 * result + storeIntervalSeconds;
+        result = 31 * result + (storeValues ? 1 : 0);
         return result;
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.config;
+
+/**
+ * Data structure backing an on-heap {@link IndexType#SORTED sorted} index.
+ */
+public enum SortedIndexStructure {
+    /**
+     * Skip list of attribute values with a nested map of entries per value.
+     * Suits frequently updated maps.
+     */
+    SKIP_LIST(0),
+
+    /**
+     * Copy-on-write B+tree keeping the entries in sorted arrays. Uses less
+     * memory per indexed entry and scans ranges sequentially, but every update
+     * copies a path of the tree. Suits read-mostly maps.
+     */
+    B_PLUS_TREE(1);
+
+    private final int id;
+
+    SortedIndexStructure(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the ID for the given {@link SortedIndexStructure}.
+     *
+     * @return the ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the SortedIndexStructure as an enum.
+     *
+     * @return the SortedIndexStructure as an enum
+     */
+    public static SortedIndexStructure getById(final int id) {
+        for (SortedIndexStructure structure : values()) {
+            if (structure.id == id) {
+                return structure;
+            }
+        }
+        return null;
+    }
+}
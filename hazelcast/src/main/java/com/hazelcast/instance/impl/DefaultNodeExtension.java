@@ -473,7 +473,8 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        int gatheringWriteThreshold = node.getProperties().getInteger(PacketEncoder.GATHERING_WRITE_THRESHOLD);
+        return new OutboundHandler[]{new PacketEncoder(gatheringWriteThreshold)};
     }
 
     @Override
@@ -19,6 +19,7 @@ package com.hazelcast.internal.config;
 import com.hazelcast.config.BTreeIndexConfig;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
+import com.hazelcast.config.SortedIndexStructure;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -61,6 +62,11 @@ public class IndexConfigReadOnly extends IndexConfig {
         throw new UnsupportedOperationException("This config is read-only");
     }
 
+    @Override
+    public IndexConfig setSortedIndexStructure(SortedIndexStructure sortedIndexStructure) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
     @Override
     public BTreeIndexConfig getBTreeIndexConfig() {
         return new BTreeIndexConfigReadOnly(super.getBTreeIndexConfig());
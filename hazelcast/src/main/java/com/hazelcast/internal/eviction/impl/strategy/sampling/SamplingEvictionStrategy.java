@@ -30,7 +30,10 @@ public final class SamplingEvictionStrategy<A, E extends Evictable, S extends Sa
 
     public static final SamplingEvictionStrategy INSTANCE = new SamplingEvictionStrategy();
 
-    private static final int SAMPLE_COUNT = 15;
+    /**
+     * The number of entries sampled to select an eviction candidate.
+     */
+    public static final int SAMPLE_COUNT = 15;
 
     private SamplingEvictionStrategy() {
     }
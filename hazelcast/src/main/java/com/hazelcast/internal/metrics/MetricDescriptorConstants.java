@@ -248,6 +248,13 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_INDEX_REMOVE_COUNT = "removeCount";
     public static final String MAP_METRIC_INDEX_TOTAL_REMOVE_LATENCY = "totalRemoveLatency";
     public static final String MAP_METRIC_INDEX_MEMORY_COST = "memoryCost";
+    public static final String MAP_PREFIX_INDEX_BUILD = "map.index.build";
+    public static final String MAP_METRIC_INDEX_BUILD_ACTIVE_COUNT = "activeCount";
+    public static final String MAP_METRIC_INDEX_BUILD_COMPLETED_COUNT = "completedCount";
+    public static final String MAP_METRIC_INDEX_BUILD_CANCELLED_COUNT = "cancelledCount";
+    public static final String MAP_METRIC_INDEX_BUILD_PENDING_ENTRY_COUNT = "pendingEntryCount";
+    public static final String MAP_METRIC_INDEX_BUILD_INDEXED_ENTRY_COUNT = "indexedEntryCount";
+    public static final String MAP_METRIC_INDEX_BUILD_SKIPPED_ENTRY_COUNT = "skippedEntryCount";
     public static final String MAP_METRIC_FULL_PARTITION_REPLICATION_COUNT = "fullPartitionReplicationCount";
     public static final String MAP_METRIC_DIFF_PARTITION_REPLICATION_COUNT = "differentialPartitionReplicationCount";
     public static final String MAP_METRIC_FULL_PARTITION_REPLICATION_RECORDS_COUNT
@@ -310,6 +317,8 @@ public final class MetricDescriptorConstants {
     public static final String NEARCACHE_METRIC_MISSES = "misses";
     public static final String NEARCACHE_METRIC_EVICTIONS = "evictions";
     public static final String NEARCACHE_METRIC_EXPIRATIONS = "expirations";
+    public static final String NEARCACHE_METRIC_ADMISSIONS = "admissions";
+    public static final String NEARCACHE_METRIC_ADMISSION_REJECTIONS = "admissionRejections";
     public static final String NEARCACHE_METRIC_INVALIDATIONS = "invalidations";
     public static final String NEARCACHE_METRIC_INVALIDATION_REQUESTS = "invalidationRequests";
     public static final String NEARCACHE_METRIC_PERSISTENCE_COUNT = "persistenceCount";
@@ -390,6 +399,8 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_THREAD_COMPLETED_OPERATION_BATCH_COUNT = "completedOperationBatchCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT = "normalPendingCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT = "priorityPendingCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_COMPLETED_PACKET_BATCH_COUNT =
+            "completedPacketBatchCount";
     public static final String OPERATION_METRIC_PARKER_PARK_QUEUE_COUNT = "parkQueueCount";
     public static final String OPERATION_METRIC_PARKER_TOTAL_PARKED_OPERATION_COUNT = "totalParkedOperationCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSE_QUEUE_SIZE = "responseQueueSize";
@@ -398,6 +409,17 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSES_BACKUP_COUNT = "responses.backupCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSES_ERROR_COUNT = "responses.errorCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSES_MISSING_COUNT = "responses.missingCount";
+    public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSES_MULTI_COUNT = "responses.multiCount";
+    public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSES_MULTI_RESPONSE_COUNT =
+            "responses.multiResponseCount";
+    public static final String OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_RESPONSES_SENT_COUNT =
+            "responses.multiSentCount";
+    public static final String OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_RESPONSES_SENT_RESPONSE_COUNT =
+            "responses.multiSentResponseCount";
+    public static final String OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_BACKUP_ACKS_PIGGYBACKED_COUNT =
+            "responses.backupAckPiggybackedCount";
+    public static final String OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_BACKUP_ACKS_SENT_COUNT =
+            "responses.multiBackupAckSentCount";
     public static final String OPERATION_METRIC_INVOCATION_MONITOR_BACKUP_TIMEOUTS = "backupTimeouts";
     public static final String OPERATION_METRIC_INVOCATION_MONITOR_NORMAL_TIMEOUTS = "normalTimeouts";
     public static final String OPERATION_METRIC_INVOCATION_MONITOR_HEARTBEAT_PACKETS_RECEIVED = "heartbeatPacketsReceived";
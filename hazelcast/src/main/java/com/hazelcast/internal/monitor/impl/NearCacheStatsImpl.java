@@ -22,6 +22,8 @@ import com.hazelcast.nearcache.NearCacheStats;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.LongAccumulator;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_ADMISSIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_ADMISSION_REJECTIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_CREATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_EVICTIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_EXPIRATIONS;
@@ -54,6 +56,10 @@ public class NearCacheStatsImpl implements NearCacheStats {
             newUpdater(NearCacheStatsImpl.class, "evictions");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EXPIRATIONS =
             newUpdater(NearCacheStatsImpl.class, "expirations");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> ADMISSIONS =
+            newUpdater(NearCacheStatsImpl.class, "admissions");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> ADMISSION_REJECTIONS =
+            newUpdater(NearCacheStatsImpl.class, "admissionRejections");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> INVALIDATIONS =
             newUpdater(NearCacheStatsImpl.class, "invalidations");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> INVALIDATION_REQUESTS =
@@ -75,6 +81,10 @@ public class NearCacheStatsImpl implements NearCacheStats {
     private volatile long evictions;
     @Probe(name = NEARCACHE_METRIC_EXPIRATIONS)
     private volatile long expirations;
+    @Probe(name = NEARCACHE_METRIC_ADMISSIONS)
+    private volatile long admissions;
+    @Probe(name = NEARCACHE_METRIC_ADMISSION_REJECTIONS)
+    private volatile long admissionRejections;
 
     @Probe(name = NEARCACHE_METRIC_INVALIDATIONS)
     private volatile long invalidations;
@@ -107,6 +117,10 @@ public class NearCacheStatsImpl implements NearCacheStats {
         expirations = stats.getExpirations();
         invalidations = stats.getInvalidations();
         invalidationRequests = stats.getInvalidationRequests();
+        if (stats instanceof NearCacheStatsImpl statsImpl) {
+            admissions = statsImpl.getAdmissions();
+            admissionRejections = statsImpl.getAdmissionRejections();
+        }
 
         persistenceCount = stats.getPersistenceCount();
         lastPersistenceTime = stats.getLastPersistenceTime();
@@ -216,6 +230,34 @@ public class NearCacheStatsImpl implements NearCacheStats {
         EXPIRATIONS.incrementAndGet(this);
     }
 
+    /**
+     * Returns the number of new entries which were admitted to the Near Cache
+     * after competing with an eviction candidate.
+     *
+     * @return the number of admitted entries
+     */
+    public long getAdmissions() {
+        return admissions;
+    }
+
+    public void incrementAdmissions() {
+        ADMISSIONS.incrementAndGet(this);
+    }
+
+    /**
+     * Returns the number of new entries which were evicted from the Near Cache
+     * because they were requested less frequently than the eviction candidate.
+     *
+     * @return the number of rejected entries
+     */
+    public long getAdmissionRejections() {
+        return admissionRejections;
+    }
+
+    public void incrementAdmissionRejections() {
+        ADMISSION_REJECTIONS.incrementAndGet(this);
+    }
+
     @Override
     public long getInvalidations() {
         return invalidations;
@@ -305,6 +347,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 + ", ratio=" + format("%.1f%%", getRatio())
                 + ", evictions=" + evictions
                 + ", expirations=" + expirations
+                + ", admissions=" + admissions
+                + ", admissionRejections=" + admissionRejections
                 + ", invalidations=" + invalidations
                 + ", invalidationRequests=" + invalidationRequests
                 + ", lastPersistenceTime=" + lastPersistenceTime
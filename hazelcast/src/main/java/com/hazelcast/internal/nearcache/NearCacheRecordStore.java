@@ -23,6 +23,7 @@ import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.spi.impl.InitializingObject;
 
 import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
 
 /**
  * {@link NearCacheRecordStore} is the contract point to store keys
@@ -116,8 +117,11 @@ public interface NearCacheRecordStore<K, V> extends InitializingObject {
 
     /**
      * Loads the keys into the Near Cache.
+     *
+     * @param adapter  the {@link DataStructureAdapter} to load the values from
+     * @param executor the {@link Executor} to load the keys in parallel
      */
-    void loadKeys(DataStructureAdapter<Object, ?> adapter);
+    void loadKeys(DataStructureAdapter<Object, ?> adapter, Executor executor);
 
     /**
      * Persists the key set of the Near Cache.
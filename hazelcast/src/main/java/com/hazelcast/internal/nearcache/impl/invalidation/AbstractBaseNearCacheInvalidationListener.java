@@ -24,6 +24,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.COMPACT_BATCH_LISTENER_FLAG;
+import static com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.COMPRESSION_LISTENER_FLAG;
+
 public abstract class AbstractBaseNearCacheInvalidationListener {
 
     /**
@@ -35,8 +38,18 @@ public abstract class AbstractBaseNearCacheInvalidationListener {
      */
     private final int batchOrderKey;
 
+    /**
+     * The {@link CompactInvalidationBatch} flags the listener is registered with.
+     */
+    private final int compactBatchFlags;
+
     protected AbstractBaseNearCacheInvalidationListener(UUID localMemberUuid, long correlationId) {
+        this(localMemberUuid, correlationId, 0);
+    }
+
+    protected AbstractBaseNearCacheInvalidationListener(UUID localMemberUuid, long correlationId, int listenerFlags) {
         this.batchOrderKey = HashUtil.hashCode(localMemberUuid, correlationId);
+        this.compactBatchFlags = listenerFlags & (COMPACT_BATCH_LISTENER_FLAG | COMPRESSION_LISTENER_FLAG);
     }
 
     protected abstract ClientMessage encodeBatchInvalidation(String name, List<Data> keys, List<UUID> sourceUuids,
@@ -45,13 +58,29 @@ public abstract class AbstractBaseNearCacheInvalidationListener {
     protected abstract ClientMessage encodeSingleInvalidation(String name, Data key, UUID sourceUuid,
                                                               UUID partitionUuid, long sequence);
 
+    /**
+     * Encodes a batch of invalidations for a listener registered with
+     * {@link CompactInvalidationBatch#COMPACT_BATCH_LISTENER_FLAG}. Listeners
+     * which can't send the compact encoding fall back to
+     * {@link #encodeBatchInvalidation}.
+     */
+    protected ClientMessage encodeCompactBatchInvalidation(String name, List<Invalidation> invalidations, boolean compress) {
+        ExtractedParams params = extractParams(invalidations);
+        return encodeBatchInvalidation(name, params.keys, params.sourceUuids, params.partitionUuids, params.sequences);
+    }
+
     protected abstract void sendMessageWithOrderKey(ClientMessage clientMessage, Object orderKey);
 
     protected abstract boolean canSendInvalidation(Invalidation invalidation);
 
     protected final void sendInvalidation(Invalidation invalidation) {
         if (invalidation instanceof BatchNearCacheInvalidation cacheInvalidation) {
-            ExtractedParams params = extractParams(cacheInvalidation);
+            if ((compactBatchFlags & COMPACT_BATCH_LISTENER_FLAG) != 0) {
+                sendCompactBatchInvalidation(cacheInvalidation);
+                return;
+            }
+
+            ExtractedParams params = extractParams(cacheInvalidation.getInvalidations());
             ClientMessage message = encodeBatchInvalidation(invalidation.getName(), params.keys,
                     params.sourceUuids, params.partitionUuids, params.sequences);
 
@@ -72,9 +101,27 @@ public abstract class AbstractBaseNearCacheInvalidationListener {
         throw new IllegalArgumentException("Unknown invalidation message type " + invalidation);
     }
 
-    private ExtractedParams extractParams(BatchNearCacheInvalidation batch) {
-        List<Invalidation> invalidations = batch.getInvalidations();
+    private void sendCompactBatchInvalidation(BatchNearCacheInvalidation batch) {
+        List<Invalidation> invalidations = getSendableInvalidations(batch);
+        if (invalidations.isEmpty()) {
+            return;
+        }
+
+        boolean compress = (compactBatchFlags & COMPRESSION_LISTENER_FLAG) != 0;
+        sendMessageWithOrderKey(encodeCompactBatchInvalidation(batch.getName(), invalidations, compress), batchOrderKey);
+    }
+
+    private List<Invalidation> getSendableInvalidations(BatchNearCacheInvalidation batch) {
+        List<Invalidation> invalidations = new ArrayList<>(batch.getInvalidations().size());
+        for (Invalidation invalidation : batch.getInvalidations()) {
+            if (canSendInvalidation(invalidation)) {
+                invalidations.add(invalidation);
+            }
+        }
+        return invalidations;
+    }
 
+    private ExtractedParams extractParams(List<Invalidation> invalidations) {
         int size = invalidations.size();
         List<Data> keys = new ArrayList<>(size);
         List<UUID> sourceUuids = new ArrayList<>(size);
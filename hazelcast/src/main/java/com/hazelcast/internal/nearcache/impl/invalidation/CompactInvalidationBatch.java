@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.invalidation;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary encoding of a batch of Near Cache invalidations.
+ * <p>
+ * A {@link BatchNearCacheInvalidation} sent as lists carries a source
+ * UUID, a partition UUID and a sequence for each invalidated key. In the
+ * compact encoding the invalidations are grouped by their partition, so
+ * the partition UUID is written once per partition, the source UUIDs are
+ * replaced by indexes into a dictionary, and the sequences of a partition
+ * are written as variable length deltas of the previous sequence, which
+ * are usually 1. The keys are kept as they are, since the Near Caches
+ * are looked up by them. Batches larger than {@link #COMPRESSION_THRESHOLD}
+ * bytes can additionally be deflated.
+ * <p>
+ * The encoded batch has the following structure:
+ * <pre>
+ * +-------------------------------+---------------------------+
+ * | Format version                |   1 byte                  |
+ * +-------------------------------+---------------------------+
+ * | Flags (bit 0: deflated)       |   1 byte                  |
+ * +-------------------------------+---------------------------+
+ * | Source UUID dictionary        |   count, UUIDs            |
+ * +-------------------------------+---------------------------+
+ * | Partition groups              |   count, groups           |
+ * +-------------------------------+---------------------------+
+ * </pre>
+ * Each partition group consists of the partition UUID, the number of
+ * invalidations, the first sequence and, for each invalidation, the
+ * dictionary index of its source UUID, its sequence delta (except for the
+ * first one) and its key. Counts, indexes and lengths are unsigned
+ * variable length integers, deltas are zigzag encoded.
+ */
+public final class CompactInvalidationBatch {
+
+    /**
+     * The listener flag a client sets when registering its Near Cache
+     * invalidation listener to receive compact batches.
+     * <p>
+     * It's outside the range of the {@link com.hazelcast.core.EntryEventType}
+     * flags, so the members not knowing it ignore it and keep sending the
+     * batches as lists.
+     */
+    public static final int COMPACT_BATCH_LISTENER_FLAG = 1 << 30;
+
+    /**
+     * The listener flag a client sets along with {@link #COMPACT_BATCH_LISTENER_FLAG}
+     * to receive the large compact batches deflated.
+     */
+    public static final int COMPRESSION_LISTENER_FLAG = 1 << 29;
+
+    /**
+     * The minimum size of an encoded batch, in bytes, to be deflated.
+     */
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 2;
+    private static final int FLAG_DEFLATED = 1;
+    private static final int VAR_INT_SHIFT = 7;
+    private static final int VAR_INT_MASK = 0x7F;
+    private static final int VAR_INT_CONTINUATION = 0x80;
+    private static final int NULL_INDEX = 0;
+    private static final int BUFFER_SIZE_PER_INVALIDATION = 32;
+
+    private final List<PartitionInvalidations> partitionInvalidations;
+
+    private CompactInvalidationBatch(List<PartitionInvalidations> partitionInvalidations) {
+        this.partitionInvalidations = partitionInvalidations;
+    }
+
+    /**
+     * Returns the invalidations of the batch grouped by their partition,
+     * in the order of the first invalidation of each partition.
+     */
+    public List<PartitionInvalidations> getPartitionInvalidations() {
+        return partitionInvalidations;
+    }
+
+    /**
+     * Encodes the given invalidations.
+     *
+     * @param invalidations the invalidations to encode, each of them having
+     *                      a partition UUID and a sequence.
+     * @param compress      {@code true} to deflate the batch if its size is
+     *                      at least {@link #COMPRESSION_THRESHOLD} bytes.
+     * @return the encoded batch.
+     */
+    public static byte[] encode(List<Invalidation> invalidations, boolean compress) {
+        Map<UUID, Integer> sourceIndexes = new HashMap<>();
+        Map<UUID, List<Invalidation>> partitions = new LinkedHashMap<>();
+        for (Invalidation invalidation : invalidations) {
+            UUID sourceUuid = invalidation.getSourceUuid();
+            if (sourceUuid != null) {
+                sourceIndexes.putIfAbsent(sourceUuid, sourceIndexes.size() + 1);
+            }
+            partitions.computeIfAbsent(invalidation.getPartitionUuid(), uuid -> new ArrayList<>()).add(invalidation);
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(invalidations.size() * BUFFER_SIZE_PER_INVALIDATION);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeSourceUuids(out, sourceIndexes);
+            writeVarLong(out, partitions.size());
+            for (Map.Entry<UUID, List<Invalidation>> entry : partitions.entrySet()) {
+                writePartition(out, entry.getKey(), entry.getValue(), sourceIndexes);
+            }
+            out.flush();
+            if (compress && bytes.size() >= COMPRESSION_THRESHOLD) {
+                ByteArrayOutputStream deflated = deflate(bytes);
+                if (deflated.size() < bytes.size()) {
+                    return withHeader(deflated, FLAG_DEFLATED);
+                }
+            }
+            return withHeader(bytes, 0);
+        } catch (IOException e) {
+            // writing to a byte array doesn't fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a batch encoded by {@link #encode(List, boolean)}.
+     *
+     * @param bytes the encoded batch.
+     * @return the decoded batch.
+     * @throws IllegalArgumentException if the batch is encoded in an
+     *                                  unknown format.
+     */
+    public static CompactInvalidationBatch decode(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE || bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown compact invalidation batch format");
+        }
+        InputStream body = new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        if ((bytes[1] & FLAG_DEFLATED) != 0) {
+            body = new InflaterInputStream(body);
+        }
+
+        try (DataInputStream in = new DataInputStream(body)) {
+            UUID[] sourceUuids = readSourceUuids(in);
+            int partitionCount = (int) readVarLong(in);
+            List<PartitionInvalidations> partitionInvalidations = new ArrayList<>(partitionCount);
+            for (int i = 0; i < partitionCount; i++) {
+                partitionInvalidations.add(readPartition(in, sourceUuids));
+            }
+            return new CompactInvalidationBatch(Collections.unmodifiableList(partitionInvalidations));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed compact invalidation batch", e);
+        }
+    }
+
+    private static void writeSourceUuids(DataOutputStream out, Map<UUID, Integer> sourceIndexes) throws IOException {
+        UUID[] sourceUuids = new UUID[sourceIndexes.size()];
+        for (Map.Entry<UUID, Integer> entry : sourceIndexes.entrySet()) {
+            sourceUuids[entry.getValue() - 1] = entry.getKey();
+        }
+        writeVarLong(out, sourceUuids.length);
+        for (UUID sourceUuid : sourceUuids) {
+            writeUuid(out, sourceUuid);
+        }
+    }
+
+    private static UUID[] readSourceUuids(DataInputStream in) throws IOException {
+        // index 0 stands for a null source UUID
+        UUID[] sourceUuids = new UUID[(int) readVarLong(in) + 1];
+        for (int i = 1; i < sourceUuids.length; i++) {
+            sourceUuids[i] = readUuid(in);
+        }
+        return sourceUuids;
+    }
+
+    private static void writePartition(DataOutputStream out, UUID partitionUuid, List<Invalidation> invalidations,
+                                       Map<UUID, Integer> sourceIndexes) throws IOException {
+        writeUuid(out, partitionUuid);
+        writeVarLong(out, invalidations.size());
+        long previousSequence = invalidations.get(0).getSequence();
+        writeVarLong(out, previousSequence);
+        for (int i = 0; i < invalidations.size(); i++) {
+            Invalidation invalidation = invalidations.get(i);
+            UUID sourceUuid = invalidation.getSourceUuid();
+            writeVarLong(out, sourceUuid == null ? NULL_INDEX : sourceIndexes.get(sourceUuid));
+            if (i > 0) {
+                long sequence = invalidation.getSequence();
+                long delta = sequence - previousSequence;
+                writeVarLong(out, (delta << 1) ^ (delta >> (Long.SIZE - 1)));
+                previousSequence = sequence;
+            }
+            writeKey(out, invalidation.getKey());
+        }
+    }
+
+    private static PartitionInvalidations readPartition(DataInputStream in, UUID[] sourceUuids) throws IOException {
+        UUID partitionUuid = readUuid(in);
+        int count = (int) readVarLong(in);
+        List<Data> keys = new ArrayList<>(count);
+        List<UUID> partitionSourceUuids = new ArrayList<>(count);
+        long[] sequences = new long[count];
+        long sequence = readVarLong(in);
+        for (int i = 0; i < count; i++) {
+            partitionSourceUuids.add(sourceUuids[(int) readVarLong(in)]);
+            if (i > 0) {
+                long zigzag = readVarLong(in);
+                sequence += (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+            sequences[i] = sequence;
+            keys.add(readKey(in));
+        }
+        return new PartitionInvalidations(partitionUuid, keys, partitionSourceUuids, sequences);
+    }
+
+    private static void writeKey(DataOutputStream out, Data key) throws IOException {
+        if (key == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = key.toByteArray();
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static Data readKey(DataInputStream in) throws IOException {
+        int length = (int) readVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new HeapData(bytes);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~VAR_INT_MASK) != 0) {
+            out.writeByte((int) (remaining & VAR_INT_MASK) | VAR_INT_CONTINUATION);
+            remaining >>>= VAR_INT_SHIFT;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VAR_INT_SHIFT) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & VAR_INT_MASK) << shift;
+            if ((b & VAR_INT_CONTINUATION) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+
+    private static ByteArrayOutputStream deflate(ByteArrayOutputStream bytes) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(bytes.size());
+        try (OutputStream out = new DeflaterOutputStream(deflated, deflater)) {
+            bytes.writeTo(out);
+        } finally {
+            deflater.end();
+        }
+        return deflated;
+    }
+
+    private static byte[] withHeader(ByteArrayOutputStream body, int flags) {
+        byte[] bodyBytes = body.toByteArray();
+        byte[] bytes = new byte[bodyBytes.length + HEADER_SIZE];
+        bytes[0] = FORMAT_VERSION;
+        bytes[1] = (byte) flags;
+        System.arraycopy(bodyBytes, 0, bytes, HEADER_SIZE, bodyBytes.length);
+        return bytes;
+    }
+
+    /**
+     * The invalidations of a batch belonging to the same partition.
+     */
+    public static final class PartitionInvalidations {
+
+        private final UUID partitionUuid;
+        private final List<Data> keys;
+        private final List<UUID> sourceUuids;
+        private final long[] sequences;
+
+        PartitionInvalidations(UUID partitionUuid, List<Data> keys, List<UUID> sourceUuids, long[] sequences) {
+            this.partitionUuid = partitionUuid;
+            this.keys = keys;
+            this.sourceUuids = sourceUuids;
+            this.sequences = sequences;
+        }
+
+        public UUID getPartitionUuid() {
+            return partitionUuid;
+        }
+
+        /**
+         * Returns the invalidated keys, a key is {@code null} if the
+         * invalidation clears the whole data structure.
+         */
+        public List<Data> getKeys() {
+            return keys;
+        }
+
+        public List<UUID> getSourceUuids() {
+            return sourceUuids;
+        }
+
+        /**
+         * Returns the sequences of the invalidations, in the order of the keys.
+         */
+        public long[] getSequences() {
+            return sequences;
+        }
+    }
+}
@@ -17,12 +17,14 @@
 package com.hazelcast.internal.nearcache.impl.invalidation;
 
 import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.PartitionInvalidations;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -78,6 +80,14 @@ public final class RepairingHandler {
      * Handles a single invalidation
      */
     public void handle(Data key, UUID sourceUuid, UUID partitionUuid, long sequence) {
+        invalidate(key, sourceUuid);
+
+        int partitionId = getPartitionIdOrDefault(key);
+        checkOrRepairUuid(partitionId, partitionUuid);
+        checkOrRepairSequence(partitionId, sequence, false);
+    }
+
+    private void invalidate(Data key, UUID sourceUuid) {
         // apply invalidation if it's not originated by local member/client (because local
         // Near Caches are invalidated immediately there is no need to invalidate them twice)
         if (!localUuid.equals(sourceUuid)) {
@@ -88,10 +98,6 @@ public final class RepairingHandler {
                 nearCache.invalidate(serializeKeys ? key : serializationService.toObject(key));
             }
         }
-
-        int partitionId = getPartitionIdOrDefault(key);
-        checkOrRepairUuid(partitionId, partitionUuid);
-        checkOrRepairSequence(partitionId, sequence, false);
     }
 
     private int getPartitionIdOrDefault(Data key) {
@@ -119,6 +125,68 @@ public final class RepairingHandler {
         }
     }
 
+    /**
+     * Handles a compact batch of invalidations.
+     * <p>
+     * The invalidations of a partition are applied in bulk: its UUID and
+     * its sequence are checked once for all of them. When a gap is found
+     * in the sequences of a partition, instead of waiting for the
+     * {@link RepairingTask} to notice the missed invalidations, all the
+     * Near Cached entries of the partition are made unreachable at once
+     * by marking the sequences up to the last received one stale.
+     *
+     * @see StaleReadDetectorImpl
+     */
+    public void handle(CompactInvalidationBatch batch) {
+        for (PartitionInvalidations invalidations : batch.getPartitionInvalidations()) {
+            List<Data> keys = invalidations.getKeys();
+            List<UUID> sourceUuids = invalidations.getSourceUuids();
+            for (int i = 0; i < keys.size(); i++) {
+                invalidate(keys.get(i), sourceUuids.get(i));
+            }
+
+            int partitionId = getPartitionIdOrDefault(keys.get(0));
+            checkOrRepairUuid(partitionId, invalidations.getPartitionUuid());
+            checkOrRepairSequences(partitionId, invalidations.getSequences());
+        }
+    }
+
+    private void checkOrRepairSequences(int partition, long[] sequences) {
+        long lastSequence = sequences[0];
+        for (long sequence : sequences) {
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+
+        MetaDataContainer metaData = getMetaDataContainer(partition);
+        while (true) {
+            long currentSequence = metaData.getSequence();
+            if (currentSequence >= lastSequence) {
+                break;
+            }
+            if (metaData.casSequence(currentSequence, lastSequence)) {
+                if (hasGap(currentSequence, sequences)) {
+                    updateLastKnownStaleSequence(metaData, partition);
+                }
+                break;
+            }
+        }
+    }
+
+    private static boolean hasGap(long currentSequence, long[] sequences) {
+        long expectedSequence = currentSequence + 1;
+        for (long sequence : sequences) {
+            if (sequence < expectedSequence) {
+                // already received
+                continue;
+            }
+            if (sequence != expectedSequence) {
+                return true;
+            }
+            expectedSequence++;
+        }
+        return false;
+    }
+
     public String getName() {
         return name;
     }
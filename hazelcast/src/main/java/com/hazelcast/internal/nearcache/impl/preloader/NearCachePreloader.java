@@ -19,10 +19,12 @@ package com.hazelcast.internal.nearcache.impl.preloader;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.util.BufferingInputStream;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.Timer;
 import com.hazelcast.internal.util.collection.InflatableSet;
 import com.hazelcast.internal.util.collection.InflatableSet.Builder;
@@ -30,6 +32,9 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.memory.MemoryUnit;
 
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -37,22 +42,42 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Iterator;
-
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
-import static com.hazelcast.internal.nio.Bits.readIntB;
-import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
 import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
-import static com.hazelcast.internal.nio.IOUtil.readFullyOrNothing;
 import static com.hazelcast.internal.nio.IOUtil.rename;
 import static com.hazelcast.internal.nio.IOUtil.toFileName;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
 
 /**
  * Loads and stores the keys from a Near Cache into a file.
+ * <p>
+ * Along with each key the invalidation metadata of its record (partition
+ * ID, sequence and partition UUID) is stored and, when
+ * {@link NearCachePreloaderConfig#isStoreValues()} is enabled, its value.
+ * On load the file is read sequentially in chunks which are processed
+ * in parallel: the stored values are offered to an
+ * {@link EntryRestorer}, which validates them against the current
+ * invalidation metadata, and only the keys without a valid value are
+ * fetched via {@link DataStructureAdapter#getAll(java.util.Set)}.
  *
  * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
  */
@@ -62,7 +87,15 @@ public class NearCachePreloader<K> {
      * File format for the file header.
      */
     private enum FileFormat {
-        INTERLEAVED_LENGTH_FIELD
+        /**
+         * Length-prefixed keys.
+         */
+        INTERLEAVED_LENGTH_FIELD,
+        /**
+         * Length-prefixed keys, each followed by the invalidation metadata
+         * and the length-prefixed value or {@link #NO_VALUE}.
+         */
+        INTERLEAVED_LENGTH_FIELD_WITH_METADATA
     }
 
     /**
@@ -70,6 +103,27 @@ public class NearCachePreloader<K> {
      */
     private static final int MAGIC_BYTES = 0xEA3CAC4E;
 
+    /**
+     * Size of the file header: magic bytes and file format.
+     */
+    private static final int HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+
+    /**
+     * Size of the invalidation metadata of an entry: partition ID,
+     * sequence and partition UUID.
+     */
+    private static final int METADATA_SIZE = INT_SIZE_IN_BYTES + 3 * LONG_SIZE_IN_BYTES;
+
+    /**
+     * Partition ID stored for an entry without invalidation metadata.
+     */
+    private static final int NO_PARTITION_ID = -1;
+
+    /**
+     * Length stored for an entry without value.
+     */
+    private static final int NO_VALUE = -1;
+
     /**
      * Base-2 logarithm of buffer size.
      */
@@ -80,16 +134,22 @@ public class NearCachePreloader<K> {
     private static final int BUFFER_SIZE = 1 << LOG_OF_BUFFER_SIZE;
 
     /**
-     * Batch size for the pre-loader.
+     * Batch size for the pre-loader, it's also the number of entries of
+     * a chunk of the file.
      */
     private static final int LOAD_BATCH_SIZE = 100;
 
+    /**
+     * Maximum number of chunks loaded concurrently.
+     */
+    private static final int LOAD_PARALLELISM = 4;
+
     private final ILogger logger = Logger.getLogger(NearCachePreloader.class);
-    private final byte[] tmpBytes = new byte[INT_SIZE_IN_BYTES];
 
     private final String nearCacheName;
     private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
+    private final boolean storeValues;
 
     private final NearCachePreloaderLock lock;
     private final File storeFile;
@@ -104,6 +164,7 @@ public class NearCachePreloader<K> {
         this.nearCacheName = nearCacheName;
         this.nearCacheStats = nearCacheStats;
         this.serializationService = serializationService;
+        this.storeValues = preloaderConfig.isStoreValues();
 
         String filename = getFilename(preloaderConfig.getDirectory(), nearCacheName);
         this.lock = new NearCachePreloaderLock(logger, filename + ".lock");
@@ -117,10 +178,16 @@ public class NearCachePreloader<K> {
 
     /**
      * Loads the values via a stored key file into the supplied {@link DataStructureAdapter}.
+     * <p>
+     * The stored values are offered to the supplied {@link EntryRestorer}
+     * first, only the keys without a restored value are loaded via the
+     * adapter.
      *
-     * @param adapter the {@link DataStructureAdapter} to load the values from
+     * @param adapter  the {@link DataStructureAdapter} to load the values from
+     * @param executor the {@link Executor} to load the chunks of the file in parallel
+     * @param restorer the {@link EntryRestorer} to restore the stored values with
      */
-    public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, Executor executor, EntryRestorer restorer) {
         if (!storeFile.exists()) {
             logger.info(format("Skipped loading keys of Near Cache %s since storage file doesn't exist (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
@@ -129,41 +196,80 @@ public class NearCachePreloader<K> {
 
         long startedNanos = Timer.nanos();
 
-        try (BufferingInputStream bis = new BufferingInputStream(new FileInputStream(storeFile), BUFFER_SIZE)) {
-            if (!checkHeader(bis)) {
+        try (EntryReader reader = new EntryReader(storeFile)) {
+            FileFormat fileFormat = checkHeader(reader);
+            if (fileFormat == null) {
                 return;
             }
 
-            int loadedKeys = loadKeySet(bis, adapter);
+            ChunkLoader chunkLoader = new ChunkLoader(fileFormat, adapter, executor, restorer);
+            List<StoredEntry> chunk;
+            while (!chunkLoader.hasFailed() && !(chunk = readChunk(reader, fileFormat)).isEmpty()) {
+                chunkLoader.load(chunk);
+            }
+            chunkLoader.awaitCompletion();
 
             long elapsedMillis = Timer.millisElapsed(startedNanos);
-            logger.info(format("Loaded %d keys of Near Cache %s in %d ms", loadedKeys, nearCacheName, elapsedMillis));
+            logger.info(format("Loaded %d keys of Near Cache %s in %d ms (%d values restored from storage file)",
+                    chunkLoader.loadedKeys.get(), nearCacheName, elapsedMillis, chunkLoader.restoredValues.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning(format("Interrupted pre-loading of Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
         } catch (Exception e) {
             logger.warning(format("Could not pre-load Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()), e);
         }
     }
 
-    private boolean checkHeader(BufferingInputStream bis) throws IOException {
-        int magicBytes = readInt(bis);
-        if (magicBytes != MAGIC_BYTES) {
+    private FileFormat checkHeader(EntryReader reader) throws IOException {
+        if (reader.remaining < HEADER_SIZE || reader.readInt() != MAGIC_BYTES) {
             logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
-        int fileFormat = readInt(bis);
+        int fileFormat = reader.readInt();
         if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
             logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
-            return false;
+            return null;
+        }
+        return FileFormat.values()[fileFormat];
+    }
+
+    /**
+     * Reads the next chunk of up to {@link #LOAD_BATCH_SIZE} entries, a
+     * truncated entry ends the file.
+     *
+     * @return the entries of the chunk, empty at the end of the file
+     */
+    private static List<StoredEntry> readChunk(EntryReader reader, FileFormat fileFormat) throws IOException {
+        List<StoredEntry> chunk = new ArrayList<>(LOAD_BATCH_SIZE);
+        try {
+            while (chunk.size() < LOAD_BATCH_SIZE && reader.remaining > 0) {
+                chunk.add(readEntry(reader, fileFormat));
+            }
+        } catch (EOFException e) {
+            reader.remaining = 0;
         }
-        return true;
+        return chunk;
+    }
+
+    private static StoredEntry readEntry(EntryReader reader, FileFormat fileFormat) throws IOException {
+        Data key = reader.readLengthPrefixed(false);
+        if (fileFormat == FileFormat.INTERLEAVED_LENGTH_FIELD) {
+            return new StoredEntry(key, null, NO_PARTITION_ID, null, 0);
+        }
+        int partitionId = reader.readInt();
+        long sequence = reader.readLong();
+        UUID partitionUuid = new UUID(reader.readLong(), reader.readLong());
+        Data value = reader.readLengthPrefixed(true);
+        return new StoredEntry(key, value, partitionId, partitionUuid, sequence);
     }
 
     /**
      * Stores the Near Cache keys from the supplied iterator.
      *
-     * @param iterator {@link Iterator} over the key set of a {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
+     * @param iterator {@link Iterator} over the entries of a {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
      */
-    public void storeKeys(Iterator<K> iterator) {
+    public void storeKeys(Iterator<? extends Map.Entry<K, ? extends NearCacheRecord>> iterator) {
         long startedNanos = Timer.nanos();
         FileOutputStream fos = null;
         try {
@@ -172,11 +278,13 @@ public class NearCachePreloader<K> {
             lastKeyCount = 0;
 
             fos = new FileOutputStream(tmpStoreFile, false);
+            FileChannel outChannel = fos.getChannel();
 
-            // write header and keys
-            writeInt(fos, MAGIC_BYTES);
-            writeInt(fos, FileFormat.INTERLEAVED_LENGTH_FIELD.ordinal());
-            writeKeySet(fos, fos.getChannel(), iterator);
+            // write header and entries
+            buf.putInt(MAGIC_BYTES);
+            buf.putInt(FileFormat.INTERLEAVED_LENGTH_FIELD_WITH_METADATA.ordinal());
+            writeEntries(outChannel, iterator);
+            flushLocalBuffer(outChannel);
 
             // cleanup if no keys have been written
             if (lastKeyCount == 0) {
@@ -208,72 +316,71 @@ public class NearCachePreloader<K> {
                 MemoryUnit.BYTES.toKiloBytes(lastWrittenBytes)));
     }
 
-    private int loadKeySet(BufferingInputStream bis, DataStructureAdapter<Object, ?> adapter) throws IOException {
-        int loadedKeys = 0;
-
-        Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
-        while (readFullyOrNothing(bis, tmpBytes)) {
-            int dataSize = readIntB(tmpBytes, 0);
-            byte[] payload = new byte[dataSize];
-            if (!readFullyOrNothing(bis, payload)) {
-                break;
+    private void writeEntries(FileChannel outChannel, Iterator<? extends Map.Entry<K, ? extends NearCacheRecord>> iterator)
+            throws IOException {
+        long now = Clock.currentTimeMillis();
+        while (iterator.hasNext()) {
+            Map.Entry<K, ? extends NearCacheRecord> entry = iterator.next();
+            Data dataKey = serializationService.toData(entry.getKey());
+            if (dataKey == null) {
+                continue;
             }
-            Data key = new HeapData(payload);
-            builder.add(serializationService.toObject(key));
-            if (builder.size() == LOAD_BATCH_SIZE) {
-                adapter.getAll(builder.build());
-                builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+            NearCacheRecord record = entry.getValue();
+            UUID uuid = record.getUuid();
+
+            lastWrittenBytes += writeLengthPrefixed(outChannel, dataKey);
+
+            ensureBufHasRoom(outChannel, METADATA_SIZE);
+            buf.putInt(uuid != null ? record.getPartitionId() : NO_PARTITION_ID);
+            buf.putLong(uuid != null ? record.getInvalidationSequence() : 0);
+            buf.putLong(uuid != null ? uuid.getMostSignificantBits() : 0);
+            buf.putLong(uuid != null ? uuid.getLeastSignificantBits() : 0);
+            lastWrittenBytes += METADATA_SIZE;
+
+            Data dataValue = uuid != null ? getValueToStore(record, now) : null;
+            if (dataValue != null) {
+                lastWrittenBytes += writeLengthPrefixed(outChannel, dataValue);
+            } else {
+                ensureBufHasRoom(outChannel, INT_SIZE_IN_BYTES);
+                buf.putInt(NO_VALUE);
+                lastWrittenBytes += INT_SIZE_IN_BYTES;
             }
-            loadedKeys++;
-        }
-        if (builder.size() > 0) {
-            adapter.getAll(builder.build());
+            lastKeyCount++;
         }
-        return loadedKeys;
     }
 
-    private void writeKeySet(FileOutputStream fos, FileChannel outChannel, Iterator<K> iterator) throws IOException {
-        while (iterator.hasNext()) {
-            K key = iterator.next();
-            Data dataKey = serializationService.toData(key);
-            if (dataKey != null) {
-                int dataSize = dataKey.totalSize();
-                writeInt(fos, dataSize);
-
-                int position = 0;
-                int remaining = dataSize;
-                while (remaining > 0) {
-                    int transferredCount = Math.min(BUFFER_SIZE - buf.position(), remaining);
-                    ensureBufHasRoom(fos, transferredCount);
-                    buf.put(dataKey.toByteArray(), position, transferredCount);
-                    position += transferredCount;
-                    remaining -= transferredCount;
-                }
-
-                lastWrittenBytes += INT_SIZE_IN_BYTES + dataSize;
-                lastKeyCount++;
-            }
-            flushLocalBuffer(outChannel);
+    /**
+     * Returns the value of the given record to store, only the values of
+     * the published and unexpired records are stored.
+     */
+    private Data getValueToStore(NearCacheRecord record, long now) {
+        if (!storeValues || record.getReservationId() != READ_PERMITTED || record.isCachedAsNull()
+                || record.isExpiredAt(now)) {
+            return null;
         }
+        Object value = record.getValue();
+        return value == null ? null : serializationService.toData(value);
     }
 
-    private int readInt(BufferingInputStream bis) throws IOException {
-        readFullyOrNothing(bis, tmpBytes);
-        return readIntB(tmpBytes, 0);
-    }
-
-    private void writeInt(FileOutputStream fos, int dataSize) throws IOException {
-        ensureBufHasRoom(fos, INT_SIZE_IN_BYTES);
-        writeIntB(tmpBytes, 0, dataSize);
-        buf.put(tmpBytes);
+    private int writeLengthPrefixed(FileChannel outChannel, Data data) throws IOException {
+        byte[] bytes = data.toByteArray();
+        ensureBufHasRoom(outChannel, INT_SIZE_IN_BYTES);
+        buf.putInt(bytes.length);
+
+        int position = 0;
+        while (position < bytes.length) {
+            ensureBufHasRoom(outChannel, 1);
+            int transferredCount = Math.min(buf.remaining(), bytes.length - position);
+            buf.put(bytes, position, transferredCount);
+            position += transferredCount;
+        }
+        return INT_SIZE_IN_BYTES + bytes.length;
     }
 
-    private void ensureBufHasRoom(FileOutputStream fos, int expectedSize) throws IOException {
-        if (buf.position() < BUFFER_SIZE - expectedSize) {
-            return;
+    private void ensureBufHasRoom(FileChannel outChannel, int expectedSize) throws IOException {
+        if (buf.remaining() < expectedSize) {
+            flushLocalBuffer(outChannel);
         }
-        fos.write(buf.array());
-        buf.position(0);
     }
 
     private void flushLocalBuffer(FileChannel outChannel) throws IOException {
@@ -294,4 +401,215 @@ public class NearCachePreloader<K> {
         }
         return Paths.get(directory, filename).toString();
     }
+
+    /**
+     * Restores a stored entry into the Near Cache without fetching its
+     * value, if the stored invalidation metadata is still current.
+     */
+    @FunctionalInterface
+    public interface EntryRestorer {
+
+        /**
+         * @param key           the stored key
+         * @param value         the stored value
+         * @param partitionId   the partition ID of the stored entry
+         * @param partitionUuid the partition UUID at the time the entry was cached
+         * @param sequence      the invalidation sequence at the time the entry was cached
+         * @return {@code true} if the entry has been restored, {@code false}
+         * if its value has to be fetched
+         */
+        boolean restore(Data key, Data value, int partitionId, UUID partitionUuid, long sequence);
+    }
+
+    /**
+     * Reads a storage file sequentially. A length or field exceeding the
+     * rest of the file is reported as {@link EOFException}, like a
+     * truncated file.
+     */
+    private static final class EntryReader implements Closeable {
+
+        private final DataInputStream in;
+        private long remaining;
+
+        EntryReader(File file) throws IOException {
+            this.remaining = file.length();
+            this.in = new DataInputStream(new BufferingInputStream(new FileInputStream(file), BUFFER_SIZE));
+        }
+
+        int readInt() throws IOException {
+            consume(INT_SIZE_IN_BYTES);
+            return in.readInt();
+        }
+
+        long readLong() throws IOException {
+            consume(LONG_SIZE_IN_BYTES);
+            return in.readLong();
+        }
+
+        /**
+         * @return the length-prefixed data or {@code null} for
+         * {@link #NO_VALUE} if the data is nullable
+         */
+        Data readLengthPrefixed(boolean nullable) throws IOException {
+            int size = readInt();
+            if (size == NO_VALUE && nullable) {
+                return null;
+            }
+            if (size < 0) {
+                throw new EOFException();
+            }
+            consume(size);
+            byte[] payload = new byte[size];
+            in.readFully(payload);
+            return new HeapData(payload);
+        }
+
+        private void consume(int size) throws EOFException {
+            if (size > remaining) {
+                throw new EOFException();
+            }
+            remaining -= size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class StoredEntry {
+
+        private final Data key;
+        private final Data value;
+        private final int partitionId;
+        private final UUID partitionUuid;
+        private final long sequence;
+
+        StoredEntry(Data key, Data value, int partitionId, UUID partitionUuid, long sequence) {
+            this.key = key;
+            this.value = value;
+            this.partitionId = partitionId;
+            this.partitionUuid = partitionUuid;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Loads the chunks read from the storage file on the calling thread
+     * and on up to {@link #LOAD_PARALLELISM} - 1 tasks of the executor.
+     * <p>
+     * The chunks are queued and the tasks take them from the queue. The
+     * calling thread loads the queued chunks itself when
+     * {@link #LOAD_PARALLELISM} chunks are pending and while it awaits
+     * the completion, so it only waits for the chunks taken by running
+     * tasks. The executor may be the one running the calling thread, its
+     * tasks are not required to start for the load to complete.
+     */
+    private final class ChunkLoader {
+
+        private final FileFormat fileFormat;
+        private final DataStructureAdapter<Object, ?> adapter;
+        private final Executor executor;
+        private final EntryRestorer restorer;
+
+        private final Queue<List<StoredEntry>> queue = new ConcurrentLinkedQueue<>();
+        private final Semaphore helpers = new Semaphore(LOAD_PARALLELISM - 1);
+        /**
+         * The number of chunks queued or being loaded.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger loadedKeys = new AtomicInteger();
+        private final AtomicInteger restoredValues = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        ChunkLoader(FileFormat fileFormat, DataStructureAdapter<Object, ?> adapter, Executor executor,
+                    EntryRestorer restorer) {
+            this.fileFormat = fileFormat;
+            this.adapter = adapter;
+            this.executor = executor;
+            this.restorer = restorer;
+        }
+
+        boolean hasFailed() {
+            return failure.get() != null;
+        }
+
+        void load(List<StoredEntry> chunk) {
+            pending.incrementAndGet();
+            queue.add(chunk);
+            if (helpers.tryAcquire()) {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            loadQueuedChunks(false);
+                        } finally {
+                            helpers.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    helpers.release();
+                }
+            }
+            loadQueuedChunks(true);
+        }
+
+        void awaitCompletion() throws InterruptedException {
+            loadQueuedChunks(false);
+            synchronized (this) {
+                while (pending.get() > 0) {
+                    wait();
+                }
+            }
+            Throwable cause = failure.get();
+            if (cause != null) {
+                throw rethrow(cause);
+            }
+        }
+
+        /**
+         * Loads the queued chunks, while {@link #LOAD_PARALLELISM} chunks
+         * are pending if {@code overLimitOnly} is set.
+         */
+        private void loadQueuedChunks(boolean overLimitOnly) {
+            while (!overLimitOnly || pending.get() >= LOAD_PARALLELISM) {
+                List<StoredEntry> chunk = queue.poll();
+                if (chunk == null) {
+                    return;
+                }
+                try {
+                    loadChunk(chunk);
+                } finally {
+                    if (pending.decrementAndGet() == 0) {
+                        synchronized (this) {
+                            notifyAll();
+                        }
+                    }
+                }
+            }
+        }
+
+        private void loadChunk(List<StoredEntry> chunk) {
+            try {
+                Builder<Object> builder = InflatableSet.newBuilder(chunk.size());
+                int restoredCount = 0;
+                for (StoredEntry entry : chunk) {
+                    if (fileFormat == FileFormat.INTERLEAVED_LENGTH_FIELD_WITH_METADATA && entry.value != null
+                            && entry.partitionId != NO_PARTITION_ID
+                            && restorer.restore(entry.key, entry.value, entry.partitionId, entry.partitionUuid,
+                            entry.sequence)) {
+                        restoredCount++;
+                        continue;
+                    }
+                    builder.add(serializationService.toObject(entry.key));
+                }
+                if (builder.size() > 0) {
+                    adapter.getAll(builder.build());
+                }
+                loadedKeys.addAndGet(chunk.size());
+                restoredValues.addAndGet(restoredCount);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }
+    }
 }
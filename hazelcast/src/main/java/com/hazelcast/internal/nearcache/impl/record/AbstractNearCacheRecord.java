@@ -159,6 +159,11 @@ public abstract class AbstractNearCacheRecord<V> implements NearCacheRecord<V> {
         this.invalidationSequence = sequence;
     }
 
+    @Override
+    public UUID getUuid() {
+        return uuid;
+    }
+
     @Override
     public void setUuid(UUID uuid) {
         this.uuid = uuid;
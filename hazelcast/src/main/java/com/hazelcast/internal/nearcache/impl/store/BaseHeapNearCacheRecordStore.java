@@ -21,7 +21,9 @@ import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
 import com.hazelcast.internal.nearcache.impl.maxsize.EntryCountNearCacheEvictionChecker;
 import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
@@ -29,14 +31,34 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.config.NearCacheConfig.AdmissionPolicy.WINDOW_TINY_LFU;
+import static com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy.SAMPLE_COUNT;
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
 import static java.lang.String.format;
 
 /**
  * Base implementation of {@link AbstractNearCacheRecordStore} for on-heap Near Caches.
+ * <p>
+ * With the {@link com.hazelcast.config.NearCacheConfig.AdmissionPolicy#WINDOW_TINY_LFU}
+ * admission policy the size is bounded on the reservation of a new key
+ * instead of by {@link #doEviction(boolean)}. The new keys enter an admission
+ * window of 1% of the max-size. When the window or the Near Cache is full,
+ * the oldest key of the window competes with the eviction candidate selected
+ * by the eviction policy, and the one less frequently requested according to
+ * a {@link FrequencySketch} is evicted. This keeps the frequently requested
+ * entries cached on scans and on bursts of one-off requests.
  *
  * @param <K> the type of the key stored in Near Cache
  * @param <V> the type of the value stored in Near Cache
@@ -46,10 +68,18 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         extends AbstractNearCacheRecordStore<K, V, K, R, HeapNearCacheRecordMap<K, R>> {
 
     private static final int DEFAULT_INITIAL_CAPACITY = 1000;
+    private static final int ADMISSION_WINDOW_PERCENTAGE = 1;
+    private static final int ONE_HUNDRED_PERCENT = 100;
 
     private final NearCachePreloader<K> nearCachePreloader;
     private final BiFunction<? super K, ? super R, ? extends R> invalidatorFunction = createInvalidatorFunction();
 
+    private final int maxSize;
+    private final FrequencySketch frequencySketch;
+    private final Queue<K> admissionWindow;
+    private final AtomicInteger admissionWindowSize;
+    private final int admissionWindowCapacity;
+
     BaseHeapNearCacheRecordStore(String name, NearCacheConfig nearCacheConfig, SerializationService serializationService,
                                  ClassLoader classLoader) {
         super(nearCacheConfig, serializationService, classLoader);
@@ -57,6 +87,20 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
         this.nearCachePreloader = preloaderConfig.isEnabled()
                 ? new NearCachePreloader<>(name, preloaderConfig, nearCacheStats, serializationService) : null;
+
+        this.maxSize = nearCacheConfig.getEvictionConfig().getSize();
+        if (nearCacheConfig.getAdmissionPolicy() == WINDOW_TINY_LFU && !evictionDisabled) {
+            this.frequencySketch = new FrequencySketch(maxSize);
+            this.admissionWindow = new ConcurrentLinkedQueue<>();
+            this.admissionWindowSize = new AtomicInteger();
+            this.admissionWindowCapacity = Math.max(1, (int) ((long) maxSize * ADMISSION_WINDOW_PERCENTAGE
+                    / ONE_HUNDRED_PERCENT));
+        } else {
+            this.frequencySketch = null;
+            this.admissionWindow = null;
+            this.admissionWindowSize = null;
+            this.admissionWindowCapacity = 0;
+        }
     }
 
     @Override
@@ -81,6 +125,87 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         return records.get(key);
     }
 
+    @Override
+    public V get(K key) {
+        if (frequencySketch != null) {
+            frequencySketch.increment(key.hashCode());
+        }
+        return super.get(key);
+    }
+
+    @Override
+    public boolean doEviction(boolean withoutMaxSizeCheck) {
+        if (frequencySketch != null && !withoutMaxSizeCheck) {
+            // the size is bounded on admission, see tryReserveForUpdate
+            checkAvailable();
+            return false;
+        }
+        return super.doEviction(withoutMaxSizeCheck);
+    }
+
+    @Override
+    public long tryReserveForUpdate(K key, Data keyData, NearCache.UpdateSemantic updateSemantic) {
+        if (frequencySketch == null) {
+            return super.tryReserveForUpdate(key, keyData, updateSemantic);
+        }
+
+        boolean newKey = !containsRecordKey(key);
+        long reservationId = super.tryReserveForUpdate(key, keyData, updateSemantic);
+        if (reservationId != NOT_RESERVED && newKey) {
+            admit(key);
+        }
+        return reservationId;
+    }
+
+    /**
+     * Adds the given new key to the admission window and lets the oldest
+     * keys of the window compete with the eviction candidates while the
+     * window or the Near Cache is full.
+     */
+    private void admit(K key) {
+        admissionWindow.offer(key);
+        admissionWindowSize.incrementAndGet();
+        while (admissionWindowSize.get() > admissionWindowCapacity || records.size() > maxSize) {
+            K candidate = admissionWindow.poll();
+            if (candidate == null) {
+                return;
+            }
+            admissionWindowSize.decrementAndGet();
+            // otherwise the candidate moves to the main space without a
+            // competition or it has been removed while in the window
+            if (records.size() > maxSize && containsRecordKey(candidate)) {
+                compete(candidate);
+            }
+        }
+    }
+
+    private void compete(K candidate) {
+        EvictionCandidate<K, R> victim = selectVictim(candidate);
+        if (victim == null) {
+            return;
+        }
+        if (frequencySketch.frequency(candidate.hashCode()) > frequencySketch.frequency(victim.getAccessor().hashCode())) {
+            records.tryEvict(victim, this);
+            nearCacheStats.incrementAdmissions();
+        } else {
+            R rejectedRecord = records.remove(candidate);
+            if (rejectedRecord != null) {
+                onEvict(candidate, rejectedRecord, false);
+            }
+            nearCacheStats.incrementAdmissionRejections();
+        }
+    }
+
+    private EvictionCandidate<K, R> selectVictim(K candidate) {
+        List<EvictionCandidate<K, R>> samples = new ArrayList<>(SAMPLE_COUNT);
+        for (EvictionCandidate<K, R> sample : records.sample(SAMPLE_COUNT)) {
+            if (!candidate.equals(sample.getAccessor())) {
+                samples.add(sample);
+            }
+        }
+        return evictionPolicyEvaluator.evaluate(samples);
+    }
+
     @Override
     protected R putRecord(K key, R record) {
         R oldRecord = records.put(key, record);
@@ -118,16 +243,44 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     }
 
     @Override
-    public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, Executor executor) {
         if (nearCachePreloader != null) {
-            nearCachePreloader.loadKeys(adapter);
+            nearCachePreloader.loadKeys(adapter, executor, this::restore);
+        }
+    }
+
+    /**
+     * Caches a value restored from the pre-loader storage file if its
+     * invalidation metadata equals to the current one, i.e. the entry
+     * hasn't been invalidated since the value has been cached.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean restore(Data keyData, Data valueData, int partitionId, UUID partitionUuid, long sequence) {
+        K key = nearCacheConfig.isSerializeKeys() ? (K) keyData : (K) serializationService.toObject(keyData);
+        doEviction(false);
+        long reservationId = tryReserveForUpdate(key, keyData, READ_UPDATE);
+        if (reservationId == NOT_RESERVED) {
+            return false;
+        }
+
+        R reservedRecord = records.get(key);
+        if (reservedRecord == null || reservedRecord.getReservationId() != reservationId) {
+            return false;
+        }
+        if (reservedRecord.getPartitionId() != partitionId || !reservedRecord.hasSameUuid(partitionUuid)
+                || reservedRecord.getInvalidationSequence() != sequence) {
+            // the value has to be fetched, which needs a new reservation
+            records.remove(key, reservedRecord);
+            return false;
         }
+        tryPublishReserved(key, (V) valueData, reservationId, false);
+        return true;
     }
 
     @Override
     public void storeKeys() {
         if (nearCachePreloader != null) {
-            nearCachePreloader.storeKeys(records.keySet().iterator());
+            nearCachePreloader.storeKeys(records.entrySet().iterator());
         }
     }
 
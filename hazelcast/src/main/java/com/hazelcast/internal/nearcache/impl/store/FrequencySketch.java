@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Estimates the access frequencies of the keys with a count-min sketch
+ * of 4-bit counters.
+ * <p>
+ * Every key is mapped to 4 counters, one per hash function. Each hash
+ * function selects a {@code long} word of the table, so the counters of a
+ * key are usually in different words. Within the words, the key selects a
+ * group of 4 of their 16 counters and each hash function uses a different
+ * counter of the group. The estimated frequency of a key
+ * is the minimum of its counters, so it's never lower than the number of
+ * the recorded accesses, unless they were aged.
+ * <p>
+ * Once the number of the recorded accesses reaches 10 times the capacity,
+ * all the counters are halved, so the estimates follow the recent access
+ * pattern and the counters don't saturate.
+ * <p>
+ * Not thread-safe but tolerates racing updates: an access which is lost
+ * to a racing update only makes an estimate lower.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MIN_TABLE_LENGTH = 8;
+    private static final int MAX_COUNTER_VALUE = 15;
+    private static final int SAMPLE_FACTOR = 10;
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+    private static final int SPREAD_MULTIPLIER = 0x9e3779b9;
+    private static final int COUNTERS_PER_HASH = 4;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+
+    private int size;
+
+    /**
+     * @param capacity the maximum number of the keys in the cache
+     */
+    FrequencySketch(int capacity) {
+        int tableLength = nextPowerOfTwo(Math.min(Math.max(MIN_TABLE_LENGTH, capacity), MAX_TABLE_LENGTH));
+        this.table = new long[tableLength];
+        this.tableMask = tableLength - 1;
+        this.sampleSize = (int) Math.min((long) SAMPLE_FACTOR * Math.max(1, capacity), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Records an access to the key having the given hash.
+     *
+     * @param keyHash the hash code of the key
+     */
+    void increment(int keyHash) {
+        int hash = spread(keyHash);
+        int start = (hash & (COUNTERS_PER_HASH - 1)) << 2;
+
+        boolean added = false;
+        for (int i = 0; i < COUNTERS_PER_HASH; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of the recent accesses to the key
+     * having the given hash, at most 15.
+     *
+     * @param keyHash the hash code of the key
+     * @return the estimated access frequency
+     */
+    int frequency(int keyHash) {
+        int hash = spread(keyHash);
+        int start = (hash & (COUNTERS_PER_HASH - 1)) << 2;
+
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < COUNTERS_PER_HASH; i++) {
+            int offset = (start + i) << 2;
+            int count = (int) ((table[indexOf(hash, i)] >>> offset) & MAX_COUNTER_VALUE);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = (long) MAX_COUNTER_VALUE << offset;
+        long word = table[index];
+        if ((word & mask) != mask) {
+            table[index] = word + (1L << offset);
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        int oddCounters = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCounters += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        // halving an odd counter drops 1/2 of an access, the sum of the
+        // truncations is divided by the 4 counters of an access
+        size = (size - (oddCounters >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> Integer.SIZE;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * SPREAD_MULTIPLIER;
+        return h ^ (h >>> (Integer.SIZE / 2));
+    }
+}
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -259,6 +260,25 @@ public interface Channel extends Closeable {
      */
     boolean write(OutboundFrame frame);
 
+    /**
+     * Queues the {@link OutboundFrame}s to be written at some point in the future,
+     * in the given order. Compared to writing them one by one, the implementation
+     * can hand the frames over to the network in one go.
+     * <p>
+     * This method is thread-safe.
+     *
+     * @param frames the frames to write.
+     * @return true if the frames were queued; false if rejected.
+     */
+    default boolean writeAll(List<? extends OutboundFrame> frames) {
+        for (int i = 0; i < frames.size(); i++) {
+            if (!write(frames.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns current count of bytes read from the Channel.
      * The read values might not reflect the most recent value.
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutboundHandler} that can hand a buffer to the pipeline which is
+ * written to the socket directly after the dst buffer of the handler, using a
+ * gathering write. This way large payloads don't need to be copied into the
+ * dst buffer first.
+ * <p>
+ * Gathering writes are only possible when the handler is the last one in the
+ * pipeline; e.g. when a TLS handler follows, every byte needs to pass through
+ * it. The pipeline calls {@link #gatheringWrites(boolean)} every time the
+ * handlers change.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Enables or disables gathering writes for this handler. When disabled,
+     * {@link #gatherBuffer()} should always return {@code null}.
+     *
+     * @param enabled {@code true} if the handler is the last one in the pipeline.
+     */
+    void gatheringWrites(boolean enabled);
+
+    /**
+     * Returns the buffer to write to the socket right after the dst buffer.
+     * The pipeline writes it as far as the socket allows; the handler
+     * should not write anything to its dst buffer until this buffer is
+     * fully written.
+     *
+     * @return the buffer in reading mode, or {@code null} if there is none.
+     */
+    ByteBuffer gatherBuffer();
+}
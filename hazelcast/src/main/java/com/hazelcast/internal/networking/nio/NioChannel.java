@@ -24,6 +24,7 @@ import com.hazelcast.internal.networking.OutboundFrame;
 import java.io.IOException;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -80,6 +81,15 @@ public final class NioChannel extends AbstractChannel {
         return true;
     }
 
+    @Override
+    public boolean writeAll(List<? extends OutboundFrame> frames) {
+        if (isClosed()) {
+            return false;
+        }
+        outboundPipeline.writeAll(frames);
+        return true;
+    }
+
     @Override
     public long lastReadTimeMillis() {
         return inboundPipeline.lastReadTimeMillis();
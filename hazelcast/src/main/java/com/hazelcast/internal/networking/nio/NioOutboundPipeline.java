@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -33,6 +34,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
@@ -116,6 +118,8 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    private GatheringOutboundHandler gatheringHandler;
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[2];
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
@@ -200,13 +204,32 @@ public final class NioOutboundPipeline
     }
 
     public void write(OutboundFrame frame) {
+        offer(frame);
+        schedule();
+    }
+
+    /**
+     * Writes all frames but schedules the pipeline only once, so the frames
+     * can end up in a single write to the socket.
+     *
+     * @param frames the frames to write
+     */
+    public void writeAll(List<? extends OutboundFrame> frames) {
+        for (int i = 0; i < frames.size(); i++) {
+            offer(frames.get(i));
+        }
+        schedule();
+    }
+
+    private void offer(OutboundFrame frame) {
         if (frame.isUrgent()) {
             priorityWriteQueue.offer(frame);
         } else {
             writeQueue.offer(frame);
         }
+    }
 
-        // take care of the scheduling.
+    private void schedule() {
         for (; ; ) {
             State state = scheduled.get();
             if (state == State.UNSCHEDULED) {
@@ -331,7 +354,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (sendBuffer.remaining() > 0 || gatherBufferRemaining()) {
             pipelineStatus = DIRTY;
         }
 
@@ -437,11 +460,31 @@ public final class NioOutboundPipeline
 
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        ByteBuffer gatherBuffer = gatheringHandler == null ? null : gatheringHandler.gatherBuffer();
+        long written;
+        if (gatherBuffer == null) {
+            written = socketChannel.write(sendBuffer);
+        } else {
+            gatherBuffers[0] = sendBuffer;
+            gatherBuffers[1] = gatherBuffer;
+            try {
+                written = socketChannel.write(gatherBuffers);
+            } finally {
+                gatherBuffers[1] = null;
+            }
+        }
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
 
+    private boolean gatherBufferRemaining() {
+        if (gatheringHandler == null) {
+            return false;
+        }
+        ByteBuffer gatherBuffer = gatheringHandler.gatherBuffer();
+        return gatherBuffer != null && gatherBuffer.hasRemaining();
+    }
+
     void drainWriteQueues() {
         writeQueue.clear();
         priorityWriteQueue.clear();
@@ -515,8 +558,15 @@ public final class NioOutboundPipeline
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
 
+        OutboundHandler last = newHandlers.length == 0 ? null : newHandlers[newHandlers.length - 1];
+        this.gatheringHandler = last instanceof GatheringOutboundHandler ? (GatheringOutboundHandler) last : null;
+
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
+            if (handler instanceof GatheringOutboundHandler) {
+                // only the last handler writes directly to the socket
+                ((GatheringOutboundHandler) handler).gatheringWrites(handler == last);
+            }
             if (prev == null) {
                 handler.src(this);
             } else {
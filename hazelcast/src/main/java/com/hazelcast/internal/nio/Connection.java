@@ -22,6 +22,7 @@ import com.hazelcast.internal.networking.OutboundFrame;
 import javax.annotation.Nullable;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
 
@@ -146,6 +147,24 @@ public interface Connection {
      */
     boolean write(OutboundFrame frame);
 
+    /**
+     * Writes the outbound frames in the given order, so they can be received by the other side of the connection.
+     * The same guarantees as for {@link #write(OutboundFrame)} apply to each frame, but the implementation can
+     * hand the frames over to the network in one go.
+     *
+     * @param frames the frames to write.
+     * @return false if the frames were not accepted to be written, e.g. because the Connection was not alive.
+     * @throws NullPointerException if one of the frames is null.
+     */
+    default boolean writeAll(List<? extends OutboundFrame> frames) {
+        for (int i = 0; i < frames.size(); i++) {
+            if (!write(frames.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Writes an outbound frame, so it can be received by the other side of the connection. Frame delivery is ordered
      * with respect to other calls to this method on the same connection instance. No guarantees are made that the frame
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.NULL_ARRAY_LENGTH;
+import static com.hazelcast.internal.nio.Bits.SHORT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.BYTE_OFFSET_READER_RANGE;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.SHORT_OFFSET_READER_RANGE;
+
+/**
+ * Reads the fields of Compact serialized {@link HeapData} with a single
+ * schema straight from its bytes, without creating a
+ * {@link CompactInternalGenericRecord} and its input per entry.
+ * <p>
+ * The positions of the fields are resolved once from the {@link Schema}.
+ * Only the fixed-size fields, their nullable counterparts and the string
+ * fields can be read; for the other fields {@link #getFieldReader(String)}
+ * returns {@code null} and the generic record must be used.
+ */
+public final class CompactDataReader {
+
+    private static final int SCHEMA_ID_POSITION = HeapData.DATA_OFFSET;
+    private static final int DATA_LENGTH_POSITION = SCHEMA_ID_POSITION + LONG_SIZE_IN_BYTES;
+
+    private final Schema schema;
+    private final boolean bigEndian;
+    private final int dataStartPosition;
+    private final Map<String, FieldReader> fieldReaders = new HashMap<>();
+
+    public CompactDataReader(@Nonnull Schema schema, @Nonnull ByteOrder byteOrder) {
+        this.schema = schema;
+        this.bigEndian = byteOrder == ByteOrder.BIG_ENDIAN;
+        this.dataStartPosition = schema.getNumberOfVariableSizeFields() == 0
+                ? DATA_LENGTH_POSITION
+                : DATA_LENGTH_POSITION + INT_SIZE_IN_BYTES;
+        for (FieldDescriptor field : schema.getFields()) {
+            FieldReader fieldReader = createFieldReader(field);
+            if (fieldReader != null) {
+                fieldReaders.put(field.getFieldName(), fieldReader);
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the schema of the given Compact serialized bytes.
+     *
+     * @param payload   the bytes of a {@link HeapData} with the compact type
+     * @param byteOrder the byte order of the serialization service
+     */
+    public static long readSchemaId(byte[] payload, ByteOrder byteOrder) {
+        return Bits.readLong(payload, SCHEMA_ID_POSITION, byteOrder == ByteOrder.BIG_ENDIAN);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the reader of the field, or {@code null} if the schema has no
+     * such field or the field can't be read directly
+     */
+    @Nullable
+    public FieldReader getFieldReader(String fieldName) {
+        return fieldReaders.get(fieldName);
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private FieldReader createFieldReader(FieldDescriptor field) {
+        int position = dataStartPosition + field.getOffset();
+        int index = field.getIndex();
+        switch (field.getKind()) {
+            case BOOLEAN:
+                int bitOffset = field.getBitOffset();
+                return payload -> ((payload[position] >>> bitOffset) & 1) != 0;
+            case INT8:
+                return payload -> payload[position];
+            case INT16:
+                return payload -> Bits.readShort(payload, position, bigEndian);
+            case INT32:
+                return payload -> Bits.readInt(payload, position, bigEndian);
+            case INT64:
+                return payload -> Bits.readLong(payload, position, bigEndian);
+            case FLOAT32:
+                return payload -> Float.intBitsToFloat(Bits.readInt(payload, position, bigEndian));
+            case FLOAT64:
+                return payload -> Double.longBitsToDouble(Bits.readLong(payload, position, bigEndian));
+            case NULLABLE_BOOLEAN:
+                return payload -> {
+                    int pos = variableSizePosition(payload, index);
+                    return pos == NULL_OFFSET ? null : payload[pos] != 0;
+                };
+            case NULLABLE_INT8:
+                return payload -> {
+                    int pos = variableSizePosition(payload, index);
+                    return pos == NULL_OFFSET ? null : payload[pos];
+                };
+            case NULLABLE_INT16:
+                return payload -> {
+                    int pos = variableSizePosition(payload, index);
+                    return pos == NULL_OFFSET ? null : Bits.readShort(payload, pos, bigEndian);
+                };
+            case NULLABLE_INT32:
+                return payload -> {
+                    int pos = variableSizePosition(payload, index);
+                    return pos == NULL_OFFSET ? null : Bits.readInt(payload, pos, bigEndian);
+                };
+            case NULLABLE_INT64:
+                return payload -> {
+                    int pos = variableSizePosition(payload, index);
+                    return pos == NULL_OFFSET ? null : Bits.readLong(payload, pos, bigEndian);
+                };
+            case NULLABLE_FLOAT32:
+                return payload -> {
+                    int pos = variableSizePosition(payload, index);
+                    return pos == NULL_OFFSET ? null : Float.intBitsToFloat(Bits.readInt(payload, pos, bigEndian));
+                };
+            case NULLABLE_FLOAT64:
+                return payload -> {
+                    int pos = variableSizePosition(payload, index);
+                    return pos == NULL_OFFSET ? null : Double.longBitsToDouble(Bits.readLong(payload, pos, bigEndian));
+                };
+            case STRING:
+                return payload -> readString(payload, variableSizePosition(payload, index));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Same as {@link OffsetReader} for a byte array: returns the position of
+     * the variable-size field with the given index or {@link OffsetReader#NULL_OFFSET}.
+     */
+    private int variableSizePosition(byte[] payload, int index) {
+        int dataLength = Bits.readInt(payload, DATA_LENGTH_POSITION, bigEndian);
+        int offsetsPosition = dataStartPosition + dataLength;
+        int offset;
+        if (dataLength < BYTE_OFFSET_READER_RANGE) {
+            byte byteOffset = payload[offsetsPosition + index];
+            offset = byteOffset == NULL_OFFSET ? NULL_OFFSET : Byte.toUnsignedInt(byteOffset);
+        } else if (dataLength < SHORT_OFFSET_READER_RANGE) {
+            short shortOffset = Bits.readShort(payload, offsetsPosition + index * SHORT_SIZE_IN_BYTES, bigEndian);
+            offset = shortOffset == NULL_OFFSET ? NULL_OFFSET : Short.toUnsignedInt(shortOffset);
+        } else {
+            offset = Bits.readInt(payload, offsetsPosition + index * INT_SIZE_IN_BYTES, bigEndian);
+        }
+        return offset == NULL_OFFSET ? NULL_OFFSET : offset + dataStartPosition;
+    }
+
+    private String readString(byte[] payload, int position) {
+        if (position == NULL_OFFSET) {
+            return null;
+        }
+        int length = Bits.readInt(payload, position, bigEndian);
+        if (length == NULL_ARRAY_LENGTH) {
+            return null;
+        }
+        return new String(payload, position + INT_SIZE_IN_BYTES, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactDataReader{schema=" + schema + ", fields=" + fieldReaders.keySet() + '}';
+    }
+
+    /**
+     * Reads a single field from the bytes of a {@link HeapData} with the schema
+     * of the reader.
+     */
+    @FunctionalInterface
+    public interface FieldReader {
+
+        Object read(byte[] payload);
+    }
+}
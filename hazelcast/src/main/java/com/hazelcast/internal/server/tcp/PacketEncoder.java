@@ -16,10 +16,12 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
+import com.hazelcast.spi.properties.HazelcastProperty;
 
 import java.nio.ByteBuffer;
 import java.util.function.Supplier;
@@ -27,6 +29,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static java.lang.Math.min;
 
 /**
  * A {@link OutboundHandler} that for member to member communication.
@@ -36,25 +39,68 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * It makes use of a flyweight to allow the sharing of a packet-instance over
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
+ * <p>
+ * When it is the last handler in the pipeline, the payload of a packet of at
+ * least {@link #GATHERING_WRITE_THRESHOLD} bytes isn't copied into the dst
+ * buffer; only the header is, and the payload is handed to the pipeline as
+ * {@link #gatherBuffer()} so both go out in a single gathering write.
  *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
+        implements GatheringOutboundHandler {
+
+    /**
+     * The minimum payload size in bytes of a packet to be written using a
+     * gathering write instead of being copied into the socket send buffer.
+     * 0 disables gathering writes.
+     */
+    public static final HazelcastProperty GATHERING_WRITE_THRESHOLD
+            = new HazelcastProperty("hazelcast.socket.gathering.write.threshold", 16 * 1024);
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final int gatheringWriteThreshold;
 
     private Packet packet;
+    private ByteBuffer payload;
+    private boolean gatheringWrites;
+
+    public PacketEncoder() {
+        this(Integer.parseInt(GATHERING_WRITE_THRESHOLD.getDefaultValue()));
+    }
+
+    public PacketEncoder(int gatheringWriteThreshold) {
+        this.gatheringWriteThreshold = gatheringWriteThreshold;
+    }
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void gatheringWrites(boolean enabled) {
+        this.gatheringWrites = enabled && gatheringWriteThreshold > 0;
+    }
+
+    @Override
+    public ByteBuffer gatherBuffer() {
+        return gatheringWrites ? payload : null;
+    }
+
     @Override
     public HandlerStatus onWrite() {
         compactOrClear(dst);
         try {
             for (; ; ) {
+                if (payload != null) {
+                    if (!writePayload()) {
+                        return gatheringWrites ? CLEAN : DIRTY;
+                    }
+                    payload = null;
+                    packet = null;
+                }
+
                 if (packet == null) {
                     packet = src.get();
 
@@ -64,7 +110,13 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                     }
                 }
 
-                if (packetWriter.writeTo(packet, dst)) {
+                if (gatheringWrites && packet.totalSize() >= gatheringWriteThreshold) {
+                    if (!packetWriter.writeHeaderTo(packet, dst)) {
+                        return DIRTY;
+                    }
+                    // the pipeline writes the payload right after the header
+                    payload = ByteBuffer.wrap(packet.toByteArray());
+                } else if (packetWriter.writeTo(packet, dst)) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
                 } else {
@@ -76,4 +128,18 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    /**
+     * Checks if the pending payload is written. With gathering writes that is
+     * up to the pipeline; if gathering writes got disabled in the meantime,
+     * the remainder is copied into the dst buffer.
+     */
+    private boolean writePayload() {
+        if (!gatheringWrites) {
+            int length = min(payload.remaining(), dst.remaining());
+            dst.put(payload.array(), payload.position(), length);
+            payload.position(payload.position() + length);
+        }
+        return !payload.hasRemaining();
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tpc;
+
+import com.hazelcast.client.impl.ClientEndpoint;
+import com.hazelcast.client.impl.ClientEngine;
+import com.hazelcast.client.impl.TpcToken;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageReader;
+import com.hazelcast.client.impl.protocol.codec.ClientTpcAuthenticationCodec;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketReader;
+import com.hazelcast.logging.ILogger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY;
+import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
+import static com.hazelcast.internal.util.StringUtil.stringToBytes;
+
+/**
+ * The {@link AsyncSocketReader} for the TPC client sockets.
+ * <p/>
+ * The first message on a socket must be the TPC authentication of a client
+ * that already authenticated over its classic connection. After that, the
+ * messages are bound to the classic connection of that client and handed to
+ * the {@link ClientEngine} on the eventloop thread, so a partition specific
+ * message that arrives on the reactor owning its partition runs right here.
+ * The response is written back over the same socket.
+ */
+final class ClientMessageSocketReader extends AsyncSocketReader {
+
+    private static final byte[] PROTOCOL_BYTES = stringToBytes(CLIENT_BINARY);
+
+    private final ClientEngine clientEngine;
+    private final ILogger logger;
+    private final int maxMessageLength;
+    private final byte[] protocol = new byte[PROTOCOL_LENGTH];
+    private int protocolOffset;
+    private ClientMessageReader messageReader;
+    private ServerConnection connection;
+
+    ClientMessageSocketReader(ClientEngine clientEngine, ILogger logger, int maxMessageLength) {
+        this.clientEngine = clientEngine;
+        this.logger = logger;
+        this.maxMessageLength = maxMessageLength;
+        this.messageReader = new ClientMessageReader(maxMessageLength);
+    }
+
+    @Override
+    public void onRead(ByteBuffer src) {
+        if (protocolOffset < PROTOCOL_LENGTH && !readProtocol(src)) {
+            return;
+        }
+
+        while (src.hasRemaining()) {
+            // only an authenticated client is trusted with large messages
+            if (!messageReader.readFrom(src, connection != null)) {
+                return;
+            }
+
+            ClientMessage message = messageReader.getClientMessage();
+            messageReader = new ClientMessageReader(maxMessageLength);
+            if (!ClientMessage.isFlagSet(message.getStartFrame().flags, UNFRAGMENTED_MESSAGE)) {
+                throw new IllegalStateException("Fragmented client messages are not supported on " + socket);
+            }
+
+            if (connection == null) {
+                if (!authenticate(message)) {
+                    return;
+                }
+            } else {
+                message.setConnection(connection);
+                message.setAsyncSocket(socket);
+                clientEngine.accept(message);
+            }
+        }
+    }
+
+    private boolean readProtocol(ByteBuffer src) {
+        int length = Math.min(src.remaining(), PROTOCOL_LENGTH - protocolOffset);
+        src.get(protocol, protocolOffset, length);
+        protocolOffset += length;
+        if (protocolOffset < PROTOCOL_LENGTH) {
+            return false;
+        }
+
+        if (!Arrays.equals(protocol, PROTOCOL_BYTES)) {
+            socket.close("Unexpected protocol " + new String(protocol, StandardCharsets.UTF_8), null);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean authenticate(ClientMessage request) {
+        if (request.getMessageType() != ClientTpcAuthenticationCodec.REQUEST_MESSAGE_TYPE) {
+            socket.close("Client must authenticate before any operation", null);
+            return false;
+        }
+
+        ClientTpcAuthenticationCodec.RequestParameters parameters = ClientTpcAuthenticationCodec.decodeRequest(request);
+        ClientEndpoint endpoint = findEndpoint(parameters);
+        if (endpoint == null) {
+            socket.close("TPC authentication failed for client " + parameters.uuid, null);
+            return false;
+        }
+
+        connection = endpoint.getConnection();
+        if (logger.isFineEnabled()) {
+            logger.fine("Bound " + socket + " to " + connection);
+        }
+
+        ClientMessage response = ClientTpcAuthenticationCodec.encodeResponse();
+        response.setCorrelationId(request.getCorrelationId());
+        socket.writeAndFlush(response);
+        return true;
+    }
+
+    private ClientEndpoint findEndpoint(ClientTpcAuthenticationCodec.RequestParameters parameters) {
+        for (ClientEndpoint endpoint : clientEngine.getEndpointManager().getEndpoints()) {
+            if (!endpoint.getUuid().equals(parameters.uuid)) {
+                continue;
+            }
+
+            TpcToken token = endpoint.getTpcToken();
+            if (endpoint.isAuthenticated() && token != null && token.matches(parameters.token)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
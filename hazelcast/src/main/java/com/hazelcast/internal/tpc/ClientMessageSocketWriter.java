@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tpc;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketWriter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@link AsyncSocketWriter} for the TPC client sockets. It encodes the
+ * {@link ClientMessage} responses on the write queue into the send buffer.
+ */
+final class ClientMessageSocketWriter extends AsyncSocketWriter {
+
+    private final ClientMessageWriter messageWriter = new ClientMessageWriter();
+    private ClientMessage current;
+
+    @Override
+    public boolean onWrite(ByteBuffer dst) {
+        for (; ; ) {
+            if (current == null) {
+                current = (ClientMessage) writeQueue.poll();
+                if (current == null) {
+                    return true;
+                }
+            }
+
+            if (!messageWriter.writeTo(dst, current)) {
+                // the send buffer is full; the rest of the message is written on the next call.
+                return false;
+            }
+            current = null;
+        }
+    }
+}
@@ -40,6 +40,15 @@ public interface TpcServerBootstrap {
     HazelcastProperty TPC_EVENTLOOP_COUNT = new HazelcastProperty(
             "hazelcast.internal.tpc.eventloop.count");
 
+    /**
+     * If set to true together with {@link #TPC_ENABLED}, the partition operation
+     * threads become the eventloop threads of the {@link TpcEngine} and every
+     * reactor serves the clients of the partitions it owns. A partition specific
+     * client request is then read, run and answered on the same thread.
+     */
+    HazelcastProperty TPC_PARTITION_LOCAL = new HazelcastProperty(
+            "hazelcast.internal.tpc.partition.local");
+
     /**
      * Checks if TPC is enabled by checking the System properties and the
      * config.
@@ -48,17 +57,37 @@ public interface TpcServerBootstrap {
      * @return true if TPC was enabled, or false otherwise.
      */
     static boolean loadTpcEnabled(Config config) {
-        String s = System.getProperty(TpcServerBootstrap.TPC_ENABLED.getName());
-        if (s != null) {
-            return Boolean.parseBoolean(s);
-        }
+        String s = loadProperty(config, TPC_ENABLED);
+        return s != null ? Boolean.parseBoolean(s) : config.getTpcConfig().isEnabled();
+    }
+
+    /**
+     * Gets the number of eventloops by checking the System properties and the
+     * config.
+     *
+     * @param config the config
+     * @return the number of eventloops.
+     */
+    static int loadEventloopCount(Config config) {
+        String s = loadProperty(config, TPC_EVENTLOOP_COUNT);
+        return s != null ? Integer.parseInt(s) : config.getTpcConfig().getEventloopCount();
+    }
 
-        s = config.getProperties().getProperty(TPC_ENABLED.getName());
-        if (s != null) {
-            return Boolean.parseBoolean(s);
-        }
+    /**
+     * Checks if partition local TPC is enabled by checking the System properties
+     * and the config.
+     *
+     * @param config the config
+     * @return true if partition operations should run on the reactors, false otherwise.
+     * @see #TPC_PARTITION_LOCAL
+     */
+    static boolean loadTpcPartitionLocal(Config config) {
+        return Boolean.parseBoolean(loadProperty(config, TPC_PARTITION_LOCAL));
+    }
 
-        return config.getTpcConfig().isEnabled();
+    private static String loadProperty(Config config, HazelcastProperty property) {
+        String s = System.getProperty(property.getName());
+        return s != null ? s : config.getProperties().getProperty(property.getName());
     }
 
     /**
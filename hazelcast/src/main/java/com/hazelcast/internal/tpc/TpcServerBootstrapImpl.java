@@ -14,29 +14,95 @@
  * limitations under the License.
  */
 
+
 package com.hazelcast.internal.tpc;
 
+import com.hazelcast.config.Config;
 import com.hazelcast.config.tpc.TpcSocketConfig;
 import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.tpcengine.Reactor;
+import com.hazelcast.internal.tpcengine.ReactorBuilder;
+import com.hazelcast.internal.tpcengine.ReactorType;
 import com.hazelcast.internal.tpcengine.TpcEngine;
+import com.hazelcast.internal.tpcengine.TpcEngineBuilder;
+import com.hazelcast.internal.tpcengine.net.AcceptRequest;
+import com.hazelcast.internal.tpcengine.net.AsyncServerSocket;
+import com.hazelcast.internal.tpcengine.net.AsyncSocket;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
+import com.hazelcast.spi.impl.operationexecutor.impl.TpcOperationScheduler;
+import com.hazelcast.spi.impl.operationexecutor.impl.TpcPartitionOperationThread;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.utils.PortRange;
 
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.tpcengine.TpcEngineBuilder.NAME_REACTOR_TYPE;
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.SO_RCVBUF;
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.SO_SNDBUF;
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.TCP_NODELAY;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
 
 /**
  * The Open Source version of the {@link TpcServerBootstrap}. Since TPC is not enabled
- * in Open Source, this implementation doesn't do much.
+ * in Open Source, this implementation doesn't do much unless the partition local mode
+ * is switched on with {@link #TPC_PARTITION_LOCAL}.
+ * <p/>
+ * In the partition local mode, the {@link TpcPartitionOperationThread}s are the
+ * eventloop threads of the {@link TpcEngine}: reactor {@code i} is driven by
+ * partition thread {@code i} and listens on the {@code i}-th client port. Since the
+ * client picks the TPC channel for a partition the same way the member picks the
+ * partition thread, a partition specific client request is read, run and answered
+ * by the reactor that owns the partition.
  */
 public class TpcServerBootstrapImpl implements TpcServerBootstrap {
 
+    private static final int KILO_BYTE = 1024;
+    private static final long TERMINATION_TIMEOUT_SECONDS = 5;
+
     private final Node node;
+    private final boolean enabled;
+    private final int eventloopCount;
+    private final List<AsyncServerSocket> serverSockets = new ArrayList<>();
+    private volatile TpcEngine tpcEngine;
+    private volatile List<Integer> clientPorts = Collections.emptyList();
+    private ILogger logger;
 
     public TpcServerBootstrapImpl(Node node) {
         this.node = node;
+        // deal with the nonsense of mocking
+        Config config = node == null ? null : node.getConfig();
+        this.enabled = config != null
+                && TpcServerBootstrap.loadTpcEnabled(config)
+                && TpcServerBootstrap.loadTpcPartitionLocal(config);
+        this.eventloopCount = enabled ? TpcServerBootstrap.loadEventloopCount(config) : 0;
     }
 
     @Override
     public void shutdown() {
+        TpcEngine engine = tpcEngine;
+        if (engine == null) {
+            return;
+        }
+
+        for (AsyncServerSocket serverSocket : serverSockets) {
+            serverSocket.close();
+        }
+        engine.shutdown();
+        try {
+            if (!engine.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warning("TpcEngine failed to terminate.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Override
@@ -46,29 +112,111 @@ public class TpcServerBootstrapImpl implements TpcServerBootstrap {
             return;
         }
 
-        if (TpcServerBootstrap.loadTpcEnabled(node.getConfig())) {
-            throw new IllegalStateException("Hazelcast Enterprise is required for TPC.");
+        if (!enabled) {
+            if (TpcServerBootstrap.loadTpcEnabled(node.getConfig())) {
+                throw new IllegalStateException("Hazelcast Enterprise is required for TPC.");
+            }
+            return;
+        }
+
+        logger = node.getLogger(TpcServerBootstrapImpl.class);
+        OperationExecutorImpl operationExecutor = (OperationExecutorImpl) node.getNodeEngine()
+                .getOperationService().getOperationExecutor();
+        PartitionOperationThread[] partitionThreads = operationExecutor.getPartitionThreads();
+
+        TpcEngine engine = newTpcEngine(partitionThreads);
+        for (int k = 0; k < partitionThreads.length; k++) {
+            ((TpcPartitionOperationThread) partitionThreads[k]).getQueue().setReactor(engine.reactor(k));
         }
+        engine.start();
+        tpcEngine = engine;
+
+        clientPorts = Collections.unmodifiableList(openClientSockets(engine));
+        logger.info("Started TPC with " + eventloopCount + " partition local " + engine.reactorType()
+                + " reactors, client ports " + clientPorts);
+    }
+
+    private TpcEngine newTpcEngine(PartitionOperationThread[] partitionThreads) {
+        ReactorBuilder reactorBuilder = ReactorBuilder.newReactorBuilder(
+                ReactorType.fromString(System.getProperty(NAME_REACTOR_TYPE, "nio")));
+        reactorBuilder.setSchedulerSupplier(TpcOperationScheduler::new);
+        // the reactors are created one by one, so reactor k gets partition thread k.
+        AtomicInteger threadIndex = new AtomicInteger();
+        reactorBuilder.setThreadFactory(eventloopTask -> {
+            TpcPartitionOperationThread thread =
+                    (TpcPartitionOperationThread) partitionThreads[threadIndex.getAndIncrement()];
+            thread.setEventloopTask(eventloopTask);
+            return thread;
+        });
+
+        return new TpcEngineBuilder()
+                .setReactorCount(partitionThreads.length)
+                .setReactorBuilder(reactorBuilder)
+                .build();
+    }
+
+    private List<Integer> openClientSockets(TpcEngine engine) {
+        TpcSocketConfig socketConfig = getClientSocketConfig();
+        PortRange portRange = new PortRange(socketConfig.getPortRange());
+        List<Integer> ports = new ArrayList<>(engine.reactorCount());
+        int port = portRange.getFromPort();
+        for (Reactor reactor : engine.reactors()) {
+            AsyncServerSocket serverSocket = reactor.newAsyncServerSocketBuilder()
+                    .set(SO_RCVBUF, socketConfig.getReceiveBufferSizeKB() * KILO_BYTE)
+                    .setAcceptConsumer(acceptRequest -> accept(reactor, socketConfig, acceptRequest))
+                    .build();
+            port = bind(serverSocket, port, portRange);
+            serverSocket.start();
+            serverSockets.add(serverSocket);
+            ports.add(port);
+            port++;
+        }
+        return ports;
+    }
+
+    private static int bind(AsyncServerSocket serverSocket, int fromPort, PortRange portRange) {
+        for (int port = fromPort; port <= portRange.getToPort(); port++) {
+            try {
+                serverSocket.bind(new InetSocketAddress(port));
+                return port;
+            } catch (UncheckedIOException e) {
+                ignore(e);
+            }
+        }
+        serverSocket.close();
+        throw new IllegalStateException("No free TPC port left in range " + portRange);
+    }
+
+    private void accept(Reactor reactor, TpcSocketConfig socketConfig, AcceptRequest acceptRequest) {
+        int maxMessageLength = node.getProperties().getInteger(ClusterProperty.CLIENT_PROTOCOL_UNVERIFIED_MESSAGE_BYTES);
+        AsyncSocket socket = reactor.newAsyncSocketBuilder(acceptRequest)
+                .set(TCP_NODELAY, true)
+                .set(SO_SNDBUF, socketConfig.getSendBufferSizeKB() * KILO_BYTE)
+                .set(SO_RCVBUF, socketConfig.getReceiveBufferSizeKB() * KILO_BYTE)
+                .setReader(new ClientMessageSocketReader(node.getClientEngine(), logger, maxMessageLength))
+                .setWriter(new ClientMessageSocketWriter())
+                .build();
+        socket.start();
     }
 
     @Override
     public boolean isEnabled() {
-        return false;
+        return enabled;
     }
 
     @Override
     public int eventloopCount() {
-        return 0;
+        return eventloopCount;
     }
 
     @Override
     public List<Integer> getClientPorts() {
-        return Collections.emptyList();
+        return clientPorts;
     }
 
     @Override
     public TpcEngine getTpcEngine() {
-        return null;
+        return tpcEngine;
     }
 
     @Override
@@ -28,12 +28,21 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+
+import static java.util.Arrays.copyOf;
 
 /**
  * Utility class for generating Comparators to be used in sort methods specific to hazelcast classes.
  */
 public final class SortingUtil {
 
+    /**
+     * Lists having shorter sorted runs on average are sorted entirely instead
+     * of being merged run by run.
+     */
+    private static final int MIN_AVERAGE_RUN_LENGTH = 8;
+
     private SortingUtil() {
     }
 
@@ -138,15 +147,11 @@ public final class SortingUtil {
         }
         PagingPredicateImpl pagingPredicateImpl = (PagingPredicateImpl) pagingPredicate;
         Comparator<QueryableEntry> comparator = newComparator(pagingPredicateImpl);
-        Collections.sort(list, comparator);
         int nearestPage = nearestAnchorEntry.getKey();
         int pageSize = pagingPredicate.getPageSize();
         int page = pagingPredicate.getPage();
         long totalSize = pageSize * ((long) page - nearestPage);
-        if (list.size() > totalSize) {
-            // it's safe to cast totalSize back to int here since it's limited by the list size
-            list = list.subList(0, (int) totalSize);
-        }
+        sortHead(list, comparator, totalSize);
         return list;
     }
 
@@ -228,13 +233,14 @@ public final class SortingUtil {
             return new AbstractMap.SimpleImmutableEntry<>(-1, -1);
         }
         Comparator<Map.Entry> comparator = SortingUtil.newComparator(pagingPredicateImpl.getComparator(), iterationType);
-        Collections.sort(list, comparator);
 
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicateImpl.getNearestAnchorEntry();
         int nearestPage = nearestAnchorEntry.getKey();
         int page = pagingPredicateImpl.getPage();
         int pageSize = pagingPredicateImpl.getPageSize();
         long begin = pageSize * ((long) page - nearestPage - 1);
+        // only the entries up to the end of the requested page are of interest
+        sortHead(list, comparator, begin + pageSize);
         int size = list.size();
         if (begin > size) {
             return new AbstractMap.SimpleImmutableEntry<>(-1, -1);
@@ -262,4 +268,71 @@ public final class SortingUtil {
         }
     }
 
+    /**
+     * Sorts the given list just enough to have its first {@code limit} items
+     * in the order of the given comparator and drops the rest of the items.
+     * <p>
+     * Query results combined from several members or partitions are
+     * concatenations of already sorted runs, such lists are k-way merged up
+     * to the limit instead of being sorted entirely.
+     *
+     * @param list       the list to sort.
+     * @param comparator the comparator to sort with.
+     * @param limit      the number of items to keep.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sortHead(List<T> list, Comparator<? super T> comparator, long limit) {
+        int size = list.size();
+        int headSize = (int) Math.min(size, limit);
+        if (headSize <= 0) {
+            list.clear();
+            return;
+        }
+
+        // find the sorted runs, give up on merging if they are too short
+        int maxRunCount = Math.max(1, size / MIN_AVERAGE_RUN_LENGTH);
+        int[] runStarts = new int[Math.min(size, maxRunCount + 1)];
+        int runCount = 1;
+        for (int i = 1; i < size && runCount <= maxRunCount; ++i) {
+            if (comparator.compare(list.get(i - 1), list.get(i)) > 0) {
+                if (runCount < runStarts.length) {
+                    runStarts[runCount] = i;
+                }
+                ++runCount;
+            }
+        }
+
+        if (runCount > maxRunCount) {
+            Collections.sort(list, comparator);
+        } else if (runCount > 1) {
+            // the positions of the run heads, the queue is ordered by the
+            // items at the heads and then by the run index to keep it stable
+            int[] positions = copyOf(runStarts, runCount);
+            PriorityQueue<Integer> heads = new PriorityQueue<>(runCount, (run1, run2) -> {
+                int result = comparator.compare(list.get(positions[run1]), list.get(positions[run2]));
+                return result != 0 ? result : Integer.compare(run1, run2);
+            });
+            for (int run = 0; run < runCount; ++run) {
+                heads.add(run);
+            }
+
+            Object[] head = new Object[headSize];
+            for (int i = 0; i < headSize; ++i) {
+                int run = heads.poll();
+                head[i] = list.get(positions[run]);
+                int runEnd = run + 1 < runCount ? runStarts[run + 1] : size;
+                if (++positions[run] < runEnd) {
+                    heads.add(run);
+                }
+            }
+            for (int i = 0; i < headSize; ++i) {
+                list.set(i, (T) head[i]);
+            }
+        }
+
+        if (size > headSize) {
+            list.subList(headSize, size).clear();
+        }
+    }
+
 }
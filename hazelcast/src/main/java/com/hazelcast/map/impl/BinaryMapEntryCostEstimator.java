@@ -17,10 +17,12 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.map.impl.record.PackedRecord;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.internal.serialization.Data;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 
 /**
@@ -41,6 +43,12 @@ class BinaryMapEntryCostEstimator
             HASH_ENTRY_HASH_COST_IN_BYTES + HASH_ENTRY_KEY_REF_COST_IN_BYTES
                     + HASH_ENTRY_VALUE_REF_COST_IN_BYTES + HASH_ENTRY_NEXT_REF_COST_IN_BYTES;
 
+    /**
+     * A {@link PackedRecord} is indexed by an int bucket of a table kept at
+     * most half full.
+     */
+    private static final int PACKED_INDEX_ENTRY_COST_IN_BYTES = 2 * INT_SIZE_IN_BYTES;
+
     private volatile long estimate;
 
     BinaryMapEntryCostEstimator() {
@@ -71,6 +79,12 @@ class BinaryMapEntryCostEstimator
 
     @Override
     public long calculateEntryCost(Data key, Record value) {
+        if (value instanceof PackedRecord) {
+            // no hash entry and no record object, only the
+            // index bucket and the slot which holds the key
+            return PACKED_INDEX_ENTRY_COST_IN_BYTES + key.getHeapCost() + value.getCost();
+        }
+
         long totalMapEntryCost = 0L;
 
         totalMapEntryCost += HASH_ENTRY_COST_IN_BYTES;
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.config.ConfigPatternMatcher;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.MapConfig;
@@ -28,14 +29,20 @@ import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperty;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.util.StringUtil.splitByComma;
+
 public interface MapContainer {
     void init();
 
@@ -141,4 +148,25 @@ public interface MapContainer {
 
     boolean isUseCachedDeserializedValuesEnabled(int partitionId);
 
+    /**
+     * @param property a property whose value is a comma separated list
+     *                 of map names, which can contain wildcards
+     * @return {@code true} if the name of this map matches one of the
+     * names listed in the given property, the same way map configuration
+     * names are matched
+     */
+    default boolean isListedIn(HazelcastProperty property) {
+        NodeEngine nodeEngine = getMapServiceContext().getNodeEngine();
+        String names = nodeEngine.getProperties().getString(property);
+        if (names == null || names.isBlank()) {
+            return false;
+        }
+        List<String> patterns = Arrays.asList(splitByComma(names, false));
+        if (patterns.contains(getName())) {
+            // the config pattern matchers match only the patterns with wildcards
+            return true;
+        }
+        ConfigPatternMatcher matcher = nodeEngine.getConfig().getConfigPatternMatcher();
+        return matcher.matches(patterns, getName()) != null;
+    }
 }
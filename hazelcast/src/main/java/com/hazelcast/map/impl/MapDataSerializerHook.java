@@ -44,6 +44,8 @@ import com.hazelcast.map.impl.operation.ClearOperationFactory;
 import com.hazelcast.map.impl.operation.ContainsKeyOperation;
 import com.hazelcast.map.impl.operation.ContainsValueOperation;
 import com.hazelcast.map.impl.operation.ContainsValueOperationFactory;
+import com.hazelcast.map.impl.operation.ContinuousAggregateOperation;
+import com.hazelcast.map.impl.operation.ContinuousAggregateOperationFactory;
 import com.hazelcast.map.impl.operation.DeleteOperation;
 import com.hazelcast.map.impl.operation.EntryBackupOperation;
 import com.hazelcast.map.impl.operation.EntryOffloadableSetUnlockOperation;
@@ -129,6 +131,7 @@ import com.hazelcast.map.impl.operation.TryPutOperation;
 import com.hazelcast.map.impl.operation.TryRemoveOperation;
 import com.hazelcast.map.impl.operation.WriteBehindStateHolder;
 import com.hazelcast.map.impl.query.AggregationResult;
+import com.hazelcast.map.impl.query.IterationTypeProjection;
 import com.hazelcast.map.impl.query.Query;
 import com.hazelcast.map.impl.query.QueryEventFilter;
 import com.hazelcast.map.impl.query.QueryOperation;
@@ -327,8 +330,11 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int INDEX_ITERATION_POINTER = 156;
     public static final int MAP_FETCH_INDEX_OPERATION_RESULT = 157;
     public static final int MAP_CHUNK = 158;
+    public static final int CONTINUOUS_AGGREGATE = 159;
+    public static final int CONTINUOUS_AGGREGATE_FACTORY = 160;
+    public static final int ITERATION_TYPE_PROJECTION = 161;
 
-    private static final int LEN = MAP_CHUNK + 1;
+    private static final int LEN = ITERATION_TYPE_PROJECTION + 1;
 
     @Override
     public int getFactoryId() {
@@ -496,6 +502,9 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[INDEX_ITERATION_POINTER] = IndexIterationPointer::new;
         constructors[MAP_FETCH_INDEX_OPERATION_RESULT] = MapFetchIndexOperationResult::new;
         constructors[MAP_CHUNK] = MapChunk::new;
+        constructors[CONTINUOUS_AGGREGATE] = ContinuousAggregateOperation::new;
+        constructors[CONTINUOUS_AGGREGATE_FACTORY] = ContinuousAggregateOperationFactory::new;
+        constructors[ITERATION_TYPE_PROJECTION] = IterationTypeProjection::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -171,6 +171,8 @@ class MapMigrationAwareService
         if (event.getMigrationEndpoint() == DESTINATION) {
             populateIndexes(event, TargetIndexes.GLOBAL, "commitMigration");
         } else {
+            // builds still in progress would mark the partition as indexed again
+            mapServiceContext.getPartitionIndexBuilder().cancel(event.getPartitionId());
             depopulateIndexes(event, "commitMigration");
         }
 
@@ -333,6 +335,12 @@ class MapMigrationAwareService
 
             InternalIndex[] indexesSnapshot = indexRegistry.getIndexes();
 
+            PartitionIndexBuilder indexBuilder = mapServiceContext.getPartitionIndexBuilder();
+            if (indexBuilder.shouldBuildInChunks(recordStore, indexRegistry)) {
+                indexBuilder.build(recordStore, indexesSnapshot, Index.OperationSource.SYSTEM);
+                continue;
+            }
+
             IndexRegistry.beginPartitionUpdate(indexesSnapshot);
 
             CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
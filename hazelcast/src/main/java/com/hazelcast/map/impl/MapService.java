@@ -79,6 +79,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_ENTRY_PROCESSOR_OFFLOADABLE_EXECUTOR;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX_BUILD;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_MAP_STORE_OFFLOADED_OPERATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_NEARCACHE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_TAG_INDEX;
@@ -373,6 +374,10 @@ public class MapService implements ManagedService, ChunkedMigrationAwareService,
 
         // mapStore offloaded operations
         setMapStoreOffloadedOperationMetrics(descriptor, context);
+
+        // chunked index builds
+        context.collect(descriptor.copy().withPrefix(MAP_PREFIX_INDEX_BUILD),
+                mapServiceContext.getPartitionIndexBuilder());
     }
 
     private void setMapStoreOffloadedOperationMetrics(MetricDescriptor descriptor,
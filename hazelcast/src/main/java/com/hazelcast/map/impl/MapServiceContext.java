@@ -237,6 +237,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     ExecutorStats getOffloadedEntryProcessorExecutorStats();
 
+    PartitionIndexBuilder getPartitionIndexBuilder();
+
     /**
      * Only used for testing purposes.
      * <p>
@@ -148,6 +148,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final ContextMutexFactory contextMutexFactory = new ContextMutexFactory();
     private final ConcurrentMap<String, MapContainer> mapContainers = new ConcurrentHashMap<>();
     private final ExecutorStats offloadedExecutorStats = new ExecutorStats();
+    private final PartitionIndexBuilder partitionIndexBuilder;
     private final AtomicReference<PartitionIdSet> cachedOwnedPartitions = new AtomicReference<>();
 
     /**
@@ -185,6 +186,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.nodeWideLoadedKeyLimiter = new Semaphore(checkPositive(PROP_LOADED_KEY_LIMITER_PER_NODE,
                 nodeEngine.getProperties().getInteger(LOADED_KEY_LIMITER_PER_NODE)));
         this.logger = nodeEngine.getLogger(getClass());
+        this.partitionIndexBuilder = new PartitionIndexBuilder(this);
         this.forceOffloadEnabled = nodeEngine.getProperties()
                 .getBoolean(FORCE_OFFLOAD_ALL_OPERATIONS);
         this.maxSuccessiveOffloadedOpRunNanos = nodeEngine.getProperties()
@@ -211,6 +213,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return offloadedExecutorStats;
     }
 
+    @Override
+    public PartitionIndexBuilder getPartitionIndexBuilder() {
+        return partitionIndexBuilder;
+    }
+
     private ConstructorFunction<String, MapContainer> createMapConstructor() {
         return mapName -> {
             MapContainer mapContainer = createMapContainer(mapName);
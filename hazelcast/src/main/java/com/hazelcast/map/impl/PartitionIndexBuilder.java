@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.namespace.NamespaceUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.StorageImpl;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.executionservice.ExecutionService;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_ACTIVE_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_CANCELLED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_COMPLETED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_INDEXED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_PENDING_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_SKIPPED_ENTRY_COUNT;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_INDEX_BUILD_EXECUTOR;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Populates the global indexes of a partition without occupying its
+ * partition thread for a full scan of the partition.
+ * <p>
+ * A build snapshots the records of the partition on the partition thread and
+ * splits the snapshot into chunks. Each chunk is prepared on the
+ * {@link ExecutionService#MAP_INDEX_BUILD_EXECUTOR} executor, where query
+ * entries are created and record values are deserialized, and is then
+ * inserted into the indexes by a short task on the partition thread. Records
+ * updated or removed after the snapshot are skipped, the regular mutation path
+ * has already indexed their current values. The partition is marked as indexed
+ * once its last chunk is inserted, until then queries don't use the indexes
+ * being built.
+ * <p>
+ * Only global indexes of maps whose records are kept in a {@link StorageImpl}
+ * are built this way. The records of NATIVE, tiered store, off-heap and
+ * packed storages can't be read off the partition thread, and their record
+ * instances don't identify a record version.
+ * Partitions with fewer than {@link #MIN_ENTRY_COUNT} records are also left to
+ * the synchronous population done by the callers.
+ */
+public final class PartitionIndexBuilder {
+
+    /**
+     * Minimum number of records a partition must hold to have its global
+     * indexes built in chunks. Smaller partitions are indexed synchronously.
+     * A negative value disables chunked index builds.
+     */
+    public static final HazelcastProperty MIN_ENTRY_COUNT
+            = new HazelcastProperty("hazelcast.map.index.build.min.entry.count", 10_000);
+
+    /**
+     * Number of records inserted into the indexes by a single partition
+     * thread task.
+     */
+    public static final HazelcastProperty CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.map.index.build.chunk.size", 1_000);
+
+    /**
+     * Maximum number of chunks of a single build prepared ahead of their
+     * insertion on the partition thread.
+     */
+    public static final HazelcastProperty MAX_PENDING_CHUNKS
+            = new HazelcastProperty("hazelcast.map.index.build.max.pending.chunks", 2);
+
+    /**
+     * Delay in milliseconds before the next chunk of a build is prepared once a
+     * chunk is inserted. Throttles index builds in favour of the regular
+     * partition operations, {@code 0} means no throttling.
+     */
+    public static final HazelcastProperty CHUNK_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.map.index.build.chunk.delay.millis", 0);
+
+    @Probe(name = MAP_METRIC_INDEX_BUILD_ACTIVE_COUNT)
+    private final MwCounter activeCount = newMwCounter();
+    @Probe(name = MAP_METRIC_INDEX_BUILD_COMPLETED_COUNT)
+    private final MwCounter completedCount = newMwCounter();
+    @Probe(name = MAP_METRIC_INDEX_BUILD_CANCELLED_COUNT)
+    private final MwCounter cancelledCount = newMwCounter();
+    @Probe(name = MAP_METRIC_INDEX_BUILD_PENDING_ENTRY_COUNT)
+    private final MwCounter pendingEntryCount = newMwCounter();
+    @Probe(name = MAP_METRIC_INDEX_BUILD_INDEXED_ENTRY_COUNT)
+    private final MwCounter indexedEntryCount = newMwCounter();
+    @Probe(name = MAP_METRIC_INDEX_BUILD_SKIPPED_ENTRY_COUNT)
+    private final MwCounter skippedEntryCount = newMwCounter();
+
+    private final MapServiceContext mapServiceContext;
+    private final NodeEngine nodeEngine;
+    private final SerializationService serializationService;
+    private final ExecutionService executionService;
+    private final ILogger logger;
+    private final int minEntryCount;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final long chunkDelayMillis;
+    /**
+     * Builds in progress by partition ID, each list is accessed only by the
+     * thread of its partition.
+     */
+    private final List<Build>[] buildsByPartition;
+
+    @SuppressWarnings("unchecked")
+    PartitionIndexBuilder(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+        this.serializationService = nodeEngine.getSerializationService();
+        this.executionService = nodeEngine.getExecutionService();
+        this.logger = nodeEngine.getLogger(getClass());
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.minEntryCount = properties.getInteger(MIN_ENTRY_COUNT);
+        this.chunkSize = checkPositive(CHUNK_SIZE.getName(), properties.getInteger(CHUNK_SIZE));
+        this.maxPendingChunks = checkPositive(MAX_PENDING_CHUNKS.getName(), properties.getInteger(MAX_PENDING_CHUNKS));
+        this.chunkDelayMillis = Math.max(0, properties.getLong(CHUNK_DELAY_MILLIS));
+        this.buildsByPartition = new List[nodeEngine.getPartitionService().getPartitionCount()];
+    }
+
+    /**
+     * Returns {@code true} if the indexes of the given registry should be
+     * populated for the given record store with {@link #build}, {@code false}
+     * if they should be populated synchronously.
+     */
+    public boolean shouldBuildInChunks(RecordStore recordStore, IndexRegistry indexRegistry) {
+        if (minEntryCount < 0 || !indexRegistry.isGlobal()) {
+            return false;
+        }
+
+        // the records of the other storages, e.g. off-heap and packed ones, are
+        // flyweights which can be read and compared only on the partition thread
+        if (!(recordStore.getStorage() instanceof StorageImpl)) {
+            return false;
+        }
+        MapConfig mapConfig = recordStore.getMapContainer().getMapConfig();
+        if (mapConfig.getInMemoryFormat() == NATIVE || mapConfig.getTieredStoreConfig().isEnabled()) {
+            return false;
+        }
+
+        return recordStore.size() >= minEntryCount;
+    }
+
+    /**
+     * Starts populating the given indexes with the records of the given record
+     * store. The partition update of the indexes is begun immediately and
+     * finished when the returned future completes. The future completes
+     * exceptionally with a {@link RetryableHazelcastException} if the build is
+     * cancelled by a migration of the partition or the removal of the record
+     * store.
+     * <p>
+     * Must be called on the partition thread of the record store.
+     */
+    public InternalCompletableFuture<Void> build(RecordStore<Record> recordStore, InternalIndex[] indexes,
+                                                 Index.OperationSource operationSource) {
+        Build build = new Build(recordStore, indexes, operationSource);
+        build.start();
+        return build.future;
+    }
+
+    /**
+     * Cancels the index builds in progress for the given partition, e.g. when
+     * the partition migrates away from this member.
+     * <p>
+     * Must be called on the partition thread.
+     */
+    public void cancel(int partitionId) {
+        List<Build> builds = buildsByPartition[partitionId];
+        if (builds == null || builds.isEmpty()) {
+            return;
+        }
+
+        for (Build build : new ArrayList<>(builds)) {
+            build.cancel(new RetryableHazelcastException("Building indexes of map '" + build.recordStore.getName()
+                    + "' was cancelled, partition " + partitionId + " has migrated"));
+        }
+    }
+
+    private final class Build {
+
+        private final RecordStore<Record> recordStore;
+        private final InternalIndex[] indexes;
+        private final Index.OperationSource operationSource;
+        private final MapContainer mapContainer;
+        private final int partitionId;
+        private final String namespace;
+        private final InternalCompletableFuture<Void> future = new InternalCompletableFuture<>();
+
+        // snapshot of the records taken when the build starts
+        private final List<Data> keys = new ArrayList<>();
+        private final List<Record> records = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+
+        // accessed only by the partition thread
+        private int chunkCount;
+        private int submittedChunkCount;
+        private int insertedChunkCount;
+        private int remainingEntryCount;
+
+        private volatile boolean done;
+
+        Build(RecordStore<Record> recordStore, InternalIndex[] indexes, Index.OperationSource operationSource) {
+            this.recordStore = recordStore;
+            this.indexes = indexes;
+            this.operationSource = operationSource;
+            this.mapContainer = recordStore.getMapContainer();
+            this.partitionId = recordStore.getPartitionId();
+            this.namespace = mapContainer.getMapConfig().getUserCodeNamespace();
+        }
+
+        void start() {
+            recordStore.forEach((key, record) -> {
+                keys.add(key);
+                records.add(record);
+                values.add(record.getValue());
+            }, false, false);
+
+            IndexRegistry.beginPartitionUpdate(indexes);
+            register();
+
+            remainingEntryCount = keys.size();
+            pendingEntryCount.inc(remainingEntryCount);
+            chunkCount = (remainingEntryCount + chunkSize - 1) / chunkSize;
+            if (chunkCount == 0) {
+                complete();
+                return;
+            }
+
+            while (submittedChunkCount < min(maxPendingChunks, chunkCount) && !done) {
+                submitChunk(0);
+            }
+        }
+
+        /**
+         * Runs on the partition thread.
+         */
+        private void submitChunk(long delayMillis) {
+            int chunk = submittedChunkCount++;
+            try {
+                if (delayMillis > 0) {
+                    executionService.schedule(MAP_INDEX_BUILD_EXECUTOR, () -> prepareChunk(chunk), delayMillis, MILLISECONDS);
+                } else {
+                    executionService.execute(MAP_INDEX_BUILD_EXECUTOR, () -> prepareChunk(chunk));
+                }
+            } catch (RejectedExecutionException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Runs on the index build executor: creates the query entries of the
+         * chunk and deserializes their values, then hands the chunk over to
+         * the partition thread.
+         */
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private void prepareChunk(int chunk) {
+            if (done) {
+                return;
+            }
+
+            int from = chunk * chunkSize;
+            int to = min(from + chunkSize, keys.size());
+            CachedQueryEntry[] newEntries = new CachedQueryEntry[to - from];
+            QueryableEntry[] queryEntries = new QueryableEntry[to - from];
+            NamespaceUtil.setupNamespace(nodeEngine, namespace);
+            try {
+                for (int i = from; i < to; i++) {
+                    Data key = keys.get(i);
+                    Object value = Records.getValueOrCachedValue(records.get(i), serializationService);
+                    if (value == null) {
+                        continue;
+                    }
+
+                    QueryableEntry queryEntry = mapContainer.newQueryEntry(key, value);
+                    CachedQueryEntry newEntry = queryEntry instanceof CachedQueryEntry cachedEntry
+                            ? cachedEntry
+                            : new CachedQueryEntry(serializationService, key, value, mapContainer.getExtractors());
+                    if (value instanceof Data data && !data.isPortable() && !data.isJson() && !data.isCompact()) {
+                        // portable, json and compact values are queried in their serialized form
+                        newEntry.getValue();
+                    }
+                    newEntries[i - from] = newEntry;
+                    queryEntries[i - from] = queryEntry;
+                }
+            } catch (Throwable t) {
+                executeOnPartitionThread(() -> fail(t));
+                return;
+            } finally {
+                NamespaceUtil.cleanupNamespace(nodeEngine, namespace);
+            }
+
+            executeOnPartitionThread(() -> insertChunk(from, newEntries, queryEntries));
+        }
+
+        /**
+         * Runs on the partition thread: inserts the entries of the records
+         * which haven't changed since the snapshot was taken.
+         */
+        @SuppressWarnings("rawtypes")
+        private void insertChunk(int from, CachedQueryEntry[] newEntries, QueryableEntry[] queryEntries) {
+            if (done) {
+                return;
+            }
+            if (mapServiceContext.getExistingRecordStore(partitionId, recordStore.getName()) != recordStore) {
+                cancel(new RetryableHazelcastException("Building indexes of map '" + recordStore.getName()
+                        + "' was cancelled, the record store of partition " + partitionId + " was removed"));
+                return;
+            }
+
+            int indexed = 0;
+            recordStore.beforeOperation();
+            NamespaceUtil.setupNamespace(nodeEngine, namespace);
+            try {
+                for (int i = 0; i < newEntries.length; i++) {
+                    Data key = keys.get(from + i);
+                    Record record = records.get(from + i);
+                    if (newEntries[i] == null || recordStore.getRecord(key) != record
+                            || record.getValue() != values.get(from + i)) {
+                        continue;
+                    }
+
+                    queryEntries[i].setRecord(record);
+                    for (InternalIndex index : indexes) {
+                        index.putEntry(newEntries[i], null, queryEntries[i], operationSource);
+                    }
+                    indexed++;
+                }
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            } finally {
+                NamespaceUtil.cleanupNamespace(nodeEngine, namespace);
+                recordStore.afterOperation();
+            }
+
+            indexedEntryCount.inc(indexed);
+            skippedEntryCount.inc(newEntries.length - indexed);
+            pendingEntryCount.inc(-newEntries.length);
+            remainingEntryCount -= newEntries.length;
+
+            if (++insertedChunkCount == chunkCount) {
+                complete();
+            } else if (submittedChunkCount < chunkCount) {
+                submitChunk(chunkDelayMillis);
+            }
+        }
+
+        private void executeOnPartitionThread(Runnable task) {
+            nodeEngine.getOperationService().execute(new PartitionSpecificRunnable() {
+                @Override
+                public int getPartitionId() {
+                    return partitionId;
+                }
+
+                @Override
+                public void run() {
+                    task.run();
+                }
+            });
+        }
+
+        private void complete() {
+            done = true;
+            IndexRegistry.markPartitionAsIndexed(partitionId, indexes);
+            unregister();
+            completedCount.inc();
+            future.complete(null);
+        }
+
+        void cancel(Throwable cause) {
+            if (done) {
+                return;
+            }
+
+            done = true;
+            IndexRegistry.markPartitionAsUnindexed(partitionId, indexes);
+            unregister();
+            pendingEntryCount.inc(-remainingEntryCount);
+            cancelledCount.inc();
+            future.completeExceptionally(cause);
+        }
+
+        private void fail(Throwable cause) {
+            if (!done) {
+                logger.warning("Failed to build indexes of map '" + recordStore.getName()
+                        + "' for partition " + partitionId, cause);
+            }
+            cancel(cause);
+        }
+
+        private void register() {
+            List<Build> builds = buildsByPartition[partitionId];
+            if (builds == null) {
+                builds = new ArrayList<>(1);
+                buildsByPartition[partitionId] = builds;
+            }
+            builds.add(this);
+            activeCount.inc();
+        }
+
+        private void unregister() {
+            buildsByPartition[partitionId].remove(this);
+            activeCount.inc(-1);
+        }
+    }
+}
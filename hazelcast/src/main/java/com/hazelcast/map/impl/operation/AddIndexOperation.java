@@ -21,6 +21,7 @@ import com.hazelcast.config.IndexConfig;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.PartitionIndexBuilder;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -31,10 +32,15 @@ import com.hazelcast.query.impl.IndexUtils;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.impl.AllowedDuringPassiveState;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationservice.BackupAwareOperation;
+import com.hazelcast.spi.impl.operationservice.CallStatus;
 import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.Offload;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+import com.hazelcast.spi.impl.operationservice.impl.OperationRunnerImpl;
 
 import java.io.IOException;
 
@@ -50,6 +56,12 @@ public class AddIndexOperation extends MapOperation
      */
     private IndexConfig config;
 
+    /**
+     * Chunked population of the index, {@code null} if the index was
+     * populated synchronously.
+     */
+    private transient InternalCompletableFuture<Void> indexBuild;
+
     public AddIndexOperation() {
         // No-op.
     }
@@ -100,6 +112,14 @@ public class AddIndexOperation extends MapOperation
             return;
         }
 
+        PartitionIndexBuilder indexBuilder = mapServiceContext.getPartitionIndexBuilder();
+        if (!isMapStoreOffloadEnabled() && !isTieredStoreOffloadEnabled()
+                && indexBuilder.shouldBuildInChunks(recordStore, indexRegistry)) {
+            // the response is sent by IndexBuildOffload once the build completes
+            indexBuild = indexBuilder.build(recordStore, new InternalIndex[]{index}, Index.OperationSource.USER);
+            return;
+        }
+
         SerializationService serializationService = getNodeEngine().getSerializationService();
 
         index.beginPartitionUpdate();
@@ -124,6 +144,12 @@ public class AddIndexOperation extends MapOperation
         mapServiceContext.registerIndex(name, config);
     }
 
+    @Override
+    public CallStatus call() throws Exception {
+        CallStatus callStatus = super.call();
+        return indexBuild != null ? new IndexBuildOffload() : callStatus;
+    }
+
     @Override
     public Object getResponse() {
         return Boolean.TRUE;
@@ -146,4 +172,30 @@ public class AddIndexOperation extends MapOperation
         return MapDataSerializerHook.ADD_INDEX;
     }
 
+    /**
+     * Waits for the chunked population of the index and then sends the
+     * backups and the response. The build completes on the partition thread.
+     */
+    private final class IndexBuildOffload extends Offload {
+
+        IndexBuildOffload() {
+            super(AddIndexOperation.this);
+        }
+
+        @Override
+        public void start() {
+            indexBuild.whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    sendResponse(throwable);
+                    return;
+                }
+
+                mapServiceContext.registerIndex(name, config);
+                OperationRunner runner = operationService.getOperationExecutor()
+                        .getPartitionOperationRunners()[getPartitionId()];
+                ((OperationRunnerImpl) runner).sendBackupsAndResponse(AddIndexOperation.this);
+            });
+        }
+    }
+
 }
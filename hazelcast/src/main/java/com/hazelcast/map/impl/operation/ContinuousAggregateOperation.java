@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+
+import java.io.IOException;
+
+/**
+ * Reads the partition aggregator of a continuous aggregate, registers the
+ * aggregate on the partition if it's not registered yet.
+ * <p>
+ * Not a {@link com.hazelcast.spi.impl.operationservice.ReadonlyOperation}:
+ * the registration adds a mutation observer to the record store, so the
+ * operation must not run on a stale replica during migration.
+ *
+ * @see com.hazelcast.map.impl.recordstore.ContinuousAggregatingMutationObserver
+ */
+public class ContinuousAggregateOperation extends MapOperation implements PartitionAwareOperation {
+
+    private String aggregateName;
+    private Aggregator aggregator;
+    private Predicate predicate;
+
+    private transient Object result;
+
+    public ContinuousAggregateOperation() {
+    }
+
+    public ContinuousAggregateOperation(String name, String aggregateName, Aggregator aggregator, Predicate predicate) {
+        super(name);
+        this.aggregateName = aggregateName;
+        this.aggregator = aggregator;
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected void runInternal() {
+        recordStore.checkIfLoaded();
+        Aggregator partitionAggregator = recordStore.getContinuousAggregatingObserver()
+                .getOrRegister(aggregateName, aggregator, predicate);
+        // the partition aggregator keeps changing, a serialized copy is responded
+        result = mapServiceContext.toData(partitionAggregator);
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeString(aggregateName);
+        out.writeObject(aggregator);
+        out.writeObject(predicate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        aggregateName = in.readString();
+        aggregator = in.readObject();
+        predicate = in.readObject();
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.CONTINUOUS_AGGREGATE;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.map.EntryProcessor;
@@ -53,6 +54,12 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new SizeOperationFactory(name);
     }
 
+    @Override
+    public OperationFactory createContinuousAggregateOperationFactory(String name, String aggregateName,
+                                                                      Aggregator aggregator, Predicate predicate) {
+        return new ContinuousAggregateOperationFactory(name, aggregateName, aggregator, predicate);
+    }
+
     @Override
     public MapOperation createTryPutOperation(String name, Data dataKey, Data value, long timeout) {
         return new TryPutOperation(name, dataKey, value, timeout);
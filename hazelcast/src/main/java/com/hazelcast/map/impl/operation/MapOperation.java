@@ -369,7 +369,8 @@ public abstract class MapOperation extends AbstractNamedOperation
     public void disposeDeferredBlocks() {
         if (!disposeDeferredBlocks
                 || recordStore == null
-                || recordStore.getInMemoryFormat() != NATIVE) {
+                || (recordStore.getInMemoryFormat() != NATIVE
+                && !recordStore.getStorage().hasDeferredBlocks())) {
             return;
         }
 
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.map.EntryProcessor;
@@ -167,6 +168,9 @@ public interface MapOperationProvider {
 
     OperationFactory createMapSizeOperationFactory(String name);
 
+    OperationFactory createContinuousAggregateOperationFactory(String name, String aggregateName,
+                                                               Aggregator aggregator, Predicate predicate);
+
     OperationFactory createPutAllOperationFactory(String name, int[] partitions,
                                                   MapEntries[] mapEntries, boolean triggerMapLoader);
 
@@ -26,6 +26,7 @@ import com.hazelcast.internal.namespace.NamespaceUtil;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.impl.SerializationUtil;
 import com.hazelcast.internal.util.CollectionUtil;
+import com.hazelcast.internal.util.IterableUtil;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.EntryProcessor;
@@ -51,7 +52,11 @@ import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
 import com.hazelcast.map.impl.query.AggregationResult;
+import com.hazelcast.map.impl.query.IterationTypeProjection;
+import com.hazelcast.map.impl.query.LazyQueryResultCollection;
+import com.hazelcast.map.impl.query.LazyQueryResultSet;
 import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.map.impl.query.Target;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheEndToEndProvider;
@@ -61,6 +66,7 @@ import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
 import com.hazelcast.ringbuffer.ReadResultSet;
@@ -70,6 +76,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -88,6 +95,7 @@ import java.util.function.Function;
 
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
+import static com.hazelcast.internal.util.Preconditions.checkFalse;
 import static com.hazelcast.internal.util.Preconditions.checkNoNullInside;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
@@ -937,6 +945,58 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return result.<R>getAggregator().aggregate();
     }
 
+    /**
+     * Applies the aggregation logic on the map entries matching the given
+     * predicate, the same as {@link #aggregate(Aggregator, Predicate)}, but
+     * using a continuous aggregate registered under the given name.
+     * <p>
+     * On the first call the aggregate is registered on every partition and
+     * the partition results are computed by scanning the partitions. Then the
+     * partition results are maintained on the mutations of the entries, so
+     * the subsequent calls with the same name just combine them. Count, sum
+     * and average aggregators of integral values are maintained on all the
+     * mutations, the other aggregators are recomputed for the partitions
+     * having matching entries updated or removed since the previous call.
+     * <p>
+     * The name identifies the aggregate, the same aggregator and predicate
+     * must be used for all the calls with the same name. Expired entries are
+     * aggregated until they are evicted.
+     *
+     * @param aggregateName the name of the continuous aggregate.
+     * @param aggregator    aggregator to aggregate the entries with
+     * @param predicate     predicate to filter the entries with
+     * @param <R>           type of the result
+     * @return the result of the given type
+     */
+    public <R> R aggregateContinuously(@Nonnull String aggregateName,
+                                       @Nonnull Aggregator<? super Map.Entry<K, V>, R> aggregator,
+                                       @Nonnull Predicate<K, V> predicate) {
+        checkNotNull(aggregateName, "Null aggregate name is not allowed!");
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkDoesNotContainPagingPredicate(predicate, "aggregateContinuously");
+
+        try {
+            Predicate partitionPredicate = predicate == Predicates.alwaysTrue() ? null : predicate;
+            Map<Integer, Object> results = operationService.invokeOnAllPartitions(SERVICE_NAME,
+                    operationProvider.createContinuousAggregateOperationFactory(name, aggregateName, aggregator,
+                            partitionPredicate));
+
+            // HazelcastInstanceAware handled by cloning
+            Aggregator<? super Map.Entry<K, V>, R> resultAggregator =
+                    serializationService.toObject(serializationService.toData(aggregator));
+            for (Object result : results.values()) {
+                Aggregator partitionAggregator = toObject(result);
+                partitionAggregator.onAccumulationFinished();
+                resultAggregator.combine(partitionAggregator);
+            }
+            resultAggregator.onCombinationFinished();
+            return resultAggregator.aggregate();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
     @Override
     public <R> Collection<R> project(@Nonnull Projection<? super Map.Entry<K, V>, R> projection) {
         return project(projection, Predicates.alwaysTrue());
@@ -1160,6 +1220,65 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return new MapQueryIterable<>(this, fetchSize, partitionCount, projection, predicate);
     }
 
+    /**
+     * Returns the keys of the entries which satisfy the {@code predicate}
+     * as a collection consumed lazily, the keys are fetched from one
+     * partition at a time in batches when iterating the collection.
+     * Unlike {@link #keySet(Predicate)}, the result is never materialized
+     * as a whole and it isn't subject to the query result size limit.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the keys
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return a read-only collection of the keys, running the query on each iteration
+     * @throws IllegalArgumentException if the predicate is or contains a
+     *                                  {@link com.hazelcast.query.PagingPredicate} or a {@link PartitionPredicate}
+     * @see LazyQueryResultCollection
+     */
+    @Nonnull
+    public Set<K> streamingKeySet(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return new LazyQueryResultSet<>(streamingQuery(fetchSize, predicate, IterationType.KEY, "streamingKeySet"));
+    }
+
+    /**
+     * Returns the values of the entries which satisfy the {@code predicate}
+     * as a collection consumed lazily, see {@link #streamingKeySet(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the values
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return a read-only collection of the values, running the query on each iteration
+     */
+    @Nonnull
+    public Collection<V> streamingValues(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return new LazyQueryResultCollection<>(streamingQuery(fetchSize, predicate, IterationType.VALUE, "streamingValues"));
+    }
+
+    /**
+     * Returns the entries which satisfy the {@code predicate} as a
+     * collection consumed lazily, see {@link #streamingKeySet(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the entries
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return a read-only collection of the entries, running the query on each iteration
+     */
+    @Nonnull
+    public Set<Entry<K, V>> streamingEntrySet(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        Iterable<QueryResultRow> rows = streamingQuery(fetchSize, predicate, IterationType.ENTRY, "streamingEntrySet");
+        // the rows carry the serialized keys and values, see IterationTypeProjection
+        return new LazyQueryResultSet<>(IterableUtil.<QueryResultRow, Entry<K, V>>map(rows,
+                row -> new AbstractMap.SimpleImmutableEntry<>(toObject(row.getKey()), toObject(row.getValue()))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> Iterable<R> streamingQuery(int fetchSize, Predicate<K, V> predicate, IterationType iterationType,
+                                           String methodName) {
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkDoesNotContainPagingPredicate(predicate, methodName);
+        checkFalse(predicate instanceof PartitionPredicate,
+                "Partition predicate is not supported in " + methodName + " method");
+        Iterable<?> results = iterable(fetchSize, new IterationTypeProjection(iterationType), predicate);
+        return (Iterable<R>) results;
+    }
+
     /**
      * Returns an iterable for iterating entries in the all of the partitions. If
      * {@code prefetchValues} is {@code true}, values will be sent along with
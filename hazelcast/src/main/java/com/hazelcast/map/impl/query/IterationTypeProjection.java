@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Projects the queried entries to the results of the given iteration type:
+ * the serialized keys, the serialized values or {@link QueryResultRow}s of
+ * both.
+ * <p>
+ * Used to fetch the results of the streaming queries with the fetch with
+ * query operations, the keys and the values are sent as they are stored,
+ * without deserializing them on the members. The caller deserializes the
+ * key and the value of a {@link QueryResultRow} itself.
+ *
+ * @see LazyQueryResultCollection
+ */
+public class IterationTypeProjection implements Projection<Map.Entry<?, ?>, Object>, IdentifiedDataSerializable {
+
+    private IterationType iterationType;
+
+    public IterationTypeProjection() {
+    }
+
+    public IterationTypeProjection(IterationType iterationType) {
+        this.iterationType = iterationType;
+    }
+
+    @Override
+    public Object transform(Map.Entry<?, ?> entry) {
+        return switch (iterationType) {
+            case KEY -> ((QueryableEntry<?, ?>) entry).getKeyData();
+            case VALUE -> ((QueryableEntry<?, ?>) entry).getValueData();
+            case ENTRY -> new QueryResultRow(((QueryableEntry<?, ?>) entry).getKeyData(),
+                    ((QueryableEntry<?, ?>) entry).getValueData());
+        };
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.ITERATION_TYPE_PROJECTION;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeByte(iterationType.getId());
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        iterationType = IterationType.getById(in.readByte());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * A read-only collection of the results of a streaming query, consumed
+ * lazily: every iteration runs the query again, fetching its results from
+ * one partition at a time in batches on demand, so the results are never
+ * materialized as a whole neither on the members nor on the caller.
+ * <p>
+ * The iteration provides the guarantees of {@link MapQueryPartitionIterator}
+ * in case of the concurrent mutations. {@link #size()} and {@link #isEmpty()}
+ * run the query to iterate the results.
+ *
+ * @param <E> the type of the results
+ * @see LazyQueryResultSet
+ * @see IterationTypeProjection
+ */
+public class LazyQueryResultCollection<E> extends AbstractCollection<E> {
+
+    private final Iterable<E> results;
+
+    public LazyQueryResultCollection(Iterable<E> results) {
+        this.results = results;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<E> iterator() {
+        return results.iterator();
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Iterator<E> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+            ++size;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import java.util.Set;
+
+/**
+ * A {@link LazyQueryResultCollection} of distinct results, e.g. the keys or
+ * the entries of a map.
+ *
+ * @param <E> the type of the results
+ */
+public class LazyQueryResultSet<E> extends LazyQueryResultCollection<E> implements Set<E> {
+
+    public LazyQueryResultSet(Iterable<E> results) {
+        super(results);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Set<?> set)) {
+            return false;
+        }
+        return size() == set.size() && containsAll(set);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (E e : this) {
+            hashCode += e == null ? 0 : e.hashCode();
+        }
+        return hashCode;
+    }
+}
@@ -37,6 +37,7 @@ import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import com.hazelcast.query.impl.predicates.PredicateCompiler;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
@@ -87,6 +88,7 @@ public class PartitionScanRunner {
         Extractors extractors = mapServiceContext.getExtractors(mapName);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+        Predicate compiledPredicate = PredicateCompiler.compile(predicate);
 
         recordStore.forEachAfterLoad(new BiConsumer<>() {
             LazyMapEntry queryEntry = new LazyMapEntry();
@@ -103,7 +105,7 @@ public class PartitionScanRunner {
                 queryEntry.setRecord(record);
                 queryEntry.setMetadata(recordStore.getOrCreateMetadataStore().get(key));
 
-                if (predicate.apply(queryEntry)
+                if (compiledPredicate.apply(queryEntry)
                         && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
 
                     // always copy key&value to heap if map is backed by native memory
@@ -149,6 +151,7 @@ public class PartitionScanRunner {
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         RecordStore recordStore = partitionContainer.getRecordStore(mapName);
         Extractors extractors = mapServiceContext.getExtractors(mapName);
+        Predicate compiledPredicate = PredicateCompiler.compile(predicate);
 
         return NamespaceUtil.callWithNamespace(nodeEngine, MapService.lookupNamespace(nodeEngine, mapName), () -> {
             IterationPointer[] localPointers = pointers;
@@ -161,7 +164,7 @@ public class PartitionScanRunner {
                 }
                 for (Entry<Data, Data> entry : entries) {
                     QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), ss, extractors);
-                    if (predicate.apply(queryEntry)) {
+                    if (compiledPredicate.apply(queryEntry)) {
                         resultList.add(queryEntry);
                     }
                 }
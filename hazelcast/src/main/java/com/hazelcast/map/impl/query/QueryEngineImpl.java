@@ -78,6 +78,16 @@ public class QueryEngineImpl implements QueryEngine {
     public static final HazelcastProperty DISABLE_MIGRATION_FALLBACK =
             new HazelcastProperty(QueryEngineImpl.class.getName() + ".disableMigrationFallback", false);
 
+    /**
+     * Enables running the queries binding the keys, or the partitioning
+     * attributes of the keys, by equality and {@code IN} conditions on the
+     * partitions owning those keys only. The values given to the predicates
+     * must be of the exact types of the keys or the key attributes, otherwise
+     * the queries miss the entries. SQL predicates are never pruned.
+     */
+    public static final HazelcastProperty PARTITION_PRUNING =
+            new HazelcastProperty("hazelcast.query.partition.pruning.enabled", false);
+
     private final MapServiceContext mapServiceContext;
     private final NodeEngine nodeEngine;
     private final ILogger logger;
@@ -86,6 +96,8 @@ public class QueryEngineImpl implements QueryEngine {
     private final OperationService operationService;
     private final ClusterService clusterService;
     private final ResultProcessorRegistry resultProcessorRegistry;
+    // null if the partition pruning is disabled
+    private final QueryPartitionPruner queryPartitionPruner;
     private final boolean disableMigrationFallback;
 
     public QueryEngineImpl(MapServiceContext mapServiceContext) {
@@ -97,6 +109,8 @@ public class QueryEngineImpl implements QueryEngine {
         this.operationService = nodeEngine.getOperationService();
         this.clusterService = nodeEngine.getClusterService();
         this.resultProcessorRegistry = mapServiceContext.getResultProcessorRegistry();
+        this.queryPartitionPruner = nodeEngine.getProperties().getBoolean(PARTITION_PRUNING)
+                ? new QueryPartitionPruner(mapServiceContext) : null;
         this.disableMigrationFallback = nodeEngine.getProperties().getBoolean(DISABLE_MIGRATION_FALLBACK);
     }
 
@@ -104,26 +118,42 @@ public class QueryEngineImpl implements QueryEngine {
     @Override
     public Result execute(Query query, Target target) {
         Query adjustedQuery = adjustQuery(query);
+        PartitionIdSet prunedPartitionIds = queryPartitionPruner != null ? queryPartitionPruner.prune(adjustedQuery) : null;
         switch (target.mode()) {
             case ALL_NODES:
+                if (prunedPartitionIds != null) {
+                    return runOnPartitionOwners(adjustedQuery, prunedPartitionIds);
+                }
                 adjustedQuery = Query.of(adjustedQuery).partitionIdSet(getAllPartitionIds()).build();
                 return runOnGivenPartitions(adjustedQuery, adjustedQuery.getPartitionIdSet(), TargetMode.ALL_NODES);
             case LOCAL_NODE:
-                adjustedQuery = Query.of(adjustedQuery).partitionIdSet(getLocalPartitionIds()).build();
+                PartitionIdSet localPartitionIds = getLocalPartitionIds();
+                if (prunedPartitionIds != null) {
+                    localPartitionIds = localPartitionIds.intersectCopy(prunedPartitionIds);
+                }
+                adjustedQuery = Query.of(adjustedQuery).partitionIdSet(localPartitionIds).build();
                 return runOnGivenPartitions(adjustedQuery, adjustedQuery.getPartitionIdSet(), TargetMode.LOCAL_NODE);
             case PARTITION_OWNER:
-                int solePartition = target.partitions().solePartition();
-                adjustedQuery = Query.of(adjustedQuery).partitionIdSet(target.partitions()).build();
-                if (solePartition >= 0) {
-                    return runOnGivenPartition(adjustedQuery, solePartition);
-                } else {
-                    return runOnGivenPartitions(adjustedQuery, adjustedQuery.getPartitionIdSet(), TargetMode.ALL_NODES);
+                PartitionIdSet partitionIds = target.partitions();
+                if (prunedPartitionIds != null) {
+                    partitionIds = partitionIds.intersectCopy(prunedPartitionIds);
                 }
+                return runOnPartitionOwners(adjustedQuery, partitionIds);
             default:
                 throw new IllegalArgumentException("Illegal target " + target);
         }
     }
 
+    private Result runOnPartitionOwners(Query query, PartitionIdSet partitionIds) {
+        int solePartition = partitionIds.solePartition();
+        Query adjustedQuery = Query.of(query).partitionIdSet(partitionIds).build();
+        if (solePartition >= 0) {
+            return runOnGivenPartition(adjustedQuery, solePartition);
+        } else {
+            return runOnGivenPartitions(adjustedQuery, adjustedQuery.getPartitionIdSet(), TargetMode.ALL_NODES);
+        }
+    }
+
     private Query adjustQuery(Query query) {
         IterationType retrievalIterationType = getRetrievalIterationType(query.getPredicate(), query.getIterationType());
         Query.QueryBuilder builder = Query.of(query).iterationType(retrievalIterationType);
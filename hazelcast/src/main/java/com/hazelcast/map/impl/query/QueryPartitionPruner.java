@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.partition.PartitioningStrategy;
+import com.hazelcast.partition.strategy.AttributePartitioningStrategy;
+import com.hazelcast.query.impl.predicates.EqualityBindings;
+import com.hazelcast.spi.impl.NodeEngine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.util.PartitioningStrategyUtil.getPartitionIdFromKeyComponents;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static java.util.Collections.singletonList;
+
+/**
+ * Prunes the partitions a query runs on to the partitions owning the keys
+ * the query predicate binds by equality and {@code IN} conditions.
+ * <p>
+ * A predicate binds the keys either on the {@code __key} attribute, for any
+ * partitioning strategy, or on all the {@code __key.<attribute>} attributes
+ * of an {@link AttributePartitioningStrategy}. The partition of a key depends
+ * on its serialized form, so the bound values are used as they are given to
+ * the predicates: they are expected to be of the exact types of the keys or
+ * the key attributes. That can't be verified, hence the pruning is enabled
+ * by {@link QueryEngineImpl#PARTITION_PRUNING} only.
+ */
+class QueryPartitionPruner {
+
+    private static final String KEY_ATTRIBUTE_PREFIX = KEY_ATTRIBUTE_NAME.value() + ".";
+
+    private final MapServiceContext mapServiceContext;
+    private final NodeEngine nodeEngine;
+    private final IPartitionService partitionService;
+
+    QueryPartitionPruner(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+        this.partitionService = nodeEngine.getPartitionService();
+    }
+
+    /**
+     * @return the partitions owning the entries the predicate of the given
+     * query may match or {@code null} if the partitions can't be pruned.
+     */
+    PartitionIdSet prune(Query query) {
+        MapContainer mapContainer = mapServiceContext.getExistingMapContainer(query.getMapName());
+        if (mapContainer == null) {
+            return null;
+        }
+        PartitioningStrategy strategy = mapContainer.getPartitioningStrategy();
+        int partitionCount = partitionService.getPartitionCount();
+
+        List<Map<String, Set<Comparable>>> bindings =
+                EqualityBindings.extract(query.getPredicate(), partitioningAttributes(strategy), partitionCount);
+        if (bindings == null) {
+            return null;
+        }
+
+        PartitionIdSet partitionIds = new PartitionIdSet(partitionCount);
+        for (Map<String, Set<Comparable>> conjunction : bindings) {
+            if (!addPartitionIds(conjunction, strategy, partitionIds)) {
+                return null;
+            }
+        }
+        return partitionIds;
+    }
+
+    private boolean addPartitionIds(Map<String, Set<Comparable>> conjunction, PartitioningStrategy strategy,
+                                    PartitionIdSet partitionIds) {
+        Set<Comparable> keys = conjunction.get(KEY_ATTRIBUTE_NAME.value());
+        if (keys != null) {
+            for (Comparable key : keys) {
+                partitionIds.add(partitionService.getPartitionId(mapServiceContext.toData(key, strategy)));
+            }
+            return true;
+        }
+
+        if (!(strategy instanceof AttributePartitioningStrategy attributeStrategy)) {
+            return false;
+        }
+        String[] attributes = attributeStrategy.getPartitioningAttributes();
+        // the cartesian product of the values the partitioning attributes are bound to
+        List<Object[]> keyComponents = singletonList(new Object[attributes.length]);
+        for (int i = 0; i < attributes.length; ++i) {
+            String attribute = KEY_ATTRIBUTE_PREFIX + attributes[i];
+            Set<Comparable> values = conjunction.get(attribute);
+            if (values == null || (long) keyComponents.size() * values.size() > partitionService.getPartitionCount()) {
+                return false;
+            }
+            List<Object[]> nextKeyComponents = new ArrayList<>(keyComponents.size() * values.size());
+            for (Comparable value : values) {
+                for (Object[] components : keyComponents) {
+                    Object[] nextComponents = components.clone();
+                    nextComponents[i] = value;
+                    nextKeyComponents.add(nextComponents);
+                }
+            }
+            keyComponents = nextKeyComponents;
+        }
+        for (Object[] components : keyComponents) {
+            Integer partitionId = getPartitionIdFromKeyComponents(nodeEngine, strategy, components);
+            if (partitionId == null) {
+                return false;
+            }
+            partitionIds.add(partitionId);
+        }
+        return true;
+    }
+
+    private static Set<String> partitioningAttributes(PartitioningStrategy strategy) {
+        Set<String> attributes = new HashSet<>();
+        attributes.add(KEY_ATTRIBUTE_NAME.value());
+        if (strategy instanceof AttributePartitioningStrategy attributeStrategy) {
+            for (String attribute : attributeStrategy.getPartitioningAttributes()) {
+                attributes.add(KEY_ATTRIBUTE_PREFIX + attribute);
+            }
+        }
+        return attributes;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.toMillis;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.toSeconds;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.EXPIRATION_TIME;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.EXPIRY_LAST_UPDATE_TIME;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.MAX_IDLE;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.TTL;
+
+/**
+ * Flyweight {@link ExpiryMetadata} over the expiry region
+ * of a {@link PackedRecordFactory} slot.
+ */
+final class PackedExpiryMetadata implements ExpiryMetadata {
+
+    private final PackedRecordFactory factory;
+    private final int slot;
+
+    PackedExpiryMetadata(PackedRecordFactory factory, int slot) {
+        this.factory = factory;
+        this.slot = slot;
+    }
+
+    @Override
+    public long getTtl() {
+        return toMillis(getRawTtl());
+    }
+
+    @Override
+    public int getRawTtl() {
+        return factory.getExpiry(slot, TTL);
+    }
+
+    @Override
+    public ExpiryMetadata setTtl(long ttl) {
+        return setRawTtl(toSeconds(ttl));
+    }
+
+    @Override
+    public ExpiryMetadata setRawTtl(int ttl) {
+        factory.setExpiry(slot, TTL, ttl);
+        return this;
+    }
+
+    @Override
+    public long getMaxIdle() {
+        return toMillis(getRawMaxIdle());
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return factory.getExpiry(slot, MAX_IDLE);
+    }
+
+    @Override
+    public ExpiryMetadata setMaxIdle(long maxIdle) {
+        return setRawMaxIdle(toSeconds(maxIdle));
+    }
+
+    @Override
+    public ExpiryMetadata setRawMaxIdle(int maxIdle) {
+        factory.setExpiry(slot, MAX_IDLE, maxIdle);
+        return this;
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return recomputeWithBaseTime(getRawExpirationTime());
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        return factory.getExpiry(slot, EXPIRATION_TIME);
+    }
+
+    @Override
+    public ExpiryMetadata setExpirationTime(long expirationTime) {
+        return setRawExpirationTime(stripBaseTime(expirationTime));
+    }
+
+    @Override
+    public ExpiryMetadata setRawExpirationTime(int expirationTime) {
+        factory.setExpiry(slot, EXPIRATION_TIME, expirationTime);
+        return this;
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return factory.getExpiry(slot, EXPIRY_LAST_UPDATE_TIME);
+    }
+
+    @Override
+    public ExpiryMetadata setLastUpdateTime(long lastUpdateTime) {
+        return setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public ExpiryMetadata setRawLastUpdateTime(int lastUpdateTime) {
+        factory.setExpiry(slot, EXPIRY_LAST_UPDATE_TIME, lastUpdateTime);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedExpiryMetadata{"
+                + "ttl=" + getTtl()
+                + ", maxIdle=" + getMaxIdle()
+                + ", expirationTime=" + getExpirationTime()
+                + ", lastUpdateTime=" + getLastUpdateTime()
+                + '}';
+    }
+}
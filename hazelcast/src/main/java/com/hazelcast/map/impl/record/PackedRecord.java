@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.CREATION_TIME;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.HITS;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.LAST_ACCESS_TIME;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.LAST_STORED_TIME;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.LAST_UPDATE_TIME;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.SLOT_COST_IN_BYTES;
+import static com.hazelcast.map.impl.record.PackedRecordFactory.VERSION;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Flyweight {@link Record} over a slot of a {@link PackedRecordFactory}.
+ * <p>
+ * Instances are cheap and created on every lookup, they are not retained
+ * by the storage. Apart from the value, all state lives in the factory.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class PackedRecord implements Record<Data> {
+
+    private final PackedRecordFactory factory;
+    private final int slot;
+
+    PackedRecord(PackedRecordFactory factory, int slot) {
+        this.factory = factory;
+        this.slot = slot;
+    }
+
+    public int slot() {
+        return slot;
+    }
+
+    PackedRecordFactory factory() {
+        return factory;
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.getValue(slot);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        factory.setValue(slot, value);
+    }
+
+    /**
+     * @return heap cost of the slot and of the value,
+     * the flyweight itself is not retained
+     */
+    @Override
+    public long getCost() {
+        Data value = getValue();
+        return SLOT_COST_IN_BYTES + (value == null ? 0L : value.getHeapCost());
+    }
+
+    @Override
+    public int getVersion() {
+        return factory.getMetadata(slot, VERSION);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        factory.setMetadata(slot, VERSION, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return factory.getMetadata(slot, HITS);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        factory.setMetadata(slot, HITS, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return factory.getMetadata(slot, CREATION_TIME);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        factory.setMetadata(slot, CREATION_TIME, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return factory.getMetadata(slot, LAST_ACCESS_TIME);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        factory.setMetadata(slot, LAST_ACCESS_TIME, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return factory.getMetadata(slot, LAST_UPDATE_TIME);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        factory.setMetadata(slot, LAST_UPDATE_TIME, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return factory.getMetadata(slot, LAST_STORED_TIME);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        factory.setMetadata(slot, LAST_STORED_TIME, lastStoredTime);
+    }
+
+    public boolean hasExpiryMetadata() {
+        return factory.hasExpiryMetadata(slot);
+    }
+
+    /**
+     * @return a view of the expiry metadata kept in the slot of this
+     * record, only meaningful if {@link #hasExpiryMetadata()}
+     */
+    public ExpiryMetadata getExpiryMetadata() {
+        return new PackedExpiryMetadata(factory, slot);
+    }
+
+    /**
+     * Copies the given expiry metadata into the slot of this record.
+     */
+    public void setExpiryMetadata(ExpiryMetadata expiryMetadata) {
+        factory.setExpiryMetadata(slot, expiryMetadata);
+    }
+
+    public void clearExpiryMetadata() {
+        factory.clearExpiryMetadata(slot);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PackedRecord that)) {
+            return false;
+        }
+        return slot == that.slot && factory == that.factory;
+    }
+
+    @Override
+    public int hashCode() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedRecord{slot=" + slot + '}';
+    }
+}
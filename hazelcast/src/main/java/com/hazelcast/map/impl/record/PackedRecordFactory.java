@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * {@link RecordFactory} for {@link InMemoryFormat#BINARY BINARY} maps which
+ * keeps the keys, values and metadata of all records of a partition in
+ * a few arrays indexed by slot, instead of one object per record.
+ * <p>
+ * A slot holds a reference to the key, a reference to the value and
+ * {@value #METADATA_STRIDE} ints of metadata:
+ * <pre>
+ * 0  key hash
+ * 1  flags (linked, expirable, deferred)
+ * 2  version
+ * 3  hits
+ * 4  last access time   (base-time stripped)
+ * 5  last update time   (base-time stripped)
+ * 6  creation time      (base-time stripped)
+ * 7  last stored time   (base-time stripped)
+ * </pre>
+ * Expiry metadata is kept in a second region of {@value #EXPIRY_STRIDE}
+ * ints per slot (ttl, max-idle, expiration time and last update time,
+ * in the same raw format as {@code ExpiryMetadataImpl}) which is only
+ * allocated once the first record of the partition becomes expirable.
+ * <p>
+ * {@link PackedRecord}s are flyweights over a slot. A slot handed out by
+ * {@link #newRecord} becomes part of the map when a storage links it and
+ * is released when the storage unlinks it. Released slots, and slots which
+ * were never linked, are only reused after {@link #disposeDeferredSlots()},
+ * so records stay readable until the end of the operation which removed
+ * them.
+ * <p>
+ * Like the record store it belongs to, an instance of this class is only
+ * accessed by the partition thread.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class PackedRecordFactory implements RecordFactory<Data> {
+
+    /**
+     * Comma separated names of the maps whose record stores use packed
+     * records. Names can contain wildcards, they are matched the same way
+     * map configuration names are. Only {@code BINARY} maps are affected;
+     * by default no map uses packed records.
+     */
+    public static final HazelcastProperty PACKED_RECORD_MAPS
+            = new HazelcastProperty("hazelcast.map.packed.record.maps", "");
+
+    static final int KEY_HASH = 0;
+    static final int FLAGS = 1;
+    static final int VERSION = 2;
+    static final int HITS = 3;
+    static final int LAST_ACCESS_TIME = 4;
+    static final int LAST_UPDATE_TIME = 5;
+    static final int CREATION_TIME = 6;
+    static final int LAST_STORED_TIME = 7;
+    static final int METADATA_STRIDE = 8;
+
+    static final int TTL = 0;
+    static final int MAX_IDLE = 1;
+    static final int EXPIRATION_TIME = 2;
+    static final int EXPIRY_LAST_UPDATE_TIME = 3;
+    static final int EXPIRY_STRIDE = 4;
+
+    /**
+     * Heap cost of a slot: the key and value references and the metadata.
+     */
+    static final int SLOT_COST_IN_BYTES = 2 * REFERENCE_COST_IN_BYTES + METADATA_STRIDE * INT_SIZE_IN_BYTES;
+
+    private static final int LINKED = 1;
+    private static final int EXPIRABLE = 2;
+    private static final int DEFERRED = 4;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final SerializationService ss;
+
+    private Data[] keys;
+    private Data[] values;
+    private int[] metadata;
+    private int[] expiry;
+    private int slotCount;
+    private int expirableCount;
+
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int[] pendingSlots = new int[INITIAL_CAPACITY];
+    private int pendingCount;
+    private int[] deferredSlots = new int[INITIAL_CAPACITY];
+    private int deferredCount;
+
+    public PackedRecordFactory(SerializationService ss) {
+        this.ss = ss;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @return {@code true} if the map of the given container is configured
+     * to use packed records through {@link #PACKED_RECORD_MAPS}
+     */
+    public static boolean isConfiguredFor(MapContainer mapContainer) {
+        return mapContainer.getMapConfig().getInMemoryFormat() == InMemoryFormat.BINARY
+                && mapContainer.isListedIn(PACKED_RECORD_MAPS);
+    }
+
+    @Override
+    public PackedRecord newRecord(Data key, Object value) {
+        int slot = allocateSlot();
+        keys[slot] = key;
+        values[slot] = ss.toData(value);
+
+        int base = slot * METADATA_STRIDE;
+        metadata[base + KEY_HASH] = key == null ? 0 : key.hashCode();
+        metadata[base + FLAGS] = 0;
+        metadata[base + VERSION] = 0;
+        metadata[base + HITS] = 0;
+        metadata[base + LAST_ACCESS_TIME] = UNSET;
+        metadata[base + LAST_UPDATE_TIME] = UNSET;
+        metadata[base + CREATION_TIME] = UNSET;
+        metadata[base + LAST_STORED_TIME] = UNSET;
+
+        pendingSlots = push(pendingSlots, pendingCount++, slot);
+        return new PackedRecord(this, slot);
+    }
+
+    /**
+     * Returns the given record if it was created by this factory,
+     * otherwise creates a packed copy of it for the given key.
+     */
+    public PackedRecord toPackedRecord(Data key, Record record) {
+        if (record instanceof PackedRecord packedRecord && packedRecord.factory() == this) {
+            return packedRecord;
+        }
+        PackedRecord copy = newRecord(key, record.getValue());
+        Records.copyMetadataFrom(record, copy);
+        return copy;
+    }
+
+    public PackedRecord recordAt(int slot) {
+        return new PackedRecord(this, slot);
+    }
+
+    /**
+     * @return number of slots handed out so far, slots
+     * of linked records are all below this number
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+
+    public Data keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public int keyHashAt(int slot) {
+        return metadata[slot * METADATA_STRIDE + KEY_HASH];
+    }
+
+    public boolean isLinked(int slot) {
+        return (metadata[slot * METADATA_STRIDE + FLAGS] & LINKED) != 0;
+    }
+
+    /**
+     * Marks the slot as part of the map under the given key.
+     */
+    public void link(int slot, Data key) {
+        keys[slot] = key;
+        metadata[slot * METADATA_STRIDE + KEY_HASH] = key.hashCode();
+        metadata[slot * METADATA_STRIDE + FLAGS] |= LINKED;
+    }
+
+    /**
+     * Marks the slot as no longer part of the map and
+     * schedules it to be released in {@link #disposeDeferredSlots()}.
+     */
+    public void unlink(int slot) {
+        clearExpiryMetadata(slot);
+        int flags = metadata[slot * METADATA_STRIDE + FLAGS];
+        metadata[slot * METADATA_STRIDE + FLAGS] = (flags & ~LINKED) | DEFERRED;
+        if ((flags & DEFERRED) == 0) {
+            deferredSlots = push(deferredSlots, deferredCount++, slot);
+        }
+    }
+
+    /**
+     * Releases the slots unlinked since the last call and the
+     * slots handed out since the last call but never linked.
+     */
+    public void disposeDeferredSlots() {
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = pendingSlots[i];
+            if (getMetadata(slot, FLAGS) == 0) {
+                release(slot);
+            }
+        }
+        for (int i = 0; i < deferredCount; i++) {
+            int slot = deferredSlots[i];
+            if (isLinked(slot)) {
+                // linked again after it was unlinked
+                setMetadata(slot, FLAGS, getMetadata(slot, FLAGS) & ~DEFERRED);
+            } else {
+                release(slot);
+            }
+        }
+        pendingCount = 0;
+        deferredCount = 0;
+    }
+
+    /**
+     * Drops all slots and shrinks the arrays to their initial size.
+     * Records created before are no longer valid after this call.
+     */
+    public void destroy() {
+        freeCount = 0;
+        pendingCount = 0;
+        deferredCount = 0;
+        expirableCount = 0;
+        expiry = null;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @return number of linked records which have expiry metadata
+     */
+    public int expirableCount() {
+        return expirableCount;
+    }
+
+    boolean hasExpiryMetadata(int slot) {
+        return (metadata[slot * METADATA_STRIDE + FLAGS] & EXPIRABLE) != 0;
+    }
+
+    void setExpiryMetadata(int slot, ExpiryMetadata expiryMetadata) {
+        if (expiry == null) {
+            expiry = new int[keys.length * EXPIRY_STRIDE];
+        }
+        int base = slot * EXPIRY_STRIDE;
+        expiry[base + TTL] = expiryMetadata.getRawTtl();
+        expiry[base + MAX_IDLE] = expiryMetadata.getRawMaxIdle();
+        expiry[base + EXPIRATION_TIME] = expiryMetadata.getRawExpirationTime();
+        expiry[base + EXPIRY_LAST_UPDATE_TIME] = expiryMetadata.getRawLastUpdateTime();
+        if (!hasExpiryMetadata(slot)) {
+            metadata[slot * METADATA_STRIDE + FLAGS] |= EXPIRABLE;
+            expirableCount++;
+        }
+    }
+
+    void clearExpiryMetadata(int slot) {
+        if (hasExpiryMetadata(slot)) {
+            metadata[slot * METADATA_STRIDE + FLAGS] &= ~EXPIRABLE;
+            expirableCount--;
+        }
+    }
+
+    Data getValue(int slot) {
+        return values[slot];
+    }
+
+    void setValue(int slot, Data value) {
+        values[slot] = value;
+    }
+
+    int getMetadata(int slot, int field) {
+        return metadata[slot * METADATA_STRIDE + field];
+    }
+
+    void setMetadata(int slot, int field, int value) {
+        metadata[slot * METADATA_STRIDE + field] = value;
+    }
+
+    int getExpiry(int slot, int field) {
+        return expiry[slot * EXPIRY_STRIDE + field];
+    }
+
+    void setExpiry(int slot, int field, int value) {
+        expiry[slot * EXPIRY_STRIDE + field] = value;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == keys.length) {
+            grow(slotCount << 1);
+        }
+        return slotCount++;
+    }
+
+    private void release(int slot) {
+        metadata[slot * METADATA_STRIDE + FLAGS] = 0;
+        keys[slot] = null;
+        values[slot] = null;
+        freeSlots = push(freeSlots, freeCount++, slot);
+    }
+
+    private void allocate(int capacity) {
+        keys = new Data[capacity];
+        values = new Data[capacity];
+        metadata = new int[capacity * METADATA_STRIDE];
+        slotCount = 0;
+    }
+
+    private void grow(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        metadata = Arrays.copyOf(metadata, capacity * METADATA_STRIDE);
+        if (expiry != null) {
+            expiry = Arrays.copyOf(expiry, capacity * EXPIRY_STRIDE);
+        }
+    }
+
+    private static int[] push(int[] stack, int index, int slot) {
+        int[] result = index == stack.length ? Arrays.copyOf(stack, index << 1) : stack;
+        result[index] = slot;
+        return result;
+    }
+}
@@ -23,6 +23,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MetadataPolicy;
 import com.hazelcast.internal.locksupport.LockStore;
 import com.hazelcast.internal.locksupport.LockSupportService;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.monitor.LocalRecordStoreStats;
 import com.hazelcast.internal.monitor.impl.LocalRecordStoreStatsImpl;
 import com.hazelcast.internal.serialization.Data;
@@ -39,9 +40,12 @@ import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.record.DataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
+import com.hazelcast.map.impl.recordstore.offheap.OffHeapRecordFactory;
+import com.hazelcast.map.impl.recordstore.offheap.OffHeapStorage;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.wan.impl.CallerProvenance;
 
@@ -68,6 +72,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected RecordFactory recordFactory;
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
+    protected ContinuousAggregatingMutationObserver<Record> continuousAggregatingObserver;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
         this.name = mapContainer.getName();
@@ -89,6 +94,17 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         MapConfig mapConfig = mapContainer.getMapConfig();
         switch (mapConfig.getInMemoryFormat()) {
             case BINARY:
+                if (OffHeapStorage.isConfiguredFor(mapContainer)) {
+                    if (UnsafeMemoryManager.isAvailable()) {
+                        return new OffHeapRecordFactory(serializationService, new UnsafeMemoryManager());
+                    }
+                    mapServiceContext.getNodeEngine().getLogger(getClass())
+                            .warning("Off-heap storage is configured for map '" + name
+                                    + "' but Unsafe is not available, falling back to on-heap storage");
+                }
+                if (PackedRecordFactory.isConfiguredFor(mapContainer)) {
+                    return new PackedRecordFactory(serializationService);
+                }
                 return new DataRecordFactory(mapContainer, serializationService);
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
@@ -130,12 +146,21 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for continuous aggregates
+        continuousAggregatingObserver = new ContinuousAggregatingMutationObserver<>(this, serializationService);
+        mutationObserver.add(continuousAggregatingObserver);
     }
 
     public IndexingMutationObserver<Record> getIndexingObserver() {
         return indexingObserver;
     }
 
+    @Override
+    public ContinuousAggregatingMutationObserver<Record> getContinuousAggregatingObserver() {
+        return continuousAggregatingObserver;
+    }
+
     @Override
     public InMemoryFormat getInMemoryFormat() {
         return inMemoryFormat;
@@ -175,6 +200,12 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (recordFactory instanceof OffHeapRecordFactory offHeapRecordFactory) {
+            return new OffHeapStorage(offHeapRecordFactory, getExpirySystem(), serializationService);
+        }
+        if (recordFactory instanceof PackedRecordFactory packedRecordFactory) {
+            return new PackedStorage(packedRecordFactory, getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.InvertibleAggregator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
+
+/**
+ * Maintains the continuous aggregates of a partition on the mutations of
+ * the observed {@link RecordStore}.
+ * <p>
+ * A continuous aggregate is an aggregator, optionally restricted by a
+ * predicate, registered under a name on its first read. The aggregates
+ * using an {@link InvertibleAggregator} are kept up to date on all the
+ * mutations. Other aggregates are kept up to date on insertions only, an
+ * update or a removal of a matching entry marks them stale and they are
+ * recomputed by scanning the partition on their next read.
+ * <p>
+ * The aggregates are maintained on the primary replica only: any backup
+ * mutation, replication or clear of the partition drops them and they are
+ * recomputed on their next read.
+ * <p>
+ * Should be accessed on the partition thread only.
+ */
+public class ContinuousAggregatingMutationObserver<R extends Record> implements MutationObserver<R> {
+
+    private final MapContainer mapContainer;
+    private final SerializationService ss;
+    private final RecordStore recordStore;
+
+    private final Map<String, ContinuousAggregate> aggregates = new HashMap<>();
+
+    public ContinuousAggregatingMutationObserver(RecordStore recordStore, SerializationService ss) {
+        this.mapContainer = recordStore.getMapContainer();
+        this.recordStore = recordStore;
+        this.ss = ss;
+    }
+
+    /**
+     * Returns the partition aggregator of the continuous aggregate having
+     * the given name, registers the aggregate if it's not registered yet.
+     * <p>
+     * The name identifies the aggregate, the given aggregator and predicate
+     * must be the same for all the reads of it.
+     *
+     * @param name       the name of the aggregate.
+     * @param aggregator the aggregator to register the aggregate with, not
+     *                   modified.
+     * @param predicate  the predicate to register the aggregate with or
+     *                   {@code null} to aggregate all the entries.
+     * @return the aggregator accumulating the matching entries of the
+     * partition, it's modified on subsequent mutations.
+     */
+    public Aggregator getOrRegister(String name, Aggregator aggregator, Predicate predicate) {
+        ContinuousAggregate aggregate = aggregates.get(name);
+        if (aggregate == null || aggregate.stale) {
+            ContinuousAggregate newAggregate = new ContinuousAggregate(ss.toObject(ss.toData(aggregator)), predicate);
+            recordStore.forEach((BiConsumer<Data, Record>) (dataKey, record) ->
+                    newAggregate.accumulate(newQueryEntry(dataKey, getValueOrCachedValue(record, ss))), false);
+            aggregates.put(name, newAggregate);
+            aggregate = newAggregate;
+        }
+        return aggregate.aggregator;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, R record, Object oldValue, boolean backup) {
+        onAdd(key, record, backup);
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull R record, boolean populateIndex) {
+        aggregates.clear();
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull R record, Object oldValue, Object newValue, boolean backup) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        if (backup || oldValue == null) {
+            aggregates.clear();
+            return;
+        }
+
+        QueryableEntry oldEntry = newQueryEntry(key, oldValue);
+        QueryableEntry newEntry = newQueryEntry(key, getValueOrCachedValue(record, ss));
+        for (ContinuousAggregate aggregate : aggregates.values()) {
+            aggregate.remove(oldEntry);
+            aggregate.add(newEntry);
+        }
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, R record, boolean backup) {
+        onRemove(key, record, backup);
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull R record, boolean backup) {
+        onRemove(key, record, backup);
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull R record, boolean backup) {
+        onAdd(key, record, backup);
+    }
+
+    @Override
+    public void onReset() {
+        aggregates.clear();
+    }
+
+    @Override
+    public void onClear() {
+        aggregates.clear();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        aggregates.clear();
+    }
+
+    private void onAdd(Data key, R record, boolean backup) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        if (backup) {
+            aggregates.clear();
+            return;
+        }
+
+        QueryableEntry entry = newQueryEntry(key, getValueOrCachedValue(record, ss));
+        for (ContinuousAggregate aggregate : aggregates.values()) {
+            aggregate.add(entry);
+        }
+    }
+
+    private void onRemove(Data key, R record, boolean backup) {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        if (backup) {
+            aggregates.clear();
+            return;
+        }
+
+        QueryableEntry entry = newQueryEntry(key, getValueOrCachedValue(record, ss));
+        for (ContinuousAggregate aggregate : aggregates.values()) {
+            aggregate.remove(entry);
+        }
+    }
+
+    private QueryableEntry newQueryEntry(Data key, Object value) {
+        return mapContainer.newQueryEntry(key, value);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class ContinuousAggregate {
+
+        final Aggregator aggregator;
+        final Predicate predicate;
+
+        boolean stale;
+
+        ContinuousAggregate(Aggregator aggregator, Predicate predicate) {
+            this.aggregator = aggregator;
+            this.predicate = predicate;
+        }
+
+        void accumulate(QueryableEntry entry) {
+            if (matches(entry)) {
+                aggregator.accumulate(entry);
+            }
+        }
+
+        void add(QueryableEntry entry) {
+            if (stale) {
+                return;
+            }
+            try {
+                accumulate(entry);
+            } catch (RuntimeException e) {
+                // failures are not propagated to the mutations, the
+                // recomputation on the next read reports them instead
+                stale = true;
+            }
+        }
+
+        void remove(QueryableEntry entry) {
+            if (stale) {
+                return;
+            }
+            try {
+                if (matches(entry)) {
+                    if (aggregator instanceof InvertibleAggregator invertibleAggregator) {
+                        invertibleAggregator.deaccumulate(entry);
+                    } else {
+                        stale = true;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // see add
+                stale = true;
+            }
+        }
+
+        private boolean matches(QueryableEntry entry) {
+            return predicate == null || predicate.apply(entry);
+        }
+
+    }
+
+}
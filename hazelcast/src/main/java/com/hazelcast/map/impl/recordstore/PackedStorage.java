@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.PackedRecord;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
+
+/**
+ * {@link Storage} for records created by a {@link PackedRecordFactory}.
+ * <p>
+ * The factory keeps the keys, values and metadata in slots, this class
+ * only adds an open-addressing index from keys to slots. The index is an
+ * {@code int[]} of slot numbers plus one, zero marking an empty bucket,
+ * with linear probing and backward shift deletion. There is no entry
+ * object and no record object per key.
+ * <p>
+ * Slots of removed and replaced records are released in
+ * {@link #disposeDeferredBlocks()}, which is called after each operation.
+ * <p>
+ * Like the off-heap storage, this class is only accessed by the
+ * partition thread which owns the record store.
+ */
+@SuppressWarnings({"checkstyle:methodcount", "rawtypes", "unchecked"})
+public class PackedStorage implements Storage<Data, Record> {
+
+    private static final int INITIAL_TABLE_CAPACITY = 32;
+
+    private final PackedRecordFactory recordFactory;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+
+    private int[] table = new int[INITIAL_TABLE_CAPACITY];
+    private int mask = INITIAL_TABLE_CAPACITY - 1;
+    private int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator entryCostEstimator = createMapSizeEstimator(BINARY);
+
+    public PackedStorage(PackedRecordFactory recordFactory, ExpirySystem expirySystem,
+                         SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+    }
+
+    public PackedRecordFactory getRecordFactory() {
+        return recordFactory;
+    }
+
+    @Override
+    public boolean hasDeferredBlocks() {
+        return true;
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        PackedRecord packedRecord = recordFactory.toPackedRecord(key, record);
+        int slot = packedRecord.slot();
+        int bucket = findBucket(key, key.hashCode());
+        int previousSlot = table[bucket] - 1;
+        if (previousSlot == slot) {
+            return;
+        }
+
+        recordFactory.link(slot, key);
+        table[bucket] = slot + 1;
+
+        if (previousSlot >= 0) {
+            PackedRecord previousRecord = recordFactory.recordAt(previousSlot);
+            if (previousRecord.hasExpiryMetadata()) {
+                packedRecord.setExpiryMetadata(previousRecord.getExpiryMetadata());
+            }
+            updateCostEstimate(-entryCostEstimator.calculateEntryCost(key, previousRecord));
+            recordFactory.unlink(previousSlot);
+        } else if (++size > (table.length >> 1)) {
+            resize(table.length << 1);
+        }
+        updateCostEstimate(entryCostEstimator.calculateEntryCost(key, packedRecord));
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+
+        record.setValue(serializationService.toData(value));
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        int slot = table[findBucket(key, key.hashCode())] - 1;
+        return slot < 0 ? null : recordFactory.recordAt(slot);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keys are looked up by equality like in {@link #get(Data)}, the slots
+     * don't keep the identity of the key blob the record was put with.
+     */
+    @Override
+    public Record getIfSameKey(Data key) {
+        return get(key);
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        int bucket = findBucket(dataKey, dataKey.hashCode());
+        int slot = table[bucket] - 1;
+        if (slot < 0) {
+            return;
+        }
+
+        deleteBucket(bucket);
+        size--;
+        updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, recordFactory.recordAt(slot)));
+        recordFactory.unlink(slot);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return table[findBucket(key, key.hashCode())] != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The iterator walks the slots of the record factory in ascending order.
+     * Slots never move, so entries present during the whole iteration are
+     * returned exactly once.
+     */
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        for (int bucket = 0; bucket < table.length; bucket++) {
+            if (table[bucket] != 0) {
+                recordFactory.unlink(table[bucket] - 1);
+            }
+        }
+        table = new int[INITIAL_TABLE_CAPACITY];
+        mask = INITIAL_TABLE_CAPACITY - 1;
+        size = 0;
+
+        if (isDuringShutdown) {
+            disposeDeferredBlocks();
+        }
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+        recordFactory.destroy();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeDeferredSlots();
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(Math.min(sampleCount, size));
+        int slotCount = recordFactory.slotCount();
+        int firstSlot = ThreadLocalRandomProvider.get().nextInt(slotCount);
+        int slot = firstSlot;
+        do {
+            if (recordFactory.isLinked(slot)) {
+                Data key = recordFactory.keyAt(slot);
+                samples.add(new LazyEvictableEntryView<>(key, recordFactory.recordAt(slot),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+                if (samples.size() == sampleCount) {
+                    break;
+                }
+            }
+            slot = slot + 1 == slotCount ? 0 : slot + 1;
+        } while (slot != firstSlot);
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                slot -> keys.add(recordFactory.keyAt(slot)));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                slot -> entries.add(new AbstractMap.SimpleEntry<>(recordFactory.keyAt(slot),
+                        recordFactory.recordAt(slot).getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Visits the slots from the last one to the first one. Since slots
+     * never move, a single pointer holding the next slot to visit is
+     * enough to resume the iteration.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, IntConsumer slotConsumer) {
+        IterationPointer[] newPointers = new IterationPointer[pointers.length];
+        for (int i = 0; i < pointers.length; i++) {
+            newPointers[i] = new IterationPointer(pointers[i]);
+        }
+        IterationPointer lastPointer = newPointers[newPointers.length - 1];
+
+        int nextSlot = Math.min(lastPointer.getIndex(), recordFactory.slotCount() - 1);
+        int counter = 0;
+        while (nextSlot >= 0 && counter < size) {
+            int slot = nextSlot--;
+            if (recordFactory.isLinked(slot)) {
+                slotConsumer.accept(slot);
+                counter++;
+            }
+        }
+        lastPointer.setIndex(nextSlot);
+        return newPointers;
+    }
+
+    /**
+     * @return the bucket holding the given key or
+     * the empty bucket the key should be put into
+     */
+    private int findBucket(Data key, int keyHash) {
+        for (int bucket = keyHash & mask; ; bucket = (bucket + 1) & mask) {
+            int slot = table[bucket] - 1;
+            if (slot < 0
+                    || (recordFactory.keyHashAt(slot) == keyHash && key.equals(recordFactory.keyAt(slot)))) {
+                return bucket;
+            }
+        }
+    }
+
+    private void deleteBucket(int bucket) {
+        int hole = bucket;
+        for (int next = (bucket + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = recordFactory.keyHashAt(table[next] - 1) & mask;
+            // move the entry into the hole unless its home bucket is between the hole and itself
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void resize(int capacity) {
+        int[] oldTable = table;
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int entry : oldTable) {
+            if (entry != 0) {
+                int bucket = recordFactory.keyHashAt(entry - 1) & mask;
+                while (table[bucket] != 0) {
+                    bucket = (bucket + 1) & mask;
+                }
+                table[bucket] = entry;
+            }
+        }
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private int nextSlot = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextSlot >= 0 && !recordFactory.isLinked(nextSlot)) {
+                // removed since we last looked at it
+                advance();
+            }
+            return nextSlot >= 0;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = nextSlot;
+            advance();
+            return new AbstractMap.SimpleImmutableEntry<>(recordFactory.keyAt(slot), recordFactory.recordAt(slot));
+        }
+
+        private void advance() {
+            int slotCount = recordFactory.slotCount();
+            for (int slot = nextSlot + 1; slot < slotCount; slot++) {
+                if (recordFactory.isLinked(slot)) {
+                    nextSlot = slot;
+                    return;
+                }
+            }
+            nextSlot = -1;
+        }
+    }
+}
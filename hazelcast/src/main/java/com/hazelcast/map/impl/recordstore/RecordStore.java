@@ -528,6 +528,12 @@ public interface RecordStore<R extends Record> {
      */
     JsonMetadataStore getOrCreateMetadataStore();
 
+    /**
+     * @return the observer maintaining the continuous aggregates of this
+     * record store.
+     */
+    ContinuousAggregatingMutationObserver<R> getContinuousAggregatingObserver();
+
     Storage getStorage();
 
     void sampleAndForceRemoveEntries(int entryCountToRemove);
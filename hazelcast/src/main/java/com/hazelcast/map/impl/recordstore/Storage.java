@@ -121,6 +121,15 @@ public interface Storage<K, R> {
         // NOP intentionally.
     }
 
+    /**
+     * @return {@code true} if this storage defers freeing of removed
+     * entries until {@link #disposeDeferredBlocks()} is called, even
+     * if the map is not a {@code NATIVE} one, {@code false} otherwise.
+     */
+    default boolean hasDeferredBlocks() {
+        return false;
+    }
+
     /**
      * Used for sampling based eviction, returns sampled entries.
      *
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.PackedRecord;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.PackedStorage;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ExpirySystem} which keeps the expiry metadata of a key in the
+ * slot of its record when the record store uses a {@link PackedStorage},
+ * so there is no {@link ExpiryMetadataImpl} and no map entry per key.
+ * Falls back to the default behaviour for any other storage.
+ */
+public class PackedExpirySystem extends ExpirySystemImpl {
+
+    private final RecordStore recordStore;
+
+    public PackedExpirySystem(RecordStore recordStore, MapContainer mapContainer,
+                              MapServiceContext mapServiceContext) {
+        super(recordStore, mapContainer, mapServiceContext);
+        this.recordStore = recordStore;
+    }
+
+    @Override
+    protected Map<Data, ExpiryMetadata> createExpiryTimeByKeyMap() {
+        // the map is created lazily, the storage exists by then
+        if (recordStore.getStorage() instanceof PackedStorage packedStorage) {
+            return new PackedExpiryMetadataMap(packedStorage);
+        }
+        return super.createExpiryTimeByKeyMap();
+    }
+
+    /**
+     * Map view over the expiry metadata kept in the record slots. The
+     * expiry system can be asked to track a key before its record is put
+     * into the storage, such keys are kept in a regular map until their
+     * expiry metadata is updated with the record in place.
+     * <p>
+     * Iteration walks all records of the storage and skips the ones without
+     * expiry metadata, so a scan for expired keys costs a little more when
+     * only a few keys of a partition are expirable.
+     */
+    private static final class PackedExpiryMetadataMap extends AbstractMap<Data, ExpiryMetadata> {
+
+        private final PackedStorage storage;
+        private final PackedRecordFactory recordFactory;
+        private final Map<Data, ExpiryMetadata> keysWithoutRecord = new ConcurrentHashMap<>();
+
+        PackedExpiryMetadataMap(PackedStorage storage) {
+            this.storage = storage;
+            this.recordFactory = storage.getRecordFactory();
+        }
+
+        @Override
+        public ExpiryMetadata get(Object key) {
+            PackedRecord record = recordOf((Data) key);
+            if (record != null && record.hasExpiryMetadata()) {
+                return record.getExpiryMetadata();
+            }
+            return keysWithoutRecord.isEmpty() ? null : keysWithoutRecord.get(key);
+        }
+
+        @Override
+        public ExpiryMetadata put(Data key, ExpiryMetadata expiryMetadata) {
+            PackedRecord record = recordOf(key);
+            if (record == null) {
+                return keysWithoutRecord.put(key, expiryMetadata);
+            }
+            record.setExpiryMetadata(expiryMetadata);
+            return keysWithoutRecord.isEmpty() ? null : keysWithoutRecord.remove(key);
+        }
+
+        @Override
+        public ExpiryMetadata remove(Object key) {
+            PackedRecord record = recordOf((Data) key);
+            if (record != null) {
+                record.clearExpiryMetadata();
+            }
+            return keysWithoutRecord.isEmpty() ? null : keysWithoutRecord.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+            while (iterator.hasNext() && recordFactory.expirableCount() > 0) {
+                ((PackedRecord) iterator.next().getValue()).clearExpiryMetadata();
+            }
+            keysWithoutRecord.clear();
+        }
+
+        @Override
+        public int size() {
+            return recordFactory.expirableCount() + keysWithoutRecord.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return recordFactory.expirableCount() == 0 && keysWithoutRecord.isEmpty();
+        }
+
+        @Override
+        public Set<Entry<Data, ExpiryMetadata>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Data, ExpiryMetadata>> iterator() {
+                    return new ExpirableEntryIterator(storage.mutationTolerantIterator(),
+                            keysWithoutRecord.entrySet().iterator());
+                }
+
+                @Override
+                public int size() {
+                    return PackedExpiryMetadataMap.this.size();
+                }
+            };
+        }
+
+        private PackedRecord recordOf(Data key) {
+            return (PackedRecord) storage.get(key);
+        }
+    }
+
+    private static final class ExpirableEntryIterator implements Iterator<Map.Entry<Data, ExpiryMetadata>> {
+
+        private final Iterator<Map.Entry<Data, Record>> records;
+        private final Iterator<Map.Entry<Data, ExpiryMetadata>> keysWithoutRecord;
+        private Map.Entry<Data, ExpiryMetadata> next;
+
+        ExpirableEntryIterator(Iterator<Map.Entry<Data, Record>> records,
+                               Iterator<Map.Entry<Data, ExpiryMetadata>> keysWithoutRecord) {
+            this.records = records;
+            this.keysWithoutRecord = keysWithoutRecord;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (records.hasNext()) {
+                Map.Entry<Data, Record> entry = records.next();
+                PackedRecord record = (PackedRecord) entry.getValue();
+                if (record.hasExpiryMetadata()) {
+                    next = new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), record.getExpiryMetadata());
+                    return true;
+                }
+            }
+            if (keysWithoutRecord.hasNext()) {
+                next = keysWithoutRecord.next();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<Data, ExpiryMetadata> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Data, ExpiryMetadata> result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.record.Record;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Owned entry cost estimator for {@link OffHeapStorage}. Reports
+ * the off-heap bytes held by the entries and the slot table.
+ */
+class OffHeapEntryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+    private volatile long estimate;
+
+    @Override
+    public long getEstimate() {
+        return estimate;
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "We have the guarantee that only a single partition thread at any given time can change the volatile"
+                    + " field, but multiple threads can read it.")
+    @Override
+    public void adjustEstimateBy(long adjustment) {
+        this.estimate += adjustment;
+    }
+
+    @Override
+    public void reset() {
+        estimate = 0L;
+    }
+
+    @Override
+    public long calculateValueCost(Record record) {
+        return ((OffHeapRecord) record).getValueCost();
+    }
+
+    @Override
+    public long calculateEntryCost(Data key, Record record) {
+        // key is stored inline in the entry block
+        return record.getCost();
+    }
+}
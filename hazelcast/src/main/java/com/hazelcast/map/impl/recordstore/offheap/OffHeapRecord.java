@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReaderWriter;
+
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Flyweight {@link Record} over an off-heap entry block.
+ * <p>
+ * An entry block holds the collision-chain link, the address of the
+ * value blob, the record metadata and the key bytes inline:
+ * <pre>
+ *  0  next entry address           (long)
+ *  8  value blob address           (long)
+ * 16  version                      (int)
+ * 20  hits                         (int)
+ * 24  last access time             (int, base-time stripped)
+ * 28  last update time             (int, base-time stripped)
+ * 32  creation time                (int, base-time stripped)
+ * 36  last stored time             (int, base-time stripped)
+ * 40  key size                     (int)
+ * 44  flags (linked, deferred)     (int)
+ * 48  key bytes
+ * </pre>
+ * A value blob is an {@code int} size followed by the value bytes. Values
+ * are copied to the heap on every {@link #getValue()}, so only entry blocks
+ * can be referenced from outside of the storage and only their disposal
+ * needs to be deferred.
+ * <p>
+ * Instances are cheap and created on every lookup. They are only valid
+ * until the owning {@link OffHeapStorage} disposes of its deferred blocks.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class OffHeapRecord implements Record<Data> {
+
+    static final int NEXT_OFFSET = 0;
+    static final int VALUE_ADDRESS_OFFSET = 8;
+    static final int VERSION_OFFSET = 16;
+    static final int HITS_OFFSET = 20;
+    static final int LAST_ACCESS_TIME_OFFSET = 24;
+    static final int LAST_UPDATE_TIME_OFFSET = 28;
+    static final int CREATION_TIME_OFFSET = 32;
+    static final int LAST_STORED_TIME_OFFSET = 36;
+    static final int KEY_SIZE_OFFSET = 40;
+    static final int FLAGS_OFFSET = 44;
+    static final int KEY_OFFSET = 48;
+
+    private final OffHeapRecordFactory factory;
+    private final long address;
+
+    OffHeapRecord(OffHeapRecordFactory factory, long address) {
+        this.factory = factory;
+        this.address = address;
+    }
+
+    /**
+     * @return address of the entry block this record is a view of
+     */
+    public long address() {
+        return address;
+    }
+
+    OffHeapRecordFactory factory() {
+        return factory;
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.readValue(address);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        factory.writeValue(address, value);
+    }
+
+    /**
+     * @return number of off-heap bytes owned by this
+     * entry, including the key and the value blob.
+     */
+    @Override
+    public long getCost() {
+        return factory.entryBlockSize(address) + getValueCost();
+    }
+
+    /**
+     * @return number of off-heap bytes owned by the value blob
+     */
+    public long getValueCost() {
+        return factory.valueBlockSize(address);
+    }
+
+    @Override
+    public int getVersion() {
+        return factory.getInt(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        factory.putInt(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return factory.getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        factory.putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return factory.getInt(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        factory.putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return factory.getInt(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        factory.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return factory.getInt(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        factory.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return factory.getInt(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        factory.putInt(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OffHeapRecord)) {
+            return false;
+        }
+        return address == ((OffHeapRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapRecord{address=" + address + '}';
+    }
+}
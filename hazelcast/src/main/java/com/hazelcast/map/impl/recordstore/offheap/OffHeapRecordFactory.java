@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.map.impl.record.Records;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.CREATION_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.FLAGS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.HITS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.KEY_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.LAST_ACCESS_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.LAST_STORED_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.LAST_UPDATE_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.NEXT_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.VALUE_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.VERSION_OFFSET;
+
+/**
+ * Creates {@link OffHeapRecord}s and owns the low level
+ * operations on their entry and value blocks.
+ * <p>
+ * Records are allocated as soon as they are created, so that
+ * metadata updates done by the record store before the record
+ * is put into the {@link OffHeapStorage} are not lost. A record
+ * becomes part of the map when the storage links it and is freed
+ * after the storage unlinks it. Records which were never linked,
+ * e.g. the ones of a rejected put, are freed in
+ * {@link #disposePendingRecords()}, which the storage calls before
+ * it frees its deferred blocks. Created for every
+ * partition and only accessed by its partition thread.
+ */
+public class OffHeapRecordFactory implements RecordFactory<Data> {
+
+    private static final int ALIGNMENT = 8;
+    private static final int INITIAL_PENDING_CAPACITY = 16;
+
+    private static final int LINKED = 1;
+    private static final int DEFERRED = 2;
+
+    private final SerializationService ss;
+    private final MemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+
+    private int pendingCount;
+    private long[] pendingAddresses = new long[INITIAL_PENDING_CAPACITY];
+
+    public OffHeapRecordFactory(SerializationService ss, MemoryManager memoryManager) {
+        this.ss = ss;
+        this.memoryManager = memoryManager;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    @Override
+    public OffHeapRecord newRecord(Data key, Object value) {
+        byte[] keyBytes = key.toByteArray();
+        long address = malloc.allocate(entryBlockSize(keyBytes.length));
+        mem.putLong(address + NEXT_OFFSET, NULL_ADDRESS);
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, NULL_ADDRESS);
+        mem.putInt(address + VERSION_OFFSET, 0);
+        mem.putInt(address + HITS_OFFSET, 0);
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, UNSET);
+        mem.putInt(address + CREATION_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, UNSET);
+        mem.putInt(address + KEY_SIZE_OFFSET, keyBytes.length);
+        mem.putInt(address + FLAGS_OFFSET, 0);
+        mem.copyFromByteArray(keyBytes, 0, address + KEY_OFFSET, keyBytes.length);
+
+        writeValue(address, ss.toData(value));
+
+        if (pendingCount == pendingAddresses.length) {
+            pendingAddresses = Arrays.copyOf(pendingAddresses, pendingCount << 1);
+        }
+        pendingAddresses[pendingCount++] = address;
+        return new OffHeapRecord(this, address);
+    }
+
+    /**
+     * Returns the given record if it is an off-heap record of this
+     * factory, otherwise allocates a new off-heap copy of it.
+     */
+    OffHeapRecord toOffHeapRecord(Data key, Record record) {
+        if (record instanceof OffHeapRecord offHeapRecord && offHeapRecord.factory() == this) {
+            return offHeapRecord;
+        }
+        OffHeapRecord copy = newRecord(key, record.getValue());
+        Records.copyMetadataFrom(record, copy);
+        return copy;
+    }
+
+    OffHeapRecord recordAt(long address) {
+        return new OffHeapRecord(this, address);
+    }
+
+    Data readKey(long address) {
+        int keySize = mem.getInt(address + KEY_SIZE_OFFSET);
+        byte[] keyBytes = new byte[keySize];
+        mem.copyToByteArray(address + KEY_OFFSET, keyBytes, 0, keySize);
+        return new HeapData(keyBytes);
+    }
+
+    boolean keyEquals(long address, byte[] keyBytes) {
+        if (mem.getInt(address + KEY_SIZE_OFFSET) != keyBytes.length) {
+            return false;
+        }
+        long keyAddress = address + KEY_OFFSET;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (mem.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Data readValue(long address) {
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        int valueSize = mem.getInt(valueAddress);
+        byte[] valueBytes = new byte[valueSize];
+        mem.copyToByteArray(valueAddress + INT_SIZE_IN_BYTES, valueBytes, 0, valueSize);
+        return new HeapData(valueBytes);
+    }
+
+    /**
+     * Replaces the value blob of the entry. The previous blob is freed
+     * immediately since values are never referenced from outside.
+     */
+    void writeValue(long address, Data value) {
+        long newValueAddress = NULL_ADDRESS;
+        if (value != null) {
+            byte[] valueBytes = value.toByteArray();
+            newValueAddress = malloc.allocate(valueBlockSize(valueBytes.length));
+            mem.putInt(newValueAddress, valueBytes.length);
+            mem.copyFromByteArray(valueBytes, 0, newValueAddress + INT_SIZE_IN_BYTES, valueBytes.length);
+        }
+        freeValue(address);
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, newValueAddress);
+    }
+
+    long entryBlockSize(long address) {
+        return entryBlockSize(mem.getInt(address + KEY_SIZE_OFFSET));
+    }
+
+    long valueBlockSize(long address) {
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        return valueAddress == NULL_ADDRESS ? 0 : valueBlockSize(mem.getInt(valueAddress));
+    }
+
+    long next(long address) {
+        return mem.getLong(address + NEXT_OFFSET);
+    }
+
+    void setNext(long address, long nextAddress) {
+        mem.putLong(address + NEXT_OFFSET, nextAddress);
+    }
+
+    int getInt(long address) {
+        return mem.getInt(address);
+    }
+
+    void putInt(long address, int value) {
+        mem.putInt(address, value);
+    }
+
+    /**
+     * Marks the entry as part of the map.
+     */
+    void link(long address) {
+        mem.putInt(address + FLAGS_OFFSET, mem.getInt(address + FLAGS_OFFSET) | LINKED);
+    }
+
+    /**
+     * Marks the entry as removed from the map.
+     *
+     * @return {@code true} if the entry has to be added to the deferred
+     * blocks, {@code false} if it has already been added
+     */
+    boolean unlink(long address) {
+        int flags = mem.getInt(address + FLAGS_OFFSET);
+        mem.putInt(address + FLAGS_OFFSET, (flags & ~LINKED) | DEFERRED);
+        return (flags & DEFERRED) == 0;
+    }
+
+    /**
+     * Frees a deferred entry unless it has been linked again since it was
+     * unlinked.
+     */
+    void disposeDeferred(long address) {
+        int flags = mem.getInt(address + FLAGS_OFFSET);
+        if ((flags & LINKED) != 0) {
+            mem.putInt(address + FLAGS_OFFSET, flags & ~DEFERRED);
+        } else {
+            dispose(address);
+        }
+    }
+
+    /**
+     * Frees the entries created since the last call which were never
+     * linked. The linked ones are freed through the deferred blocks of
+     * the storage after they are unlinked, so this has to be called before
+     * the deferred blocks are freed.
+     */
+    void disposePendingRecords() {
+        for (int i = 0; i < pendingCount; i++) {
+            long address = pendingAddresses[i];
+            if (mem.getInt(address + FLAGS_OFFSET) == 0) {
+                dispose(address);
+            }
+        }
+        pendingCount = 0;
+        if (pendingAddresses.length > INITIAL_PENDING_CAPACITY) {
+            pendingAddresses = new long[INITIAL_PENDING_CAPACITY];
+        }
+    }
+
+    /**
+     * Frees the entry block and its value blob.
+     */
+    private void dispose(long address) {
+        freeValue(address);
+        malloc.free(address, entryBlockSize(address));
+    }
+
+    private void freeValue(long address) {
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            malloc.free(valueAddress, valueBlockSize(mem.getInt(valueAddress)));
+        }
+    }
+
+    private static long entryBlockSize(int keySize) {
+        return align(KEY_OFFSET + keySize);
+    }
+
+    private static long valueBlockSize(int valueSize) {
+        return align(INT_SIZE_IN_BYTES + valueSize);
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
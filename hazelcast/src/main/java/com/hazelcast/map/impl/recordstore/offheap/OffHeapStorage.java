@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.HashSlotCursor8byteKey;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.LazyEvictableEntryView;
+import com.hazelcast.map.impl.recordstore.Storage;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.hashslot.impl.HashSlotArrayBase.HEADER_SIZE;
+import static com.hazelcast.map.impl.recordstore.offheap.RecordHashSlotArray.SLOT_LENGTH;
+import static com.hazelcast.map.impl.recordstore.offheap.RecordHashSlotArray.homeSlotOf;
+
+/**
+ * {@link Storage} which keeps keys, values and record metadata
+ * of a {@link InMemoryFormat#BINARY BINARY} map partition outside
+ * of the Java heap.
+ * <p>
+ * Keys are looked up through a {@link RecordHashSlotArray} keyed by
+ * {@link Data#hash64()}; entries whose keys share a 64-bit hash are
+ * chained through their entry blocks. See {@link OffHeapRecord} for the
+ * layout of an entry. Records returned from this storage are flyweights:
+ * entries removed or replaced during an operation, and records created
+ * during it but never put, are only freed in {@link #disposeDeferredBlocks()},
+ * which is called after the operation.
+ * <p>
+ * Like the heap storage, this class is only accessed by the
+ * partition thread which owns the record store.
+ */
+@SuppressWarnings({"checkstyle:methodcount", "rawtypes", "unchecked"})
+public class OffHeapStorage implements Storage<Data, Record> {
+
+    /**
+     * Comma separated names of the maps whose record stores keep their
+     * entries off-heap. Names can contain wildcards, they are matched the
+     * same way map configuration names are. Only {@code BINARY} maps are
+     * affected; by default no map uses off-heap storage.
+     */
+    public static final HazelcastProperty OFF_HEAP_STORAGE_MAPS
+            = new HazelcastProperty("hazelcast.map.offheap.storage.maps", "");
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+
+    private final OffHeapRecordFactory recordFactory;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+    private final MemoryAccessor mem;
+    private final RecordHashSlotArray table;
+
+    private int size;
+    private long tableCost;
+    private int deferredCount;
+    private long[] deferredBlocks = new long[INITIAL_DEFERRED_CAPACITY];
+
+    // not final for testing purposes.
+    private EntryCostEstimator entryCostEstimator = new OffHeapEntryCostEstimator();
+
+    public OffHeapStorage(OffHeapRecordFactory recordFactory, ExpirySystem expirySystem,
+                          SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        this.mem = recordFactory.getMemoryManager().getAccessor();
+        this.table = new RecordHashSlotArray(recordFactory.getMemoryManager(), INITIAL_CAPACITY);
+        this.table.gotoNew();
+        updateTableCost();
+    }
+
+    /**
+     * @return {@code true} if the map of the given container is configured
+     * to use off-heap storage through {@link #OFF_HEAP_STORAGE_MAPS}
+     */
+    public static boolean isConfiguredFor(MapContainer mapContainer) {
+        return mapContainer.getMapConfig().getInMemoryFormat() == InMemoryFormat.BINARY
+                && mapContainer.isListedIn(OFF_HEAP_STORAGE_MAPS);
+    }
+
+    @Override
+    public boolean hasDeferredBlocks() {
+        return true;
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        OffHeapRecord offHeapRecord = recordFactory.toOffHeapRecord(key, record);
+        long address = offHeapRecord.address();
+        byte[] keyBytes = key.toByteArray();
+
+        SlotAssignmentResult slot = table.ensure(key.hash64());
+        long chainHeadAddress = slot.address();
+        long head = slot.isNew() ? NULL_ADDRESS : mem.getLong(chainHeadAddress);
+        updateTableCost();
+
+        long prev = NULL_ADDRESS;
+        for (long current = head; current != NULL_ADDRESS; current = recordFactory.next(current)) {
+            if (current == address) {
+                // already in place
+                return;
+            }
+            if (recordFactory.keyEquals(current, keyBytes)) {
+                recordFactory.setNext(address, recordFactory.next(current));
+                linkAfter(prev, chainHeadAddress, address);
+                recordFactory.link(address);
+                updateCostEstimate(-entryCostEstimator.calculateEntryCost(key, recordFactory.recordAt(current)));
+                updateCostEstimate(entryCostEstimator.calculateEntryCost(key, offHeapRecord));
+                defer(current);
+                return;
+            }
+            prev = current;
+        }
+
+        recordFactory.setNext(address, head);
+        mem.putLong(chainHeadAddress, address);
+        recordFactory.link(address);
+        size++;
+        updateCostEstimate(entryCostEstimator.calculateEntryCost(key, offHeapRecord));
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+
+        record.setValue(serializationService.toData(value));
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        long address = find(key);
+        return address == NULL_ADDRESS ? null : recordFactory.recordAt(address);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keys are copied into the entry blocks, so a supplied key is never the
+     * stored blob itself and the lookup is done by key bytes like in
+     * {@link #get(Data)}.
+     */
+    @Override
+    public Record getIfSameKey(Data key) {
+        return get(key);
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long keyHash = dataKey.hash64();
+        long chainHeadAddress = table.get(keyHash);
+        if (chainHeadAddress == NULL_ADDRESS) {
+            return;
+        }
+
+        byte[] keyBytes = dataKey.toByteArray();
+        long prev = NULL_ADDRESS;
+        for (long current = mem.getLong(chainHeadAddress); current != NULL_ADDRESS;
+             current = recordFactory.next(current)) {
+            if (recordFactory.keyEquals(current, keyBytes)) {
+                long next = recordFactory.next(current);
+                if (prev == NULL_ADDRESS && next == NULL_ADDRESS) {
+                    table.remove(keyHash);
+                } else {
+                    linkAfter(prev, chainHeadAddress, next);
+                }
+                size--;
+                updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, recordFactory.recordAt(current)));
+                defer(current);
+                return;
+            }
+            prev = current;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return find(key) != NULL_ADDRESS;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The iterator works on a snapshot of the key hashes taken when it is
+     * created, copies the keys of each chain when it reaches it and looks
+     * up each key again before returning it, so it does not hold any
+     * reference into the storage between calls. Entries
+     * present during the whole iteration are returned exactly once, entries
+     * added after the iterator was created are not returned.
+     */
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        long capacity = table.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            for (long address = table.chainHeadOfSlot(slot); address != NULL_ADDRESS;
+                 address = recordFactory.next(address)) {
+                defer(address);
+            }
+        }
+        table.clear();
+        size = 0;
+
+        if (isDuringShutdown) {
+            disposeDeferredBlocks();
+        }
+
+        entryCostEstimator.reset();
+        tableCost = 0;
+        updateTableCost();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+        disposeDeferredBlocks();
+        table.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        // the pending records are checked first, the deferred ones may be among them
+        recordFactory.disposePendingRecords();
+        for (int i = 0; i < deferredCount; i++) {
+            recordFactory.disposeDeferred(deferredBlocks[i]);
+        }
+        deferredCount = 0;
+        if (deferredBlocks.length > INITIAL_DEFERRED_CAPACITY) {
+            deferredBlocks = new long[INITIAL_DEFERRED_CAPACITY];
+        }
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(Math.min(sampleCount, size));
+        long capacity = table.capacity();
+        long firstSlot = ThreadLocalRandomProvider.get().nextInt((int) capacity);
+        long slot = firstSlot;
+        do {
+            for (long address = table.chainHeadOfSlot(slot); address != NULL_ADDRESS;
+                 address = recordFactory.next(address)) {
+                Data key = recordFactory.readKey(address);
+                samples.add(new LazyEvictableEntryView<>(key, recordFactory.recordAt(address),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+                if (samples.size() == sampleCount) {
+                    return samples;
+                }
+            }
+            slot = (slot + 1) & (capacity - 1);
+        } while (slot != firstSlot);
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                address -> keys.add(recordFactory.readKey(address)));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                address -> entries.add(new AbstractMap.SimpleEntry<>(recordFactory.readKey(address),
+                        recordFactory.readValue(address))));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Visits the slots from the last one to the first one, the same way
+     * {@link com.hazelcast.internal.util.SampleableConcurrentHashMap} visits its
+     * buckets. When the table is resized between calls, a new pointer is added
+     * and entries whose home slot was already passed in a previous table are
+     * skipped.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, LongConsumer entryConsumer) {
+        int capacity = (int) table.capacity();
+        IterationPointer[] newPointers = checkPointers(pointers, capacity);
+        IterationPointer lastPointer = newPointers[newPointers.length - 1];
+
+        int nextSlot = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex() : capacity - 1;
+        int counter = 0;
+        while (nextSlot >= 0 && counter < size) {
+            long slot = nextSlot--;
+            long head = table.chainHeadOfSlot(slot);
+            if (head == NULL_ADDRESS || !hasNotBeenObserved(table.keyHashOfSlot(slot), newPointers)) {
+                continue;
+            }
+            for (long address = head; address != NULL_ADDRESS; address = recordFactory.next(address)) {
+                entryConsumer.accept(address);
+                counter++;
+            }
+        }
+        lastPointer.setIndex(nextSlot);
+        return newPointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean tableResized = lastPointer.getSize() != currentCapacity;
+        // clone pointers to avoid mutating given reference
+        // add new pointer if resize happened during iteration
+        int newLength = !iterationStarted && tableResized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+
+        // reset last pointer if we haven't started iteration or there was a resize
+        if (iterationStarted || tableResized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    private static boolean hasNotBeenObserved(long keyHash, IterationPointer[] pointers) {
+        // check only the pointers up to the last, we haven't observed it with the last pointer.
+        // Probing only moves a key forward from its home slot, so a key whose home slot
+        // was above a previous pointer has been observed with that pointer.
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            if (homeSlotOf(keyHash, pointer.getSize()) > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long find(Data key) {
+        return find(key.hash64(), key.toByteArray());
+    }
+
+    private long find(long keyHash, byte[] keyBytes) {
+        long chainHeadAddress = table.get(keyHash);
+        if (chainHeadAddress == NULL_ADDRESS) {
+            return NULL_ADDRESS;
+        }
+        return findInChain(mem.getLong(chainHeadAddress), keyBytes);
+    }
+
+    private long findInChain(long head, byte[] keyBytes) {
+        for (long address = head; address != NULL_ADDRESS; address = recordFactory.next(address)) {
+            if (recordFactory.keyEquals(address, keyBytes)) {
+                return address;
+            }
+        }
+        return NULL_ADDRESS;
+    }
+
+    private void linkAfter(long prev, long chainHeadAddress, long address) {
+        if (prev == NULL_ADDRESS) {
+            mem.putLong(chainHeadAddress, address);
+        } else {
+            recordFactory.setNext(prev, address);
+        }
+    }
+
+    private void defer(long address) {
+        if (!recordFactory.unlink(address)) {
+            return;
+        }
+        if (deferredCount == deferredBlocks.length) {
+            deferredBlocks = Arrays.copyOf(deferredBlocks, deferredCount << 1);
+        }
+        deferredBlocks[deferredCount++] = address;
+    }
+
+    private void updateTableCost() {
+        long newTableCost = HEADER_SIZE + table.capacity() * SLOT_LENGTH;
+        updateCostEstimate(newTableCost - tableCost);
+        tableCost = newTableCost;
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    /**
+     * Iterates over a snapshot of the key hashes. When a hash is reached,
+     * the keys of its chain are copied and each of them is looked up again
+     * when it is returned, so entries put at the head of the chain or
+     * removed from it in the meantime don't shift the iteration.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final long[] keyHashes;
+        private final List<Data> chainKeys = new ArrayList<>();
+        private int hashIndex = -1;
+        private int chainIndex;
+        private Map.Entry<Data, Record> next;
+
+        EntryIterator() {
+            keyHashes = new long[(int) table.size()];
+            HashSlotCursor8byteKey cursor = table.cursor();
+            int i = 0;
+            while (cursor.advance()) {
+                keyHashes[i++] = cursor.key();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Data, Record> entry = next;
+            next = null;
+            return entry;
+        }
+
+        private Map.Entry<Data, Record> advance() {
+            while (true) {
+                while (chainIndex < chainKeys.size()) {
+                    Data key = chainKeys.get(chainIndex++);
+                    long address = find(keyHashes[hashIndex], key.toByteArray());
+                    if (address != NULL_ADDRESS) {
+                        return new AbstractMap.SimpleImmutableEntry<>(key, recordFactory.recordAt(address));
+                    }
+                }
+                if (++hashIndex >= keyHashes.length) {
+                    return null;
+                }
+                copyChainKeys(keyHashes[hashIndex]);
+            }
+        }
+
+        private void copyChainKeys(long keyHash) {
+            chainKeys.clear();
+            chainIndex = 0;
+            long chainHeadAddress = table.get(keyHash);
+            if (chainHeadAddress == NULL_ADDRESS) {
+                return;
+            }
+            for (long address = mem.getLong(chainHeadAddress); address != NULL_ADDRESS;
+                 address = recordFactory.next(address)) {
+                chainKeys.add(recordFactory.readKey(address));
+            }
+        }
+    }
+}
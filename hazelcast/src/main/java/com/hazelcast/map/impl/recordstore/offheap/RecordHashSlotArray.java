@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_LOAD_FACTOR;
+
+/**
+ * Open-addressing table from the 64-bit hash of a key to the head of the
+ * chain of entry blocks sharing that hash. An unassigned slot has a
+ * {@link com.hazelcast.internal.memory.MemoryAllocator#NULL_ADDRESS NULL_ADDRESS}
+ * chain head.
+ * <p>
+ * Adds slot-level access on top of {@link HashSlotArray8byteKeyImpl}, which is
+ * needed for random sampling and for resumable iteration.
+ */
+class RecordHashSlotArray extends HashSlotArray8byteKeyImpl {
+
+    /**
+     * Number of bytes used by a single slot: the key hash and the chain head.
+     */
+    static final int SLOT_LENGTH = 2 * LONG_SIZE_IN_BYTES;
+
+    private static final int CHAIN_HEAD_OFFSET = LONG_SIZE_IN_BYTES;
+
+    RecordHashSlotArray(MemoryManager mm, int initialCapacity) {
+        super(NULL_ADDRESS, mm, LONG_SIZE_IN_BYTES, initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @return head of the chain stored in the given slot or
+     * {@code NULL_ADDRESS} if the slot is not assigned
+     */
+    long chainHeadOfSlot(long slot) {
+        return mem().getLong(slotBase(address(), slot) + CHAIN_HEAD_OFFSET);
+    }
+
+    /**
+     * @return key hash stored in the given slot, only
+     * meaningful if the slot is assigned
+     */
+    long keyHashOfSlot(long slot) {
+        return mem().getLong(slotBase(address(), slot));
+    }
+
+    /**
+     * @return the slot a key with the given hash is expected to be found
+     * at in a table of the given capacity, if there are no collisions.
+     */
+    static long homeSlotOf(long keyHash, long capacity) {
+        return fastLongMix(keyHash) & (capacity - 1);
+    }
+}
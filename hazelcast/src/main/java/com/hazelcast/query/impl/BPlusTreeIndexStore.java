@@ -0,0 +1,963 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.SortedIndexStructure;
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Stores the entries of sorted indexes in a copy-on-write B+tree instead of a skip list.
+ * <p>
+ * The leaves keep the indexed entries in sorted arrays ordered by the
+ * attribute value and then by the entry key, so scanning a range reads
+ * adjacent array slots instead of chasing the nodes of a skip list and of a
+ * nested map per value, and an indexed entry costs a few array slots only.
+ * <p>
+ * Mutations copy the path from the root to the modified leaf and publish the
+ * new root, readers don't copy anything: the SQL iterators stream from the tree
+ * observed when they were created. Since a mutation copies up to a node worth
+ * of references per tree level, the store suits read-mostly maps.
+ *
+ * @see SortedIndexStructure#B_PLUS_TREE
+ */
+@SuppressWarnings("rawtypes")
+public class BPlusTreeIndexStore extends BaseSingleValueIndexStore {
+
+    /**
+     * Maximum number of entries in a leaf and of children of an inner node.
+     */
+    static final int NODE_CAPACITY = 64;
+
+    /**
+     * Nodes smaller than this are merged with a sibling if the result fits
+     * into a single node.
+     */
+    private static final int MERGE_THRESHOLD = NODE_CAPACITY / 4;
+
+    private static final Leaf EMPTY = new Leaf(new Comparable[0], new Data[0], new QueryableEntry[0]);
+
+    private static final Inner EMPTY_INNER = new Inner(new Node[0], new Comparable[0], new Data[0]);
+
+    private volatile Node root = EMPTY;
+
+    /**
+     * The entry replaced or removed by the last mutation, guarded by the
+     * write lock.
+     */
+    private QueryableEntry lastPrevious;
+
+    public BPlusTreeIndexStore(IndexCopyBehavior copyOn) {
+        super(copyOn, true);
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        lastPrevious = null;
+        Node[] nodes = insert(root, value, record.getKeyData(), record);
+        root = nodes.length == 1 ? nodes[0] : Inner.of(nodes[0], nodes[1]);
+        return lastPrevious;
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        lastPrevious = null;
+        Node node = remove(root, value, recordKey);
+        while (node instanceof Inner inner && inner.size() == 1) {
+            node = inner.children[0];
+        }
+        root = node.size() == 0 ? EMPTY : node;
+        return lastPrevious;
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // We still need to canonicalize query arguments for ordered indexes to
+        // support InPredicate queries.
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        // Returning the original value since ordered indexes are not supporting
+        // hash lookups on their stored values, so there is no need in providing
+        // canonical representations.
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            root = EMPTY;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new EntryIterator(scanAll(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(@Nonnull Comparable value) {
+        return new EntryIterator(scanValue(value, false, null));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable searchedValue, boolean descending) {
+        Scan scan = scanComparison(comparison, searchedValue, descending, null);
+        return scan == null ? emptyIterator() : new EntryIterator(scan);
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        Scan scan = scanRange(from, fromInclusive, to, toInclusive, descending, null);
+        return scan == null ? emptyIterator() : new EntryIterator(scan);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable value, boolean descending) {
+        return getSqlRecordIteratorBatch(value, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable value,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        return new BatchIterator(scanValue(value, descending, lastEntryKeyData));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        return new BatchIterator(scanAll(descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(comparison, searchedValue, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        Scan scan = scanComparison(comparison, searchedValue, descending, lastEntryKeyData);
+        return scan == null ? emptyIterator() : new BatchIterator(scan);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        Scan scan = scanRange(from, fromInclusive, to, toInclusive, descending, lastEntryKeyData);
+        return scan == null ? emptyIterator() : new BatchIterator(scan);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            return toSingleResultSet(collect(scanValue(value, false, null)));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            for (Comparable value : values) {
+                Map<Data, QueryableEntry> records = collect(scanValue(value, false, null));
+                if (records != null) {
+                    copyToMultiResultSet(results, records);
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        switch (comparison) {
+            case LESS:
+                return getRecords(NULL, false, searchedValue, false);
+            case LESS_OR_EQUAL:
+                return getRecords(NULL, false, searchedValue, true);
+            case GREATER:
+                return getRecords(searchedValue, false, POSITIVE_INFINITY, true);
+            case GREATER_OR_EQUAL:
+                return getRecords(searchedValue, true, POSITIVE_INFINITY, true);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            Scan scan = scanRange(from, fromInclusive, to, toInclusive, false, null);
+            if (scan == null) {
+                return emptySet();
+            }
+            MultiResultSet results = createMultiResultSet();
+            Map<Data, QueryableEntry> records = collect(scan);
+            if (records != null) {
+                copyToMultiResultSet(results, records);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private static Map<Data, QueryableEntry> collect(Scan scan) {
+        Map<Data, QueryableEntry> records = null;
+        for (; scan.hasCurrent(); scan.advance()) {
+            if (records == null) {
+                records = new HashMap<>();
+            }
+            records.put(scan.cursor.key(), scan.cursor.entry());
+        }
+        return records;
+    }
+
+    // scans
+
+    private Scan scanAll(boolean descending) {
+        Cursor cursor = new Cursor(root);
+        if (descending) {
+            cursor.last();
+        } else {
+            cursor.first();
+        }
+        return new Scan(cursor, descending, null);
+    }
+
+    private Scan scanValue(Comparable value, boolean descending, Data lastEntryKeyData) {
+        Cursor cursor = new Cursor(root);
+        if (descending) {
+            cursor.seek(lastEntryKeyData == null ? atOrBefore(value, true) : before(value, lastEntryKeyData, false));
+            cursor.previous();
+            return new Scan(cursor, true, atOrBefore(value, false));
+        } else {
+            cursor.seek(lastEntryKeyData == null ? atOrBefore(value, false) : before(value, lastEntryKeyData, true));
+            return new Scan(cursor, false, atOrBefore(value, true));
+        }
+    }
+
+    private Scan scanComparison(Comparison comparison, Comparable searchedValue, boolean descending,
+                                Data lastEntryKeyData) {
+        switch (comparison) {
+            case LESS:
+                return scanRange(NULL, false, searchedValue, false, descending, lastEntryKeyData);
+            case LESS_OR_EQUAL:
+                return scanRange(NULL, false, searchedValue, true, descending, lastEntryKeyData);
+            case GREATER:
+                return scanRange(searchedValue, false, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            case GREATER_OR_EQUAL:
+                return scanRange(searchedValue, true, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    /**
+     * Returns the scan of the given range or {@code null} if the range is
+     * empty.
+     */
+    private Scan scanRange(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                           boolean descending, Data lastEntryKeyData) {
+        boolean useCursor = lastEntryKeyData != null;
+        if (useCursor && !descending && !fromInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `from` must be inclusive");
+        }
+        if (useCursor && descending && !toInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `to` must be inclusive");
+        }
+
+        int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return null;
+            }
+            return scanValue(from, descending, lastEntryKeyData);
+        } else if (order > 0) {
+            return null;
+        }
+
+        Cursor cursor = new Cursor(root);
+        if (descending) {
+            cursor.seek(useCursor ? before(to, lastEntryKeyData, false) : atOrBefore(to, toInclusive));
+            cursor.previous();
+            return new Scan(cursor, true, atOrBefore(from, !fromInclusive));
+        } else {
+            cursor.seek(useCursor ? before(from, lastEntryKeyData, true) : atOrBefore(from, !fromInclusive));
+            return new Scan(cursor, false, atOrBefore(to, toInclusive));
+        }
+    }
+
+    // tree mutations, invoked under the write lock
+
+    private static int compare(Comparable value1, Data key1, Comparable value2, Data key2) {
+        int order = SPECIAL_AWARE_COMPARATOR.compare(value1, value2);
+        return order != 0 ? order : DATA_COMPARATOR.compare(key1, key2);
+    }
+
+    private Node[] insert(Node node, Comparable value, Data key, QueryableEntry entry) {
+        if (node instanceof Leaf leaf) {
+            int position = leaf.position(before(value, key, false));
+            if (position < leaf.size() && compare(leaf.values[position], leaf.keys[position], value, key) == 0) {
+                lastPrevious = leaf.entries[position];
+                return new Node[]{leaf.replace(position, value, entry)};
+            }
+            return leaf.insert(position, value, key, entry);
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndex(before(value, key, true));
+        Node[] children = insert(inner.children[childIndex], value, key, entry);
+        return inner.replace(childIndex, children);
+    }
+
+    private Node remove(Node node, Comparable value, Data key) {
+        if (node instanceof Leaf leaf) {
+            int position = leaf.position(before(value, key, false));
+            if (position == leaf.size() || compare(leaf.values[position], leaf.keys[position], value, key) != 0) {
+                return leaf;
+            }
+            lastPrevious = leaf.entries[position];
+            return leaf.remove(position);
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndex(before(value, key, true));
+        Node child = inner.children[childIndex];
+        Node newChild = remove(child, value, key);
+        return newChild == child ? inner : inner.replace(childIndex, newChild);
+    }
+
+    // bounds
+
+    /**
+     * Tells whether an entry of the tree precedes a position being searched
+     * for. The entries for which it returns {@code true} must form a prefix of
+     * the tree.
+     */
+    @FunctionalInterface
+    private interface Bound {
+        boolean precedes(Comparable value, Data key);
+    }
+
+    /**
+     * Entries with values less than the given value, or equal to it if
+     * {@code inclusive} is set.
+     */
+    private static Bound atOrBefore(Comparable value, boolean inclusive) {
+        return inclusive
+                ? (entryValue, entryKey) -> SPECIAL_AWARE_COMPARATOR.compare(entryValue, value) <= 0
+                : (entryValue, entryKey) -> SPECIAL_AWARE_COMPARATOR.compare(entryValue, value) < 0;
+    }
+
+    /**
+     * Entries ordered before the given value and key, or equal to them if
+     * {@code inclusive} is set.
+     */
+    private static Bound before(Comparable value, Data key, boolean inclusive) {
+        return inclusive
+                ? (entryValue, entryKey) -> compare(entryValue, entryKey, value, key) <= 0
+                : (entryValue, entryKey) -> compare(entryValue, entryKey, value, key) < 0;
+    }
+
+    // nodes, immutable once published
+
+    private abstract static class Node {
+
+        abstract int size();
+
+        abstract Comparable firstValue();
+
+        abstract Data firstKey();
+    }
+
+    private static final class Leaf extends Node {
+        private final Comparable[] values;
+        private final Data[] keys;
+        private final QueryableEntry[] entries;
+
+        Leaf(Comparable[] values, Data[] keys, QueryableEntry[] entries) {
+            this.values = values;
+            this.keys = keys;
+            this.entries = entries;
+        }
+
+        @Override
+        int size() {
+            return keys.length;
+        }
+
+        @Override
+        Comparable firstValue() {
+            return values[0];
+        }
+
+        @Override
+        Data firstKey() {
+            return keys[0];
+        }
+
+        /**
+         * Returns the number of entries preceding the given bound.
+         */
+        int position(Bound bound) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (bound.precedes(values[middle], keys[middle])) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        Leaf replace(int position, Comparable value, QueryableEntry entry) {
+            Comparable[] newValues = values.clone();
+            QueryableEntry[] newEntries = entries.clone();
+            newValues[position] = value;
+            newEntries[position] = entry;
+            return new Leaf(newValues, keys, newEntries);
+        }
+
+        Node[] insert(int position, Comparable value, Data key, QueryableEntry entry) {
+            int size = size() + 1;
+            Comparable[] newValues = new Comparable[size];
+            Data[] newKeys = new Data[size];
+            QueryableEntry[] newEntries = new QueryableEntry[size];
+            copyWithGap(values, newValues, position);
+            copyWithGap(keys, newKeys, position);
+            copyWithGap(entries, newEntries, position);
+            newValues[position] = value;
+            newKeys[position] = key;
+            newEntries[position] = entry;
+
+            if (size <= NODE_CAPACITY) {
+                return new Node[]{new Leaf(newValues, newKeys, newEntries)};
+            }
+            int half = size / 2;
+            return new Node[]{
+                    new Leaf(copyOfRange(newValues, 0, half), copyOfRange(newKeys, 0, half),
+                            copyOfRange(newEntries, 0, half)),
+                    new Leaf(copyOfRange(newValues, half, size), copyOfRange(newKeys, half, size),
+                            copyOfRange(newEntries, half, size))
+            };
+        }
+
+        Leaf remove(int position) {
+            return new Leaf(copyWithout(values, position), copyWithout(keys, position), copyWithout(entries, position));
+        }
+
+        Leaf merge(Leaf next) {
+            return new Leaf(concat(values, next.values), concat(keys, next.keys), concat(entries, next.entries));
+        }
+    }
+
+    private static final class Inner extends Node {
+        private final Node[] children;
+        /**
+         * {@code separatorValues[i]} and {@code separatorKeys[i]} are ordered
+         * after all entries of {@code children[i]} and at or before all entries
+         * of {@code children[i + 1]}.
+         */
+        private final Comparable[] separatorValues;
+        private final Data[] separatorKeys;
+
+        Inner(Node[] children, Comparable[] separatorValues, Data[] separatorKeys) {
+            this.children = children;
+            this.separatorValues = separatorValues;
+            this.separatorKeys = separatorKeys;
+        }
+
+        static Inner of(Node left, Node right) {
+            return new Inner(new Node[]{left, right}, new Comparable[]{right.firstValue()}, new Data[]{right.firstKey()});
+        }
+
+        @Override
+        int size() {
+            return children.length;
+        }
+
+        @Override
+        Comparable firstValue() {
+            return children[0].firstValue();
+        }
+
+        @Override
+        Data firstKey() {
+            return children[0].firstKey();
+        }
+
+        /**
+         * Returns the index of the child containing the first entry which
+         * doesn't precede the given bound, or of the child before it.
+         */
+        int childIndex(Bound bound) {
+            int low = 0;
+            int high = separatorKeys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (bound.precedes(separatorValues[middle], separatorKeys[middle])) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Replaces the child at the given index by the given one or two nodes,
+         * splitting this node if it overflows.
+         */
+        Node[] replace(int index, Node[] nodes) {
+            if (nodes.length == 1) {
+                Node[] newChildren = children.clone();
+                newChildren[index] = nodes[0];
+                return new Node[]{new Inner(newChildren, separatorValues, separatorKeys)};
+            }
+
+            int size = size() + 1;
+            Node[] newChildren = new Node[size];
+            Comparable[] newSeparatorValues = new Comparable[size - 1];
+            Data[] newSeparatorKeys = new Data[size - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = nodes[0];
+            newChildren[index + 1] = nodes[1];
+            System.arraycopy(children, index + 1, newChildren, index + 2, children.length - index - 1);
+            copyWithGap(separatorValues, newSeparatorValues, index);
+            copyWithGap(separatorKeys, newSeparatorKeys, index);
+            newSeparatorValues[index] = nodes[1].firstValue();
+            newSeparatorKeys[index] = nodes[1].firstKey();
+
+            if (size <= NODE_CAPACITY) {
+                return new Node[]{new Inner(newChildren, newSeparatorValues, newSeparatorKeys)};
+            }
+            // the separator between the halves is re-derived by the parent
+            int half = size / 2;
+            return new Node[]{
+                    new Inner(copyOfRange(newChildren, 0, half), copyOfRange(newSeparatorValues, 0, half - 1),
+                            copyOfRange(newSeparatorKeys, 0, half - 1)),
+                    new Inner(copyOfRange(newChildren, half, size), copyOfRange(newSeparatorValues, half, size - 1),
+                            copyOfRange(newSeparatorKeys, half, size - 1))
+            };
+        }
+
+        /**
+         * Replaces the child at the given index by the given node after a
+         * removal, dropping the child if it became empty and merging it with
+         * a sibling if it became small.
+         */
+        Inner replace(int index, Node node) {
+            if (node.size() == 0) {
+                if (children.length == 1) {
+                    // the parent drops this node in turn
+                    return EMPTY_INNER;
+                }
+                int separator = index == 0 ? 0 : index - 1;
+                return new Inner(copyWithout(children, index), copyWithout(separatorValues, separator),
+                        copyWithout(separatorKeys, separator));
+            }
+
+            Node[] newChildren = children.clone();
+            newChildren[index] = node;
+            Inner inner = new Inner(newChildren, separatorValues, separatorKeys);
+            if (node.size() >= MERGE_THRESHOLD || children.length == 1) {
+                return inner;
+            }
+            int left = index + 1 < children.length ? index : index - 1;
+            return inner.mergeIfFits(left);
+        }
+
+        private Inner mergeIfFits(int left) {
+            Node leftChild = children[left];
+            Node rightChild = children[left + 1];
+            if (leftChild.size() + rightChild.size() > NODE_CAPACITY) {
+                return this;
+            }
+
+            Node merged;
+            if (leftChild instanceof Leaf leftLeaf) {
+                merged = leftLeaf.merge((Leaf) rightChild);
+            } else {
+                Inner leftInner = (Inner) leftChild;
+                Inner rightInner = (Inner) rightChild;
+                merged = new Inner(concat(leftInner.children, rightInner.children),
+                        concat(leftInner.separatorValues, separatorValues[left], rightInner.separatorValues),
+                        concat(leftInner.separatorKeys, separatorKeys[left], rightInner.separatorKeys));
+            }
+
+            Node[] newChildren = copyWithout(children, left + 1);
+            newChildren[left] = merged;
+            return new Inner(newChildren, copyWithout(separatorValues, left), copyWithout(separatorKeys, left));
+        }
+    }
+
+    // array helpers
+
+    private static <T> void copyWithGap(T[] source, T[] target, int gap) {
+        System.arraycopy(source, 0, target, 0, gap);
+        System.arraycopy(source, gap, target, gap + 1, source.length - gap);
+    }
+
+    private static <T> T[] copyWithout(T[] source, int index) {
+        T[] target = Arrays.copyOf(source, source.length - 1);
+        System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+        return target;
+    }
+
+    private static <T> T[] copyOfRange(T[] source, int from, int to) {
+        return Arrays.copyOfRange(source, from, to);
+    }
+
+    private static <T> T[] concat(T[] first, T[] second) {
+        T[] target = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, target, first.length, second.length);
+        return target;
+    }
+
+    private static <T> T[] concat(T[] first, T middle, T[] second) {
+        T[] target = Arrays.copyOf(first, first.length + 1 + second.length);
+        target[first.length] = middle;
+        System.arraycopy(second, 0, target, first.length + 1, second.length);
+        return target;
+    }
+
+    // iteration
+
+    /**
+     * Position in a tree, moves between the leaves by walking up and down the
+     * path from the root.
+     */
+    private static final class Cursor {
+        private final Node root;
+        private final Inner[] path;
+        private final int[] indexes;
+        private int depth;
+        private Leaf leaf;
+        private int position;
+
+        Cursor(Node root) {
+            this.root = root;
+            int height = 0;
+            for (Node node = root; node instanceof Inner inner; node = inner.children[0]) {
+                height++;
+            }
+            this.path = new Inner[height];
+            this.indexes = new int[height];
+        }
+
+        boolean isValid() {
+            return leaf != null;
+        }
+
+        Comparable value() {
+            return leaf.values[position];
+        }
+
+        Data key() {
+            return leaf.keys[position];
+        }
+
+        QueryableEntry entry() {
+            return leaf.entries[position];
+        }
+
+        void first() {
+            depth = 0;
+            descend(root, true);
+        }
+
+        void last() {
+            depth = 0;
+            descend(root, false);
+        }
+
+        /**
+         * Moves to the first entry which doesn't precede the given bound.
+         */
+        void seek(Bound bound) {
+            depth = 0;
+            Node node = root;
+            while (node instanceof Inner inner) {
+                int index = inner.childIndex(bound);
+                path[depth] = inner;
+                indexes[depth++] = index;
+                node = inner.children[index];
+            }
+            leaf = (Leaf) node;
+            position = leaf.position(bound);
+            if (position == leaf.size()) {
+                nextLeaf();
+            }
+        }
+
+        void next() {
+            if (++position == leaf.size()) {
+                nextLeaf();
+            }
+        }
+
+        /**
+         * Moves to the previous entry, from the position after the last entry
+         * as well.
+         */
+        void previous() {
+            if (leaf == null) {
+                last();
+            } else if (--position < 0) {
+                previousLeaf();
+            }
+        }
+
+        private void descend(Node node, boolean leftmost) {
+            while (node instanceof Inner inner) {
+                int index = leftmost ? 0 : inner.size() - 1;
+                path[depth] = inner;
+                indexes[depth++] = index;
+                node = inner.children[index];
+            }
+            leaf = (Leaf) node;
+            if (leaf.size() == 0) {
+                // only an empty root can be an empty leaf
+                leaf = null;
+            } else {
+                position = leftmost ? 0 : leaf.size() - 1;
+            }
+        }
+
+        private void nextLeaf() {
+            int level = depth - 1;
+            while (level >= 0 && indexes[level] == path[level].size() - 1) {
+                level--;
+            }
+            if (level < 0) {
+                leaf = null;
+                return;
+            }
+            indexes[level]++;
+            depth = level + 1;
+            descend(path[level].children[indexes[level]], true);
+        }
+
+        private void previousLeaf() {
+            int level = depth - 1;
+            while (level >= 0 && indexes[level] == 0) {
+                level--;
+            }
+            if (level < 0) {
+                leaf = null;
+                return;
+            }
+            indexes[level]--;
+            depth = level + 1;
+            descend(path[level].children[indexes[level]], false);
+        }
+    }
+
+    /**
+     * Walks a cursor in one direction until it leaves the scanned range.
+     */
+    private static final class Scan {
+        private final Cursor cursor;
+        private final boolean descending;
+        /**
+         * Bound of the end of the scan: ascending scans stop at the first
+         * entry not preceding it, descending scans at the first entry
+         * preceding it. {@code null} for unbounded scans.
+         */
+        private final Bound end;
+
+        Scan(Cursor cursor, boolean descending, Bound end) {
+            this.cursor = cursor;
+            this.descending = descending;
+            this.end = end;
+        }
+
+        boolean hasCurrent() {
+            if (!cursor.isValid()) {
+                return false;
+            }
+            return end == null || end.precedes(cursor.value(), cursor.key()) != descending;
+        }
+
+        void advance() {
+            if (descending) {
+                cursor.previous();
+            } else {
+                cursor.next();
+            }
+        }
+    }
+
+    private static final class EntryIterator implements Iterator<QueryableEntry> {
+        private final Scan scan;
+
+        EntryIterator(Scan scan) {
+            this.scan = scan;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return scan.hasCurrent();
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!scan.hasCurrent()) {
+                throw new NoSuchElementException();
+            }
+            QueryableEntry entry = scan.cursor.entry();
+            scan.advance();
+            return entry;
+        }
+    }
+
+    /**
+     * Groups the entries of a scan by their values. The entries of a group
+     * not consumed before moving to the next group are skipped.
+     */
+    private static final class BatchIterator implements Iterator<IndexKeyEntries> {
+        private final Scan scan;
+        private Comparable groupValue;
+        private int group;
+
+        BatchIterator(Scan scan) {
+            this.scan = scan;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (groupValue != null) {
+                while (inGroup()) {
+                    scan.advance();
+                }
+                groupValue = null;
+            }
+            return scan.hasCurrent();
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            groupValue = scan.cursor.value();
+            int currentGroup = ++group;
+            return new IndexKeyEntries(groupValue, new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return currentGroup == group && inGroup();
+                }
+
+                @Override
+                public QueryableEntry next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    QueryableEntry entry = scan.cursor.entry();
+                    scan.advance();
+                    return entry;
+                }
+            });
+        }
+
+        private boolean inGroup() {
+            return groupValue != null && scan.hasCurrent()
+                    && SPECIAL_AWARE_COMPARATOR.compare(scan.cursor.value(), groupValue) == 0;
+        }
+    }
+}
@@ -133,6 +133,10 @@ public final class IndexUtils {
             normalizedConfig.getBitmapIndexOptions().setUniqueKey(uniqueKey).setUniqueKeyTransformation(uniqueKeyTransformation);
         }
 
+        if (config.getType() == IndexType.SORTED) {
+            normalizedConfig.setSortedIndexStructure(config.getSortedIndexStructure());
+        }
+
         return normalizedConfig;
     }
 
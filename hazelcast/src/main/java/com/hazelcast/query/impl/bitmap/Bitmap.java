@@ -26,8 +26,10 @@ import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -36,16 +38,20 @@ import java.util.Map;
  * {@code long} key provided externally.
  * <p>
  * Internally, each bitmap manages a set of sparse bit sets, one for each
- * possible attribute value, and a sparse array to map from unique {@code long}
- * entry keys back to entries.
+ * possible attribute value, a sparse bit set of all the entry keys and a sparse
+ * array to map from unique {@code long} entry keys back to entries.
  *
  * @param <E> the type of entries being indexed.
  */
 @SuppressWarnings("rawtypes")
 public final class Bitmap<E> {
 
+    private static final SparseBitSet EMPTY = new SparseBitSet();
+
     private final Map<Object, SparseBitSet> bitSets = new HashMap<>();
 
+    private final SparseBitSet keys = new SparseBitSet();
+
     private final SparseArray<E> entries = new SparseArray<>();
 
     // Note! At the moment bitmap index doesn't support memory statistics,
@@ -71,6 +77,7 @@ public final class Bitmap<E> {
             bitSet.add(key);
         }
 
+        keys.add(key);
         entries.set(key, entry);
     }
 
@@ -128,6 +135,7 @@ public final class Bitmap<E> {
             operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
         }
 
+        keys.remove(key);
         entries.clear(key);
     }
 
@@ -136,6 +144,7 @@ public final class Bitmap<E> {
      */
     public void clear() {
         bitSets.clear();
+        keys.clear();
         entries.clear();
     }
 
@@ -153,18 +162,18 @@ public final class Bitmap<E> {
      * @return an iterator containing entries matching the given predicate.
      */
     public Iterator<E> evaluate(Predicate predicate, TypeConverter converter) {
-        return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
+        return new EntryIterator<>(predicateBitSet(predicate, converter).iterator(), entries.iterator());
     }
 
     @SuppressWarnings("checkstyle:npathcomplexity")
-    private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
+    private SparseBitSet predicateBitSet(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate andPredicate) {
             Predicate[] predicates = andPredicate.getPredicates();
             assert predicates.length > 0;
             if (predicates.length == 1) {
-                return predicateIterator(predicates[0], converter);
+                return predicateBitSet(predicates[0], converter);
             } else {
-                return BitmapAlgorithms.and(predicateIterators(predicates, converter));
+                return andBitSet(predicates, converter);
             }
         }
 
@@ -172,54 +181,77 @@ public final class Bitmap<E> {
             Predicate[] predicates = orPredicate.getPredicates();
             assert predicates.length > 0;
             if (predicates.length == 1) {
-                return predicateIterator(predicates[0], converter);
+                return predicateBitSet(predicates[0], converter);
             } else {
-                return BitmapAlgorithms.or(predicateIterators(predicates, converter));
+                return BitmapAlgorithms.or(predicateBitSets(predicates, converter));
             }
         }
 
         if (predicate instanceof NotPredicate notPredicate) {
             Predicate subPredicate = notPredicate.getPredicate();
-            return BitmapAlgorithms.not(predicateIterator(subPredicate, converter), entries);
+            return BitmapAlgorithms.not(predicateBitSet(subPredicate, converter), keys);
         }
 
         if (predicate instanceof NotEqualPredicate notEqualPredicate) {
             Comparable value = notEqualPredicate.getValue();
-            return BitmapAlgorithms.not(valueIterator(value, converter), entries);
+            return BitmapAlgorithms.not(valueBitSet(value, converter), keys);
         }
 
         if (predicate instanceof EqualPredicate equalPredicate) {
             Comparable value = equalPredicate.getFrom();
-            return valueIterator(value, converter);
+            return valueBitSet(value, converter);
         }
 
         if (predicate instanceof InPredicate inPredicate) {
             Comparable[] values = inPredicate.getValues();
-            return BitmapAlgorithms.or(valueIterators(values, converter));
+            return BitmapAlgorithms.or(valueBitSets(values, converter));
         }
 
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
-    private AscendingLongIterator[] predicateIterators(Predicate[] predicates, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[predicates.length];
+    private SparseBitSet andBitSet(Predicate[] predicates, TypeConverter converter) {
+        // Negated predicates are subtracted from the intersection of the other
+        // predicates instead of being negated over all the known keys first.
+
+        List<SparseBitSet> included = new ArrayList<>(predicates.length);
+        List<SparseBitSet> excluded = new ArrayList<>(predicates.length);
+        for (Predicate predicate : predicates) {
+            if (predicate instanceof NotPredicate notPredicate) {
+                excluded.add(predicateBitSet(notPredicate.getPredicate(), converter));
+            } else if (predicate instanceof NotEqualPredicate notEqualPredicate) {
+                excluded.add(valueBitSet(notEqualPredicate.getValue(), converter));
+            } else {
+                included.add(predicateBitSet(predicate, converter));
+            }
+        }
+
+        SparseBitSet result = included.isEmpty() ? keys : BitmapAlgorithms.and(included.toArray(new SparseBitSet[0]));
+        if (!excluded.isEmpty()) {
+            result = BitmapAlgorithms.andNot(result, BitmapAlgorithms.or(excluded.toArray(new SparseBitSet[0])));
+        }
+        return result;
+    }
+
+    private SparseBitSet[] predicateBitSets(Predicate[] predicates, TypeConverter converter) {
+        SparseBitSet[] bitSets = new SparseBitSet[predicates.length];
         for (int i = 0; i < predicates.length; ++i) {
-            iterators[i] = predicateIterator(predicates[i], converter);
+            bitSets[i] = predicateBitSet(predicates[i], converter);
         }
-        return iterators;
+        return bitSets;
     }
 
-    private AscendingLongIterator valueIterator(Comparable value, TypeConverter converter) {
+    private SparseBitSet valueBitSet(Comparable value, TypeConverter converter) {
         SparseBitSet bitSet = bitSets.get(converter.convert(value));
-        return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
+        return bitSet == null ? EMPTY : bitSet;
     }
 
-    private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
+    private SparseBitSet[] valueBitSets(Comparable[] values, TypeConverter converter) {
+        SparseBitSet[] bitSets = new SparseBitSet[values.length];
         for (int i = 0; i < values.length; ++i) {
-            iterators[i] = valueIterator(values[i], converter);
+            bitSets[i] = valueBitSet(values[i], converter);
         }
-        return iterators;
+        return bitSets;
     }
 
     /**
@@ -21,10 +21,13 @@ import static com.hazelcast.query.impl.bitmap.BitmapUtils.capacityDeltaShort;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedInt;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedLong;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.unsignedBinarySearch;
+import static java.lang.Long.bitCount;
 import static java.lang.Long.numberOfTrailingZeros;
 import static java.lang.System.arraycopy;
 import static java.util.Arrays.copyOf;
 
+import java.util.Arrays;
+
 /**
  * Stores a set of bits indexable by non-negative {@code long} indexes.
  * <p>
@@ -42,17 +45,24 @@ import static java.util.Arrays.copyOf;
  * the low 16 bits.
  * </ul>
  * <p>
- * {@link Storage16 Storage16} also goes in two flavors:
+ * {@link Storage16 Storage16} goes in three flavors:
  * <ul>
  * <li>{@link ArrayStorage16 ArrayStorage16} which manages sorted short array of
  * 16-bit postfixes.
  * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
  * long array of bits.
+ * <li>{@link RunStorage16 RunStorage16} which manages sorted short array of
+ * runs of consecutive 16-bit postfixes.
  * </ul>
  * <p>
  * The implementation (which was inspired by Roaring Bitmap) switches between
  * various storage flavors once certain thresholds on storage size are reached.
  * <p>
+ * Intersection, union and difference of bit sets are computed eagerly storage
+ * by storage, 16-bit postfix storages are combined a long word at a time. The
+ * produced bit sets may share storages with the bit sets they were produced
+ * from, so they must not be modified.
+ * <p>
  * Empty storages are never stored by the implementation.
  */
 final class SparseBitSet {
@@ -71,6 +81,22 @@ final class SparseBitSet {
      */
     public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
 
+    /**
+     * The number of runs at which RunStorage16 is converted to BitSetStorage16.
+     * At this number of runs the memory cost of having sorted short array of
+     * runs is equal to the cost of having directly indexable long array of
+     * bits.
+     */
+    public static final int RUN_STORAGE_16_MAX_RUNS = 2048;
+
+    /**
+     * The number of distinct 16-bit postfixes a single Storage16 may hold.
+     */
+    public static final int STORAGE_16_CAPACITY = 64 * 1024;
+
+    // the length of the long array of bits covering all 16-bit postfixes
+    private static final int BIT_SET_16_LENGTH = STORAGE_16_CAPACITY / Long.SIZE;
+
     private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
     private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
     private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
@@ -84,6 +110,8 @@ final class SparseBitSet {
     private int lastPrefix = -1;
     private Storage32 lastStorage;
 
+    private long cardinality;
+
     /**
      * Adds the given member to this bit set.
      *
@@ -94,7 +122,9 @@ final class SparseBitSet {
         int prefix = (int) (member >>> Integer.SIZE);
 
         if (prefix == lastPrefix) {
+            int oldSize = lastStorage.size();
             Storage32 newStorage = lastStorage.add((int) member);
+            cardinality += newStorage.size() - oldSize;
             if (newStorage != lastStorage) {
                 // storage was upgraded
                 lastStorage = newStorage;
@@ -107,8 +137,11 @@ final class SparseBitSet {
                 Storage32 createdStorage = new ArrayStorage32((int) member);
                 lastStorage = createdStorage;
                 storages.set(prefix, createdStorage);
+                ++cardinality;
             } else {
+                int oldSize = storage.size();
                 Storage32 newStorage = storage.add((int) member);
+                cardinality += newStorage.size() - oldSize;
                 if (newStorage == storage) {
                     lastStorage = storage;
                 } else {
@@ -132,11 +165,14 @@ final class SparseBitSet {
         int prefix = (int) (member >>> Integer.SIZE);
 
         if (prefix == lastPrefix) {
+            int oldSize = lastStorage.size();
             if (lastStorage.remove((int) member)) {
+                --cardinality;
                 lastPrefix = -1;
                 lastStorage = null;
                 return storages.clear(prefix);
             } else {
+                cardinality += lastStorage.size() - oldSize;
                 return false;
             }
         } else {
@@ -144,11 +180,14 @@ final class SparseBitSet {
             if (storage == null) {
                 return false;
             }
+            int oldSize = storage.size();
             if (storage.remove((int) member)) {
+                --cardinality;
                 lastPrefix = -1;
                 lastStorage = null;
                 return storages.clear(prefix);
             } else {
+                cardinality += storage.size() - oldSize;
                 lastPrefix = prefix;
                 lastStorage = storage;
                 return false;
@@ -156,6 +195,23 @@ final class SparseBitSet {
         }
     }
 
+    /**
+     * Removes all the members from this bit set.
+     */
+    public void clear() {
+        storages.clear();
+        lastPrefix = -1;
+        lastStorage = null;
+        cardinality = 0;
+    }
+
+    /**
+     * @return the number of members in this bit set.
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
     /**
      * @return an iterator that iterates over all the indexes of bits set in
      * this sparse bit set.
@@ -164,6 +220,303 @@ final class SparseBitSet {
         return new IteratorImpl(storages);
     }
 
+    /**
+     * @return a bit set that represents a result of intersection of the given
+     * bit sets.
+     */
+    public static SparseBitSet and(SparseBitSet bitSet1, SparseBitSet bitSet2) {
+        SparseBitSet result = new SparseBitSet();
+        StorageIterator iterator1 = new StorageIterator(bitSet1);
+        StorageIterator iterator2 = new StorageIterator(bitSet2);
+
+        while (iterator1.prefix != SparseIntArray.Iterator.END && iterator2.prefix != SparseIntArray.Iterator.END) {
+            if (iterator1.prefix < iterator2.prefix) {
+                iterator1.advanceAtLeastTo(iterator2.prefix);
+            } else if (iterator2.prefix < iterator1.prefix) {
+                iterator2.advanceAtLeastTo(iterator1.prefix);
+            } else {
+                result.append(iterator1.prefix, and(iterator1.getValue(), iterator2.getValue()));
+                iterator1.advance();
+                iterator2.advance();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a bit set that represents a result of union over the given bit
+     * sets.
+     */
+    public static SparseBitSet or(SparseBitSet[] bitSets) {
+        SparseBitSet result = new SparseBitSet();
+        StorageIterator[] iterators = new StorageIterator[bitSets.length];
+        for (int i = 0; i < bitSets.length; ++i) {
+            iterators[i] = new StorageIterator(bitSets[i]);
+        }
+        Storage32[] matched = new Storage32[bitSets.length];
+
+        while (true) {
+            long prefix = SparseIntArray.Iterator.END;
+            for (StorageIterator iterator : iterators) {
+                long current = iterator.prefix;
+                if (current != SparseIntArray.Iterator.END && (prefix == SparseIntArray.Iterator.END || current < prefix)) {
+                    prefix = current;
+                }
+            }
+            if (prefix == SparseIntArray.Iterator.END) {
+                return result;
+            }
+
+            // union all the storages sharing the smallest prefix
+            int count = 0;
+            for (StorageIterator iterator : iterators) {
+                if (iterator.prefix == prefix) {
+                    matched[count++] = iterator.getValue();
+                    iterator.advance();
+                }
+            }
+            result.append(prefix, or(matched, count));
+        }
+    }
+
+    /**
+     * @return a bit set that represents members of the given bit set which are
+     * not members of the given excluded bit set.
+     */
+    public static SparseBitSet andNot(SparseBitSet bitSet, SparseBitSet excluded) {
+        SparseBitSet result = new SparseBitSet();
+        StorageIterator iterator = new StorageIterator(bitSet);
+        StorageIterator excludedIterator = new StorageIterator(excluded);
+
+        while (iterator.prefix != SparseIntArray.Iterator.END) {
+            long prefix = iterator.prefix;
+            if (excludedIterator.prefix != SparseIntArray.Iterator.END && excludedIterator.prefix < prefix) {
+                excludedIterator.advanceAtLeastTo(prefix);
+            }
+
+            if (excludedIterator.prefix == prefix) {
+                result.append(prefix, andNot(iterator.getValue(), excludedIterator.getValue()));
+            } else {
+                result.append(prefix, iterator.getValue());
+            }
+            iterator.advance();
+        }
+        return result;
+    }
+
+    /**
+     * Appends the given storage to this bit set. The given prefix must be
+     * greater than any prefix already known by this bit set.
+     */
+    private void append(long prefix, Storage32 storage) {
+        if (storage != null) {
+            storages.set((int) prefix, storage);
+            cardinality += storage.size();
+        }
+    }
+
+    private static Storage32 and(Storage32 storage1, Storage32 storage2) {
+        // array storages are just filtered by probing the other storage
+        if (storage1 instanceof ArrayStorage32 arrayStorage) {
+            return arrayStorage.filter(storage2, true);
+        }
+        if (storage2 instanceof ArrayStorage32 arrayStorage) {
+            return arrayStorage.filter(storage1, true);
+        }
+
+        PrefixStorage32 prefixStorage1 = (PrefixStorage32) storage1;
+        PrefixStorage32 prefixStorage2 = (PrefixStorage32) storage2;
+        PrefixStorage32 result = new PrefixStorage32();
+        int position1 = 0;
+        int position2 = 0;
+        while (position1 < prefixStorage1.size && position2 < prefixStorage2.size) {
+            int prefix1 = toUnsignedInt(prefixStorage1.prefixes[position1]);
+            int prefix2 = toUnsignedInt(prefixStorage2.prefixes[position2]);
+            if (prefix1 < prefix2) {
+                ++position1;
+            } else if (prefix2 < prefix1) {
+                ++position2;
+            } else {
+                result.append(prefixStorage1.prefixes[position1],
+                        and(prefixStorage1.storages[position1], prefixStorage2.storages[position2]));
+                ++position1;
+                ++position2;
+            }
+        }
+        return result.size == 0 ? null : result;
+    }
+
+    private static Storage32 or(Storage32[] storages, int count) {
+        if (count == 1) {
+            return storages[0];
+        }
+
+        int arraySize = 0;
+        for (int i = 0; i < count && arraySize <= ARRAY_STORAGE_32_MAX_SIZE; ++i) {
+            Storage32 storage = storages[i];
+            arraySize = storage instanceof ArrayStorage32 ? arraySize + storage.size() : Integer.MAX_VALUE;
+        }
+        if (arraySize <= ARRAY_STORAGE_32_MAX_SIZE) {
+            // the union of small array storages is still a small array storage
+            return ArrayStorage32.union(storages, count, arraySize);
+        }
+
+        PrefixStorage32[] prefixStorages = new PrefixStorage32[count];
+        for (int i = 0; i < count; ++i) {
+            prefixStorages[i] = PrefixStorage32.of(storages[i]);
+        }
+        int[] positions = new int[count];
+        Storage16[] matched = new Storage16[count];
+
+        PrefixStorage32 result = new PrefixStorage32();
+        while (true) {
+            int prefix = -1;
+            for (int i = 0; i < count; ++i) {
+                PrefixStorage32 prefixStorage = prefixStorages[i];
+                int position = positions[i];
+                if (position < prefixStorage.size) {
+                    int current = toUnsignedInt(prefixStorage.prefixes[position]);
+                    if (prefix == -1 || current < prefix) {
+                        prefix = current;
+                    }
+                }
+            }
+            if (prefix == -1) {
+                return result;
+            }
+
+            // union all the storages sharing the smallest prefix
+            int matchedCount = 0;
+            for (int i = 0; i < count; ++i) {
+                PrefixStorage32 prefixStorage = prefixStorages[i];
+                int position = positions[i];
+                if (position < prefixStorage.size && toUnsignedInt(prefixStorage.prefixes[position]) == prefix) {
+                    matched[matchedCount++] = prefixStorage.storages[position];
+                    positions[i] = position + 1;
+                }
+            }
+            result.append((short) prefix, or(matched, matchedCount));
+        }
+    }
+
+    private static Storage32 andNot(Storage32 storage, Storage32 excluded) {
+        if (storage instanceof ArrayStorage32 arrayStorage) {
+            return arrayStorage.filter(excluded, false);
+        }
+
+        PrefixStorage32 prefixStorage = (PrefixStorage32) storage;
+        PrefixStorage32 excludedPrefixStorage = PrefixStorage32.of(excluded);
+        PrefixStorage32 result = new PrefixStorage32();
+        int excludedPosition = 0;
+        for (int position = 0; position < prefixStorage.size; ++position) {
+            int prefix = toUnsignedInt(prefixStorage.prefixes[position]);
+            while (excludedPosition < excludedPrefixStorage.size
+                    && toUnsignedInt(excludedPrefixStorage.prefixes[excludedPosition]) < prefix) {
+                ++excludedPosition;
+            }
+
+            Storage16 storage16 = prefixStorage.storages[position];
+            if (excludedPosition < excludedPrefixStorage.size
+                    && toUnsignedInt(excludedPrefixStorage.prefixes[excludedPosition]) == prefix) {
+                storage16 = andNot(storage16, excludedPrefixStorage.storages[excludedPosition]);
+            }
+            result.append(prefixStorage.prefixes[position], storage16);
+        }
+        return result.size == 0 ? null : result;
+    }
+
+    private static Storage16 and(Storage16 storage1, Storage16 storage2) {
+        // array storages are just filtered by probing the other storage
+        if (storage1 instanceof ArrayStorage16 arrayStorage) {
+            return arrayStorage.filter(storage2, true);
+        }
+        if (storage2 instanceof ArrayStorage16 arrayStorage) {
+            return arrayStorage.filter(storage1, true);
+        }
+
+        long[] bits = new long[BIT_SET_16_LENGTH];
+        storage1.orInto(bits);
+        long[] bits2 = bitsOf(storage2);
+        for (int i = 0; i < BIT_SET_16_LENGTH; ++i) {
+            bits[i] &= bits2[i];
+        }
+        return fromBits(bits);
+    }
+
+    private static Storage16 or(Storage16[] storages, int count) {
+        if (count == 1) {
+            return storages[0];
+        }
+
+        long[] bits = new long[BIT_SET_16_LENGTH];
+        for (int i = 0; i < count; ++i) {
+            storages[i].orInto(bits);
+        }
+        return fromBits(bits);
+    }
+
+    private static Storage16 andNot(Storage16 storage, Storage16 excluded) {
+        if (storage instanceof ArrayStorage16 arrayStorage) {
+            return arrayStorage.filter(excluded, false);
+        }
+
+        long[] bits = new long[BIT_SET_16_LENGTH];
+        storage.orInto(bits);
+        long[] excludedBits = bitsOf(excluded);
+        for (int i = 0; i < BIT_SET_16_LENGTH; ++i) {
+            bits[i] &= ~excludedBits[i];
+        }
+        return fromBits(bits);
+    }
+
+    private static long[] bitsOf(Storage16 storage) {
+        if (storage instanceof BitSetStorage16 bitSetStorage) {
+            return bitSetStorage.members;
+        }
+        long[] bits = new long[BIT_SET_16_LENGTH];
+        storage.orInto(bits);
+        return bits;
+    }
+
+    /**
+     * Constructs the most compact storage for the given long array of bits.
+     *
+     * @return the constructed storage or {@code null} if no bits are set.
+     */
+    private static Storage16 fromBits(long[] bits) {
+        int size = 0;
+        for (long value : bits) {
+            size += bitCount(value);
+        }
+        return fromBits(bits, size);
+    }
+
+    private static Storage16 fromBits(long[] bits, int size) {
+        if (size == 0) {
+            return null;
+        }
+        if (size <= ARRAY_STORAGE_16_MAX_SIZE) {
+            return new ArrayStorage16(bits, size);
+        }
+
+        int runs = countRuns(bits);
+        if (runs <= RUN_STORAGE_16_MAX_RUNS) {
+            return new RunStorage16(bits, runs, size);
+        }
+        return new BitSetStorage16(bits, size);
+    }
+
+    private static int countRuns(long[] bits) {
+        // a run starts at every set bit having its preceding bit unset
+        int runs = 0;
+        long carry = 0;
+        for (long value : bits) {
+            runs += bitCount(value & ~(value << 1 | carry));
+            carry = value >>> (Long.SIZE - 1);
+        }
+        return runs;
+    }
+
     /**
      * Defines internal contract of storages responsible for storing of 32-bit
      * postfixes.
@@ -234,6 +587,17 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(int member, IteratorImpl iterator);
 
+        /**
+         * @return the number of members in this storage.
+         */
+        int size();
+
+        /**
+         * @return {@code true} if the given member is a member of this storage,
+         * {@code false} otherwise.
+         */
+        boolean contains(int member);
+
     }
 
     /**
@@ -252,6 +616,44 @@ final class SparseBitSet {
             members[0] = member;
         }
 
+        ArrayStorage32(int[] members, int size) {
+            assert size > 0;
+            this.size = size;
+            this.members = members;
+        }
+
+        /**
+         * Constructs a new storage for the union of the given array storages.
+         * The union must fit into a single array storage.
+         */
+        static ArrayStorage32 union(Storage32[] storages, int count, int totalSize) {
+            assert totalSize <= ARRAY_STORAGE_32_MAX_SIZE;
+
+            // Flip the sign bits to sort unsigned members using the signed
+            // sort and flip them back while skipping the duplicates.
+
+            int[] members = new int[totalSize];
+            int index = 0;
+            for (int i = 0; i < count; ++i) {
+                ArrayStorage32 storage = (ArrayStorage32) storages[i];
+                for (int j = 0; j < storage.size; ++j) {
+                    members[index++] = storage.members[j] ^ Integer.MIN_VALUE;
+                }
+            }
+            Arrays.sort(members);
+
+            int size = 0;
+            for (int i = 0; i < totalSize; ++i) {
+                if (i == 0 || members[i] != members[i - 1]) {
+                    members[size++] = members[i];
+                }
+            }
+            for (int i = 0; i < size; ++i) {
+                members[i] ^= Integer.MIN_VALUE;
+            }
+            return new ArrayStorage32(members, size);
+        }
+
         @Override
         public Storage32 add(int member) {
             int index = unsignedBinarySearch(members, size, toUnsignedLong(member));
@@ -376,6 +778,43 @@ final class SparseBitSet {
             return true;
         }
 
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(int member) {
+            return unsignedBinarySearch(members, size, toUnsignedLong(member)) >= 0;
+        }
+
+        /**
+         * Filters the members of this storage by their presence in the given
+         * storage.
+         *
+         * @param other    the storage to probe the members in.
+         * @param presence {@code true} to keep the members present in the
+         *                 given storage, {@code false} to keep the absent
+         *                 ones.
+         * @return the filtered storage, this storage if nothing was filtered
+         * out or {@code null} if everything was filtered out.
+         */
+        Storage32 filter(Storage32 other, boolean presence) {
+            int[] filtered = new int[size];
+            int filteredSize = 0;
+            for (int i = 0; i < size; ++i) {
+                int member = members[i];
+                if (other.contains(member) == presence) {
+                    filtered[filteredSize++] = member;
+                }
+            }
+
+            if (filteredSize == 0) {
+                return null;
+            }
+            return filteredSize == size ? this : new ArrayStorage32(filtered, filteredSize);
+        }
+
     }
 
     /**
@@ -391,10 +830,21 @@ final class SparseBitSet {
         private short[] prefixes;
         private Storage16[] storages;
 
+        // the number of members in all the 16-bit postfix storages
+        private int cardinality;
+
         // used for caching of the last resolved 16-bit storage
         private int lastPrefix = -1;
         private Storage16 lastStorage;
 
+        /**
+         * Constructs a new empty prefix storage to append to.
+         */
+        PrefixStorage32() {
+            this.prefixes = new short[MIN_CAPACITY];
+            this.storages = new Storage16[MIN_CAPACITY];
+        }
+
         /**
          * Constructs a new prefix storage for the given sorted members array
          * and the given member to insert at the given index.
@@ -412,6 +862,23 @@ final class SparseBitSet {
             }
         }
 
+        /**
+         * @return the given storage as a prefix storage, array storages are
+         * converted to new prefix storages.
+         */
+        static PrefixStorage32 of(Storage32 storage) {
+            if (storage instanceof PrefixStorage32 prefixStorage) {
+                return prefixStorage;
+            }
+
+            ArrayStorage32 arrayStorage = (ArrayStorage32) storage;
+            PrefixStorage32 prefixStorage = new PrefixStorage32();
+            for (int i = 0; i < arrayStorage.size; ++i) {
+                prefixStorage.append(arrayStorage.members[i]);
+            }
+            return prefixStorage;
+        }
+
         @Override
         public Storage32 add(int member) {
             short prefix = (short) (member >>> Short.SIZE);
@@ -423,7 +890,9 @@ final class SparseBitSet {
             if (unsignedPrefix == lastPrefix) {
                 // We are lucky: just add the member to the cached storage.
 
+                int oldSize = lastStorage.size();
                 Storage16 newStorage = lastStorage.add((short) member);
+                cardinality += newStorage.size() - oldSize;
                 // handle potential storage upgrade
                 if (newStorage != lastStorage) {
                     int index = unsignedBinarySearch(prefixes, size, unsignedPrefix);
@@ -439,7 +908,9 @@ final class SparseBitSet {
                 // The storage already exists: just add the member to it.
 
                 Storage16 storage = storages[index];
+                int oldSize = storage.size();
                 Storage16 newStorage = storage.add((short) member);
+                cardinality += newStorage.size() - oldSize;
                 // handle potential storage upgrade
                 if (newStorage != storage) {
                     storages[index] = newStorage;
@@ -480,6 +951,7 @@ final class SparseBitSet {
             lastPrefix = unsignedPrefix;
             lastStorage = createdStorage;
             ++size;
+            ++cardinality;
             return this;
         }
 
@@ -498,7 +970,9 @@ final class SparseBitSet {
                 // We are lucky: just remove the member from the cached storage.
 
                 Storage16 storage = lastStorage;
+                int oldSize = storage.size();
                 newStorage = storage.remove((short) member);
+                cardinality += (newStorage == null ? 0 : newStorage.size()) - oldSize;
                 if (newStorage == storage) {
                     return false;
                 }
@@ -514,7 +988,9 @@ final class SparseBitSet {
                 }
 
                 Storage16 storage = storages[index];
+                int oldSize = storage.size();
                 newStorage = storage.remove((short) member);
+                cardinality += (newStorage == null ? 0 : newStorage.size()) - oldSize;
                 if (newStorage == storage) {
                     lastStorage = storage;
                     lastPrefix = unsignedPrefix;
@@ -651,6 +1127,7 @@ final class SparseBitSet {
         private void append(int member) {
             short prefix = (short) (member >>> Short.SIZE);
 
+            ++cardinality;
             if (size != 0 && prefix == prefixes[size - 1]) {
                 ((ArrayStorage16) storages[size - 1]).append((short) member);
                 return;
@@ -667,6 +1144,38 @@ final class SparseBitSet {
             ++size;
         }
 
+        /**
+         * Appends the given storage to this prefix storage. The given prefix
+         * must be greater than any prefix already known by this storage.
+         */
+        void append(short prefix, Storage16 storage) {
+            if (storage == null) {
+                return;
+            }
+
+            if (size == prefixes.length) {
+                int newCapacity = Math.min(MAX_CAPACITY, size + capacityDeltaShort(prefixes.length));
+                prefixes = copyOf(prefixes, newCapacity);
+                storages = copyOf(storages, newCapacity);
+            }
+
+            prefixes[size] = prefix;
+            storages[size] = storage;
+            ++size;
+            cardinality += storage.size();
+        }
+
+        @Override
+        public int size() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(int member) {
+            int index = unsignedBinarySearch(prefixes, size, member >>> Short.SIZE);
+            return index >= 0 && storages[index].contains((short) member);
+        }
+
         private boolean iterateAtLeastFrom(int member, int fromPosition, IteratorImpl iterator) {
             short prefix = (short) (member >>> Short.SIZE);
             int position = unsignedBinarySearch(prefixes, fromPosition, size, toUnsignedInt(prefix));
@@ -677,6 +1186,16 @@ final class SparseBitSet {
                     // no such member
                     return false;
                 }
+
+                // No storage for the requested prefix: iterate the next one
+                // from its very beginning.
+
+                Storage16 storage = storages[position];
+                iterator.storage16 = storage;
+                iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
+                iterator.position32 = position + 1;
+                storage.iterate(iterator);
+                return true;
             }
 
             Storage16 storage = storages[position];
@@ -780,6 +1299,25 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(short member, IteratorImpl iterator);
 
+        /**
+         * @return the number of members in this storage.
+         */
+        int size();
+
+        /**
+         * @return {@code true} if the given member is a member of this storage,
+         * {@code false} otherwise.
+         */
+        boolean contains(short member);
+
+        /**
+         * Sets the bits corresponding to the members of this storage in the
+         * given directly indexable long array of bits.
+         *
+         * @param bits the array of bits to set the bits in.
+         */
+        void orInto(long[] bits);
+
     }
 
     /**
@@ -798,15 +1336,21 @@ final class SparseBitSet {
             members[0] = member;
         }
 
+        ArrayStorage16(short[] members, int size) {
+            assert size > 0;
+            this.size = size;
+            this.members = members;
+        }
+
         /**
-         * Constructs a new storage by downgrading from the given {@link
-         * BitSetStorage16} data.
+         * Constructs a new storage from the given directly indexable long array
+         * of bits.
          */
         ArrayStorage16(long[] bits, int size) {
-            assert size == BitSetStorage16.MIN_SIZE;
+            assert size > 0 && size <= ARRAY_STORAGE_16_MAX_SIZE;
             this.size = size;
 
-            short[] members = new short[ARRAY_STORAGE_16_MAX_SIZE];
+            short[] members = new short[Math.max(MIN_CAPACITY, size)];
             int index = 0;
             for (int i = 0; i < bits.length; ++i) {
                 long value = bits[i];
@@ -836,7 +1380,9 @@ final class SparseBitSet {
                 // No space left: try to grow members array.
 
                 if (size == ARRAY_STORAGE_16_MAX_SIZE) {
-                    return new BitSetStorage16(members, member, index);
+                    BitSetStorage16 bitSetStorage = new BitSetStorage16(members, member, index);
+                    // prefer runs if the members are mostly consecutive
+                    return fromBits(bitSetStorage.members, bitSetStorage.size);
                 }
 
                 int newCapacity = Math.min(ARRAY_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(members.length));
@@ -960,6 +1506,51 @@ final class SparseBitSet {
             ++size;
         }
 
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(short member) {
+            return unsignedBinarySearch(members, size, toUnsignedInt(member)) >= 0;
+        }
+
+        @Override
+        public void orInto(long[] bits) {
+            for (int i = 0; i < size; ++i) {
+                int bitIndex = toUnsignedInt(members[i]);
+                bits[bitIndex >>> BitSetStorage16.BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
+            }
+        }
+
+        /**
+         * Filters the members of this storage by their presence in the given
+         * storage.
+         *
+         * @param other    the storage to probe the members in.
+         * @param presence {@code true} to keep the members present in the
+         *                 given storage, {@code false} to keep the absent
+         *                 ones.
+         * @return the filtered storage, this storage if nothing was filtered
+         * out or {@code null} if everything was filtered out.
+         */
+        Storage16 filter(Storage16 other, boolean presence) {
+            short[] filtered = new short[size];
+            int filteredSize = 0;
+            for (int i = 0; i < size; ++i) {
+                short member = members[i];
+                if (other.contains(member) == presence) {
+                    filtered[filteredSize++] = member;
+                }
+            }
+
+            if (filteredSize == 0) {
+                return null;
+            }
+            return filteredSize == size ? this : new ArrayStorage16(filtered, filteredSize);
+        }
+
     }
 
     /**
@@ -971,19 +1562,26 @@ final class SparseBitSet {
         public static final int BIT_SET_LONG_SHIFT = 6;
 
         private static final int MIN_SIZE = ARRAY_STORAGE_16_MAX_SIZE - 1;
-        private static final int SIZE = 1024;
 
         // masks lower 6 bits
         private static final long POSTFIX_MASK = 0xFFFFFFFFFFFFFFC0L;
 
-        private final long[] members = new long[SIZE];
+        private final long[] members;
         private int size;
 
+        BitSetStorage16(long[] members, int size) {
+            assert members.length == BIT_SET_16_LENGTH;
+            assert size > MIN_SIZE;
+            this.members = members;
+            this.size = size;
+        }
+
         /**
          * Constructs a new bit set storage for the given sorted members array
          * and the given member to insert at the given index.
          */
         BitSetStorage16(short[] members, short member, int index) {
+            this.members = new long[BIT_SET_16_LENGTH];
             for (int i = 0; i < index; ++i) {
                 append(members[i]);
             }
@@ -1005,6 +1603,10 @@ final class SparseBitSet {
 
             if (newBitSet != bitSet) {
                 ++size;
+                if (size == STORAGE_16_CAPACITY) {
+                    // all the members are set: a single run is enough
+                    return new RunStorage16(members, 1, size);
+                }
             }
             return this;
         }
@@ -1100,6 +1702,320 @@ final class SparseBitSet {
             members[bitIndex >>> BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
         }
 
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(short member) {
+            int bitIndex = toUnsignedInt(member);
+            return (members[bitIndex >>> BIT_SET_LONG_SHIFT] & 1L << bitIndex) != 0;
+        }
+
+        @Override
+        public void orInto(long[] bits) {
+            for (int i = 0; i < BIT_SET_16_LENGTH; ++i) {
+                bits[i] |= members[i];
+            }
+        }
+
+    }
+
+    /**
+     * Manages sorted short array of runs of consecutive indexes of set bits.
+     * Each run is stored as a pair of its first member and its length minus
+     * one.
+     */
+    private static final class RunStorage16 implements Storage16 {
+
+        private static final int MIN_CAPACITY = 2;
+
+        // the number of shorts a single run occupies
+        private static final int RUN_SHIFT = 1;
+
+        private short[] runs;
+        private int runCount;
+        private int size;
+
+        /**
+         * Constructs a new run storage from the given directly indexable long
+         * array of bits having the given number of runs and members.
+         */
+        RunStorage16(long[] bits, int runCount, int size) {
+            assert runCount > 0;
+            this.runs = new short[Math.max(MIN_CAPACITY, runCount) << RUN_SHIFT];
+            this.size = size;
+
+            int index = 0;
+            long value = bits[0];
+            while (true) {
+                // find the first member of the next run
+                while (value == 0) {
+                    if (++index == bits.length) {
+                        assert this.runCount == runCount;
+                        return;
+                    }
+                    value = bits[index];
+                }
+                int start = index << BitSetStorage16.BIT_SET_LONG_SHIFT | numberOfTrailingZeros(value);
+
+                // set all the bits preceding the run and find its last member
+                value |= value - 1;
+                while (value == -1L) {
+                    if (++index == bits.length) {
+                        appendRun(start, STORAGE_16_CAPACITY - 1);
+                        assert this.runCount == runCount;
+                        return;
+                    }
+                    value = bits[index];
+                }
+                int end = (index << BitSetStorage16.BIT_SET_LONG_SHIFT) + numberOfTrailingZeros(~value) - 1;
+                appendRun(start, end);
+
+                // zero out the consumed bits
+                value &= value + 1;
+            }
+        }
+
+        @Override
+        public Storage16 add(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = search(0, unsignedMember);
+            if (run >= 0 && unsignedMember <= end(run)) {
+                // already in the runs
+                return this;
+            }
+
+            boolean extendsPrevious = run >= 0 && unsignedMember == end(run) + 1;
+            boolean extendsNext = run + 1 < runCount && unsignedMember + 1 == start(run + 1);
+            if (extendsPrevious && extendsNext) {
+                // the member fills the gap between two runs: merge them
+                setEnd(run, end(run + 1));
+                removeRun(run + 1);
+            } else if (extendsPrevious) {
+                setEnd(run, unsignedMember);
+            } else if (extendsNext) {
+                int end = end(run + 1);
+                setRun(run + 1, unsignedMember, end);
+            } else {
+                insertRun(run + 1, unsignedMember, unsignedMember);
+            }
+            ++size;
+
+            return runCount > RUN_STORAGE_16_MAX_RUNS ? toBitSetStorage() : this;
+        }
+
+        @Override
+        public Storage16 remove(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = search(0, unsignedMember);
+            if (run < 0 || unsignedMember > end(run)) {
+                // not a member
+                return this;
+            }
+
+            --size;
+            if (size == 0) {
+                // emptied
+                return null;
+            }
+
+            int start = start(run);
+            int end = end(run);
+            if (start == end) {
+                removeRun(run);
+            } else if (unsignedMember == start) {
+                setRun(run, start + 1, end);
+            } else if (unsignedMember == end) {
+                setEnd(run, end - 1);
+            } else {
+                // the member splits the run into two
+                setEnd(run, unsignedMember - 1);
+                insertRun(run + 1, unsignedMember + 1, end);
+            }
+
+            return runCount > RUN_STORAGE_16_MAX_RUNS ? toBitSetStorage() : this;
+        }
+
+        @Override
+        public void iterate(IteratorImpl iterator) {
+            assert runCount > 0;
+            iterator.position16 = 0;
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | start(0);
+        }
+
+        @Override
+        public boolean advance(IteratorImpl iterator) {
+            long current = iterator.index;
+            int run = iterator.position16;
+
+            if ((current & SHORT_POSTFIX_MASK) < end(run)) {
+                // still within the current run
+                iterator.index = current + 1;
+                return true;
+            }
+
+            ++run;
+            if (run == runCount) {
+                return false;
+            }
+            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | start(run);
+            iterator.position16 = run;
+            return true;
+        }
+
+        @Override
+        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
+            return seek(0, toUnsignedInt(member), iterator);
+        }
+
+        @Override
+        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
+            int unsignedMember = toUnsignedInt(member);
+            assert (iterator.index & SHORT_POSTFIX_MASK) < unsignedMember;
+            return seek(iterator.position16, unsignedMember, iterator);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = search(0, unsignedMember);
+            return run >= 0 && unsignedMember <= end(run);
+        }
+
+        @Override
+        public void orInto(long[] bits) {
+            for (int run = 0; run < runCount; ++run) {
+                int start = start(run);
+                int end = end(run);
+
+                int startIndex = start >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+                int endIndex = end >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+                long startMask = -1L << start;
+                long endMask = -1L >>> (Long.SIZE - 1 - (end & (Long.SIZE - 1)));
+                if (startIndex == endIndex) {
+                    bits[startIndex] |= startMask & endMask;
+                } else {
+                    bits[startIndex] |= startMask;
+                    for (int i = startIndex + 1; i < endIndex; ++i) {
+                        bits[i] = -1L;
+                    }
+                    bits[endIndex] |= endMask;
+                }
+            }
+        }
+
+        private boolean seek(int fromRun, int member, IteratorImpl iterator) {
+            int run = search(fromRun, member);
+            if (run < fromRun) {
+                run = fromRun;
+            } else if (member > end(run)) {
+                ++run;
+                if (run == runCount) {
+                    return false;
+                }
+            }
+
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | Math.max(member, start(run));
+            iterator.position16 = run;
+            return true;
+        }
+
+        /**
+         * @return the index of the last run starting at or before the given
+         * member or {@code fromRun - 1} if there is no such run.
+         */
+        private int search(int fromRun, int member) {
+            int low = fromRun;
+            int high = runCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (start(middle) <= member) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        private int start(int run) {
+            return toUnsignedInt(runs[run << RUN_SHIFT]);
+        }
+
+        private int end(int run) {
+            int index = run << RUN_SHIFT;
+            return toUnsignedInt(runs[index]) + toUnsignedInt(runs[index + 1]);
+        }
+
+        private void setRun(int run, int start, int end) {
+            int index = run << RUN_SHIFT;
+            runs[index] = (short) start;
+            runs[index + 1] = (short) (end - start);
+        }
+
+        private void setEnd(int run, int end) {
+            setRun(run, start(run), end);
+        }
+
+        private void appendRun(int start, int end) {
+            setRun(runCount, start, end);
+            ++runCount;
+        }
+
+        private void insertRun(int run, int start, int end) {
+            int index = run << RUN_SHIFT;
+            int length = runCount << RUN_SHIFT;
+
+            if (length == runs.length) {
+                // No space left: grow the runs array, keeping it even.
+
+                int newCapacity = length + (capacityDeltaShort(length) & ~1);
+                short[] newRuns = new short[newCapacity];
+                arraycopy(runs, 0, newRuns, 0, index);
+                arraycopy(runs, index, newRuns, index + 2, length - index);
+                runs = newRuns;
+            } else {
+                // shift runs right to free a slot for the new run
+                arraycopy(runs, index, runs, index + 2, length - index);
+            }
+            ++runCount;
+            setRun(run, start, end);
+        }
+
+        private void removeRun(int run) {
+            int index = run << RUN_SHIFT;
+            --runCount;
+            int length = runCount << RUN_SHIFT;
+
+            int delta = capacityDeltaShort(runs.length) & ~1;
+            int wasted = runs.length - length;
+            int newCapacity = runs.length - delta;
+            if (wasted >= delta && newCapacity >= MIN_CAPACITY << RUN_SHIFT) {
+                // We are wasting too much: shrink the array.
+
+                short[] newRuns = new short[newCapacity];
+                arraycopy(runs, 0, newRuns, 0, index);
+                arraycopy(runs, index + 2, newRuns, index, length - index);
+                runs = newRuns;
+            } else {
+                // shift runs left to fill the gap
+                arraycopy(runs, index + 2, runs, index, length - index);
+            }
+        }
+
+        private Storage16 toBitSetStorage() {
+            long[] bits = new long[BIT_SET_16_LENGTH];
+            orInto(bits);
+            return fromBits(bits, size);
+        }
+
     }
 
     /**
@@ -1248,4 +2164,32 @@ final class SparseBitSet {
 
     }
 
+
+    /**
+     * Iterates over 32-bit postfix storages of a sparse bit set in ascending
+     * 32-bit prefix order.
+     */
+    private static final class StorageIterator extends SparseIntArray.Iterator<Storage32> {
+
+        private final SparseIntArray<Storage32> storages;
+
+        // the current 32-bit prefix or END
+        private long prefix;
+
+        StorageIterator(SparseBitSet bitSet) {
+            this.storages = bitSet.storages;
+            this.prefix = storages.iterate(this);
+        }
+
+        void advance() {
+            prefix = storages.advance((int) prefix, this);
+        }
+
+        void advanceAtLeastTo(long prefix) {
+            assert prefix > this.prefix;
+            this.prefix = storages.advanceAtLeastTo((int) prefix, (int) this.prefix, this);
+        }
+
+    }
+
 }
@@ -19,18 +19,45 @@ package com.hazelcast.query.impl.getters;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.CompactDataReader;
+import com.hazelcast.internal.serialization.impl.compact.CompactDataReader.FieldReader;
 import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 
 public class CompactGetter extends Getter {
+
+    /**
+     * The maximum number of schemas for which the fields are read directly
+     * from the bytes, the values of the other schemas are read through
+     * generic records.
+     */
+    static final int MAX_DATA_READERS = 64;
+
     private final InternalSerializationService serializationService;
+    private final ByteOrder byteOrder;
+
+    // copy-on-write; a reader lost by a concurrent update is created again
+    private volatile CompactDataReader[] dataReaders = new CompactDataReader[0];
 
     public CompactGetter(InternalSerializationService serializationService) {
         super(null);
         this.serializationService = serializationService;
+        this.byteOrder = serializationService.getByteOrder();
     }
 
     private Object getValueInternal(Object target, String fieldPath, boolean useLazyDeserialization) throws Exception {
+        if (target instanceof HeapData data && data.isCompact()) {
+            FieldReader fieldReader = getFieldReader(data, fieldPath);
+            if (fieldReader != null) {
+                return fieldReader.read(data.toByteArray());
+            }
+        }
         InternalGenericRecord record;
         if (target instanceof CompactGenericRecord genericRecord) {
             record = genericRecord;
@@ -41,6 +68,29 @@ public class CompactGetter extends Getter {
         return reader.read(fieldPath);
     }
 
+    /**
+     * Returns the reader of a top-level field of the given data, or {@code null}
+     * if the field can't be read directly from the bytes.
+     */
+    private FieldReader getFieldReader(HeapData data, String fieldPath) throws IOException {
+        long schemaId = CompactDataReader.readSchemaId(data.toByteArray(), byteOrder);
+        CompactDataReader[] readers = dataReaders;
+        for (CompactDataReader reader : readers) {
+            if (reader.getSchema().getSchemaId() == schemaId) {
+                return reader.getFieldReader(fieldPath);
+            }
+        }
+        if (readers.length == MAX_DATA_READERS) {
+            return null;
+        }
+        Schema schema = serializationService.extractSchemaFromData(data);
+        CompactDataReader reader = new CompactDataReader(schema, byteOrder);
+        CompactDataReader[] newReaders = Arrays.copyOf(readers, readers.length + 1);
+        newReaders[readers.length] = reader;
+        dataReaders = newReaders;
+        return reader.getFieldReader(fieldPath);
+    }
+
     @Override
     public Object getValue(Object target, String fieldPath) throws Exception {
         return getValueInternal(target, fieldPath, false);
@@ -17,10 +17,15 @@
 package com.hazelcast.query.impl.getters;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
 
 public final class FieldGetter extends AbstractMultiValueGetter {
 
     private final Field field;
+    // null when the field is read using reflection
+    private final Function<Object, Object> accessor;
+    private final Class<?> declaringClass;
 
     // for testing purposes only
     public FieldGetter(Getter parent, Field field, String modifier, Class elementType) {
@@ -30,10 +35,18 @@ public final class FieldGetter extends AbstractMultiValueGetter {
     public FieldGetter(Getter parent, Field field, String modifier, Class type, Class elementType) {
         super(parent, modifier, type, elementType);
         this.field = field;
+        this.accessor = GeneratedAccessors.newFieldAccessor(field);
+        this.declaringClass = Modifier.isStatic(field.getModifiers()) ? null : field.getDeclaringClass();
     }
 
     @Override
     protected Object extractFrom(Object object) throws IllegalAccessException {
+        if (accessor != null) {
+            if (declaringClass != null && !declaringClass.isInstance(object)) {
+                throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(field));
+            }
+            return accessor.apply(object);
+        }
         try {
             return field.get(object);
         } catch (IllegalArgumentException e) {
@@ -48,7 +61,8 @@ public final class FieldGetter extends AbstractMultiValueGetter {
 
     @Override
     public String toString() {
-        return "FieldGetter [parent=" + parent + ", field=" + field + ", modifier = " + getModifier() + "]";
+        return "FieldGetter [parent=" + parent + ", field=" + field + ", modifier = " + getModifier()
+                + ", generated = " + (accessor != null) + "]";
     }
 
 }
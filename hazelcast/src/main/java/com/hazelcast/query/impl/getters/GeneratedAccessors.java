@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * Creates the accessors used by the {@link FieldGetter} and the {@link MethodGetter}
+ * to read a field or call a method without reflection.
+ * <p>
+ * Every accessor is an instance of its own hidden class, defined from the bytes of
+ * {@link HiddenAccessor} with a {@link MethodHandle} for the member as class data.
+ * Since the handle is a static final constant of that class, the JIT can inline the
+ * access as if the accessor was written by hand.
+ * <p>
+ * If no accessor can be created, {@code null} is returned and the getter falls back
+ * to reflection. Generation can be disabled with the {@value #ENABLED_PROPERTY}
+ * system property.
+ */
+final class GeneratedAccessors {
+
+    static final String ENABLED_PROPERTY = "hazelcast.query.getters.generated";
+
+    private static final ILogger LOGGER = Logger.getLogger(GeneratedAccessors.class);
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final byte[] TEMPLATE = loadTemplate();
+
+    private GeneratedAccessors() {
+    }
+
+    static boolean isEnabled() {
+        return TEMPLATE != null;
+    }
+
+    /**
+     * @return the accessor reading the given field, or {@code null} if it can't be created.
+     */
+    static Function<Object, Object> newFieldAccessor(Field field) {
+        if (TEMPLATE == null) {
+            return null;
+        }
+        try {
+            MethodHandle getter = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectGetter(field);
+            return newAccessor(getter, Modifier.isStatic(field.getModifiers()));
+        } catch (IllegalAccessException e) {
+            return onFailure(field, e);
+        }
+    }
+
+    /**
+     * @return the accessor calling the given no-arg method, or {@code null} if it can't be created.
+     */
+    static Function<Object, Object> newMethodAccessor(Method method) {
+        if (TEMPLATE == null) {
+            return null;
+        }
+        try {
+            MethodHandle invoker = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP).unreflect(method);
+            return newAccessor(invoker, Modifier.isStatic(method.getModifiers()));
+        } catch (IllegalAccessException e) {
+            return onFailure(method, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> newAccessor(MethodHandle target, boolean isStatic) {
+        if (isStatic) {
+            // like reflection, a static member ignores the object it is read from
+            target = MethodHandles.dropArguments(target, 0, Object.class);
+        }
+        try {
+            Lookup hiddenLookup = LOOKUP.defineHiddenClassWithClassData(TEMPLATE, target.asType(ACCESSOR_TYPE), true);
+            return (Function<Object, Object>) hiddenLookup
+                    .findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable t) {
+            return onFailure(target, t);
+        }
+    }
+
+    private static Function<Object, Object> onFailure(Object member, Throwable t) {
+        if (LOGGER.isFinestEnabled()) {
+            LOGGER.finest("Falling back to reflection for " + member, t);
+        }
+        return null;
+    }
+
+    private static byte[] loadTemplate() {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        try (InputStream in = GeneratedAccessors.class.getResourceAsStream("HiddenAccessor.class")) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            LOGGER.warning("Failed to load the accessor template, falling back to reflection", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.getters;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.Function;
+
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+
+/**
+ * The template for the hidden classes defined by {@link GeneratedAccessors}.
+ * <p>
+ * This class is never loaded as a regular class; only its bytes are used. Every
+ * hidden class defined from them gets its own {@link MethodHandle} as class data,
+ * which becomes the static final {@link #TARGET} constant of that class.
+ */
+final class HiddenAccessor implements Function<Object, Object> {
+
+    private static final MethodHandle TARGET = target();
+
+    @Override
+    public Object apply(Object object) {
+        try {
+            return TARGET.invokeExact(object);
+        } catch (Throwable t) {
+            throw sneakyThrow(t);
+        }
+    }
+
+    private static MethodHandle target() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
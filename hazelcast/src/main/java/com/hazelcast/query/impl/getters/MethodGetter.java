@@ -18,10 +18,15 @@ package com.hazelcast.query.impl.getters;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
 
 public final class MethodGetter extends AbstractMultiValueGetter {
 
     private final Method method;
+    // null when the method is invoked using reflection
+    private final Function<Object, Object> accessor;
+    private final Class<?> declaringClass;
 
     // for testing purposes only
     public MethodGetter(Getter parent, Method method, String modifier, Class elementType) {
@@ -31,10 +36,23 @@ public final class MethodGetter extends AbstractMultiValueGetter {
     public MethodGetter(Getter parent, Method method, String modifier, Class type, Class elementType) {
         super(parent, modifier, type, elementType);
         this.method = method;
+        this.accessor = GeneratedAccessors.newMethodAccessor(method);
+        this.declaringClass = Modifier.isStatic(method.getModifiers()) ? null : method.getDeclaringClass();
     }
 
     @Override
     protected Object extractFrom(Object object) throws IllegalAccessException, InvocationTargetException {
+        if (accessor != null) {
+            if (declaringClass != null && !declaringClass.isInstance(object)) {
+                throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(method));
+            }
+            try {
+                return accessor.apply(object);
+            } catch (Throwable t) {
+                // same contract as Method.invoke
+                throw new InvocationTargetException(t);
+            }
+        }
         try {
             return method.invoke(object);
         } catch (IllegalArgumentException e) {
@@ -49,7 +67,8 @@ public final class MethodGetter extends AbstractMultiValueGetter {
 
     @Override
     public String toString() {
-        return "MethodGetter [parent=" + parent + ", method=" + method.getName() + ", modifier = " + getModifier() + "]";
+        return "MethodGetter [parent=" + parent + ", method=" + method.getName() + ", modifier = " + getModifier()
+                + ", generated = " + (accessor != null) + "]";
     }
 
 }
@@ -61,7 +61,14 @@ public abstract class AbstractPredicate<K, V> implements Predicate<K, V>, Identi
 
     @Override
     public boolean apply(Map.Entry<K, V> mapEntry) {
-        Object attributeValue = readAttributeValue(mapEntry);
+        return applyForAttributeValue(readAttributeValue(mapEntry));
+    }
+
+    /**
+     * Applies this predicate to an attribute value already extracted from an
+     * entry, see {@link PredicateCompiler}.
+     */
+    boolean applyForAttributeValue(Object attributeValue) {
         if (attributeValue instanceof MultiResult result) {
             return applyForMultiResult(result);
         } else if (attributeValue instanceof Collection || attributeValue instanceof Object[]) {
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
+
+/**
+ * Extracts the values some attributes are bound to by equality and {@code IN}
+ * conditions of a predicate.
+ * <p>
+ * The bindings are represented as a disjunction of conjunctions: a predicate
+ * may match only the entries having every attribute bound by at least one of
+ * the conjunctions equal to one of the values the conjunction binds it to.
+ * The values are the ones given to the predicates, they aren't converted to
+ * the attribute types.
+ */
+public final class EqualityBindings {
+
+    private EqualityBindings() {
+    }
+
+    /**
+     * Extracts the values the given attributes are bound to by the given
+     * predicate.
+     *
+     * @param predicate       the predicate to extract the bindings from.
+     * @param attributes      the canonical names of the attributes of interest,
+     *                        expected to never be {@code null}.
+     * @param maxConjunctions the max number of the conjunctions to extract,
+     *                        the predicates requiring more than that are
+     *                        considered to bind nothing.
+     * @return the list of the conjunctions, each mapping the attributes to the
+     * values they are bound to, or {@code null} if the predicate doesn't bind
+     * any of the attributes in all its disjuncts.
+     */
+    public static List<Map<String, Set<Comparable>>> extract(Predicate predicate, Set<String> attributes,
+                                                             int maxConjunctions) {
+        // the values of a SqlPredicate are string literals, converted to the
+        // attribute types only while matching, so it binds nothing
+        if (predicate instanceof PagingPredicateImpl pagingPredicate) {
+            return extract(pagingPredicate.getPredicate(), attributes, maxConjunctions);
+        }
+
+        if (predicate instanceof EqualPredicate equalPredicate) {
+            return bind(equalPredicate.attributeName, attributes, equalPredicate.value);
+        }
+        if (predicate instanceof InPredicate inPredicate) {
+            return bind(inPredicate.attributeName, attributes, inPredicate.values);
+        }
+
+        if (predicate instanceof AndPredicate andPredicate) {
+            List<Map<String, Set<Comparable>>> bindings = null;
+            for (Predicate subPredicate : andPredicate.getPredicates()) {
+                List<Map<String, Set<Comparable>>> subBindings = extract(subPredicate, attributes, maxConjunctions);
+                if (subBindings == null) {
+                    continue;
+                }
+                if (bindings == null) {
+                    bindings = subBindings;
+                } else if ((long) bindings.size() * subBindings.size() <= maxConjunctions) {
+                    bindings = and(bindings, subBindings);
+                }
+                // otherwise, the bindings of the sub-predicate are ignored, the
+                // rest of the bindings is still a valid over-approximation
+            }
+            return bindings;
+        }
+        if (predicate instanceof OrPredicate orPredicate) {
+            List<Map<String, Set<Comparable>>> bindings = new ArrayList<>();
+            for (Predicate subPredicate : orPredicate.getPredicates()) {
+                List<Map<String, Set<Comparable>>> subBindings = extract(subPredicate, attributes, maxConjunctions);
+                if (subBindings == null) {
+                    return null;
+                }
+                bindings.addAll(subBindings);
+                if (bindings.size() > maxConjunctions) {
+                    return null;
+                }
+            }
+            return bindings;
+        }
+
+        return null;
+    }
+
+    private static List<Map<String, Set<Comparable>>> bind(String attribute, Set<String> attributes,
+                                                           Comparable... values) {
+        if (!attributes.contains(attribute)) {
+            return null;
+        }
+        Set<Comparable> boundValues = new HashSet<>();
+        for (Comparable value : values) {
+            // the attributes of interest are never null
+            if (!isNull(value)) {
+                boundValues.add(value);
+            }
+        }
+        Map<String, Set<Comparable>> conjunction = new HashMap<>();
+        conjunction.put(attribute, boundValues);
+        return Collections.singletonList(conjunction);
+    }
+
+    private static List<Map<String, Set<Comparable>>> and(List<Map<String, Set<Comparable>>> left,
+                                                          List<Map<String, Set<Comparable>>> right) {
+        List<Map<String, Set<Comparable>>> result = new ArrayList<>(left.size() * right.size());
+        for (Map<String, Set<Comparable>> leftConjunction : left) {
+            for (Map<String, Set<Comparable>> rightConjunction : right) {
+                Map<String, Set<Comparable>> conjunction = new HashMap<>(leftConjunction);
+                for (Map.Entry<String, Set<Comparable>> binding : rightConjunction.entrySet()) {
+                    // an attribute bound on both sides keeps the values of one
+                    // side only, the values aren't converted to the attribute
+                    // type yet to intersect them
+                    conjunction.putIfAbsent(binding.getKey(), binding.getValue());
+                }
+                result.add(conjunction);
+            }
+        }
+        return result;
+    }
+
+}
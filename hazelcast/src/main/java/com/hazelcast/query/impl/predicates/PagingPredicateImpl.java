@@ -28,9 +28,13 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexKeyEntries;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.TypeConverters;
 import com.hazelcast.spi.annotation.PrivateApi;
 import com.hazelcast.spi.impl.NodeEngine;
 
@@ -39,6 +43,7 @@ import java.io.IOException;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +51,8 @@ import java.util.Set;
 
 import static com.hazelcast.internal.cluster.Versions.V5_4;
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
 
 /**
  * Implementation of {@link PagingPredicate}.
@@ -194,11 +201,18 @@ public class PagingPredicateImpl<K, V>
 
     /**
      * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering.
+     * Otherwise, if the entries are naturally ordered and there is a sorted
+     * index on the ordering attribute, the entries are read from the index
+     * in order and just the entries up to the requested page are collected.
      */
     @Override
     public Set<QueryableEntry<K, V>> filter(QueryContext queryContext) {
-        if (!(predicate instanceof IndexAwarePredicate)) {
-            return null;
+        if (!isInnerPredicateIndexed(queryContext)) {
+            Index sortIndex = matchSortIndex(queryContext);
+            if (sortIndex == null) {
+                return null;
+            }
+            return NamespaceUtil.callWithNamespace(userCodeNamespace, () -> filterInIndexOrder(sortIndex));
         }
 
         Set<QueryableEntry<K, V>> set = NamespaceUtil.callWithNamespace(userCodeNamespace,
@@ -222,9 +236,14 @@ public class PagingPredicateImpl<K, V>
 
     /**
      * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed.
+     * Otherwise, checks for a sorted index on the natural ordering attribute.
      */
     @Override
     public boolean isIndexed(QueryContext queryContext) {
+        return isInnerPredicateIndexed(queryContext) || matchSortIndex(queryContext) != null;
+    }
+
+    private boolean isInnerPredicateIndexed(QueryContext queryContext) {
         if (predicate instanceof IndexAwarePredicate awarePredicate) {
             return NamespaceUtil.callWithNamespace(userCodeNamespace, () ->
                     awarePredicate.isIndexed(queryContext));
@@ -232,6 +251,62 @@ public class PagingPredicateImpl<K, V>
         return false;
     }
 
+    /**
+     * Matches a sorted index ordering the entries the same way as they are
+     * ordered by this predicate. Only the natural ordering of keys or values
+     * is known to match the order of an index on {@code __key} or {@code this}
+     * respectively; custom comparators are opaque.
+     *
+     * @return the matched index or {@code null} if nothing matched.
+     */
+    private Index matchSortIndex(QueryContext queryContext) {
+        if (comparator != null || iterationType == null) {
+            return null;
+        }
+
+        String attribute = iterationType == IterationType.VALUE ? THIS_ATTRIBUTE_NAME.value() : KEY_ATTRIBUTE_NAME.value();
+        Index index = queryContext.matchIndex(attribute, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null || !index.isOrdered() || index.isComposite()
+                // enums are indexed by their names
+                || index.getConverter() == TypeConverters.ENUM_CONVERTER) {
+            return null;
+        }
+        return index;
+    }
+
+    private Set<QueryableEntry<K, V>> filterInIndexOrder(Index sortIndex) {
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        long limit = pageSize * ((long) page - nearestAnchorEntry.getKey());
+
+        Iterator<IndexKeyEntries> batches;
+        Map.Entry anchor = nearestAnchorEntry.getValue();
+        Object anchorValue = anchor == null ? null : iterationType == IterationType.VALUE ? anchor.getValue() : anchor.getKey();
+        if (anchorValue instanceof Comparable comparableAnchorValue) {
+            batches = sortIndex.getSqlRecordIteratorBatch(Comparison.GREATER_OR_EQUAL, comparableAnchorValue, false);
+        } else {
+            batches = sortIndex.getSqlRecordIteratorBatch(false);
+        }
+
+        // Each batch holds the entries sharing the same index key. Whole
+        // batches are collected to keep all the entries tied with the last
+        // collected one, their final order is decided by the comparator.
+        List<QueryableEntry<K, V>> resultList = new ArrayList<>();
+        while (resultList.size() < limit && batches.hasNext()) {
+            Iterator<QueryableEntry> entries = batches.next().getEntries();
+            while (entries.hasNext()) {
+                QueryableEntry<K, V> queryableEntry = entries.next();
+                if ((predicate == null || predicate.apply(queryableEntry))
+                        && SortingUtil.compareAnchor(this, queryableEntry, nearestAnchorEntry)) {
+                    resultList.add(queryableEntry);
+                }
+            }
+        }
+
+        List<QueryableEntry<K, V>> sortedSubList =
+                (List) SortingUtil.getSortedSubList((List) resultList, this, nearestAnchorEntry);
+        return new LinkedHashSet<>(sortedSubList);
+    }
+
     /**
      * Used for delegating filtering to inner predicate.
      */
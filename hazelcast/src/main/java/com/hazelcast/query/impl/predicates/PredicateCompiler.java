@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.internal.json.JsonValue;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.Extractable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an optimized predicate tree into a tree of closures used by the
+ * full partition scan.
+ * <p>
+ * Compared to interpreting the original predicates, the compiled form:
+ * <ul>
+ * <li>extracts every distinct attribute at most once per entry, no matter how
+ * many predicates of the tree refer to it;</li>
+ * <li>converts the constant arguments of the equal, not equal, greater/less and
+ * between predicates once, on the first entry, instead of once per entry;
+ * entries whose attribute class differs from the one the constants were
+ * converted for are still evaluated by the original predicate.</li>
+ * </ul>
+ * Predicates which are not known to the compiler are applied as is. The
+ * compiled predicate keeps per-entry state, so it must be used by a single
+ * thread and is never serialized. Compilation can be disabled with the
+ * {@value #ENABLED_PROPERTY} system property.
+ */
+public final class PredicateCompiler {
+
+    static final String ENABLED_PROPERTY = "hazelcast.query.predicates.compiled";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+
+    private static final Object NOT_READ = new Object();
+
+    private PredicateCompiler() {
+    }
+
+    /**
+     * Compiles the given predicate.
+     *
+     * @param predicate the predicate to compile, usually already optimized
+     * @return the compiled predicate or the given one if compiling it
+     * wouldn't speed up its evaluation
+     */
+    @SuppressWarnings("rawtypes")
+    public static Predicate compile(Predicate predicate) {
+        if (!ENABLED || predicate == null) {
+            return predicate;
+        }
+        Compilation compilation = new Compilation();
+        Node root = compilation.compile(predicate);
+        if (root instanceof FallbackNode) {
+            return predicate;
+        }
+        return new CompiledPredicate(predicate, root, compilation.attributes.size());
+    }
+
+    /**
+     * Builds the node tree and assigns a slot to every distinct attribute.
+     */
+    private static final class Compilation {
+
+        private final List<String> attributes = new ArrayList<>();
+
+        @SuppressWarnings("rawtypes")
+        Node compile(Predicate predicate) {
+            Class<?> type = predicate.getClass();
+            if (type == AndPredicate.class) {
+                return new AndNode(compile(((AndPredicate) predicate).predicates));
+            } else if (type == OrPredicate.class) {
+                return new OrNode(compile(((OrPredicate) predicate).predicates));
+            } else if (type == NotPredicate.class) {
+                return new NotNode(compile(((NotPredicate) predicate).predicate));
+            } else if (type == TruePredicate.class) {
+                return ConstantNode.TRUE;
+            } else if (type == FalsePredicate.class) {
+                return ConstantNode.FALSE;
+            } else if (type == EqualPredicate.class) {
+                EqualPredicate equal = (EqualPredicate) predicate;
+                return new EqualNode(equal, slot(equal));
+            } else if (type == NotEqualPredicate.class) {
+                NotEqualPredicate notEqual = (NotEqualPredicate) predicate;
+                return new NotEqualNode(notEqual, slot(notEqual));
+            } else if (type == GreaterLessPredicate.class) {
+                GreaterLessPredicate greaterLess = (GreaterLessPredicate) predicate;
+                return new GreaterLessNode(greaterLess, slot(greaterLess));
+            } else if (type == BetweenPredicate.class) {
+                BetweenPredicate between = (BetweenPredicate) predicate;
+                return new BetweenNode(between, slot(between));
+            } else if (type == InPredicate.class || type == LikePredicate.class
+                    || type == ILikePredicate.class || type == RegexPredicate.class) {
+                AbstractPredicate attributePredicate = (AbstractPredicate) predicate;
+                return new AttributeNode(attributePredicate, slot(attributePredicate));
+            }
+            return new FallbackNode(predicate);
+        }
+
+        @SuppressWarnings("rawtypes")
+        private Node[] compile(Predicate[] predicates) {
+            Node[] nodes = new Node[predicates.length];
+            for (int i = 0; i < predicates.length; i++) {
+                nodes[i] = compile(predicates[i]);
+            }
+            return nodes;
+        }
+
+        @SuppressWarnings("rawtypes")
+        private int slot(AbstractPredicate predicate) {
+            int slot = attributes.indexOf(predicate.attributeName);
+            if (slot == -1) {
+                slot = attributes.size();
+                attributes.add(predicate.attributeName);
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * The predicate evaluating a compiled node tree.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class CompiledPredicate implements Predicate {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Predicate predicate;
+        private final transient Node root;
+        private final transient Object[] attributeValues;
+        private transient Map.Entry entry;
+
+        CompiledPredicate(Predicate predicate, Node root, int attributeCount) {
+            this.predicate = predicate;
+            this.root = root;
+            this.attributeValues = new Object[attributeCount];
+        }
+
+        @Override
+        public boolean apply(Map.Entry mapEntry) {
+            Arrays.fill(attributeValues, NOT_READ);
+            entry = mapEntry;
+            try {
+                return root.test(this);
+            } finally {
+                entry = null;
+            }
+        }
+
+        Object attributeValue(int slot, AbstractPredicate predicate) {
+            Object value = attributeValues[slot];
+            if (value == NOT_READ) {
+                value = ((Extractable) entry).getAttributeValue(predicate.attributeName);
+                attributeValues[slot] = value;
+            }
+            return value;
+        }
+
+        Map.Entry entry() {
+            return entry;
+        }
+
+        @Override
+        public String toString() {
+            return "CompiledPredicate{" + predicate + '}';
+        }
+    }
+
+    private interface Node {
+
+        boolean test(CompiledPredicate compiled);
+    }
+
+    private static final class ConstantNode implements Node {
+
+        static final ConstantNode TRUE = new ConstantNode(true);
+        static final ConstantNode FALSE = new ConstantNode(false);
+
+        private final boolean result;
+
+        private ConstantNode(boolean result) {
+            this.result = result;
+        }
+
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            return result;
+        }
+    }
+
+    private static final class AndNode implements Node {
+
+        private final Node[] nodes;
+
+        AndNode(Node[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            for (Node node : nodes) {
+                if (!node.test(compiled)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OrNode implements Node {
+
+        private final Node[] nodes;
+
+        OrNode(Node[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            for (Node node : nodes) {
+                if (node.test(compiled)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class NotNode implements Node {
+
+        private final Node node;
+
+        NotNode(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            return !node.test(compiled);
+        }
+    }
+
+    /**
+     * Applies a predicate the compiler doesn't know to the whole entry.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final class FallbackNode implements Node {
+
+        private final Predicate predicate;
+
+        FallbackNode(Predicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            return predicate.apply(compiled.entry());
+        }
+    }
+
+    /**
+     * Applies an attribute predicate to the shared attribute value.
+     */
+    @SuppressWarnings("rawtypes")
+    private static class AttributeNode implements Node {
+
+        final AbstractPredicate predicate;
+        final int slot;
+
+        AttributeNode(AbstractPredicate predicate, int slot) {
+            this.predicate = predicate;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            return predicate.applyForAttributeValue(compiled.attributeValue(slot, predicate));
+        }
+    }
+
+    /**
+     * Applies an attribute predicate with constant arguments, converting them
+     * to the type of the attribute only once. The conversion is done for the
+     * class of the first plain attribute value met; values of other classes,
+     * nulls, enums, multi-value and JSON attributes are handled by the original
+     * predicate.
+     */
+    @SuppressWarnings("rawtypes")
+    private abstract static class ConvertingNode extends AttributeNode {
+
+        private Class<?> attributeClass;
+
+        ConvertingNode(AbstractPredicate predicate, int slot) {
+            super(predicate, slot);
+        }
+
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            Object value = compiled.attributeValue(slot, predicate);
+            if (value != null) {
+                Class<?> valueClass = value.getClass();
+                if (valueClass == attributeClass) {
+                    return testConverted((Comparable) value);
+                }
+                if (attributeClass == null && isPlain(value)) {
+                    convertArguments((Comparable) value);
+                    attributeClass = valueClass;
+                    return testConverted((Comparable) value);
+                }
+            }
+            return predicate.applyForAttributeValue(value);
+        }
+
+        private static boolean isPlain(Object value) {
+            return value instanceof Comparable
+                    && !(value instanceof JsonValue)
+                    && !(value instanceof Collection)
+                    && !(value instanceof Enum);
+        }
+
+        abstract void convertArguments(Comparable attributeValue);
+
+        abstract boolean testConverted(Comparable attributeValue);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class EqualNode extends ConvertingNode {
+
+        private Comparable convertedValue;
+
+        EqualNode(EqualPredicate predicate, int slot) {
+            super(predicate, slot);
+        }
+
+        @Override
+        void convertArguments(Comparable attributeValue) {
+            // the predicate keeps its value converted, see EqualPredicate.applyForSingleAttributeValue
+            EqualPredicate equal = (EqualPredicate) predicate;
+            convertedValue = equal.convert(attributeValue, equal.value);
+            equal.value = convertedValue;
+        }
+
+        @Override
+        boolean testConverted(Comparable attributeValue) {
+            return Comparables.equal(attributeValue, convertedValue);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class NotEqualNode extends ConvertingNode {
+
+        private Comparable convertedValue;
+
+        NotEqualNode(NotEqualPredicate predicate, int slot) {
+            super(predicate, slot);
+        }
+
+        @Override
+        public boolean test(CompiledPredicate compiled) {
+            // the equality is checked and negated, see NotEqualPredicate.apply
+            return !super.test(compiled);
+        }
+
+        @Override
+        void convertArguments(Comparable attributeValue) {
+            NotEqualPredicate notEqual = (NotEqualPredicate) predicate;
+            convertedValue = notEqual.convert(attributeValue, notEqual.value);
+            notEqual.value = convertedValue;
+        }
+
+        @Override
+        boolean testConverted(Comparable attributeValue) {
+            return Comparables.equal(attributeValue, convertedValue);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class GreaterLessNode extends ConvertingNode {
+
+        private final Comparable value;
+        private final boolean equal;
+        private final boolean less;
+        private Comparable convertedValue;
+
+        GreaterLessNode(GreaterLessPredicate predicate, int slot) {
+            super(predicate, slot);
+            this.value = predicate.value;
+            this.equal = predicate.equal;
+            this.less = predicate.less;
+        }
+
+        @Override
+        void convertArguments(Comparable attributeValue) {
+            convertedValue = predicate.convert(attributeValue, value);
+        }
+
+        @Override
+        boolean testConverted(Comparable attributeValue) {
+            int result = Comparables.compare(attributeValue, convertedValue);
+            return equal && result == 0 || (less ? (result < 0) : (result > 0));
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class BetweenNode extends ConvertingNode {
+
+        private final Comparable from;
+        private final Comparable to;
+        private Comparable convertedFrom;
+        private Comparable convertedTo;
+
+        BetweenNode(BetweenPredicate predicate, int slot) {
+            super(predicate, slot);
+            this.from = predicate.from;
+            this.to = predicate.to;
+        }
+
+        @Override
+        void convertArguments(Comparable attributeValue) {
+            convertedFrom = predicate.convert(attributeValue, from);
+            convertedTo = predicate.convert(attributeValue, to);
+        }
+
+        @Override
+        boolean testConverted(Comparable attributeValue) {
+            if (convertedFrom == null || convertedTo == null) {
+                return false;
+            }
+            return Comparables.compare(attributeValue, convertedFrom) >= 0
+                    && Comparables.compare(attributeValue, convertedTo) <= 0;
+        }
+    }
+}
@@ -71,6 +71,7 @@ public final class SecurityInterceptorConstants {
     public static final String ADD_INTERCEPTOR = "addInterceptor";
     public static final String AGGREGATE = "aggregate";
     public static final String AGGREGATE_WITH_PREDICATE = "aggregateWithPredicate";
+    public static final String BATCH = "batch";
     public static final String CONTAINS_VALUE = "containsValue";
     public static final String DELETE = "delete";
     public static final String DESTROY_CACHE = "destroyCache";
@@ -38,6 +38,8 @@ import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratin
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.proxyservice.impl.DistributedObjectEventPacket;
 import com.hazelcast.spi.impl.proxyservice.impl.operations.DistributedObjectDestroyOperation;
@@ -81,6 +83,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
     public static final int SIMPLE_TOKEN_CRED = 24;
     public static final int DISTRIBUTED_OBJECT_EVENT_PACKET = 25;
     public static final int APPEND_TENANT_CONTROL_OPERATION = 26;
+    public static final int MULTI_RESPONSE = 27;
+    public static final int MULTI_BACKUP_ACK_RESPONSE = 28;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -119,6 +123,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
             case SIMPLE_TOKEN_CRED -> new SimpleTokenCredentials();
             case DISTRIBUTED_OBJECT_EVENT_PACKET -> new DistributedObjectEventPacket();
             case APPEND_TENANT_CONTROL_OPERATION -> new TenantControlReplicationOperation();
+            case MULTI_RESPONSE -> new MultiResponse();
+            case MULTI_BACKUP_ACK_RESPONSE -> new MultiBackupAckResponse();
             default -> null;
         };
     }
@@ -111,6 +111,12 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor that prepares chunks of map index builds,
+     * e.g. deserializes the values to be indexed, off the partition threads.
+     */
+    String MAP_INDEX_BUILD_EXECUTOR = "hz:map-index-build";
+
     /**
      * Name of the Management Center executor. Used to execute blocking tasks
      * related with operations run by Management Center.
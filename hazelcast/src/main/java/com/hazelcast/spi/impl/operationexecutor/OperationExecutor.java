@@ -131,6 +131,17 @@ public interface OperationExecutor extends Consumer<Packet>, LiveOperationsTrack
      */
     void execute(PartitionSpecificRunnable task);
 
+    /**
+     * Runs the {@link PartitionSpecificRunnable} on the calling thread if that
+     * is the partition thread owning the partition of the task and it isn't
+     * already running something. Otherwise the task is submitted using
+     * {@link #execute(PartitionSpecificRunnable)}.
+     *
+     * @param task the task to run or execute.
+     * @throws java.lang.NullPointerException if task is null.
+     */
+    void runOrExecute(PartitionSpecificRunnable task);
+
     /**
      * Executes the task on every partition thread.
      *
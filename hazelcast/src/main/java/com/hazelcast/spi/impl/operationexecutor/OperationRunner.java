@@ -79,6 +79,24 @@ public abstract class OperationRunner {
      */
     public abstract void run(Operation task);
 
+    /**
+     * Called before a batch of packets for the partition of this
+     * OperationRunner is run back-to-back with {@link #run(Packet)}.
+     * <p>
+     * Between {@code beginBatch} and {@link #endBatch()}, the OperationRunner
+     * is allowed to check the state of the partition only once and to delay
+     * sending the responses till the end of the batch.
+     */
+    public void beginBatch() {
+    }
+
+    /**
+     * Called after a batch of packets started with {@link #beginBatch()} has
+     * been run, also if running one of the packets failed.
+     */
+    public void endBatch() {
+    }
+
     /**
      * Returns the current task that is executing. This value could be null
      * if no operation is executing.
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * A bounded {@link OperationQueue} for a single consumer, the partition
+ * operation thread owning it.
+ * <p>
+ * Normal tasks are stored in a {@link ManyToOneConcurrentArrayQueue}, so
+ * adding a task is a single CAS on the tail and no node is allocated. When
+ * the array is full, a producer which isn't an operation thread, e.g. an IO
+ * or a user thread, backs off until the consumer has made room, this is the
+ * back pressure of the queue. Operation threads never wait: two partition
+ * threads adding to each other's full queue would deadlock, and the consumer
+ * thread itself, e.g. re-scheduling a {@link TaskBatch}, would wait for
+ * itself. Their tasks are added to an unbounded overflow instead, each
+ * tagged with the number of tasks added to the array before it, so it's
+ * taken after them and the tasks of every producer stay in FIFO order.
+ * <p>
+ * Priority tasks are stored in an unbound {@link ConcurrentLinkedQueue}; they
+ * are rare and should never be rejected.
+ * <p>
+ * When there is no work, the consumer idles with the configured
+ * {@link IdleStrategy}. Without an idle strategy, the consumer parks and is
+ * unparked by the next producer.
+ */
+public final class ArrayOperationQueue implements OperationQueue {
+
+    private static final int PRODUCER_MAX_SPINS = 64;
+    private static final int PRODUCER_MAX_YIELDS = 64;
+    private static final long PRODUCER_MIN_PARK_NANOS = 1_000;
+    private static final long PRODUCER_MAX_PARK_NANOS = 100_000;
+
+    private static final IdleStrategy PRODUCER_IDLE_STRATEGY = new BackoffIdleStrategy(
+            PRODUCER_MAX_SPINS, PRODUCER_MAX_YIELDS, PRODUCER_MIN_PARK_NANOS, PRODUCER_MAX_PARK_NANOS);
+
+    private final ManyToOneConcurrentArrayQueue<Object> normalQueue;
+    private final Queue<Object> priorityQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<OverflowTask> overflow = new ConcurrentLinkedQueue<>();
+    private final IdleStrategy idleStrategy;
+    private Thread consumerThread;
+    private volatile boolean consumerParked;
+
+    /**
+     * Creates a new ArrayOperationQueue.
+     *
+     * @param capacity     the capacity of the normal queue; rounded up to the
+     *                     next power of two
+     * @param idleStrategy the strategy used by the consumer when there is no
+     *                     work, or {@code null} if the consumer should park
+     */
+    public ArrayOperationQueue(int capacity, IdleStrategy idleStrategy) {
+        this.normalQueue = new ManyToOneConcurrentArrayQueue<>(checkPositive("capacity", capacity));
+        this.idleStrategy = idleStrategy;
+    }
+
+    /**
+     * Sets the thread taking tasks from this queue. Needs to be called before
+     * the queue is used.
+     *
+     * @param consumerThread the consumer thread
+     */
+    public void setConsumerThread(Thread consumerThread) {
+        this.consumerThread = checkNotNull(consumerThread, "consumerThread can't be null");
+    }
+
+    /**
+     * Returns the capacity of the normal queue.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return normalQueue.capacity();
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.offer(task);
+        } else if (isOperationThread(Thread.currentThread())) {
+            // once a task overflows, the following ones do too until
+            // the overflow is drained, so they can't overtake it
+            if (!overflow.isEmpty() || !normalQueue.offer(task)) {
+                overflow.offer(new OverflowTask(task, normalQueue.addedCount()));
+            }
+        } else {
+            for (long iteration = 0; !normalQueue.offer(task); iteration++) {
+                PRODUCER_IDLE_STRATEGY.idle(iteration);
+            }
+        }
+
+        if (consumerParked) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    private boolean isOperationThread(Thread thread) {
+        return thread == consumerThread || thread instanceof OperationThread;
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        for (long iteration = 0; ; iteration++) {
+            Object task = priorityOnly ? priorityQueue.poll() : poll();
+            if (task != null) {
+                return task;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            if (idleStrategy != null) {
+                idleStrategy.idle(iteration);
+            } else {
+                park(priorityOnly);
+            }
+        }
+    }
+
+    private void park(boolean priorityOnly) {
+        consumerParked = true;
+        // a producer adds the task before it checks consumerParked, so
+        // either we see the task here or the producer sees us parked
+        if (!hasPending(priorityOnly)) {
+            LockSupport.park(this);
+        }
+        consumerParked = false;
+    }
+
+    private boolean hasPending(boolean priorityOnly) {
+        if (!priorityQueue.isEmpty()) {
+            return true;
+        }
+        // the added count can be ahead of the visible item while a producer
+        // is between claiming a slot and publishing the task
+        return !priorityOnly && (!overflow.isEmpty() || normalQueue.addedCount() != normalQueue.removedCount());
+    }
+
+    @Override
+    public Object poll() {
+        Object task = priorityQueue.poll();
+        if (task != null) {
+            return task;
+        }
+
+        // an overflow task is taken once the tasks added before it are taken
+        OverflowTask overflowTask = overflow.peek();
+        if (overflowTask != null && normalQueue.removedCount() >= overflowTask.sequence) {
+            overflow.poll();
+            return overflowTask.task;
+        }
+
+        return normalQueue.poll();
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + overflow.size();
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + priorityQueue.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private static final class OverflowTask {
+
+        final Object task;
+        // the number of tasks added to the normal queue before this task
+        final long sequence;
+
+        OverflowTask(Object task, long sequence) {
+            this.task = task;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -95,6 +95,21 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public final class OperationExecutorImpl implements OperationExecutor, StaticMetricsProvider {
     private static final HazelcastProperty IDLE_STRATEGY
             = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+    /**
+     * The capacity of the bounded {@link ArrayOperationQueue} of each partition
+     * thread. With the default of 0, the partition threads use an unbound
+     * {@link MPSCQueue}. The idling of both is configured using
+     * {@link #IDLE_STRATEGY}.
+     */
+    private static final HazelcastProperty QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue.capacity", 0);
+    /**
+     * The maximum number of queued packets for the same partition a partition
+     * thread runs as one batch; checking the partition state once and sending
+     * the responses per member in one write. The default of 1 disables it.
+     */
+    private static final HazelcastProperty BATCH_SIZE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.batch.size", 1);
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
     private final ThreadAffinity threadAffinity = newSystemThreadAffinity("hazelcast.operation.thread.affinity");
     private final ILogger logger;
@@ -176,19 +191,30 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         }
 
         IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
+        int queueCapacity = properties.getInteger(QUEUE_CAPACITY);
+        int batchSize = properties.getInteger(BATCH_SIZE);
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
-            MPSCQueue<Object> normalQueue = new MPSCQueue<>(idleStrategy);
+            PartitionOperationThread partitionThread;
+            if (queueCapacity > 0) {
+                ArrayOperationQueue operationQueue = new ArrayOperationQueue(queueCapacity, idleStrategy);
+                partitionThread = new PartitionOperationThread(threadName, threadId,
+                        operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                operationQueue.setConsumerThread(partitionThread);
+            } else {
+                // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
+                MPSCQueue<Object> normalQueue = new MPSCQueue<>(idleStrategy);
 
-            OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+                OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
 
-            PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId,
-                    operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                partitionThread = new PartitionOperationThread(threadName, threadId,
+                        operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                normalQueue.setConsumerThread(partitionThread);
+            }
             partitionThread.setThreadAffinity(threadAffinity);
+            partitionThread.setMaxBatchSize(batchSize);
             threads[threadId] = partitionThread;
-            normalQueue.setConsumerThread(partitionThread);
         }
 
         // we need to assign the PartitionOperationThreads to all OperationRunners they own
@@ -423,6 +449,22 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         execute(task, task.getPartitionId(), task instanceof UrgentSystemOperation);
     }
 
+    @Override
+    public void runOrExecute(PartitionSpecificRunnable task) {
+        checkNotNull(task, "task can't be null");
+
+        int partitionId = task.getPartitionId();
+        // a partition thread that is already running a task (a nested call) must not run another one
+        if (partitionId >= 0
+                && Thread.currentThread() instanceof PartitionOperationThread partitionThread
+                && partitionThread.currentRunner == null
+                && toPartitionThreadIndex(partitionId) == partitionThread.threadId) {
+            partitionThread.process(task);
+        } else {
+            execute(task);
+        }
+    }
+
     @Override
     public void accept(Packet packet) {
         execute(packet, packet.getPartitionId(), packet.isUrgent());
@@ -18,12 +18,17 @@ package com.hazelcast.spi.impl.operationexecutor.impl;
 
 import com.hazelcast.instance.impl.NodeExtension;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_COMPLETED_PACKET_BATCH_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 
 /**
  * An {@link OperationThread} that executes Operations for a particular partition,
@@ -33,6 +38,12 @@ public class PartitionOperationThread extends OperationThread {
 
     OperationRunner[] partitionOperationRunners;
 
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_COMPLETED_PACKET_BATCH_COUNT)
+    private final SwCounter completedPacketBatchCount = newSwCounter();
+
+    // null if packets are not batched
+    private Packet[] batch;
+
     @SuppressFBWarnings("EI_EXPOSE_REP")
     public PartitionOperationThread(String name,
                                     int threadId,
@@ -54,6 +65,76 @@ public class PartitionOperationThread extends OperationThread {
         return partitionOperationRunners[partitionId];
     }
 
+    /**
+     * Sets the maximum number of packets for the same partition which are
+     * run as one batch, see {@link OperationRunner#beginBatch()}. Needs to
+     * be called before the thread is started.
+     *
+     * @param maxBatchSize the maximum batch size, 1 disables batching
+     */
+    void setMaxBatchSize(int maxBatchSize) {
+        checkPositive("maxBatchSize", maxBatchSize);
+        this.batch = maxBatchSize > 1 ? new Packet[maxBatchSize] : null;
+    }
+
+    @Override
+    void process(Object task) {
+        Object next = task;
+        while (next != null) {
+            if (batch == null || next.getClass() != Packet.class) {
+                super.process(next);
+                return;
+            }
+            next = processBatch((Packet) next);
+        }
+    }
+
+    /**
+     * Runs the packet together with the packets for the same partition which
+     * are directly behind it in the queue.
+     *
+     * @return the task taken from the queue which is not part of the batch,
+     * or {@code null} if there is none
+     */
+    private Object processBatch(Packet first) {
+        Packet[] batch = this.batch;
+        int partitionId = first.getPartitionId();
+        batch[0] = first;
+        int count = 1;
+        Object next = null;
+        while (count < batch.length) {
+            next = queue.poll();
+            if (next == null) {
+                break;
+            } else if (next.getClass() == Packet.class && ((Packet) next).getPartitionId() == partitionId) {
+                batch[count++] = (Packet) next;
+                next = null;
+            } else {
+                break;
+            }
+        }
+
+        if (count == 1) {
+            batch[0] = null;
+            super.process(first);
+            return next;
+        }
+
+        OperationRunner runner = operationRunner(partitionId);
+        runner.beginBatch();
+        try {
+            for (int i = 0; i < count; i++) {
+                Packet packet = batch[i];
+                batch[i] = null;
+                super.process(packet);
+            }
+        } finally {
+            runner.endBatch();
+        }
+        completedPacketBatchCount.inc();
+        return next;
+    }
+
     @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT)
     int priorityPendingCount() {
         return queue.prioritySize();
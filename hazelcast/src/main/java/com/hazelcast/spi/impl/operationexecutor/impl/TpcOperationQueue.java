@@ -24,8 +24,14 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 
 public class TpcOperationQueue implements OperationQueue {
 
-    // There is no data-race on this queue because the field is set before the thread is started.
-    private Reactor reactor;
+    // An offered task makes the eventloop select without blocking; a plain wakeup
+    // could get lost when it races with the eventloop going to sleep.
+    private static final Runnable WAKEUP_TASK = () -> {
+    };
+
+    // The reactor is only known after its eventloop thread has been started, so
+    // tasks can be added before it is set. Those are picked up by the first tick.
+    private volatile Reactor reactor;
     private final Queue<Object> normalQueue;
     private final Queue<Object> priorityQueue;
 
@@ -42,7 +48,10 @@ public class TpcOperationQueue implements OperationQueue {
             normalQueue.offer(task);
         }
 
-        reactor.wakeup();
+        Reactor reactor0 = reactor;
+        if (reactor0 != null && Thread.currentThread() != reactor0.eventloopThread()) {
+            reactor0.offer(WAKEUP_TASK);
+        }
     }
 
     @Override
@@ -26,18 +26,28 @@ import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
 
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.internal.nio.Packet.Type.OPERATION;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.BACKUP_ACK_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.CALL_TIMEOUT_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.ERROR_RESPONSE;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_BACKUP_ACK_RESPONSE;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.NORMAL_RESPONSE;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse.OFFSET_CALL_IDS;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse.OFFSET_CALL_ID_COUNT;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSES;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSE_COUNT;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_BACKUP_ACKS;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.Response.OFFSET_CALL_ID;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.Response.OFFSET_TYPE_ID;
@@ -60,6 +70,8 @@ public final class InboundResponseHandler implements Consumer<Packet> {
     final MwCounter responsesBackup = newMwCounter();
     final SwCounter responsesError = newSwCounter();
     final MwCounter responsesMissing = newMwCounter();
+    final SwCounter responsesMulti = newSwCounter();
+    final SwCounter responsesMultiResponses = newSwCounter();
     private final ILogger logger;
     private final InternalSerializationService serializationService;
     private final InvocationRegistry invocationRegistry;
@@ -82,6 +94,14 @@ public final class InboundResponseHandler implements Consumer<Packet> {
 
         byte[] bytes = packet.toByteArray();
         int typeId = Bits.readInt(bytes, OFFSET_TYPE_ID, useBigEndian);
+        if (typeId == MULTI_RESPONSE) {
+            acceptMultiResponse(packet, bytes);
+        } else {
+            accept(packet, bytes, typeId);
+        }
+    }
+
+    private void accept(Packet packet, byte[] bytes, int typeId) {
         long callId = Bits.readLong(bytes, OFFSET_CALL_ID, useBigEndian);
         Address sender = packet.getConn().getRemoteAddress();
         try {
@@ -93,6 +113,9 @@ public final class InboundResponseHandler implements Consumer<Packet> {
                 case BACKUP_ACK_RESPONSE:
                     notifyBackupComplete(callId);
                     break;
+                case MULTI_BACKUP_ACK_RESPONSE:
+                    notifyBackupsComplete(bytes);
+                    break;
                 case CALL_TIMEOUT_RESPONSE:
                     notifyCallTimeout(callId, sender);
                     break;
@@ -108,6 +131,41 @@ public final class InboundResponseHandler implements Consumer<Packet> {
         }
     }
 
+    /**
+     * Processes each response contained in the {@link MultiResponse} as if it
+     * was received in a packet of its own.
+     */
+    private void acceptMultiResponse(Packet packet, byte[] bytes) {
+        responsesMulti.inc();
+
+        try {
+            int count = Bits.readInt(bytes, OFFSET_RESPONSE_COUNT, useBigEndian);
+            int offset = OFFSET_RESPONSES;
+            for (int k = 0; k < count; k++) {
+                int length = Bits.readInt(bytes, offset, useBigEndian);
+                offset += INT_SIZE_IN_BYTES;
+                byte[] responseBytes = Arrays.copyOfRange(bytes, offset, offset + length);
+                offset += length;
+
+                Packet response = new Packet(responseBytes, -1)
+                        .setPacketType(OPERATION)
+                        .raiseFlags(FLAG_OP_RESPONSE)
+                        .setConn(packet.getConn());
+                responsesMultiResponses.inc();
+                accept(response, responseBytes, Bits.readInt(responseBytes, OFFSET_TYPE_ID, useBigEndian));
+            }
+        } catch (Throwable e) {
+            logger.severe("While processing multi response...", e);
+        }
+    }
+
+    private void notifyBackupsComplete(byte[] bytes) {
+        int count = Bits.readInt(bytes, OFFSET_CALL_ID_COUNT, useBigEndian);
+        for (int k = 0; k < count; k++) {
+            notifyBackupComplete(Bits.readLong(bytes, OFFSET_CALL_IDS + k * LONG_SIZE_IN_BYTES, useBigEndian));
+        }
+    }
+
     public void notifyBackupComplete(long callId) {
         responsesBackup.inc();
 
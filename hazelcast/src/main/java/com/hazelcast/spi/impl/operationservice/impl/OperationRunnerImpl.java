@@ -132,6 +132,12 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
 
     private final ConcurrentMap<Class, LatencyDistribution> opLatencyDistributions;
 
+    // The state of a batch, see beginBatch. Only accessed by the partition thread.
+    private OutboundResponseBatch responseBatch;
+    private boolean batching;
+    private boolean batchNodeActive;
+    private boolean batchPartitionOwned;
+
     // When partitionId >= 0, it is a partition specific
     // when partitionId = -1, it is generic
     // when partitionId = -2, it is ad hoc
@@ -217,6 +223,46 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
          run(op, System.nanoTime());
     }
 
+    /**
+     * Checks the state of the node and the partition once for the whole
+     * batch and starts collecting the responses of the remote operations.
+     * As long as the node is active, this member owns the partition and it
+     * is not migrating, the checks of the individual operations on the
+     * primary replica are skipped.
+     */
+    @Override
+    public void beginBatch() {
+        if (partitionId < 0) {
+            return;
+        }
+
+        if (responseBatch == null) {
+            responseBatch = new OutboundResponseBatch(outboundResponseHandler, logger);
+        }
+        if (internalPartition == null) {
+            internalPartition = nodeEngine.getPartitionService().getPartition(partitionId);
+        }
+
+        PartitionReplica owner = internalPartition.getReplica(0);
+        batching = true;
+        batchNodeActive = node.getState() == NodeState.ACTIVE;
+        batchPartitionOwned = !internalPartition.isMigrating()
+                && owner != null && owner.isIdentical(node.getLocalMember());
+        responseBatch.begin();
+    }
+
+    @Override
+    public void endBatch() {
+        if (!batching) {
+            return;
+        }
+
+        batching = false;
+        batchNodeActive = false;
+        batchPartitionOwned = false;
+        responseBatch.flush();
+    }
+
     public boolean metWithPreconditions(Operation op) {
         checkNodeState(op);
         if (timeout(op)) {
@@ -264,6 +310,10 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         } catch (Throwable e) {
             handleOperationError(op, e);
         } finally {
+            if (batchPartitionOwned && isMigrationOperation(op)) {
+                // the partition state checked at the start of the batch can be changed by the migration
+                batchPartitionOwned = false;
+            }
             op.afterRunFinal();
             if (publishCurrentTask) {
                 currentTask = null;
@@ -331,6 +381,10 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
     }
 
     private void checkNodeState(Operation op) {
+        if (batchNodeActive) {
+            return;
+        }
+
         NodeState state = node.getState();
         if (state == NodeState.ACTIVE) {
             return;
@@ -406,6 +460,10 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
             throw new IllegalStateException("wrong partition, expected: " + getPartitionId() + " but found:" + partitionId);
         }
 
+        if (isCheckedByBatch(op)) {
+            return;
+        }
+
         if (internalPartition == null) {
             internalPartition = nodeEngine.getPartitionService().getPartition(partitionId);
         }
@@ -423,6 +481,11 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         }
     }
 
+    private boolean isCheckedByBatch(Operation op) {
+        // the partition owner has been checked at the start of the batch
+        return batchPartitionOwned && op.getReplicaIndex() == 0;
+    }
+
     private boolean isAllowedToExecuteDuringMigration(Operation op) {
         return (op instanceof ReadonlyOperation && staleReadOnMigrationEnabled) || isMigrationOperation(op);
     }
@@ -529,7 +592,7 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
     }
 
     private void setOperationResponseHandler(Operation op) {
-        OperationResponseHandler handler = outboundResponseHandler;
+        OperationResponseHandler handler = batching ? responseBatch : outboundResponseHandler;
         if (op.getCallId() == 0) {
             if (op.returnsResponse()) {
                 throw new HazelcastException(
@@ -61,7 +61,9 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OPERATION_SERVICE_ASYNC_OPERATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OPERATION_SERVICE_CALL_TIMEOUT_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OPERATION_SERVICE_FAILED_BACKUPS;
@@ -142,6 +144,7 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
     volatile Invocation.Context invocationContext;
 
     private final InvocationMonitor invocationMonitor;
+    private final ScheduledExecutorService backupAckScheduler;
     private final SlowOperationDetector slowOperationDetector;
     private final InboundResponseHandlerSupplier inboundResponseHandlerSupplier;
     private final InternalSerializationService serializationService;
@@ -167,9 +170,6 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
         this.backpressureRegulator = new BackpressureRegulator(
                 properties, node.getLogger(BackpressureRegulator.class));
 
-        this.outboundResponseHandler = new OutboundResponseHandler(thisAddress, serializationService,
-                node.getLogger(OutboundResponseHandler.class));
-
         this.invocationRegistry = new InvocationRegistry(
                 node.getLogger(OperationServiceImpl.class),
                 backpressureRegulator.newCallIdSequence(nodeEngine.getConcurrencyDetection()),
@@ -179,6 +179,11 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
                 nodeEngine, thisAddress, properties, invocationRegistry,
                 node.getLogger(InvocationMonitor.class), serializationService, nodeEngine.getServiceManager());
 
+        this.backupAckScheduler = OutboundBackupAcks.newScheduler(nodeEngine.getHazelcastInstance().getName());
+        this.outboundResponseHandler = new OutboundResponseHandler(thisAddress, serializationService,
+                node.getLogger(OutboundResponseHandler.class), properties, backupAckScheduler,
+                () -> node.getClusterService().getClusterVersion().isGreaterOrEqual(V6_0));
+
         this.outboundOperationHandler = new OutboundOperationHandler(node, serializationService);
 
         this.backupHandler = new OperationBackupHandler(this, outboundOperationHandler);
@@ -527,6 +532,7 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
 
     public void onMemberLeft(MemberImpl member) {
         invocationMonitor.onMemberLeft(member);
+        outboundResponseHandler.onMemberLeft(member.getAddress());
     }
 
     @Override
@@ -542,7 +548,8 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
     @Override
     public void provideStaticMetrics(MetricsRegistry registry) {
         registry.registerStaticMetrics(this, OPERATION_PREFIX);
-        registry.provideMetrics(invocationRegistry, invocationMonitor, inboundResponseHandlerSupplier, operationExecutor);
+        registry.provideMetrics(invocationRegistry, invocationMonitor, inboundResponseHandlerSupplier,
+                outboundResponseHandler, operationExecutor);
     }
 
     public void start() {
@@ -592,6 +599,8 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
 
         invocationRegistry.shutdown();
         invocationMonitor.shutdown();
+        // the backup acks which are already held back are still sent
+        backupAckScheduler.shutdown();
         inboundResponseHandlerSupplier.shutdown();
 
         try {
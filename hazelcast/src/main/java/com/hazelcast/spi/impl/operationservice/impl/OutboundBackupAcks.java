@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.server.ServerConnectionManager;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Collects the backup acks which need to be sent to other members, so that
+ * they don't need a packet of their own for every synchronous backup.
+ * <p>
+ * The pending acks for a member are sent:
+ * <ol>
+ * <li>piggybacked on the next response for that member, see
+ * {@link OutboundResponseHandler#sendResponse(com.hazelcast.spi.impl.operationservice.Operation, Object)}</li>
+ * <li>as a single cumulative
+ * {@link com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse} once the
+ * configured delay after the first pending ack has passed or once
+ * {@link #MAX_PENDING_ACKS} acks are pending.</li>
+ * </ol>
+ * The delayed sends run on a scheduler of their own, see
+ * {@link #newScheduler(String)}, so that the sub-millisecond flushes don't
+ * hold up the invocation timeout and heartbeat checks of the
+ * {@link InvocationMonitor}.
+ * <p>
+ * This class is thread-safe; the acks for a member are guarded by a lock per
+ * member.
+ */
+final class OutboundBackupAcks {
+
+    static final int MAX_PENDING_ACKS = 1024;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ConcurrentMap<Address, PendingAcks> pendingAcksPerMember = new ConcurrentHashMap<>();
+    private final OutboundResponseHandler outboundResponseHandler;
+    private final ScheduledExecutorService scheduler;
+    private final long delayNanos;
+
+    OutboundBackupAcks(OutboundResponseHandler outboundResponseHandler, ScheduledExecutorService scheduler,
+                       long delayNanos) {
+        this.outboundResponseHandler = outboundResponseHandler;
+        this.scheduler = scheduler;
+        this.delayNanos = delayNanos;
+    }
+
+    /**
+     * Creates the scheduler sending the pending acks once their delay has
+     * passed. Its thread is only started when the first ack is held back.
+     */
+    static ScheduledExecutorService newScheduler(String hzName) {
+        return new ScheduledThreadPoolExecutor(1, r -> new BackupAckFlushThread(r, hzName));
+    }
+
+    void add(ServerConnectionManager connectionManager, Address target, long callId) {
+        PendingAcks pendingAcks = pendingAcksPerMember.get(target);
+        if (pendingAcks == null) {
+            pendingAcks = pendingAcksPerMember.computeIfAbsent(target, PendingAcks::new);
+        }
+
+        long[] callIds = null;
+        boolean scheduleFlush = false;
+        synchronized (pendingAcks) {
+            pendingAcks.add(connectionManager, callId);
+            if (pendingAcks.size >= MAX_PENDING_ACKS) {
+                callIds = pendingAcks.drain();
+            } else if (!pendingAcks.flushScheduled) {
+                pendingAcks.flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+
+        if (callIds != null) {
+            outboundResponseHandler.sendBackupAcks(connectionManager, target, callIds);
+        }
+
+        if (scheduleFlush) {
+            PendingAcks acks = pendingAcks;
+            try {
+                scheduler.schedule(() -> flush(acks), delayNanos, NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the member is shutting down
+                flush(acks);
+            }
+        }
+    }
+
+    /**
+     * Removes the pending acks for the given member so that they can be
+     * piggybacked on a response.
+     *
+     * @return the call IDs of the pending acks or {@code null} if there are none
+     */
+    long[] drain(Address target) {
+        PendingAcks pendingAcks = pendingAcksPerMember.get(target);
+        if (pendingAcks == null || pendingAcks.size == 0) {
+            return null;
+        }
+
+        synchronized (pendingAcks) {
+            return pendingAcks.drain();
+        }
+    }
+
+    void onMemberLeft(Address address) {
+        pendingAcksPerMember.remove(address);
+    }
+
+    int pendingCount(Address target) {
+        PendingAcks pendingAcks = pendingAcksPerMember.get(target);
+        return pendingAcks == null ? 0 : pendingAcks.size;
+    }
+
+    private void flush(PendingAcks pendingAcks) {
+        long[] callIds;
+        ServerConnectionManager connectionManager;
+        synchronized (pendingAcks) {
+            pendingAcks.flushScheduled = false;
+            callIds = pendingAcks.drain();
+            connectionManager = pendingAcks.connectionManager;
+        }
+
+        if (callIds != null) {
+            outboundResponseHandler.sendBackupAcks(connectionManager, pendingAcks.target, callIds);
+        }
+    }
+
+    private static final class PendingAcks {
+        private final Address target;
+        private ServerConnectionManager connectionManager;
+        private long[] callIds = new long[INITIAL_CAPACITY];
+        // written under the lock, read without it to skip members without pending acks
+        private volatile int size;
+        private boolean flushScheduled;
+
+        private PendingAcks(Address target) {
+            this.target = target;
+        }
+
+        private void add(ServerConnectionManager connectionManager, long callId) {
+            this.connectionManager = connectionManager;
+            int size = this.size;
+            if (size == callIds.length) {
+                callIds = Arrays.copyOf(callIds, size * 2);
+            }
+            callIds[size] = callId;
+            this.size = size + 1;
+        }
+
+        private long[] drain() {
+            int size = this.size;
+            if (size == 0) {
+                return null;
+            }
+            this.size = 0;
+            return Arrays.copyOf(callIds, size);
+        }
+    }
+
+    private static final class BackupAckFlushThread extends Thread implements OperationHostileThread {
+        private BackupAckFlushThread(Runnable task, String hzName) {
+            super(task, createThreadName(hzName, "BackupAckFlushThread"));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.ServerConnectionManager;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSES;
+
+/**
+ * An {@link OperationResponseHandler} that collects the responses of a batch
+ * of remote operations run by a partition thread, so that all responses for
+ * the same member are coalesced into {@link MultiResponse} packets and handed
+ * over to the connection in a single write when the batch is
+ * {@link #flush() flushed}.
+ * <p>
+ * The size of a MultiResponse packet is bounded by
+ * {@link OutboundResponseHandler#MULTI_RESPONSE_MAX_BYTES}; urgent and bigger
+ * responses are written as separate packets. Responses are not held back longer
+ * than {@link OutboundResponseHandler#MULTI_RESPONSE_MAX_DELAY}; once exceeded,
+ * the collected responses are written while the batch is still running.
+ * <p>
+ * Only responses sent by the thread running the batch, while the batch is
+ * running, are collected. Responses sent later or by other threads, e.g. by
+ * an offloaded operation, are sent directly using the
+ * {@link OutboundResponseHandler}.
+ * <p>
+ * This class is not thread-safe, {@link #begin()} and {@link #flush()} need
+ * to be called by the thread running the batch.
+ */
+public final class OutboundResponseBatch implements OperationResponseHandler {
+
+    private final OutboundResponseHandler outboundResponseHandler;
+    private final ILogger logger;
+    private final int multiResponseMaxBytes;
+    private final long maxDelayNanos;
+    private final List<Packet> packets = new ArrayList<>();
+    private final List<Address> targets = new ArrayList<>();
+    private final List<ServerConnectionManager> connectionManagers = new ArrayList<>();
+    private final List<Packet> frames = new ArrayList<>();
+    private final List<Packet> multiResponseFrames = new ArrayList<>();
+    private final List<Packet> writes = new ArrayList<>();
+    // other threads can see a stale value, but never their own thread
+    private Thread batchThread;
+    private long firstResponseNanos;
+    private int multiResponseCount;
+    private int multiResponseResponseCount;
+
+    OutboundResponseBatch(OutboundResponseHandler outboundResponseHandler, ILogger logger) {
+        this.outboundResponseHandler = outboundResponseHandler;
+        this.logger = logger;
+        this.multiResponseMaxBytes = outboundResponseHandler.getMultiResponseMaxBytes();
+        this.maxDelayNanos = outboundResponseHandler.getMultiResponseMaxDelayNanos();
+    }
+
+    void begin() {
+        batchThread = Thread.currentThread();
+    }
+
+    int size() {
+        return packets.size();
+    }
+
+    @Override
+    public void sendResponse(Operation operation, Object response) {
+        if (Thread.currentThread() != batchThread) {
+            outboundResponseHandler.sendResponse(operation, response);
+            return;
+        }
+
+        add(outboundResponseHandler.toResponsePacket(operation, response), operation.getCallerAddress(),
+                operation.getConnection().getConnectionManager());
+    }
+
+    /**
+     * Sends a backup ack as part of the batch, see
+     * {@link OutboundResponseHandler#sendBackupAck(ServerConnectionManager, Address, long, boolean)}.
+     */
+    public void sendBackupAck(ServerConnectionManager connectionManager, Address target, long callId, boolean urgent) {
+        if (Thread.currentThread() != batchThread) {
+            outboundResponseHandler.sendBackupAck(connectionManager, target, callId, urgent);
+            return;
+        }
+
+        outboundResponseHandler.checkTarget(target);
+        add(outboundResponseHandler.toBackupAckPacket(callId, urgent), target, connectionManager);
+    }
+
+    private void add(Packet packet, Address target, ServerConnectionManager connectionManager) {
+        if (packets.isEmpty()) {
+            firstResponseNanos = System.nanoTime();
+        }
+
+        packets.add(packet);
+        targets.add(target);
+        connectionManagers.add(connectionManager);
+
+        if (packets.size() > 1 && System.nanoTime() - firstResponseNanos >= maxDelayNanos) {
+            writeResponses();
+        }
+    }
+
+    /**
+     * Sends the collected responses and ends the batch.
+     */
+    void flush() {
+        batchThread = null;
+        writeResponses();
+    }
+
+    private void writeResponses() {
+        try {
+            int size = packets.size();
+            for (int i = 0; i < size; i++) {
+                Packet packet = packets.get(i);
+                if (packet == null) {
+                    continue;
+                }
+
+                Address target = targets.get(i);
+                ServerConnectionManager connectionManager = connectionManagers.get(i);
+                frames.add(packet);
+                for (int j = i + 1; j < size; j++) {
+                    if (packets.get(j) != null && connectionManagers.get(j) == connectionManager
+                            && targets.get(j).equals(target)) {
+                        frames.add(packets.set(j, null));
+                    }
+                }
+
+                // the pending backup acks for the member are piggybacked on the responses
+                long[] backupAckCallIds = outboundResponseHandler.drainBackupAcks(target);
+                if (backupAckCallIds != null) {
+                    frames.add(outboundResponseHandler.toBackupAcksPacket(backupAckCallIds));
+                }
+
+                try {
+                    write(connectionManager, target);
+                } catch (Exception e) {
+                    logger.warning("Cannot send " + frames.size() + " responses to " + target, e);
+                }
+                frames.clear();
+                multiResponseFrames.clear();
+                writes.clear();
+            }
+        } finally {
+            packets.clear();
+            targets.clear();
+            connectionManagers.clear();
+            frames.clear();
+            multiResponseFrames.clear();
+            writes.clear();
+        }
+    }
+
+    private void write(ServerConnectionManager connectionManager, Address target) {
+        if (frames.size() > 1) {
+            // like the OutboundResponseHandler, an arbitrary stream is used, but one for all responses
+            ServerConnection connection = connectionManager.get(target, ThreadLocalRandom.current().nextInt());
+            if (connection != null && connection.writeAll(coalesce())) {
+                outboundResponseHandler.multiResponsesSent.inc(multiResponseCount);
+                outboundResponseHandler.multiResponsesSentResponses.inc(multiResponseResponseCount);
+                return;
+            }
+        }
+
+        for (Packet frame : frames) {
+            if (!outboundResponseHandler.transmit(target, frame, connectionManager)) {
+                logger.warning("Cannot send response: " + frame + " to " + target);
+            }
+        }
+    }
+
+    /**
+     * Coalesces the frames into MultiResponse packets which are bounded by the
+     * configured maximum size.
+     */
+    private List<Packet> coalesce() {
+        multiResponseCount = 0;
+        multiResponseResponseCount = 0;
+        if (multiResponseMaxBytes <= 0 || !outboundResponseHandler.isMultiResponseSupported()) {
+            return frames;
+        }
+
+        int bytes = OFFSET_RESPONSES;
+        for (Packet frame : frames) {
+            int frameBytes = INT_SIZE_IN_BYTES + frame.totalSize();
+            if (frame.isUrgent() || OFFSET_RESPONSES + frameBytes > multiResponseMaxBytes) {
+                // written on its own, an urgent response shouldn't wait for the regular ones
+                writes.add(frame);
+                continue;
+            }
+
+            if (bytes + frameBytes > multiResponseMaxBytes) {
+                addMultiResponse();
+                bytes = OFFSET_RESPONSES;
+            }
+            multiResponseFrames.add(frame);
+            bytes += frameBytes;
+        }
+        addMultiResponse();
+        return writes;
+    }
+
+    private void addMultiResponse() {
+        int count = multiResponseFrames.size();
+        if (count == 1) {
+            writes.add(multiResponseFrames.get(0));
+        } else if (count > 1) {
+            writes.add(outboundResponseHandler.toMultiResponsePacket(multiResponseFrames));
+            multiResponseCount++;
+            multiResponseResponseCount += count;
+        }
+        multiResponseFrames.clear();
+    }
+}
@@ -16,9 +16,14 @@
 
 package com.hazelcast.spi.impl.operationservice.impl;
 
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.internal.server.ServerConnectionManager;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.serialization.Data;
@@ -28,22 +33,43 @@ import com.hazelcast.spi.impl.SpiDataSerializerHook;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
 
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_BACKUP_ACKS_PIGGYBACKED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_BACKUP_ACKS_SENT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_RESPONSES_SENT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_RESPONSES_SENT_RESPONSE_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX;
 import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE;
 import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_NULL;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.writeInt;
 import static com.hazelcast.internal.nio.Bits.writeIntB;
 import static com.hazelcast.internal.nio.Bits.writeLong;
 import static com.hazelcast.internal.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 import static com.hazelcast.internal.nio.Packet.Type.OPERATION;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.BACKUP_ACK_RESPONSE;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_BACKUP_ACK_RESPONSE;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.NORMAL_RESPONSE;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse.BACKUP_RESPONSE_SIZE_IN_BYTES;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse.OFFSET_CALL_IDS;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse.OFFSET_CALL_ID_COUNT;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSES;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSE_COUNT;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_BACKUP_ACKS;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_DATA_LENGTH;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_DATA_PAYLOAD;
@@ -57,52 +83,218 @@ import static com.hazelcast.spi.impl.operationservice.impl.responses.Response.OF
 import static com.hazelcast.spi.impl.operationservice.impl.responses.Response.OFFSET_URGENT;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 
 /**
  * An {@link OperationResponseHandler} that is used for a remotely executed Operation. So when a calling member
  * sends an Operation to the receiving member, the receiving member attaches this OutboundResponseHandler
  * to that operation so that the response is returned to the right machine.
+ * <p>
+ * When a partition thread runs a batch of operations, the responses for the
+ * same member are coalesced into {@link MultiResponse} packets, see
+ * {@link OutboundResponseBatch}.
  */
-public final class OutboundResponseHandler implements OperationResponseHandler {
-
+public final class OutboundResponseHandler implements OperationResponseHandler, StaticMetricsProvider {
+
+    /**
+     * The maximum size in bytes of a {@link MultiResponse} packet. Responses of
+     * a batch for the same member are coalesced into a single packet up to this
+     * size; bigger responses are sent on their own. A value of 0 disables the
+     * coalescing. Responses are only coalesced once the cluster version is 6.0
+     * or later, so that all members can process a MultiResponse.
+     */
+    static final HazelcastProperty MULTI_RESPONSE_MAX_BYTES
+            = new HazelcastProperty("hazelcast.operation.response.multi.max.bytes", 64 * 1024);
+    /**
+     * The maximum time a response of a batch is held back before it is sent,
+     * so that a batch of slow operations doesn't delay the first responses.
+     */
+    static final HazelcastProperty MULTI_RESPONSE_MAX_DELAY
+            = new HazelcastProperty("hazelcast.operation.response.multi.max.delay.micros", 100, MICROSECONDS);
+    /**
+     * The maximum time a backup ack for a synchronous backup is held back, so
+     * that it can be piggybacked on a response for the same member or sent
+     * together with other backup acks in a
+     * {@link com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse}.
+     * The default of 0 sends every backup ack right away. It adds up to this
+     * delay to a synchronous backup when there is no other traffic to the
+     * caller. Backup acks are only held back once the cluster version is 6.0
+     * or later, so that all members can process the combined responses.
+     */
+    static final HazelcastProperty BACKUP_ACK_DELAY
+            = new HazelcastProperty("hazelcast.operation.backup.ack.delay.micros", 0, MICROSECONDS);
+
+    @Probe(name = OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_RESPONSES_SENT_COUNT)
+    final MwCounter multiResponsesSent = newMwCounter();
+    @Probe(name = OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_RESPONSES_SENT_RESPONSE_COUNT)
+    final MwCounter multiResponsesSentResponses = newMwCounter();
+    @Probe(name = OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_BACKUP_ACKS_PIGGYBACKED_COUNT)
+    final MwCounter backupAcksPiggybacked = newMwCounter();
+    @Probe(name = OPERATION_METRIC_OUTBOUND_RESPONSE_HANDLER_MULTI_BACKUP_ACKS_SENT_COUNT)
+    final MwCounter multiBackupAcksSent = newMwCounter();
     private final Address thisAddress;
     private final InternalSerializationService serializationService;
     private final boolean useBigEndian;
     private final ILogger logger;
+    private final int multiResponseMaxBytes;
+    private final long multiResponseMaxDelayNanos;
+    // null if the backup acks are sent right away
+    private final OutboundBackupAcks backupAcks;
+    // whether all the members can process a MultiResponse
+    private final BooleanSupplier multiResponseSupported;
 
     OutboundResponseHandler(Address thisAddress,
                             InternalSerializationService serializationService,
                             ILogger logger) {
+        this(thisAddress, serializationService, logger, new HazelcastProperties((Properties) null), null);
+    }
+
+    OutboundResponseHandler(Address thisAddress,
+                            InternalSerializationService serializationService,
+                            ILogger logger,
+                            HazelcastProperties properties,
+                            ScheduledExecutorService backupAckScheduler) {
+        this(thisAddress, serializationService, logger, properties, backupAckScheduler, () -> true);
+    }
+
+    /**
+     * @param backupAckScheduler     schedules the sending of pending backup acks;
+     *                               if {@code null}, backup acks are sent right away
+     * @param multiResponseSupported tells if all the members can process a
+     *                               {@link MultiResponse}, i.e. if the cluster
+     *                               version is 6.0 or later
+     */
+    OutboundResponseHandler(Address thisAddress,
+                            InternalSerializationService serializationService,
+                            ILogger logger,
+                            HazelcastProperties properties,
+                            ScheduledExecutorService backupAckScheduler,
+                            BooleanSupplier multiResponseSupported) {
+        this.multiResponseSupported = multiResponseSupported;
         this.thisAddress = thisAddress;
         this.serializationService = serializationService;
         this.useBigEndian = serializationService.getByteOrder() == BIG_ENDIAN;
         this.logger = logger;
+        this.multiResponseMaxBytes = properties.getInteger(MULTI_RESPONSE_MAX_BYTES);
+        this.multiResponseMaxDelayNanos = properties.getNanos(MULTI_RESPONSE_MAX_DELAY);
+        long backupAckDelayNanos = properties.getNanos(BACKUP_ACK_DELAY);
+        this.backupAcks = backupAckDelayNanos > 0 && backupAckScheduler != null
+                ? new OutboundBackupAcks(this, backupAckScheduler, backupAckDelayNanos)
+                : null;
+    }
+
+    @Override
+    public void provideStaticMetrics(MetricsRegistry registry) {
+        registry.registerStaticMetrics(this, OPERATION_PREFIX);
+    }
+
+    int getMultiResponseMaxBytes() {
+        return multiResponseMaxBytes;
+    }
+
+    /**
+     * @return {@code true} if all the members can process a
+     * {@link MultiResponse} and a {@link MultiBackupAckResponse}, otherwise
+     * the responses and backup acks must not be combined
+     */
+    boolean isMultiResponseSupported() {
+        return multiResponseSupported.getAsBoolean();
+    }
+
+    long getMultiResponseMaxDelayNanos() {
+        return multiResponseMaxDelayNanos;
     }
 
     @Override
     public void sendResponse(Operation operation, Object obj) {
         Address target = operation.getCallerAddress();
         ServerConnectionManager connectionManager = operation.getConnection().getConnectionManager();
-        boolean send;
+        Packet packet = toResponsePacket(operation, obj);
+
+        long[] backupAckCallIds = packet.isUrgent() ? null : drainBackupAcks(target);
+        if (backupAckCallIds != null) {
+            sendWithBackupAcks(connectionManager, target, packet, backupAckCallIds);
+        } else if (!transmit(target, packet, connectionManager)) {
+            logger.warning("Cannot send response: " + obj + " to " + target + ". " + operation);
+        }
+    }
+
+    /**
+     * Sends the response together with the pending backup acks for the same
+     * member; as a single {@link MultiResponse} if it fits, otherwise in a
+     * single write.
+     */
+    private void sendWithBackupAcks(ServerConnectionManager connectionManager, Address target, Packet packet,
+                                    long[] backupAckCallIds) {
+        List<Packet> packets = List.of(packet, toBackupAcksPacket(backupAckCallIds));
+        if (packet.totalSize() + MultiBackupAckResponse.sizeInBytes(backupAckCallIds.length) < multiResponseMaxBytes) {
+            if (transmit(target, toMultiResponsePacket(packets), connectionManager)) {
+                return;
+            }
+        } else {
+            ServerConnection connection = connectionManager.get(target, ThreadLocalRandom.current().nextInt());
+            if (connection != null && connection.writeAll(packets)) {
+                return;
+            }
+        }
+
+        // the connection is gone; the packets are transmitted on their own so that a new connection is made
+        for (Packet p : packets) {
+            if (!transmit(target, p, connectionManager)) {
+                logger.warning("Cannot send response: " + p + " to " + target);
+            }
+        }
+    }
+
+    /**
+     * Returns the call IDs of the backup acks which are pending for the given
+     * member, so that they can be piggybacked on other traffic to it.
+     *
+     * @return the call IDs or {@code null} if there are no pending backup acks
+     */
+    long[] drainBackupAcks(Address target) {
+        if (backupAcks == null) {
+            return null;
+        }
+
+        long[] callIds = backupAcks.drain(target);
+        if (callIds != null) {
+            backupAcksPiggybacked.inc(callIds.length);
+        }
+        return callIds;
+    }
+
+    OutboundBackupAcks getBackupAcks() {
+        return backupAcks;
+    }
+
+    void onMemberLeft(Address address) {
+        if (backupAcks != null) {
+            backupAcks.onMemberLeft(address);
+        }
+    }
+
+    /**
+     * Converts the response of the operation to the packet which is sent to
+     * the caller of the operation.
+     */
+    Packet toResponsePacket(Operation operation, Object obj) {
+        checkTarget(operation.getCallerAddress());
+
         if (obj == null) {
-            send = sendNormalResponse(connectionManager, target, operation.getCallId(), 0, operation.isUrgent(), null);
+            return toNormalResponsePacket(operation.getCallId(), 0, operation.isUrgent(), null);
         } else if (obj.getClass() == NormalResponse.class) {
             NormalResponse response = (NormalResponse) obj;
-            send = sendNormalResponse(connectionManager, target, response.getCallId(),
-                    response.getBackupAcks(), response.isUrgent(), response.getValue());
+            return toNormalResponsePacket(response.getCallId(), response.getBackupAcks(), response.isUrgent(),
+                    response.getValue());
         } else if (obj.getClass() == ErrorResponse.class || obj.getClass() == CallTimeoutResponse.class) {
-            send = send(connectionManager, target, (Response) obj);
+            return toResponsePacket((Response) obj);
         } else if (obj instanceof Throwable throwable) {
-            send = send(connectionManager, target, new ErrorResponse(throwable,
-                    operation.getCallId(), operation.isUrgent()));
+            return toResponsePacket(new ErrorResponse(throwable, operation.getCallId(), operation.isUrgent()));
         } else {
             // most regular responses not wrapped in a NormalResponse. So we are now completely skipping the
             // NormalResponse instance
-            send = sendNormalResponse(connectionManager, target, operation.getCallId(), 0, operation.isUrgent(), obj);
-        }
-
-        if (!send) {
-            logger.warning("Cannot send response: " + obj + " to " + target + ". " + operation);
+            return toNormalResponsePacket(operation.getCallId(), 0, operation.isUrgent(), obj);
         }
     }
 
@@ -113,20 +305,13 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
             throw new IllegalArgumentException("Target is this node! -> " + target + ", response: " + response);
         }
 
-        byte[] bytes = serializationService.toBytes(response);
-
-        Packet packet = newResponsePacket(bytes, response.isUrgent());
-
-        return transmit(target, packet, connectionManager);
+        return transmit(target, toResponsePacket(response), connectionManager);
     }
 
-    private boolean sendNormalResponse(ServerConnectionManager connectionManager, Address target, long callId,
-                                       int backupAcks, boolean urgent, Object value) {
-        checkTarget(target);
-
-        Packet packet = toNormalResponsePacket(callId, (byte) backupAcks, urgent, value);
+    private Packet toResponsePacket(Response response) {
+        byte[] bytes = serializationService.toBytes(response);
 
-        return transmit(target, packet, connectionManager);
+        return newResponsePacket(bytes, response.isUrgent());
     }
 
     Packet toNormalResponsePacket(long callId, int backupAcks, boolean urgent, Object value) {
@@ -169,11 +354,46 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
     public void sendBackupAck(ServerConnectionManager connectionManager, Address target, long callId, boolean urgent) {
         checkTarget(target);
 
+        if (backupAcks != null && !urgent && isMultiResponseSupported()) {
+            backupAcks.add(connectionManager, target, callId);
+            return;
+        }
+
         Packet packet = toBackupAckPacket(callId, urgent);
 
         transmit(target, packet, connectionManager);
     }
 
+    /**
+     * Sends the backup acks for the given calls in a single packet.
+     */
+    void sendBackupAcks(ServerConnectionManager connectionManager, Address target, long[] callIds) {
+        if (callIds.length > 1) {
+            multiBackupAcksSent.inc();
+        }
+        transmit(target, toBackupAcksPacket(callIds), connectionManager);
+    }
+
+    /**
+     * Creates the packet for the backup acks of the given calls; a
+     * {@link MultiBackupAckResponse} for more than one call.
+     */
+    Packet toBackupAcksPacket(long[] callIds) {
+        if (callIds.length == 1) {
+            return toBackupAckPacket(callIds[0], false);
+        }
+
+        byte[] bytes = new byte[MultiBackupAckResponse.sizeInBytes(callIds.length)];
+        writeResponsePrologueBytes(bytes, MULTI_BACKUP_ACK_RESPONSE, 0, false);
+        writeInt(bytes, OFFSET_CALL_ID_COUNT, callIds.length, useBigEndian);
+        int offset = OFFSET_CALL_IDS;
+        for (long callId : callIds) {
+            writeLong(bytes, offset, callId, useBigEndian);
+            offset += LONG_SIZE_IN_BYTES;
+        }
+        return newResponsePacket(bytes, false);
+    }
+
     Packet toBackupAckPacket(long callId, boolean urgent) {
         byte[] bytes = new byte[BACKUP_RESPONSE_SIZE_IN_BYTES];
 
@@ -182,6 +402,32 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
         return newResponsePacket(bytes, urgent);
     }
 
+    /**
+     * Coalesces the response packets into a single {@link MultiResponse} packet.
+     */
+    Packet toMultiResponsePacket(List<Packet> packets) {
+        int count = packets.size();
+        int length = OFFSET_RESPONSES;
+        for (int k = 0; k < count; k++) {
+            length += INT_SIZE_IN_BYTES + packets.get(k).totalSize();
+        }
+
+        byte[] bytes = new byte[length];
+        writeResponsePrologueBytes(bytes, MULTI_RESPONSE, 0, false);
+        writeInt(bytes, OFFSET_RESPONSE_COUNT, count, useBigEndian);
+        int offset = OFFSET_RESPONSES;
+        for (int k = 0; k < count; k++) {
+            Packet packet = packets.get(k);
+            int size = packet.totalSize();
+            writeInt(bytes, offset, size, useBigEndian);
+            offset += INT_SIZE_IN_BYTES;
+            packet.copyTo(bytes, offset);
+            offset += size;
+        }
+
+        return newResponsePacket(bytes, false);
+    }
+
     private void writeResponsePrologueBytes(byte[] bytes, int typeId, long callId, boolean urgent) {
         // partition hash (which is always 0 in case of response)
         writeIntB(bytes, 0, 0);
@@ -210,7 +456,7 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
         return packet;
     }
 
-    private boolean transmit(Address target, Packet packet, ServerConnectionManager connectionManager) {
+    boolean transmit(Address target, Packet packet, ServerConnectionManager connectionManager) {
         // The response is sent over an arbitrary stream id. It needs to be arbitrary so that
         // responses don't end up at stream 0 and the connection this stream belongs to, becomes
         // a bottleneck.
@@ -219,7 +465,7 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
         return connectionManager.transmit(packet, target,  ThreadLocalRandom.current().nextInt());
     }
 
-    private void checkTarget(Address target) {
+    void checkTarget(Address target) {
         checkNotNull(target, "Target is required!");
 
         if (thisAddress.equals(target)) {
@@ -40,6 +40,7 @@ import com.hazelcast.spi.impl.operationservice.CallStatus;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationAccessor;
 import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.spi.impl.operationservice.impl.OutboundResponseBatch;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
@@ -220,6 +221,10 @@ public final class Backup extends Operation implements BackupOperation, AllowedD
             clientEngine.dispatchBackupEvent(clientUUID, clientCorrelationId);
         } else if (nodeEngine.getThisAddress().equals(originalCaller)) {
             operationService.getBackupHandler().notifyBackupComplete(callId);
+        } else if (getOperationResponseHandler() instanceof OutboundResponseBatch responseBatch) {
+            // the partition thread is running a batch, so the ack is sent with its responses
+            responseBatch.sendBackupAck(getConnection().getConnectionManager(),
+                    originalCaller, callId, backupOp.isUrgent());
         } else {
             operationService.getOutboundResponseHandler()
                     .sendBackupAck(getConnection().getConnectionManager(),
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl.responses;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_BACKUP_ACK_RESPONSE;
+
+/**
+ * The cumulative {@link BackupAckResponse} for multiple calls of the same
+ * member. A backup replica collects the backup acks for a member and sends
+ * them at once, either on its own or together with other responses for that
+ * member in a {@link MultiResponse}.
+ * <p>
+ * A MultiBackupAckResponse itself doesn't belong to a call, so its call ID is
+ * always 0.
+ */
+public final class MultiBackupAckResponse extends Response {
+
+    public static final int OFFSET_CALL_ID_COUNT = RESPONSE_SIZE_IN_BYTES;
+    public static final int OFFSET_CALL_IDS = OFFSET_CALL_ID_COUNT + INT_SIZE_IN_BYTES;
+
+    private long[] callIds;
+
+    public MultiBackupAckResponse() {
+    }
+
+    public MultiBackupAckResponse(long[] callIds) {
+        super(0, false);
+        this.callIds = callIds;
+    }
+
+    /**
+     * Returns the call IDs of the acknowledged backups.
+     *
+     * @return the call IDs
+     */
+    public long[] getCallIds() {
+        return callIds;
+    }
+
+    /**
+     * Returns the length in bytes of a MultiBackupAckResponse.
+     *
+     * @param callIdCount the number of call IDs
+     * @return the length in bytes
+     */
+    public static int sizeInBytes(int callIdCount) {
+        return OFFSET_CALL_IDS + callIdCount * LONG_SIZE_IN_BYTES;
+    }
+
+    @Override
+    public int getClassId() {
+        return MULTI_BACKUP_ACK_RESPONSE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        out.writeLongArray(callIds);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        callIds = in.readLongArray();
+    }
+
+    @Override
+    public String toString() {
+        return "MultiBackupAckResponse{callIdCount=" + (callIds == null ? 0 : callIds.length) + '}';
+    }
+}
@@ -34,6 +34,8 @@ import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
  * <li>{@link NormalResponse} the result of a regular Operation result, e.g. Map.put()</li>
  * <li>{@link BackupAckResponse} the result of a completed
  * {@link com.hazelcast.spi.impl.operationservice.impl.operations.Backup}</li>
+ * <li>{@link MultiResponse} multiple responses for the same member sent as a single packet</li>
+ * <li>{@link MultiBackupAckResponse} the cumulative {@link BackupAckResponse} for multiple calls</li>
  * </ol>
  */
 public abstract class Response implements IdentifiedDataSerializable {
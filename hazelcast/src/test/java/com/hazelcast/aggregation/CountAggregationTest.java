@@ -16,6 +16,7 @@
 
 package com.hazelcast.aggregation;
 
+import com.hazelcast.aggregation.impl.CountAggregator;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -59,6 +60,26 @@ public class CountAggregationTest {
         assertThat(result).isEqualTo(expectation);
     }
 
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testCountAggregator_deaccumulate() {
+        List<BigDecimal> values = sampleBigDecimals();
+        long expectation = values.size() / 2;
+
+        CountAggregator<Entry<BigDecimal, BigDecimal>> aggregation = new CountAggregator<>();
+        for (BigDecimal value : values) {
+            aggregation.accumulate(createEntryWithValue(value));
+        }
+        for (BigDecimal value : values.subList(0, values.size() - values.size() / 2)) {
+            aggregation.deaccumulate(createEntryWithValue(value));
+        }
+
+        Aggregator<Entry<BigDecimal, BigDecimal>, Long> resultAggregation = Aggregators.count();
+        resultAggregation.combine(aggregation);
+        long result = resultAggregation.aggregate();
+
+        assertThat(result).isEqualTo(expectation);
+    }
+
     @Test(timeout = TimeoutInMillis.MINUTE)
     public void testCountAggregator_withAttributePath() {
         List<Person> values = samplePersons();
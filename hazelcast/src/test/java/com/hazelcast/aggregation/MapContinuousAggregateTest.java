@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static com.hazelcast.query.Predicates.greaterThan;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapContinuousAggregateTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private MapProxyImpl<Integer, Long> map;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig();
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        map = (MapProxyImpl<Integer, Long>) instances[0].<Integer, Long>getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, (long) i);
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void null_aggregateName() {
+        map.aggregateContinuously(null, Aggregators.count(), Predicates.alwaysTrue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pagingPredicate_fails() {
+        map.aggregateContinuously("count", Aggregators.count(), Predicates.pagingPredicate(1));
+    }
+
+    @Test
+    public void invertibleAggregates_maintainedOnMutations() {
+        Predicate<Integer, Long> predicate = greaterThan("this", 100L);
+        assertAggregates(predicate);
+
+        for (int i = 0; i < ENTRY_COUNT; i += 3) {
+            map.put(i, (long) i * 2);
+        }
+        assertAggregates(predicate);
+
+        for (int i = 0; i < ENTRY_COUNT; i += 5) {
+            map.remove(i);
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 7) {
+            map.delete(i);
+        }
+        for (int i = 2; i < ENTRY_COUNT; i += 11) {
+            map.evict(i);
+        }
+        assertAggregates(predicate);
+
+        for (int i = ENTRY_COUNT; i < 2 * ENTRY_COUNT; ++i) {
+            map.set(i, (long) -i);
+        }
+        assertAggregates(predicate);
+    }
+
+    @Test
+    public void nonInvertibleAggregates_recomputedOnRemovals() {
+        assertEquals(Long.valueOf(ENTRY_COUNT - 1), map.aggregateContinuously("max", Aggregators.longMax(),
+                Predicates.alwaysTrue()));
+
+        map.put(ENTRY_COUNT, (long) ENTRY_COUNT);
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregateContinuously("max", Aggregators.longMax(),
+                Predicates.alwaysTrue()));
+
+        map.remove(ENTRY_COUNT);
+        map.put(ENTRY_COUNT - 1, 0L);
+        assertEquals(Long.valueOf(ENTRY_COUNT - 2), map.aggregateContinuously("max", Aggregators.longMax(),
+                Predicates.alwaysTrue()));
+    }
+
+    @Test
+    public void aggregates_recomputedAfterClear() {
+        assertAggregates(Predicates.alwaysTrue());
+
+        map.clear();
+        assertAggregates(Predicates.alwaysTrue());
+
+        map.putAll(Map.of(1, 1L, 2, 2L, 3, 3L));
+        assertAggregates(Predicates.alwaysTrue());
+    }
+
+    private void assertAggregates(Predicate<Integer, Long> predicate) {
+        assertEquals(map.aggregate(Aggregators.count(), predicate),
+                map.aggregateContinuously("count", Aggregators.count(), predicate));
+        assertEquals(map.aggregate(Aggregators.longSum(), predicate),
+                map.aggregateContinuously("sum", Aggregators.longSum(), predicate));
+        assertEquals(map.aggregate(Aggregators.longAvg(), predicate),
+                map.aggregateContinuously("avg", Aggregators.longAvg(), predicate));
+        assertEquals(map.aggregate(Aggregators.longMin(), predicate),
+                map.aggregateContinuously("min", Aggregators.longMin(), predicate));
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.aggregation;
 
+import com.hazelcast.aggregation.impl.LongSumAggregator;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -263,6 +264,27 @@ public class SumAggregationTest {
         assertThat(result).isEqualTo(expectation);
     }
 
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testLongSum_deaccumulate() {
+        List<Long> values = sampleLongs();
+        List<Long> remainingValues = values.subList(0, values.size() / 2);
+        long expectation = Sums.sumLongs(remainingValues);
+
+        LongSumAggregator<Entry<Long, Long>> aggregation = new LongSumAggregator<>();
+        for (Long value : values) {
+            aggregation.accumulate(createEntryWithValue(value));
+        }
+        for (Long value : values.subList(remainingValues.size(), values.size())) {
+            aggregation.deaccumulate(createEntryWithValue(value));
+        }
+
+        Aggregator<Entry<Long, Long>, Long> resultAggregation = Aggregators.longSum();
+        resultAggregation.combine(aggregation);
+        long result = resultAggregation.aggregate();
+
+        assertThat(result).isEqualTo(expectation);
+    }
+
     @Test(timeout = TimeoutInMillis.MINUTE)
     public void testLongSum_withAttributePath() {
         List<ValueContainer> values = sampleValueContainers(LONG);
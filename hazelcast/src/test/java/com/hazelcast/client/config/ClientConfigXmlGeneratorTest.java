@@ -90,6 +90,7 @@ import static com.hazelcast.client.config.ClientSqlResubmissionMode.RETRY_SELECT
 import static com.hazelcast.client.config.impl.ClientAliasedDiscoveryConfigUtils.aliasedDiscoveryConfigsFrom;
 import static com.hazelcast.config.EvictionPolicy.LFU;
 import static com.hazelcast.config.MaxSizePolicy.USED_NATIVE_MEMORY_SIZE;
+import static com.hazelcast.config.NearCacheConfig.AdmissionPolicy.WINDOW_TINY_LFU;
 import static com.hazelcast.config.NearCacheConfig.LocalUpdatePolicy.CACHE_ON_UPDATE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -576,6 +577,7 @@ public class ClientConfigXmlGeneratorTest extends HazelcastTestSupport {
             .setTimeToLiveSeconds(randomInt())
             .setMaxIdleSeconds(randomInt())
             .setLocalUpdatePolicy(CACHE_ON_UPDATE)
+            .setAdmissionPolicy(WINDOW_TINY_LFU)
             .setName(name);
         return expected;
     }
@@ -589,6 +591,7 @@ public class ClientConfigXmlGeneratorTest extends HazelcastTestSupport {
                                 .setDirectory(randomString())
                                 .setStoreInitialDelaySeconds(randomInt())
                                 .setStoreIntervalSeconds(randomInt())
+                                .setStoreValues(true)
                 )
                 .setEvictionConfig(
                         new EvictionConfig()
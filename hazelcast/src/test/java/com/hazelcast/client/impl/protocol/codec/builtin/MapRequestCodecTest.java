@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.codec.builtin;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.client.impl.protocol.codec.MapSetCodec;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapRequestCodecTest {
+
+    private final Data key = new HeapData(new byte[]{0, 0, 0, 0, 0, 0, 0, 1, 2, 3});
+    private final Data value = new HeapData(new byte[]{0, 0, 0, 0, 0, 0, 0, 1, 4, 5, 6});
+
+    @Test
+    public void testEncodeGetRequest() {
+        ClientMessage expected = MapGetCodec.encodeRequest("map", key, 7);
+        ClientMessage actual = MapRequestCodec.encodeGetRequest("map", key, 7);
+
+        assertTrue(actual.isFlat());
+        assertSameMessage(expected, actual);
+        MapGetCodec.RequestParameters parameters = MapGetCodec.decodeRequest(actual);
+        assertEquals("map", parameters.name);
+        assertEquals(key, parameters.key);
+        assertEquals(7, parameters.threadId);
+    }
+
+    @Test
+    public void testEncodePutRequest() {
+        ClientMessage expected = MapPutCodec.encodeRequest("map", key, value, 7, 1000);
+        ClientMessage actual = MapRequestCodec.encodePutRequest("map", key, value, 7, 1000);
+
+        assertTrue(actual.isFlat());
+        assertSameMessage(expected, actual);
+        MapPutCodec.RequestParameters parameters = MapPutCodec.decodeRequest(actual);
+        assertEquals("map", parameters.name);
+        assertEquals(key, parameters.key);
+        assertEquals(value, parameters.value);
+        assertEquals(7, parameters.threadId);
+        assertEquals(1000, parameters.ttl);
+    }
+
+    @Test
+    public void testEncodeSetRequest() {
+        ClientMessage expected = MapSetCodec.encodeRequest("map", key, value, 7, -1);
+        ClientMessage actual = MapRequestCodec.encodeSetRequest("map", key, value, 7, -1);
+
+        assertTrue(actual.isFlat());
+        assertSameMessage(expected, actual);
+        MapSetCodec.RequestParameters parameters = MapSetCodec.decodeRequest(actual);
+        assertEquals("map", parameters.name);
+        assertEquals(key, parameters.key);
+        assertEquals(value, parameters.value);
+        assertEquals(7, parameters.threadId);
+        assertEquals(-1, parameters.ttl);
+    }
+
+    @Test
+    public void testEncodeBatchRequest() {
+        byte[] operationTypes = {1, 2};
+        long[] threadIds = {7, 8};
+        ClientMessage message = MapBatchCodec.encodeRequest("map", operationTypes, Arrays.asList(key, key),
+                Arrays.asList(null, value), threadIds);
+
+        assertTrue(message.isFlat());
+        assertEquals(MapBatchCodec.REQUEST_MESSAGE_TYPE, message.getMessageType());
+        assertFalse(message.isRetryable());
+        MapBatchCodec.RequestParameters parameters = MapBatchCodec.decodeRequest(message);
+        assertEquals("map", parameters.name);
+        assertArrayEquals(operationTypes, parameters.operationTypes);
+        assertEquals(Arrays.asList(key, key), parameters.keys);
+        assertNull(parameters.values.get(0));
+        assertEquals(value, parameters.values.get(1));
+        assertArrayEquals(threadIds, parameters.threadIds);
+    }
+
+    private static void assertSameMessage(ClientMessage expected, ClientMessage actual) {
+        assertEquals(expected.getMessageType(), actual.getMessageType());
+        assertEquals(expected.getPartitionId(), actual.getPartitionId());
+        assertEquals(expected.getHeaderFlags(), actual.getHeaderFlags());
+        assertEquals(expected.isRetryable(), actual.isRetryable());
+        assertEquals(expected.getOperationName(), actual.getOperationName());
+        assertEquals(getFrames(expected), getFrames(actual));
+    }
+
+    private static List<ClientMessage.Frame> getFrames(ClientMessage message) {
+        List<ClientMessage.Frame> frames = new ArrayList<>();
+        ClientMessage.ForwardFrameIterator iterator = message.frameIterator();
+        while (iterator.hasNext()) {
+            frames.add(iterator.next());
+        }
+        return frames;
+    }
+}
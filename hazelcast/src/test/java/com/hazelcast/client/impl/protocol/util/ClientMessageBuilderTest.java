@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageBuilder;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.client.impl.protocol.codec.ClientAuthenticationCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.DataCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.StringCodec;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.BACKUP_AWARE_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.PARTITION_ID_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.TYPE_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.encodeInt;
+import static com.hazelcast.client.impl.protocol.util.ClientMessageSplitter.getFragments;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.test.HazelcastTestSupport.generateRandomString;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMessageBuilderTest {
+
+    private ClientMessage linkedMessage;
+    private ClientMessage flatMessage;
+
+    @Before
+    public void setUp() {
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            labels.add(generateRandomString(100));
+        }
+        linkedMessage = ClientAuthenticationCodec.encodeRequest(generateRandomString(1000), generateRandomString(100),
+                generateRandomString(100), UUID.randomUUID(), generateRandomString(10), (byte) 1, generateRandomString(10),
+                generateRandomString(100), labels, (byte) 1, false);
+        linkedMessage.setCorrelationId(42);
+
+        ClientMessageBuilder builder = ClientMessageBuilder.acquire();
+        builder.addFrames(linkedMessage, 0, getFrames(linkedMessage).size());
+        flatMessage = builder.build();
+    }
+
+    @Test
+    public void testBuild() {
+        assertTrue(flatMessage.isFlat());
+        assertEquals(linkedMessage.getFrameLength(), flatMessage.getFrameLength());
+        assertEquals(linkedMessage.getMessageType(), flatMessage.getMessageType());
+        assertEquals(linkedMessage.getCorrelationId(), flatMessage.getCorrelationId());
+        assertEquals(linkedMessage.getPartitionId(), flatMessage.getPartitionId());
+        assertEquals(linkedMessage.getHeaderFlags(), flatMessage.getHeaderFlags());
+        assertEquals(getFrames(linkedMessage).size(), flatMessage.getFrameOffsets().length);
+
+        assertEquals(getFrames(linkedMessage), getFrames(flatMessage));
+        assertFalse(flatMessage.isFlat());
+    }
+
+    @Test
+    public void testSetHeaderFields() {
+        flatMessage.setCorrelationId(7);
+        flatMessage.setPartitionId(3);
+        flatMessage.addHeaderFlags(BACKUP_AWARE_FLAG);
+
+        assertTrue(flatMessage.isFlat());
+        assertEquals(7, flatMessage.getCorrelationId());
+        assertEquals(3, flatMessage.getPartitionId());
+        assertEquals(UNFRAGMENTED_MESSAGE | BACKUP_AWARE_FLAG, flatMessage.getHeaderFlags());
+        assertEquals(UNFRAGMENTED_MESSAGE | BACKUP_AWARE_FLAG, flatMessage.getStartFrame().flags);
+    }
+
+    @Test
+    public void testCopyWithNewCorrelationId() {
+        flatMessage.setRetryable(true);
+        flatMessage.setOperationName("operation");
+
+        ClientMessage copy = flatMessage.copyWithNewCorrelationId(5);
+
+        assertTrue(copy.isFlat());
+        assertEquals(5, copy.getCorrelationId());
+        assertEquals(42, flatMessage.getCorrelationId());
+        assertTrue(copy.isRetryable());
+        assertEquals("operation", copy.getOperationName());
+        List<ClientMessage.Frame> copyFrames = getFrames(copy);
+        List<ClientMessage.Frame> frames = getFrames(flatMessage);
+        assertEquals(frames.subList(1, frames.size()), copyFrames.subList(1, copyFrames.size()));
+    }
+
+    @Test
+    public void testWrite() {
+        // the frames of a linked message are only written with room for their length and flags
+        for (int chunkSize : new int[]{ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS, 7, 100, 100000}) {
+            assertArrayEquals(write(linkedMessage, chunkSize), write(flatMessage, chunkSize));
+        }
+    }
+
+    @Test
+    public void testGetFragments() {
+        List<ClientMessage> linkedFragments = getFragments(128, linkedMessage);
+        List<ClientMessage> flatFragments = getFragments(128, flatMessage);
+
+        assertEquals(linkedFragments.size(), flatFragments.size());
+        for (int i = 0; i < linkedFragments.size(); i++) {
+            ClientMessage flatFragment = flatFragments.get(i);
+            assertTrue(flatFragment.isFlat());
+            assertEquals(linkedFragments.get(i).getHeaderFlags(), flatFragment.getHeaderFlags());
+            assertEquals(linkedFragments.get(i).getFrameLength(), flatFragment.getFrameLength());
+            // the fragmentation frames differ in the fragmentation ids
+            List<ClientMessage.Frame> linkedFrames = getFrames(linkedFragments.get(i));
+            List<ClientMessage.Frame> flatFrames = getFrames(flatFragment);
+            assertEquals(linkedFrames.subList(1, linkedFrames.size()), flatFrames.subList(1, flatFrames.size()));
+        }
+    }
+
+    @Test
+    public void testGetFragments_thenDecode() {
+        Queue<ClientMessage> fragments = new ArrayDeque<>(getFragments(128, flatMessage));
+        ClientMessageEncoder encoder = new ClientMessageEncoder();
+        encoder.src(fragments::poll);
+        ByteBuffer buffer = ByteBuffer.allocate(100000);
+        buffer.flip();
+        encoder.dst(buffer);
+        HandlerStatus result = encoder.onWrite();
+        assertEquals(CLEAN, result);
+
+        AtomicReference<ClientMessage> decodedMessage = new AtomicReference<>();
+        ClientMessageDecoder decoder = new ClientMessageDecoder(null, decodedMessage::set, null);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+        buffer.position(buffer.limit());
+        decoder.src(buffer);
+        decoder.onRead();
+
+        ClientMessage message = decodedMessage.get();
+        assertEquals(linkedMessage.getFrameLength(), message.getFrameLength());
+        ClientAuthenticationCodec.RequestParameters expected = ClientAuthenticationCodec.decodeRequest(linkedMessage);
+        ClientAuthenticationCodec.RequestParameters actual = ClientAuthenticationCodec.decodeRequest(message);
+        assertEquals(expected.clusterName, actual.clusterName);
+        assertEquals(expected.uuid, actual.uuid);
+        assertEquals(expected.labels, actual.labels);
+    }
+
+    @Test
+    public void testEncodeWithCodecs() {
+        Data data = new HeapData(new byte[]{0, 0, 0, 0, 0, 0, 0, 1, 2, 3});
+        ClientMessageBuilder builder = ClientMessageBuilder.acquire();
+        int offset = builder.addFrame(UNFRAGMENTED_MESSAGE, PARTITION_ID_FIELD_OFFSET + Integer.BYTES);
+        encodeInt(builder.getBuffer(), offset + TYPE_FIELD_OFFSET, 100);
+        encodeInt(builder.getBuffer(), offset + PARTITION_ID_FIELD_OFFSET, -1);
+        StringCodec.encode(builder, "name");
+        DataCodec.encode(builder, data);
+        DataCodec.encodeNullable(builder, null);
+        ClientMessage message = builder.build();
+
+        assertEquals(100, message.getMessageType());
+        assertEquals(-1, message.getPartitionId());
+        ClientMessage.ForwardFrameIterator iterator = message.frameIterator();
+        iterator.next();
+        assertEquals("name", StringCodec.decode(iterator));
+        assertEquals(data, DataCodec.decode(iterator));
+        assertNull(DataCodec.decodeNullable(iterator));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testAcquire_whenAcquired_thenNewBuilder() {
+        ClientMessageBuilder builder = ClientMessageBuilder.acquire();
+        builder.addFrame(UNFRAGMENTED_MESSAGE, 16);
+        ClientMessageBuilder nestedBuilder = ClientMessageBuilder.acquire();
+        nestedBuilder.addFrame(UNFRAGMENTED_MESSAGE, 32);
+
+        assertEquals(32 + ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS, nestedBuilder.build().getFrameLength());
+        assertEquals(16 + ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS, builder.build().getFrameLength());
+    }
+
+    @Test
+    public void testAcquire_whenEncodingFailed_thenPooledBuilderReleased() {
+        ClientMessageBuilder failedBuilder = null;
+        try (ClientMessageBuilder builder = ClientMessageBuilder.acquire()) {
+            failedBuilder = builder;
+            builder.addFrame(UNFRAGMENTED_MESSAGE, 16);
+            DataCodec.encode(builder, null);
+            fail();
+        } catch (NullPointerException expected) {
+            ignore(expected);
+        }
+
+        ClientMessageBuilder builder = ClientMessageBuilder.acquire();
+        assertSame(failedBuilder, builder);
+        assertEquals(0, builder.getFrameCount());
+        builder.addFrame(UNFRAGMENTED_MESSAGE, 16);
+        assertEquals(16 + ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS, builder.build().getFrameLength());
+    }
+
+    private static List<ClientMessage.Frame> getFrames(ClientMessage message) {
+        List<ClientMessage.Frame> frames = new ArrayList<>();
+        ClientMessage.ForwardFrameIterator iterator = message.frameIterator();
+        while (iterator.hasNext()) {
+            frames.add(iterator.next());
+        }
+        return frames;
+    }
+
+    private static byte[] write(ClientMessage message, int chunkSize) {
+        ClientMessageWriter writer = new ClientMessageWriter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+        boolean done;
+        do {
+            buffer.clear();
+            done = writer.writeTo(buffer, message);
+            out.write(buffer.array(), 0, buffer.position());
+        } while (!done);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.spi.ClientPartitionService;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapBatchingTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance(smallInstanceConfig());
+        member = hazelcastFactory.newHazelcastInstance(smallInstanceConfig());
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.MAP_BATCH_WINDOW_MICROS.getName(), "1000");
+        clientConfig.setProperty(ClientProperty.MAP_BATCH_MAX_SIZE.getName(), "8");
+        client = hazelcastFactory.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testAsyncOperations_areExecutedInOrder() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        // until the client knows the owner, the operations may be retried and reordered
+        warmUpPartitions(member);
+        ClientPartitionService partitionService = getHazelcastClientInstanceImpl(client).getClientPartitionService();
+        int partitionId = partitionService.getPartitionId(0);
+        assertTrueEventually(() -> assertNotNull(partitionService.getPartitionOwner(partitionId)));
+
+        List<CompletionStage<Integer>> putFutures = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            putFutures.add(map.putAsync(0, i));
+        }
+        assertEquals(ENTRY_COUNT - 1, (int) map.getAsync(0).toCompletableFuture().get());
+        assertNull(putFutures.get(0).toCompletableFuture().get());
+        for (int i = 1; i < ENTRY_COUNT; i++) {
+            assertEquals(i - 1, (int) putFutures.get(i).toCompletableFuture().get());
+        }
+
+        map.setAsync(0, -1);
+        assertEquals(-1, (int) map.removeAsync(0).toCompletableFuture().get());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testConcurrentSyncOperations() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread * ENTRY_COUNT;
+            futures.add(spawn(() -> {
+                for (int i = offset; i < offset + ENTRY_COUNT; i++) {
+                    assertNull(map.put(i, i));
+                    assertEquals(i, (int) map.get(i));
+                    map.set(i, i + 1);
+                    assertEquals(i + 1, (int) map.remove(i));
+                    assertNull(map.get(i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testFailedOperation_doesNotFailOtherOperations() throws Exception {
+        IMap<Integer, String> map = client.getMap(randomMapName());
+        map.addInterceptor(new FailingInterceptor());
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread * ENTRY_COUNT;
+            futures.add(spawn(() -> {
+                for (int i = offset; i < offset + ENTRY_COUNT; i++) {
+                    int key = i;
+                    if (key % 2 == 0) {
+                        assertNull(map.put(key, "value"));
+                    } else {
+                        assertThrows(IllegalStateException.class, () -> map.put(key, FailingInterceptor.FAILING_VALUE));
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertEquals(8 * ENTRY_COUNT / 2, map.size());
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void testOperations_whenMemberLeaves() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        for (int i = 0; i < 8 * ENTRY_COUNT; i++) {
+            map.set(i, i);
+        }
+
+        // the batches targeting the partitions of the member are retried on their new owners
+        member.getLifecycleService().terminate();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread * ENTRY_COUNT;
+            futures.add(spawn(() -> {
+                for (int i = offset; i < offset + ENTRY_COUNT; i++) {
+                    assertEquals(i, (int) map.remove(i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testOperationsOnLockedKey_fromLockOwner() {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        map.lock(1);
+
+        assertNull(map.put(1, 1));
+        map.set(1, 2);
+        assertEquals(2, (int) map.get(1));
+        assertEquals(2, (int) map.remove(1));
+        map.unlock(1);
+    }
+
+    @Test
+    public void testOperationsWithTtl() {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+
+        map.put(1, 1, 1, TimeUnit.HOURS);
+        map.set(2, 2, 1, TimeUnit.HOURS, 1, TimeUnit.HOURS);
+
+        assertEquals(1, (int) map.get(1));
+        assertEquals(2, (int) map.get(2));
+        assertEquals(TimeUnit.HOURS.toMillis(1), map.getEntryView(1).getTtl());
+    }
+
+    private static class FailingInterceptor implements MapInterceptor {
+
+        static final String FAILING_VALUE = "failing";
+
+        @Override
+        public Object interceptGet(Object value) {
+            return null;
+        }
+
+        @Override
+        public void afterGet(Object value) {
+        }
+
+        @Override
+        public Object interceptPut(Object oldValue, Object newValue) {
+            if (FAILING_VALUE.equals(newValue)) {
+                throw new IllegalStateException("Failing put");
+            }
+            return null;
+        }
+
+        @Override
+        public void afterPut(Object value) {
+        }
+
+        @Override
+        public Object interceptRemove(Object removedValue) {
+            return null;
+        }
+
+        @Override
+        public void afterRemove(Object oldValue) {
+        }
+    }
+}
@@ -16,12 +16,14 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.version.Version;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
@@ -172,6 +174,23 @@ public class NearCacheConfigTest {
         assertEquals(config.toString(), deserialized.toString());
     }
 
+    @Test
+    public void testSerialization_withAdmissionPolicy() {
+        config.setAdmissionPolicy(NearCacheConfig.AdmissionPolicy.WINDOW_TINY_LFU);
+
+        assertEquals(config, serializeAndDeserialize(config, Versions.V6_0));
+        // not sent to the clusters of the previous versions
+        assertEquals(NearCacheConfig.DEFAULT_ADMISSION_POLICY,
+                serializeAndDeserialize(config, Versions.V5_5).getAdmissionPolicy());
+    }
+
+    private static NearCacheConfig serializeAndDeserialize(NearCacheConfig config, Version clusterVersion) {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder()
+                .setVersionedSerializationEnabled(true)
+                .setClusterVersionAware(() -> clusterVersion)
+                .build();
+        return serializationService.toObject(serializationService.toData(config));
+    }
 
     @Test(expected = IllegalArgumentException.class)
     public void test_null_name_throws_exception() {
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.invalidation;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.internal.nearcache.impl.invalidation.CompactInvalidationBatch.PartitionInvalidations;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactInvalidationBatchTest {
+
+    private static final String NAME = "map";
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final UUID localUuid = UUID.randomUUID();
+    private final UUID sourceUuid = UUID.randomUUID();
+    private final UUID partitionUuid = UUID.randomUUID();
+
+    @Test
+    public void testEncodeDecode() {
+        UUID otherPartitionUuid = UUID.randomUUID();
+        List<Invalidation> invalidations = asList(
+                invalidation(1, sourceUuid, partitionUuid, 10),
+                invalidation(2, null, otherPartitionUuid, 5),
+                invalidation(3, sourceUuid, partitionUuid, 11),
+                invalidation(4, localUuid, partitionUuid, 13));
+
+        CompactInvalidationBatch batch = CompactInvalidationBatch.decode(CompactInvalidationBatch.encode(invalidations, false));
+
+        List<PartitionInvalidations> partitions = batch.getPartitionInvalidations();
+        assertEquals(2, partitions.size());
+
+        PartitionInvalidations first = partitions.get(0);
+        assertEquals(partitionUuid, first.getPartitionUuid());
+        assertEquals(asList(toData(1), toData(3), toData(4)), first.getKeys());
+        assertEquals(asList(sourceUuid, sourceUuid, localUuid), first.getSourceUuids());
+        assertArrayEquals(new long[]{10, 11, 13}, first.getSequences());
+
+        PartitionInvalidations second = partitions.get(1);
+        assertEquals(otherPartitionUuid, second.getPartitionUuid());
+        assertEquals(asList(toData(2)), second.getKeys());
+        assertNull(second.getSourceUuids().get(0));
+        assertArrayEquals(new long[]{5}, second.getSequences());
+    }
+
+    @Test
+    public void testEncodeDecode_withCompression() {
+        List<Invalidation> invalidations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            invalidations.add(invalidation(i, sourceUuid, partitionUuid, i + 1));
+        }
+
+        byte[] uncompressed = CompactInvalidationBatch.encode(invalidations, false);
+        byte[] compressed = CompactInvalidationBatch.encode(invalidations, true);
+
+        assertTrue(compressed.length < uncompressed.length);
+        PartitionInvalidations partition = CompactInvalidationBatch.decode(compressed).getPartitionInvalidations().get(0);
+        assertEquals(1000, partition.getKeys().size());
+        assertEquals(toData(999), partition.getKeys().get(999));
+        assertEquals(1000, partition.getSequences()[999]);
+    }
+
+    @Test
+    public void testEncodedSize_smallerThanPerInvalidationUuids() {
+        List<Invalidation> invalidations = new ArrayList<>();
+        int keysSize = 0;
+        for (int i = 0; i < 100; i++) {
+            Invalidation invalidation = invalidation(i, sourceUuid, partitionUuid, i + 1);
+            invalidations.add(invalidation);
+            keysSize += invalidation.getKey().totalSize();
+        }
+
+        byte[] encoded = CompactInvalidationBatch.encode(invalidations, false);
+
+        // the list encoding needs 2 UUIDs and a long per invalidation in addition to the keys
+        assertTrue(encoded.length - keysSize < 100 * 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecode_unknownFormat() {
+        CompactInvalidationBatch.decode(new byte[]{42, 0});
+    }
+
+    @Test
+    public void testHandle_withoutGap() {
+        NearCache nearCache = mockNearCache();
+        RepairingHandler handler = newRepairingHandler(nearCache);
+        handler.initUuid(0, partitionUuid);
+        handler.initSequence(0, 9);
+
+        handler.handle(decode(
+                invalidation(1, sourceUuid, partitionUuid, 10),
+                invalidation(2, sourceUuid, partitionUuid, 11),
+                invalidation(3, localUuid, partitionUuid, 12)));
+
+        verify(nearCache).invalidate(toData(1));
+        verify(nearCache).invalidate(toData(2));
+        verify(nearCache, never()).invalidate(toData(3));
+        MetaDataContainer metaData = handler.getMetaDataContainer(0);
+        assertEquals(12, metaData.getSequence());
+        assertEquals(0, metaData.getStaleSequence());
+    }
+
+    @Test
+    public void testHandle_withGap_makesPartitionStale() {
+        RepairingHandler handler = newRepairingHandler(mockNearCache());
+        handler.initUuid(0, partitionUuid);
+        handler.initSequence(0, 9);
+
+        handler.handle(decode(
+                invalidation(1, sourceUuid, partitionUuid, 10),
+                invalidation(2, sourceUuid, partitionUuid, 12)));
+
+        MetaDataContainer metaData = handler.getMetaDataContainer(0);
+        assertEquals(12, metaData.getSequence());
+        assertEquals(12, metaData.getStaleSequence());
+    }
+
+    @Test
+    public void testHandle_withMissedPreviousSequence_makesPartitionStale() {
+        RepairingHandler handler = newRepairingHandler(mockNearCache());
+        handler.initUuid(0, partitionUuid);
+        handler.initSequence(0, 5);
+
+        handler.handle(decode(invalidation(1, sourceUuid, partitionUuid, 10)));
+
+        assertEquals(10, handler.getMetaDataContainer(0).getStaleSequence());
+    }
+
+    @Test
+    public void testHandle_withAlreadyReceivedSequences() {
+        RepairingHandler handler = newRepairingHandler(mockNearCache());
+        handler.initUuid(0, partitionUuid);
+        handler.initSequence(0, 10);
+
+        handler.handle(decode(
+                invalidation(1, sourceUuid, partitionUuid, 9),
+                invalidation(2, sourceUuid, partitionUuid, 10),
+                invalidation(3, sourceUuid, partitionUuid, 11)));
+
+        MetaDataContainer metaData = handler.getMetaDataContainer(0);
+        assertEquals(11, metaData.getSequence());
+        assertEquals(0, metaData.getStaleSequence());
+    }
+
+    @Test
+    public void testListener_withoutCompactEncoding_fallsBackToListEncoding() {
+        List<List<Data>> sentKeys = new ArrayList<>();
+        AbstractBaseNearCacheInvalidationListener listener = new AbstractBaseNearCacheInvalidationListener(localUuid, 1,
+                CompactInvalidationBatch.COMPACT_BATCH_LISTENER_FLAG) {
+            @Override
+            protected ClientMessage encodeBatchInvalidation(String name, List<Data> keys, List<UUID> sourceUuids,
+                                                            List<UUID> partitionUuids, List<Long> sequences) {
+                sentKeys.add(keys);
+                return ClientMessage.createForEncode();
+            }
+
+            @Override
+            protected ClientMessage encodeSingleInvalidation(String name, Data key, UUID sourceUuid,
+                                                             UUID partitionUuid, long sequence) {
+                throw new AssertionError();
+            }
+
+            @Override
+            protected void sendMessageWithOrderKey(ClientMessage clientMessage, Object orderKey) {
+            }
+
+            @Override
+            protected boolean canSendInvalidation(Invalidation invalidation) {
+                return !localUuid.equals(invalidation.getSourceUuid());
+            }
+        };
+
+        listener.sendInvalidation(new BatchNearCacheInvalidation(NAME, asList(
+                invalidation(1, sourceUuid, partitionUuid, 10),
+                invalidation(2, localUuid, partitionUuid, 11))));
+
+        assertEquals(asList(asList(toData(1))), sentKeys);
+    }
+
+    private CompactInvalidationBatch decode(Invalidation... invalidations) {
+        return CompactInvalidationBatch.decode(CompactInvalidationBatch.encode(asList(invalidations), false));
+    }
+
+    private Invalidation invalidation(int key, UUID sourceUuid, UUID partitionUuid, long sequence) {
+        return new SingleNearCacheInvalidation(toData(key), NAME, sourceUuid, partitionUuid, sequence);
+    }
+
+    private Data toData(int key) {
+        return serializationService.toData(key);
+    }
+
+    private static NearCache mockNearCache() {
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.isSerializeKeys()).thenReturn(true);
+        return nearCache;
+    }
+
+    private RepairingHandler newRepairingHandler(NearCache nearCache) {
+        MinimalPartitionService partitionService = mock(MinimalPartitionService.class);
+        when(partitionService.getPartitionCount()).thenReturn(1);
+        return new RepairingHandler(Logger.getLogger(RepairingHandler.class), localUuid, NAME, nearCache,
+                serializationService, partitionService);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCachePreloaderTest extends HazelcastTestSupport {
+
+    // spans several chunks of the storage file
+    private static final int ENTRY_COUNT = 250;
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final MetaDataContainer metaDataContainer = new MetaDataContainer();
+    private final Set<Object> fetchedKeys = ConcurrentHashMap.newKeySet();
+    private final File directory = new File(randomName());
+
+    private DataStructureAdapter<Object, ?> adapter;
+    private ExecutorService executor;
+    private NearCacheRecordStore<Integer, String> store;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        assertTrue(directory.mkdirs());
+        metaDataContainer.setUuid(UUID.randomUUID());
+        metaDataContainer.setSequence(5);
+
+        adapter = mock(DataStructureAdapter.class);
+        when(adapter.getAll(anySet())).thenAnswer(invocation -> {
+            fetchedKeys.addAll(invocation.getArgument(0));
+            return emptyMap();
+        });
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.destroy();
+        }
+        executor.shutdownNow();
+        delete(directory);
+    }
+
+    @Test
+    public void testLoadKeys_restoresValidValues() {
+        storeEntries(true);
+
+        store = createStore(true);
+        store.loadKeys(adapter, executor);
+
+        assertTrue(fetchedKeys.isEmpty());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, store.get(i));
+        }
+        assertEquals(ENTRY_COUNT, store.size());
+    }
+
+    @Test
+    public void testLoadKeys_fetchesInvalidatedValues() {
+        storeEntries(true);
+        metaDataContainer.setSequence(6);
+
+        store = createStore(true);
+        store.loadKeys(adapter, executor);
+
+        assertEquals(ENTRY_COUNT, fetchedKeys.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertTrue(fetchedKeys.contains(i));
+            assertNull(store.get(i));
+        }
+        // the rejected reservations don't block the fetched values
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testLoadKeys_fetchesValuesWhenValuesAreNotStored() {
+        storeEntries(false);
+
+        store = createStore(false);
+        store.loadKeys(adapter, executor);
+
+        assertEquals(ENTRY_COUNT, fetchedKeys.size());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testLoadKeys_whenExecutorDoesNotRunTasks() {
+        storeEntries(false);
+
+        // the load is run by a task of the same saturated executor
+        store = createStore(false);
+        store.loadKeys(adapter, command -> { });
+
+        assertEquals(ENTRY_COUNT, fetchedKeys.size());
+    }
+
+    @Test
+    public void testLoadKeys_withTruncatedFile_skipsTruncatedEntry() throws Exception {
+        storeEntries(true);
+        File storeFile = new File(directory, "nearCache-test.store");
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        store = createStore(true);
+        store.loadKeys(adapter, executor);
+
+        assertTrue(fetchedKeys.isEmpty());
+        assertEquals(ENTRY_COUNT - 1, store.size());
+    }
+
+    @Test
+    public void testStoreKeys_afterLoadKeys_replacesFile() {
+        storeEntries(true);
+        store = createStore(true);
+        store.loadKeys(adapter, executor);
+        store.put(ENTRY_COUNT, null, "value-" + ENTRY_COUNT, null);
+
+        store.storeKeys();
+        store.destroy();
+        store = createStore(true);
+        store.loadKeys(adapter, executor);
+
+        assertTrue(fetchedKeys.isEmpty());
+        assertEquals(ENTRY_COUNT + 1, store.size());
+    }
+
+    private void storeEntries(boolean storeValues) {
+        NearCacheRecordStore<Integer, String> source = createStore(storeValues);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            source.put(i, null, "value-" + i, null);
+        }
+        source.storeKeys();
+        source.destroy();
+    }
+
+    private NearCacheRecordStore<Integer, String> createStore(boolean storeValues) {
+        NearCacheConfig config = new NearCacheConfig("test")
+                .setInMemoryFormat(InMemoryFormat.OBJECT);
+        config.getPreloaderConfig()
+                .setEnabled(true)
+                .setDirectory(directory.getAbsolutePath())
+                .setStoreValues(storeValues);
+
+        NearCacheRecordStore<Integer, String> recordStore = new NearCacheObjectRecordStore<>(config.getName(), config,
+                serializationService, getClass().getClassLoader());
+        recordStore.initialize();
+        recordStore.setStaleReadDetector(new SinglePartitionStaleReadDetector());
+        return recordStore;
+    }
+
+    private class SinglePartitionStaleReadDetector implements StaleReadDetector {
+
+        @Override
+        public boolean isStaleRead(Object key, NearCacheRecord record) {
+            return !record.hasSameUuid(metaDataContainer.getUuid())
+                    || record.getInvalidationSequence() < metaDataContainer.getStaleSequence();
+        }
+
+        @Override
+        public int getPartitionId(Object key) {
+            return 0;
+        }
+
+        @Override
+        public MetaDataContainer getMetaDataContainer(int partitionId) {
+            return metaDataContainer;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchTest {
+
+    @Test
+    public void testFrequency() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(5, sketch.frequency(42));
+        assertEquals(0, sketch.frequency(43));
+    }
+
+    @Test
+    public void testFrequency_saturates() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(15, sketch.frequency(42));
+    }
+
+    @Test
+    public void testFrequency_neverUnderestimated() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int key = 0; key < 1000; key++) {
+            for (int i = 0; i < key % 4; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        int exact = 0;
+        for (int key = 0; key < 1000; key++) {
+            int frequency = sketch.frequency(key);
+            assertTrue(frequency >= key % 4);
+            if (frequency == key % 4) {
+                exact++;
+            }
+        }
+        assertTrue("exact estimates: " + exact, exact > 900);
+    }
+
+    @Test
+    public void testReset_halvesFrequencies() {
+        int capacity = 100;
+        FrequencySketch sketch = new FrequencySketch(capacity);
+        for (int i = 0; i < 12; i++) {
+            sketch.increment(-1);
+        }
+        // the accesses to the other keys trigger the aging
+        for (int key = 0; key < 10 * capacity; key++) {
+            sketch.increment(key);
+        }
+
+        int frequency = sketch.frequency(-1);
+        assertTrue("frequency: " + frequency, frequency >= 6 && frequency < 12);
+    }
+}
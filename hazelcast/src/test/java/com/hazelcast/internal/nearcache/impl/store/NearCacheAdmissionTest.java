@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.NearCacheConfig.AdmissionPolicy.ALWAYS;
+import static com.hazelcast.config.NearCacheConfig.AdmissionPolicy.WINDOW_TINY_LFU;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCacheAdmissionTest {
+
+    private static final int MAX_SIZE = 100;
+    private static final int HOT_KEY_COUNT = 50;
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private NearCacheObjectRecordStore<Integer, String> store;
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void testHotKeysSurviveScan() {
+        store = createStore(WINDOW_TINY_LFU);
+
+        accessHotKeysAndScan();
+
+        for (int key = 0; key < HOT_KEY_COUNT; key++) {
+            assertNotNull("hot key " + key + " was evicted", store.get(key));
+        }
+        assertTrue(store.size() <= MAX_SIZE);
+        NearCacheStatsImpl stats = (NearCacheStatsImpl) store.getNearCacheStats();
+        assertTrue(stats.getAdmissionRejections() > 0);
+        assertEquals(store.size(), stats.getOwnedEntryCount());
+    }
+
+    @Test
+    public void testHotKeysEvictedByScan_whenAdmittingAlways() {
+        store = createStore(ALWAYS);
+
+        accessHotKeysAndScan();
+
+        int cachedHotKeys = 0;
+        for (int key = 0; key < HOT_KEY_COUNT; key++) {
+            if (store.get(key) != null) {
+                cachedHotKeys++;
+            }
+        }
+        assertTrue("cached hot keys: " + cachedHotKeys, cachedHotKeys < HOT_KEY_COUNT);
+        assertEquals(0, ((NearCacheStatsImpl) store.getNearCacheStats()).getAdmissionRejections());
+    }
+
+    @Test
+    public void testFrequentKeyAdmitted() {
+        store = createStore(WINDOW_TINY_LFU);
+        for (int key = 0; key < MAX_SIZE; key++) {
+            load(key);
+        }
+
+        int newKey = MAX_SIZE;
+        for (int i = 0; i < 5; i++) {
+            load(newKey);
+        }
+        // push the new key out of the admission window
+        load(MAX_SIZE + 1);
+        load(MAX_SIZE + 2);
+
+        assertNotNull(store.get(newKey));
+        assertTrue(((NearCacheStatsImpl) store.getNearCacheStats()).getAdmissions() > 0);
+        assertTrue(store.size() <= MAX_SIZE);
+    }
+
+    @Test
+    public void testDoEviction_withMaxSizeCheck_doesNotEvict() {
+        store = createStore(WINDOW_TINY_LFU);
+        for (int key = 0; key < MAX_SIZE; key++) {
+            load(key);
+        }
+
+        assertFalse(store.doEviction(false));
+        assertEquals(MAX_SIZE, store.size());
+    }
+
+    @Test
+    public void testNoEviction_whenNotFull() {
+        store = createStore(WINDOW_TINY_LFU);
+        for (int key = 0; key < MAX_SIZE; key++) {
+            load(key);
+        }
+
+        for (int key = 0; key < MAX_SIZE; key++) {
+            assertNotNull(store.get(key));
+        }
+        assertNull(store.get(MAX_SIZE));
+    }
+
+    private void accessHotKeysAndScan() {
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < HOT_KEY_COUNT; key++) {
+                load(key);
+            }
+        }
+        for (int key = HOT_KEY_COUNT; key < 5 * MAX_SIZE; key++) {
+            load(key);
+        }
+    }
+
+    /**
+     * Reads the key from the Near Cache and caches it on a miss, like
+     * {@link com.hazelcast.internal.nearcache.impl.DefaultNearCache} does.
+     */
+    private void load(int key) {
+        if (store.get(key) == null) {
+            store.doEviction(false);
+            store.put(key, serializationService.toData(key), "value-" + key, null);
+        }
+    }
+
+    private NearCacheObjectRecordStore<Integer, String> createStore(NearCacheConfig.AdmissionPolicy admissionPolicy) {
+        NearCacheConfig config = new NearCacheConfig()
+                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setAdmissionPolicy(admissionPolicy)
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(EvictionPolicy.LRU)
+                        .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                        .setSize(MAX_SIZE));
+        NearCacheObjectRecordStore<Integer, String> store
+                = new NearCacheObjectRecordStore<>("name", config, serializationService, getClass().getClassLoader());
+        store.initialize();
+        return store;
+    }
+}
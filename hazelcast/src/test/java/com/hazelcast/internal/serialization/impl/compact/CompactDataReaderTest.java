@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.query.impl.getters.CompactGetter;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.nio.ByteOrder;
+import java.util.Collections;
+
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactDataReaderTest {
+
+    private static final String[] FIELDS = {
+            "bool", "bool2", "i8", "i16", "i32", "i64", "f32", "f64",
+            "nullableBool", "nullableI8", "nullableI16", "nullableI32", "nullableI64", "nullableF32", "nullableF64",
+            "nullI32", "str", "nullStr", "arrayOfI32", "missing",
+    };
+
+    @Parameterized.Parameter
+    public ByteOrder byteOrder;
+
+    // changes the data length so that all offset readers are used
+    @Parameterized.Parameter(1)
+    public int stringLength;
+
+    @Parameterized.Parameters(name = "byteOrder:{0}, stringLength:{1}")
+    public static Object[][] parameters() {
+        return new Object[][]{
+                {ByteOrder.BIG_ENDIAN, 10},
+                {ByteOrder.BIG_ENDIAN, 1000},
+                {ByteOrder.BIG_ENDIAN, 100000},
+                {ByteOrder.LITTLE_ENDIAN, 10},
+                {ByteOrder.LITTLE_ENDIAN, 1000},
+                {ByteOrder.LITTLE_ENDIAN, 100000},
+        };
+    }
+
+    @Test
+    public void read_returnsSameValuesAsGenericRecord() throws Exception {
+        InternalSerializationService serializationService = createSerializationService();
+        Data data = serializationService.toData(createRecord());
+        CompactGetter getter = new CompactGetter(serializationService);
+
+        for (String field : FIELDS) {
+            Object expected = new GenericRecordQueryReader(serializationService.readAsInternalGenericRecord(data), false)
+                    .read(field);
+            Object actual = getter.getValue(data, field);
+            if (expected instanceof int[] array) {
+                assertArrayEquals(field, array, (int[]) actual);
+            } else {
+                assertEquals(field, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void getFieldReader() throws Exception {
+        InternalSerializationService serializationService = createSerializationService();
+        Data data = serializationService.toData(createRecord());
+        CompactDataReader reader = new CompactDataReader(serializationService.extractSchemaFromData(data), byteOrder);
+
+        assertEquals(reader.getSchema().getSchemaId(), CompactDataReader.readSchemaId(data.toByteArray(), byteOrder));
+        assertEquals(42, reader.getFieldReader("i32").read(data.toByteArray()));
+        assertNotNull(reader.getFieldReader("str"));
+        // read through the generic record
+        assertNull(reader.getFieldReader("arrayOfI32"));
+        assertNull(reader.getFieldReader("nested"));
+        assertNull(reader.getFieldReader("nested.i32"));
+        assertNull(reader.getFieldReader("missing"));
+    }
+
+    private GenericRecord createRecord() {
+        return compact("compactDataReaderTest")
+                .setBoolean("bool", true)
+                .setBoolean("bool2", false)
+                .setInt8("i8", (byte) -8)
+                .setInt16("i16", (short) -16)
+                .setInt32("i32", 42)
+                .setInt64("i64", Long.MIN_VALUE)
+                .setFloat32("f32", 3.2f)
+                .setFloat64("f64", -6.4d)
+                .setNullableBoolean("nullableBool", true)
+                .setNullableInt8("nullableI8", (byte) 8)
+                .setNullableInt16("nullableI16", (short) 16)
+                .setNullableInt32("nullableI32", 32)
+                .setNullableInt64("nullableI64", 64L)
+                .setNullableFloat32("nullableF32", 32.5f)
+                .setNullableFloat64("nullableF64", 64.5d)
+                .setNullableInt32("nullI32", null)
+                .setString("str", "\u00e7" + String.join("", Collections.nCopies(stringLength, "x")))
+                .setString("nullStr", null)
+                .setArrayOfInt32("arrayOfI32", new int[]{1, 2, 3})
+                .setGenericRecord("nested", compact("nested").setInt32("i32", 1).build())
+                .build();
+    }
+
+    private InternalSerializationService createSerializationService() {
+        SerializationConfig config = new SerializationConfig();
+        config.setByteOrder(byteOrder);
+        return CompactTestUtil.createSerializationService(config);
+    }
+}
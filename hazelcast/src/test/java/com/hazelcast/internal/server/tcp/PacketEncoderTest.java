@@ -38,6 +38,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +92,113 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenGatheringWrites_thenPayloadNotCopied() {
+        encoder = new PacketEncoder(100);
+        encoder.gatheringWrites(true);
+        final Packet packet = new Packet(serializationService.toBytes(new byte[2000]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        ByteBuffer payload = encoder.gatherBuffer();
+        assertSame(packet.toByteArray(), payload.array());
+        assertEquals(packet.totalSize(), payload.remaining());
+
+        // the header and the gather buffer together make up the packet
+        ByteBuffer written = ByteBuffer.allocate(dst.remaining() + payload.remaining());
+        written.put(dst).put(payload).flip();
+        assertEquals(packet, new PacketIOHelper().readFrom(written));
+    }
+
+    @Test
+    public void whenGatheringWrites_andSmallPacket_thenCopied() {
+        encoder = new PacketEncoder(100);
+        encoder.gatheringWrites(true);
+        final Packet packet = new Packet(serializationService.toBytes("foobar"));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.gatherBuffer());
+        assertEquals(packet, new PacketIOHelper().readFrom(dst));
+    }
+
+    @Test
+    public void whenGatheringWrites_thenNextPacketWaitsForPayload() {
+        encoder = new PacketEncoder(100);
+        encoder.gatheringWrites(true);
+        final Packet packet1 = new Packet(serializationService.toBytes(new byte[2000]));
+        final Packet packet2 = new Packet(serializationService.toBytes("foobar"));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet1);
+        src.queue.add(packet2);
+
+        encoder.dst(dst);
+        encoder.src(src);
+
+        encoder.onWrite();
+        int headerSize = dst.remaining();
+        assertEquals(1, src.queue.size());
+
+        // the pipeline writes the header and the payload
+        dst.position(dst.limit());
+        ByteBuffer payload = encoder.gatherBuffer();
+        payload.position(payload.limit());
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.gatherBuffer());
+        assertEquals(0, src.queue.size());
+        assertEquals(packet2.getFrameLength(), dst.remaining());
+        assertEquals(packet2, new PacketIOHelper().readFrom(dst));
+        assertEquals(packet1.getFrameLength() - packet1.totalSize(), headerSize);
+    }
+
+    @Test
+    public void whenGatheringWritesDisabled_thenPendingPayloadCopied() {
+        encoder = new PacketEncoder(100);
+        encoder.gatheringWrites(true);
+        final Packet packet = new Packet(serializationService.toBytes(new byte[500]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+
+        encoder.onWrite();
+        // e.g. a TLS handler got added after the encoder
+        encoder.gatheringWrites(false);
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.gatherBuffer());
+        assertEquals(packet, new PacketIOHelper().readFrom(dst));
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<>();
 
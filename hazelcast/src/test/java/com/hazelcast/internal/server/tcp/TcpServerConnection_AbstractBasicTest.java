@@ -88,6 +88,21 @@ public abstract class TcpServerConnection_AbstractBasicTest extends TcpServerCon
         assertEquals(packet, found);
     }
 
+    @Test
+    public void writeAll() {
+        TcpServerConnection c = connect(tcpServerA, addressB);
+
+        List<Packet> packets = new ArrayList<>();
+        packets.add(new Packet(serializationService.toBytes("foo")));
+        packets.add(new Packet(serializationService.toBytes("bar")));
+        packets.add(new Packet(serializationService.toBytes("baz")));
+
+        boolean result = c.writeAll(packets);
+
+        assertTrue(result);
+        assertTrueEventually(() -> assertEquals(packets, packetsB));
+    }
+
     @Test
     public void lastWriteTimeMillis_whenPacketWritten() {
         TcpServerConnection connAB = connect(tcpServerA, addressB);
@@ -178,6 +193,18 @@ public abstract class TcpServerConnection_AbstractBasicTest extends TcpServerCon
         assertFalse(result);
     }
 
+    @Test
+    public void writeAll_whenNotAlive() {
+        TcpServerConnection c = connect(tcpServerA, addressB);
+        c.close(null, null);
+
+        List<Packet> packets = Collections.singletonList(new Packet(serializationService.toBytes("foo")));
+
+        boolean result = c.writeAll(packets);
+
+        assertFalse(result);
+    }
+
     @Test
     public void getRemoteSocketAddress() {
         TcpServerConnection c = connect(tcpServerA, addressB);
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tpc;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.connection.ClientConnection;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
+import com.hazelcast.spi.impl.operationexecutor.impl.TpcPartitionOperationThread;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static com.hazelcast.internal.tpc.TpcServerBootstrap.TPC_ENABLED;
+import static com.hazelcast.internal.tpc.TpcServerBootstrap.TPC_PARTITION_LOCAL;
+import static com.hazelcast.test.Accessors.getNode;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TpcServerBootstrapImplTest extends HazelcastTestSupport {
+
+    private static final int EVENTLOOP_COUNT = 2;
+
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig()
+                .setProperty(TPC_ENABLED.getName(), "true")
+                .setProperty(TPC_PARTITION_LOCAL.getName(), "true");
+        config.getTpcConfig().setEventloopCount(EVENTLOOP_COUNT);
+        member = Hazelcast.newHazelcastInstance(config);
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.getTpcConfig().setEnabled(true);
+        client = HazelcastClient.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void after() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void whenPartitionLocal_thenPartitionThreadsDriveTheReactors() {
+        TpcServerBootstrap bootstrap = getNode(member).getNodeEngine().getTpcServerBootstrap();
+        assertTrue(bootstrap.isEnabled());
+        assertEquals(EVENTLOOP_COUNT, bootstrap.getTpcEngine().reactorCount());
+        assertEquals(EVENTLOOP_COUNT, bootstrap.getClientPorts().size());
+
+        OperationExecutorImpl operationExecutor = (OperationExecutorImpl) getNodeEngineImpl(member)
+                .getOperationService().getOperationExecutor();
+        PartitionOperationThread[] partitionThreads = operationExecutor.getPartitionThreads();
+        for (int k = 0; k < partitionThreads.length; k++) {
+            assertInstanceOf(TpcPartitionOperationThread.class, partitionThreads[k]);
+            assertSame(partitionThreads[k], bootstrap.getTpcEngine().reactor(k).eventloopThread());
+        }
+    }
+
+    @Test
+    public void whenPartitionLocal_thenMapOperationsAreServedOverTpcChannels() {
+        assertTrueEventually(() -> {
+            for (ClientConnection connection : getHazelcastClientInstanceImpl(client)
+                    .getConnectionManager().getActiveConnections()) {
+                assertNotNull(connection.getTpcChannels());
+                assertEquals(EVENTLOOP_COUNT, connection.getTpcChannels().length);
+            }
+        });
+
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        for (int k = 0; k < 100; k++) {
+            assertNull(map.put(k, k));
+            assertEquals(k, (int) map.get(k));
+            map.set(k, k + 1);
+            assertEquals(k + 1, (int) map.executeOnKey(k, new IncrementingEntryProcessor()));
+            assertEquals(k + 2, (int) map.remove(k));
+            map.set(k, k);
+            map.delete(k);
+            assertFalse(map.containsKey(k));
+        }
+    }
+
+    private static class IncrementingEntryProcessor implements EntryProcessor<Integer, Integer, Integer> {
+        @Override
+        public Integer process(Map.Entry<Integer, Integer> entry) {
+            if (!(Thread.currentThread() instanceof TpcPartitionOperationThread)) {
+                throw new IllegalStateException("Not running on a reactor: " + Thread.currentThread());
+            }
+            int value = entry.getValue();
+            entry.setValue(value + 1);
+            return value;
+        }
+    }
+}
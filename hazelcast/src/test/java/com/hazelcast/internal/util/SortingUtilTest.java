@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortingUtilTest {
+
+    private static final Comparator<int[]> BY_VALUE = Comparator.comparingInt(item -> item[0]);
+
+    @Test
+    public void testSortHeadOfSortedRuns() {
+        Random random = new Random(42);
+        for (int runCount : new int[]{1, 2, 3, 7, 16}) {
+            List<int[]> list = new ArrayList<>();
+            for (int run = 0; run < runCount; ++run) {
+                int value = random.nextInt(10);
+                for (int i = random.nextInt(50) + 8; i > 0; --i) {
+                    // the second item is the original position to check the stability
+                    list.add(new int[]{value, list.size()});
+                    value += random.nextInt(3);
+                }
+            }
+            for (long limit : new long[]{0, 1, 10, list.size() / 2, list.size(), list.size() + 1, Long.MAX_VALUE}) {
+                verifySortHead(list, limit);
+            }
+        }
+    }
+
+    @Test
+    public void testSortHeadOfUnsortedItems() {
+        Random random = new Random(42);
+        List<int[]> list = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            list.add(new int[]{random.nextInt(100), i});
+        }
+        for (long limit : new long[]{0, 1, 10, 500, 1000, 2000}) {
+            verifySortHead(list, limit);
+        }
+    }
+
+    private static void verifySortHead(List<int[]> list, long limit) {
+        List<int[]> expected = new ArrayList<>(list);
+        expected.sort(BY_VALUE);
+        expected = expected.subList(0, (int) Math.min(expected.size(), limit));
+
+        List<int[]> actual = new ArrayList<>(list);
+        SortingUtil.sortHead(actual, BY_VALUE, limit);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastTestSupport;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public abstract class AbstractMapStreamingQueryTest extends HazelcastTestSupport {
+
+    protected TestHazelcastFactory factory;
+    protected HazelcastInstance instanceProxy;
+
+    @After
+    public void teardown() {
+        factory.terminateAll();
+    }
+
+    protected abstract <K, V> Set<K> streamingKeySet(IMap<K, V> map, int fetchSize, Predicate<K, V> predicate);
+
+    protected abstract <K, V> Collection<V> streamingValues(IMap<K, V> map, int fetchSize, Predicate<K, V> predicate);
+
+    protected abstract <K, V> Set<Entry<K, V>> streamingEntrySet(IMap<K, V> map, int fetchSize,
+                                                                 Predicate<K, V> predicate);
+
+    @Test
+    public void test_emptyMap() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+
+        Set<Integer> keys = streamingKeySet(map, 10, Predicates.alwaysTrue());
+        assertTrue(keys.isEmpty());
+        assertEquals(0, keys.size());
+        assertFalse(keys.iterator().hasNext());
+    }
+
+    @Test
+    public void test_keysValuesAndEntries() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+        for (int i = 0; i < 1000; ++i) {
+            map.put(i, "value" + i);
+        }
+        Predicate<Integer, String> predicate = Predicates.lessThan("__key", 500);
+
+        assertThat(streamingKeySet(map, 7, predicate)).hasSize(500)
+                .containsExactlyInAnyOrderElementsOf(map.keySet(predicate));
+        assertThat(streamingValues(map, 7, predicate)).hasSize(500)
+                .containsExactlyInAnyOrderElementsOf(map.values(predicate));
+        assertThat(streamingEntrySet(map, 7, predicate)).hasSize(500)
+                .containsExactlyInAnyOrderElementsOf(map.entrySet(predicate));
+    }
+
+    @Test
+    public void test_duplicateValues() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+        map.put(1, "a");
+        map.put(2, "a");
+
+        Collection<String> values = streamingValues(map, 10, Predicates.alwaysTrue());
+        assertFalse(values instanceof Set);
+        assertThat(values).containsExactly("a", "a");
+        assertEquals(Set.of(1, 2), streamingKeySet(map, 10, Predicates.alwaysTrue()));
+    }
+
+    @Test
+    public void test_iterationRunsQueryAgain() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+        map.put(1, "a");
+        Collection<String> values = streamingValues(map, 10, Predicates.alwaysTrue());
+        assertThat(values).containsExactly("a");
+
+        map.put(2, "b");
+        assertThat(values).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    public void test_resultsFetchedLazily() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, "value" + i);
+        }
+        Iterator<Integer> iterator = streamingKeySet(map, 10, Predicates.alwaysTrue()).iterator();
+        List<Integer> keys = new ArrayList<>();
+        keys.add(iterator.next());
+        // only the batch fetched so far remains to be iterated
+        map.clear();
+        iterator.forEachRemaining(keys::add);
+
+        assertThat(keys.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_readOnly() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+        map.put(1, "a");
+
+        streamingKeySet(map, 10, Predicates.alwaysTrue()).remove(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_pagingPredicate_throwsException() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+
+        streamingKeySet(map, 10, Predicates.pagingPredicate(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_partitionPredicate_throwsException() {
+        IMap<Integer, String> map = instanceProxy.getMap(randomMapName());
+
+        streamingKeySet(map, 10, Predicates.partitionPredicate(1, Predicates.alwaysTrue()));
+    }
+}
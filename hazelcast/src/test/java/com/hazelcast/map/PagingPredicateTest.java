@@ -337,6 +337,47 @@ public class PagingPredicateTest extends HazelcastTestSupport {
         assertEquals(0, resultSize);
     }
 
+    @Test
+    public void testKeyPagingInSortedIndexOrder() {
+        map.addIndex(IndexType.SORTED, "__key");
+
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(pageSize);
+        for (int page = 0; page <= size / pageSize; ++page) {
+            List<Integer> expected = new ArrayList<>();
+            for (int key = page * pageSize; key < Math.min(size, (page + 1) * pageSize); ++key) {
+                expected.add(key);
+            }
+            assertEquals(expected, new ArrayList<>(map.keySet(predicate)));
+            predicate.nextPage();
+        }
+
+        // jump forward without the anchors of the pages in between
+        predicate = Predicates.pagingPredicate(pageSize);
+        predicate.setPage(3);
+        assertIterableEquals(map.keySet(predicate), 15, 16, 17, 18, 19);
+    }
+
+    @Test
+    public void testValuePagingWithFilteringInSortedIndexOrder() {
+        map.clear();
+        // keys [0-49] values [49-0]
+        for (int i = 0; i < size; i++) {
+            map.put(i, size - 1 - i);
+        }
+        map.addIndex(IndexType.SORTED, "this");
+
+        // the even values, not evaluated using an index
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(new EvenValuePredicate(), pageSize);
+        for (int page = 0; page <= size / 2 / pageSize; ++page) {
+            List<Integer> expected = new ArrayList<>();
+            for (int value = 2 * page * pageSize; value < Math.min(size, 2 * (page + 1) * pageSize); value += 2) {
+                expected.add(value);
+            }
+            assertEquals(expected, new ArrayList<>(map.values(predicate)));
+            predicate.nextPage();
+        }
+    }
+
     @Test
     public void testCustomComparatorAbleToActOnKeysAndValues() {
         Set<Integer> keys = map.keySet(Predicates.pagingPredicate(new CustomComparator(), pageSize));
@@ -779,6 +820,13 @@ public class PagingPredicateTest extends HazelcastTestSupport {
 
     }
 
+    private static class EvenValuePredicate implements Predicate<Integer, Integer> {
+        @Override
+        public boolean apply(Map.Entry<Integer, Integer> mapEntry) {
+            return mapEntry.getValue() % 2 == 0;
+        }
+    }
+
     private static class EmployeeIdComparator implements Comparator<Employee> {
         @Override
         public int compare(Employee e1, Employee e2) {
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.recordstore.offheap.OffHeapStorage;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.PartitionIndexingTest;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+/**
+ * Runs the partition indexing scenarios with the indexes of every partition
+ * built in small chunks by {@link PartitionIndexBuilder}.
+ */
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionIndexBuilderTest extends PartitionIndexingTest {
+
+    private static final int ENTRY_COUNT = 10000;
+
+    @Parameterized.Parameters(name = "format:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{{InMemoryFormat.OBJECT}, {InMemoryFormat.BINARY}});
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = super.getConfig();
+        config.setProperty(PartitionIndexBuilder.MIN_ENTRY_COUNT.getName(), "0");
+        config.setProperty(PartitionIndexBuilder.CHUNK_SIZE.getName(), "16");
+        config.setProperty(PartitionIndexBuilder.CHUNK_DELAY_MILLIS.getName(), "1");
+        return config;
+    }
+
+    @Test
+    public void testIndexOnOffHeapAndPackedStorages() {
+        Config config = getConfig();
+        config.getMapConfig("offHeap").setInMemoryFormat(InMemoryFormat.BINARY);
+        config.getMapConfig("packed").setInMemoryFormat(InMemoryFormat.BINARY);
+        config.setProperty(OffHeapStorage.OFF_HEAP_STORAGE_MAPS.getName(), "offHeap");
+        config.setProperty(PackedRecordFactory.PACKED_RECORD_MAPS.getName(), "packed");
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+
+        for (String mapName : asList("offHeap", "packed")) {
+            IMap<Integer, Integer> map = instance.getMap(mapName);
+            for (int i = 0; i < ENTRY_COUNT; ++i) {
+                map.put(i, i);
+            }
+            map.addIndex(IndexType.SORTED, "this");
+
+            assertEquals(100, map.keySet(Predicates.lessThan("this", 100)).size());
+        }
+    }
+
+    @Test
+    public void testIndexMatchesEntriesUpdatedDuringBuild() throws Exception {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, i);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> updater = spawn(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (!stop.get()) {
+                int key = random.nextInt(ENTRY_COUNT);
+                if (random.nextBoolean()) {
+                    map.put(key, -key - 1);
+                } else {
+                    map.remove(key);
+                }
+            }
+        });
+
+        map.addIndex(IndexType.SORTED, "this");
+        stop.set(true);
+        updater.get();
+
+        Set<Integer> expected = new HashSet<>();
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            if (entry.getValue() < 0) {
+                expected.add(entry.getKey());
+            }
+        }
+        assertEquals(expected, map.keySet(Predicates.lessThan("this", 0)));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.PartitioningAttributeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.partition.PartitioningStrategy;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueryPartitionPrunerTest extends HazelcastTestSupport {
+
+    private static final String ATTRIBUTE_PARTITIONED_MAP = "attributePartitioned";
+
+    private HazelcastInstance instance;
+    private MapServiceContext mapServiceContext;
+    private QueryPartitionPruner pruner;
+
+    @Before
+    public void before() {
+        Config config = getConfig().setProperty(QueryEngineImpl.PARTITION_PRUNING.getName(), "true");
+        config.getMapConfig(ATTRIBUTE_PARTITIONED_MAP)
+                .setPartitioningAttributeConfigs(singletonList(new PartitioningAttributeConfig("id")));
+        instance = createHazelcastInstance(config);
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        mapServiceContext = mapService.getMapServiceContext();
+        pruner = new QueryPartitionPruner(mapServiceContext);
+    }
+
+    @Test
+    public void testKeyEquality() {
+        IMap<Integer, String> map = newIntegerMap();
+
+        assertPrunedTo(map, Predicates.equal("__key", 5), 5);
+        assertPrunedTo(map, Predicates.and(Predicates.equal("__key", 5), Predicates.equal("this", "6")), 5);
+        assertEquals(singletonList("5"), map.values(Predicates.equal("__key", 5)).stream().toList());
+        assertThat(map.values(Predicates.and(Predicates.equal("__key", 5), Predicates.equal("this", "6")))).isEmpty();
+    }
+
+    @Test
+    public void testKeyIn() {
+        IMap<Integer, String> map = newIntegerMap();
+
+        assertPrunedTo(map, Predicates.in("__key", 1, 2, 3), 1, 2, 3);
+        assertPrunedTo(map, Predicates.or(Predicates.equal("__key", 1), Predicates.in("__key", 2, 3)), 1, 2, 3);
+        assertThat(map.keySet(Predicates.in("__key", 1, 2, 3, 1000))).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    public void testNotPruned() {
+        IMap<Integer, String> map = newIntegerMap();
+
+        assertNull(prune(map, Predicates.equal("this", "5")));
+        assertNull(prune(map, Predicates.or(Predicates.equal("__key", 5), Predicates.equal("this", "6"))));
+        assertNull(prune(map, Predicates.greaterThan("__key", 5)));
+        assertNull(prune(map, Predicates.alwaysTrue()));
+        // the values of SQL predicates aren't of the key type
+        assertNull(prune(map, Predicates.sql("__key = 5")));
+        assertNull(prune(map, Predicates.sql("__key in (1, 2, 3)")));
+        assertThat(map.keySet(Predicates.sql("__key in (1, 2, 3, 1000)"))).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    public void testEmptyMapPruned() {
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+
+        // the pruning doesn't depend on the entries
+        assertPrunedTo(map, Predicates.equal("__key", 5), 5);
+    }
+
+    @Test
+    public void testPartitioningAttributeEquality() {
+        IMap<Key, String> map = instance.getMap(ATTRIBUTE_PARTITIONED_MAP);
+        for (int i = 0; i < 100; ++i) {
+            map.put(new Key(i % 10, "name" + i), "value" + i);
+        }
+        PartitioningStrategy strategy = mapServiceContext.getMapContainer(map.getName()).getPartitioningStrategy();
+        PartitionIdSet expected = new PartitionIdSet(getPartitionService(instance).getPartitionCount());
+        expected.add(getPartitionService(instance).getPartitionId(mapServiceContext.toData(new Key(3, "any"), strategy)));
+        expected.add(getPartitionService(instance).getPartitionId(mapServiceContext.toData(new Key(4, "any"), strategy)));
+
+        assertEquals(expected, prune(map, Predicates.in("__key.id", 3, 4)));
+        assertEquals(expected, prune(map, Predicates.and(Predicates.in("__key.id", 3, 4),
+                Predicates.notEqual("__key.name", "name3"))));
+        assertNull(prune(map, Predicates.sql("__key.id in (3, 4)")));
+        assertNull(prune(map, Predicates.equal("__key.name", "name3")));
+        assertThat(map.values(Predicates.in("__key.id", 3, 4))).hasSize(20);
+        assertThat(map.values(Predicates.and(Predicates.equal("__key.id", 3), Predicates.equal("this", "value13"))))
+                .containsExactly("value13");
+    }
+
+    private IMap<Integer, String> newIntegerMap() {
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, Integer.toString(i));
+        }
+        return map;
+    }
+
+    private void assertPrunedTo(IMap<Integer, String> map, Predicate predicate, Integer... keys) {
+        PartitionIdSet expected = new PartitionIdSet(getPartitionService(instance).getPartitionCount());
+        Arrays.stream(keys).forEach(key -> expected.add(getPartitionService(instance).getPartitionId(key)));
+        assertEquals(expected, prune(map, predicate));
+    }
+
+    private PartitionIdSet prune(IMap<?, ?> map, Predicate predicate) {
+        Query query = Query.of().mapName(map.getName()).predicate(predicate).iterationType(IterationType.ENTRY).build();
+        return pruner.prune(query);
+    }
+
+    private static final class Key implements Serializable {
+
+        private final int id;
+        private final String name;
+
+        Key(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && id == key.id && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id + name.hashCode();
+        }
+
+    }
+
+}
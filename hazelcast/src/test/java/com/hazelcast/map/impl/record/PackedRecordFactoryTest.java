@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadataImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PackedRecordFactoryTest {
+
+    private SerializationService ss;
+    private PackedRecordFactory factory;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        factory = new PackedRecordFactory(ss);
+    }
+
+    @Test
+    public void testNewRecord() {
+        Data key = ss.toData("key");
+        PackedRecord record = factory.newRecord(key, "value");
+
+        assertEquals("value", ss.toObject(record.getValue()));
+        assertEquals(key, factory.keyAt(record.slot()));
+        assertEquals(key.hashCode(), factory.keyHashAt(record.slot()));
+        assertEquals(0, record.getVersion());
+        assertEquals(0, record.getHits());
+        assertEquals(UNSET, record.getRawCreationTime());
+        assertEquals(0L, record.getLastStoredTime());
+        assertFalse(factory.isLinked(record.slot()));
+        assertFalse(record.hasExpiryMetadata());
+    }
+
+    @Test
+    public void testMetadataIsSharedBetweenFlyweights() {
+        PackedRecord record = factory.newRecord(ss.toData(1), 1);
+        long now = System.currentTimeMillis();
+        record.onUpdate(now);
+        record.onAccess(now);
+        record.setCreationTime(now);
+
+        PackedRecord flyweight = factory.recordAt(record.slot());
+        assertEquals(record, flyweight);
+        assertEquals(1, flyweight.getVersion());
+        assertEquals(1, flyweight.getHits());
+        assertEquals(now / 1000, flyweight.getLastAccessTime() / 1000);
+        assertEquals(now / 1000, flyweight.getLastUpdateTime() / 1000);
+        assertEquals(now / 1000, flyweight.getCreationTime() / 1000);
+    }
+
+    @Test
+    public void testToPackedRecord_returnsOwnRecord() {
+        Data key = ss.toData(1);
+        PackedRecord record = factory.newRecord(key, 1);
+
+        assertSame(record, factory.toPackedRecord(key, record));
+    }
+
+    @Test
+    public void testToPackedRecord_copiesForeignRecord() {
+        Data key = ss.toData(1);
+        Record foreign = mock(Record.class);
+        when(foreign.getValue()).thenReturn(ss.toData("value"));
+        when(foreign.getVersion()).thenReturn(3);
+        when(foreign.getHits()).thenReturn(5);
+
+        PackedRecord copy = factory.toPackedRecord(key, foreign);
+
+        assertEquals("value", ss.toObject(copy.getValue()));
+        assertEquals(3, copy.getVersion());
+        assertEquals(5, copy.getHits());
+    }
+
+    @Test
+    public void testUnlinkedSlotIsReusedOnlyAfterDispose() {
+        Data key = ss.toData(1);
+        PackedRecord record = factory.newRecord(key, 1);
+        factory.link(record.slot(), key);
+        factory.unlink(record.slot());
+
+        PackedRecord other = factory.newRecord(ss.toData(2), 2);
+        assertNotEquals(record.slot(), other.slot());
+        // still readable until the deferred slots are disposed
+        assertEquals(1, (int) ss.toObject(record.getValue()));
+
+        factory.link(other.slot(), ss.toData(2));
+        factory.disposeDeferredSlots();
+
+        assertEquals(record.slot(), factory.newRecord(ss.toData(3), 3).slot());
+    }
+
+    @Test
+    public void testSlotOfRecordNeverLinkedIsReleased() {
+        PackedRecord record = factory.newRecord(ss.toData(1), 1);
+        factory.disposeDeferredSlots();
+
+        assertEquals(record.slot(), factory.newRecord(ss.toData(2), 2).slot());
+    }
+
+    @Test
+    public void testSlotLinkedAgainIsNotReleased() {
+        Data key = ss.toData(1);
+        PackedRecord record = factory.newRecord(key, 1);
+        factory.link(record.slot(), key);
+        factory.unlink(record.slot());
+        factory.link(record.slot(), key);
+        factory.disposeDeferredSlots();
+
+        assertTrue(factory.isLinked(record.slot()));
+        assertNotEquals(record.slot(), factory.newRecord(ss.toData(2), 2).slot());
+    }
+
+    @Test
+    public void testSlotsSurviveGrowth() {
+        int count = 1000;
+        PackedRecord[] records = new PackedRecord[count];
+        for (int i = 0; i < count; i++) {
+            Data key = ss.toData(i);
+            records[i] = factory.newRecord(key, i);
+            records[i].setVersion(i);
+            factory.link(records[i].slot(), key);
+        }
+
+        assertEquals(count, factory.slotCount());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) ss.toObject(records[i].getValue()));
+            assertEquals(i, records[i].getVersion());
+        }
+    }
+
+    @Test
+    public void testExpiryMetadata() {
+        Data key = ss.toData(1);
+        PackedRecord record = factory.newRecord(key, 1);
+        factory.link(record.slot(), key);
+        long now = System.currentTimeMillis();
+
+        record.setExpiryMetadata(new ExpiryMetadataImpl(10_000, 5_000, now + 5_000, now));
+
+        assertTrue(record.hasExpiryMetadata());
+        assertEquals(1, factory.expirableCount());
+        ExpiryMetadata expiryMetadata = record.getExpiryMetadata();
+        assertEquals(10_000, expiryMetadata.getTtl());
+        assertEquals(5_000, expiryMetadata.getMaxIdle());
+        assertEquals((now + 5_000) / 1000, expiryMetadata.getExpirationTime() / 1000);
+
+        expiryMetadata.setExpirationTime(now + 8_000);
+        assertEquals((now + 8_000) / 1000, record.getExpiryMetadata().getExpirationTime() / 1000);
+
+        factory.unlink(record.slot());
+        assertFalse(record.hasExpiryMetadata());
+        assertEquals(0, factory.expirableCount());
+    }
+}
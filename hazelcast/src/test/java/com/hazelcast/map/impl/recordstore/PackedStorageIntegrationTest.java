@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.recordstore.expiry.PackedExpirySystem;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PackedStorageIntegrationTest extends HazelcastTestSupport {
+
+    private TestHazelcastInstanceFactory factory;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(2);
+    }
+
+    @Test
+    public void testStorageIsSelectedByMapName() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        instance.getMap("packed-map").put(1, "a");
+        instance.getMap("heap-map").put(1, "a");
+
+        RecordStore packedRecordStore = getRecordStore(instance, "packed-map", 1);
+        RecordStore heapRecordStore = getRecordStore(instance, "heap-map", 1);
+        assertTrue(packedRecordStore.getStorage() instanceof PackedStorage);
+        assertTrue(packedRecordStore.getExpirySystem() instanceof PackedExpirySystem);
+        assertTrue(heapRecordStore.getStorage() instanceof StorageImpl);
+    }
+
+    @Test
+    public void testStorageIsSelectedByExactMapName() {
+        Config config = getConfig().setProperty(PackedRecordFactory.PACKED_RECORD_MAPS.getName(), "exact-map, other-map");
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        instance.getMap("exact-map").put(1, "a");
+        instance.getMap("exact-map-2").put(1, "a");
+
+        assertTrue(getRecordStore(instance, "exact-map", 1).getStorage() instanceof PackedStorage);
+        assertTrue(getRecordStore(instance, "exact-map-2", 1).getStorage() instanceof StorageImpl);
+    }
+
+    @Test
+    public void testBasicOperations() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap("packed-basic");
+
+        for (int i = 0; i < 1000; i++) {
+            map.set(i, "value-" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.put(i, "updated-" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            map.remove(i);
+        }
+
+        assertEquals(900, map.size());
+        assertNull(map.get(1));
+        assertEquals("updated-100", map.get(100));
+        assertEquals("value-101", map.get(101));
+        assertEquals(900, map.keySet().size());
+        assertEquals(450, map.values(Predicates.like("this", "updated-%")).size());
+        assertTrue(map.getLocalMapStats().getOwnedEntryMemoryCost() > 0);
+
+        EntryView<Integer, String> entryView = map.getEntryView(100);
+        assertEquals(1, entryView.getVersion());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testTtlExpiry() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap("packed-ttl");
+
+        map.put(1, "value", 1, SECONDS);
+        map.put(2, "value");
+
+        assertEquals(1, map.getEntryView(1).getTtl() / 1000);
+        assertTrueEventually(() -> assertFalse(map.containsKey(1)));
+        assertTrue(map.containsKey(2));
+    }
+
+    @Test
+    public void testMaxIdleExpiry() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap("packed-max-idle");
+
+        map.put(1, "value", 0, SECONDS, 1, SECONDS);
+
+        assertTrueEventually(() -> assertFalse(map.containsKey(1)));
+    }
+
+    @Test
+    public void testEviction() {
+        Config config = getConfig();
+        config.getMapConfig("packed-eviction").getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(10);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap("packed-eviction");
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        assertTrue(map.size() <= 10 * partitionCount);
+    }
+
+    @Test
+    public void testMigration() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance1.getMap("packed-migration");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i, i < 500 ? 1 : 0, HOURS);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(instance1, instance2);
+        instance1.shutdown();
+
+        IMap<Integer, String> map2 = instance2.getMap("packed-migration");
+        assertEquals(1000, map2.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value-" + i, map2.get(i));
+        }
+        assertEquals(HOURS.toMillis(1), map2.getEntryView(0).getTtl());
+    }
+
+    @Override
+    protected Config getConfig() {
+        return smallInstanceConfig()
+                .setProperty(PackedRecordFactory.PACKED_RECORD_MAPS.getName(), "packed*");
+    }
+
+    private static RecordStore getRecordStore(HazelcastInstance instance, String mapName, Object key) {
+        int partitionId = instance.getPartitionService().getPartition(key).getPartitionId();
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return service.getMapServiceContext()
+                .getPartitionContainer(partitionId)
+                .getExistingRecordStore(mapName);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.eviction.Evictor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.PackedRecord;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadataImpl;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PackedStorageTest {
+
+    private SerializationService ss;
+    private PackedRecordFactory recordFactory;
+    private PackedStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new PackedRecordFactory(ss);
+        storage = new PackedStorage(recordFactory, mock(ExpirySystem.class), ss);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Data key = ss.toData("key");
+        storage.put(key, recordFactory.newRecord(key, "value"));
+
+        Record record = storage.get(key);
+        assertEquals("value", ss.toObject(record.getValue()));
+        assertTrue(storage.containsKey(key));
+        assertEquals(1, storage.size());
+        assertNull(storage.get(ss.toData("missing")));
+    }
+
+    @Test
+    public void testGetIfSameKey() {
+        Data key = ss.toData("key");
+        storage.put(key, recordFactory.newRecord(key, "value"));
+
+        assertEquals("value", ss.toObject(storage.getIfSameKey(ss.toData("key")).getValue()));
+        assertNull(storage.getIfSameKey(ss.toData("missing")));
+    }
+
+    @Test
+    public void testPut_replacesExistingEntry_andKeepsExpiryMetadata() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "a"));
+        long now = System.currentTimeMillis();
+        ((PackedRecord) storage.get(key)).setExpiryMetadata(new ExpiryMetadataImpl(1000, 1000, now + 1000, now));
+
+        storage.put(key, recordFactory.newRecord(key, "b"));
+        storage.disposeDeferredBlocks();
+
+        PackedRecord record = (PackedRecord) storage.get(key);
+        assertEquals(1, storage.size());
+        assertEquals("b", ss.toObject(record.getValue()));
+        assertTrue(record.hasExpiryMetadata());
+        assertEquals(1, recordFactory.expirableCount());
+    }
+
+    @Test
+    public void testPut_copiesForeignRecord() {
+        Data key = ss.toData(1);
+        Record foreign = newDataRecordWithStats("value");
+        foreign.setVersion(42);
+        storage.put(key, foreign);
+
+        Record record = storage.get(key);
+        assertTrue(record instanceof PackedRecord);
+        assertEquals(42, record.getVersion());
+    }
+
+    @Test
+    public void testManyPutsAndRemoves() {
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+        for (int i = 0; i < count; i += 2) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(count / 2, storage.size());
+        for (int i = 0; i < count; i++) {
+            Record record = storage.get(ss.toData(i));
+            if (i % 2 == 0) {
+                assertNull(record);
+            } else {
+                assertEquals(i, (int) ss.toObject(record.getValue()));
+            }
+        }
+
+        // freed slots are reused
+        for (int i = 0; i < count; i += 2) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+        assertEquals(count, storage.size());
+        assertEquals(count, recordFactory.slotCount());
+    }
+
+    @Test
+    public void testCostIsBelowHeapStorage() {
+        StorageImpl<Record> heapStorage = new StorageImpl<>(InMemoryFormat.BINARY, mock(ExpirySystem.class), ss);
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+            heapStorage.put(key, newDataRecordWithStats(i));
+        }
+
+        long packedCost = storage.getEntryCostEstimator().getEstimate();
+        assertTrue(packedCost > 0);
+        assertTrue(packedCost < heapStorage.getEntryCostEstimator().getEstimate());
+
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testMutationTolerantIterator_whenRemovingDuringIteration() {
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Object> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            assertTrue(seen.add(ss.toObject(entry.getKey())));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+            storage.disposeDeferredBlocks();
+        }
+
+        assertEquals(count, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testFetchKeys_returnsAllKeys() {
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Data> fetched = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor keys = storage.fetchKeys(pointers, 100);
+            fetched.addAll(keys.getBatch());
+            pointers = keys.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(count, fetched.size());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Data> sampled = new HashSet<>();
+        for (EntryView entryView : storage.getRandomSamples(15)) {
+            Data key = storage.extractDataKeyFromLazy(entryView);
+            assertTrue(storage.containsKey(key));
+            sampled.add(key);
+        }
+        assertEquals(15, sampled.size());
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        storage.clear(false);
+        storage.disposeDeferredBlocks();
+
+        assertTrue(storage.isEmpty());
+        assertNull(storage.get(ss.toData(1)));
+        assertFalse(storage.mutationTolerantIterator().hasNext());
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    private Record newDataRecordWithStats(Object value) {
+        MapContainer mapContainer = mock(MapContainer.class);
+        when(mapContainer.getMapConfig()).thenReturn(new MapConfig()
+                .setPerEntryStatsEnabled(true)
+                .setCacheDeserializedValues(CacheDeserializedValues.NEVER));
+        when(mapContainer.getEvictor()).thenReturn(Evictor.NULL_EVICTOR);
+        return new DataRecordFactory(mapContainer, ss).newRecord(null, value);
+    }
+}
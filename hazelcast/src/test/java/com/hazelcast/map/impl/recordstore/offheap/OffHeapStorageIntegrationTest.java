@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.StorageImpl;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageIntegrationTest extends HazelcastTestSupport {
+
+    private TestHazelcastInstanceFactory factory;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UnsafeMemoryManager.isAvailable());
+        factory = createHazelcastInstanceFactory(2);
+    }
+
+    @Test
+    public void testStorageIsSelectedByMapName() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> offHeapMap = instance.getMap("offheap-map");
+        IMap<Integer, String> heapMap = instance.getMap("heap-map");
+        offHeapMap.put(1, "a");
+        heapMap.put(1, "a");
+
+        assertTrue(getRecordStore(instance, "offheap-map", 1).getStorage() instanceof OffHeapStorage);
+        assertTrue(getRecordStore(instance, "heap-map", 1).getStorage() instanceof StorageImpl);
+    }
+
+    @Test
+    public void testBasicOperations() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap("offheap-basic");
+
+        for (int i = 0; i < 1000; i++) {
+            map.set(i, "value-" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.put(i, "updated-" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            map.remove(i);
+        }
+
+        assertEquals(900, map.size());
+        assertNull(map.get(1));
+        assertEquals("updated-100", map.get(100));
+        assertEquals("value-101", map.get(101));
+        assertEquals(900, map.keySet().size());
+        assertEquals(450, map.values(Predicates.like("this", "updated-%")).size());
+        assertTrue(map.getLocalMapStats().getOwnedEntryMemoryCost() > 0);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testExpiry() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap("offheap-expiry");
+
+        map.put(1, "value", 1, SECONDS);
+
+        assertTrueEventually(() -> assertFalse(map.containsKey(1)));
+    }
+
+    @Test
+    public void testEviction() {
+        Config config = getConfig();
+        config.getMapConfig("offheap-eviction").getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(10);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap("offheap-eviction");
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        assertTrue(map.size() <= 10 * partitionCount);
+    }
+
+    @Test
+    public void testMigration() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance1.getMap("offheap-migration");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(instance1, instance2);
+        instance1.shutdown();
+
+        IMap<Integer, String> map2 = instance2.getMap("offheap-migration");
+        assertEquals(1000, map2.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value-" + i, map2.get(i));
+        }
+    }
+
+    @Override
+    protected Config getConfig() {
+        return smallInstanceConfig()
+                .setProperty(OffHeapStorage.OFF_HEAP_STORAGE_MAPS.getName(), "offheap*");
+    }
+
+    private static RecordStore getRecordStore(HazelcastInstance instance, String mapName, Object key) {
+        int partitionId = instance.getPartitionService().getPartition(key).getPartitionId();
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return service.getMapServiceContext()
+                .getPartitionContainer(partitionId)
+                .getExistingRecordStore(mapName);
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest {
+
+    private SerializationService ss;
+    private UnsafeMemoryManager memoryManager;
+    private OffHeapRecordFactory recordFactory;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UnsafeMemoryManager.isAvailable());
+        ss = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new UnsafeMemoryManager();
+        recordFactory = new OffHeapRecordFactory(ss, memoryManager);
+        storage = new OffHeapStorage(recordFactory, mock(ExpirySystem.class), ss);
+    }
+
+    @After
+    public void tearDown() {
+        if (storage != null) {
+            storage.destroy(true);
+        }
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Data key = ss.toData("key");
+        storage.put(key, recordFactory.newRecord(key, "value"));
+
+        Record record = storage.get(key);
+        assertEquals("value", ss.toObject(record.getValue()));
+        assertTrue(storage.containsKey(key));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void testGet_whenMissing() {
+        assertNull(storage.get(ss.toData("missing")));
+        assertFalse(storage.containsKey(ss.toData("missing")));
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testPut_replacesExistingEntry() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "a"));
+        storage.put(key, recordFactory.newRecord(key, "b"));
+        storage.disposeDeferredBlocks();
+
+        assertEquals(1, storage.size());
+        assertEquals("b", ss.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void testPut_copiesOnHeapRecord() {
+        Data key = ss.toData(1);
+        Record heapRecord = mock(Record.class);
+        when(heapRecord.getValue()).thenReturn(ss.toData("value"));
+        when(heapRecord.getVersion()).thenReturn(42);
+        when(heapRecord.getHits()).thenReturn(7);
+        storage.put(key, heapRecord);
+
+        Record record = storage.get(key);
+        assertTrue(record instanceof OffHeapRecord);
+        assertEquals(42, record.getVersion());
+        assertEquals(7, record.getHits());
+        assertEquals("value", ss.toObject(record.getValue()));
+    }
+
+    @Test
+    public void testMetadataUpdatesAreVisibleThroughNewFlyweights() {
+        Data key = ss.toData(1);
+        Record record = recordFactory.newRecord(key, "value");
+        storage.put(key, record);
+
+        long now = System.currentTimeMillis();
+        record.onUpdate(now);
+        record.onAccess(now);
+
+        Record lookedUp = storage.get(key);
+        assertEquals(record, lookedUp);
+        assertEquals(1, lookedUp.getVersion());
+        assertEquals(1, lookedUp.getHits());
+        assertEquals(now / 1000, lookedUp.getLastAccessTime() / 1000);
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "value"));
+        long costBefore = storage.getEntryCostEstimator().getEstimate();
+
+        storage.updateRecordValue(key, storage.get(key), "a much longer value than before");
+
+        assertEquals("a much longer value than before", ss.toObject(storage.get(key).getValue()));
+        assertTrue(storage.getEntryCostEstimator().getEstimate() > costBefore);
+    }
+
+    @Test
+    public void testRemoveRecord() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "value"));
+        Record record = storage.get(key);
+
+        storage.removeRecord(key, record);
+
+        assertNull(storage.get(key));
+        assertEquals(0, storage.size());
+        // removed record can still be read until deferred blocks are disposed
+        assertEquals("value", ss.toObject(record.getValue()));
+        storage.disposeDeferredBlocks();
+    }
+
+    @Test
+    public void testMemoryIsReleased() {
+        for (int i = 0; i < 1000; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        storage.disposeDeferredBlocks();
+
+        long tableOnly = memoryManager.getUsedMemory();
+        assertEquals(tableOnly, storage.getEntryCostEstimator().getEstimate());
+
+        storage.destroy(false);
+        assertEquals(0, memoryManager.getUsedMemory());
+        storage = null;
+    }
+
+    @Test
+    public void testMemoryIsReleased_whenRecordIsNeverPut() {
+        long usedMemory = memoryManager.getUsedMemory();
+        Data key = ss.toData("key");
+        recordFactory.newRecord(key, "value");
+
+        storage.disposeDeferredBlocks();
+
+        assertEquals(usedMemory, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testRecordIsKept_whenRemovedAndPutAgain() {
+        Data key = ss.toData("key");
+        storage.put(key, recordFactory.newRecord(key, "value"));
+        Record record = storage.get(key);
+        storage.removeRecord(key, record);
+        storage.put(key, record);
+
+        storage.disposeDeferredBlocks();
+
+        assertEquals("value", ss.toObject(storage.get(key).getValue()));
+        assertEquals(memoryManager.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testGetIfSameKey() {
+        Data key = ss.toData("key");
+        storage.put(key, recordFactory.newRecord(key, "value"));
+
+        assertEquals("value", ss.toObject(storage.getIfSameKey(ss.toData("key")).getValue()));
+        assertNull(storage.getIfSameKey(ss.toData("missing")));
+    }
+
+    @Test
+    public void testCostEstimateMatchesAllocatedMemory() {
+        for (int i = 0; i < 1000; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, "value-" + i));
+        }
+
+        assertEquals(memoryManager.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testMutationTolerantIterator_whenRemovingDuringIteration() {
+        int entryCount = 1000;
+        for (int i = 0; i < entryCount; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Object> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            assertTrue(seen.add(ss.toObject(entry.getKey())));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+            storage.disposeDeferredBlocks();
+        }
+
+        assertEquals(entryCount, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testMutationTolerantIterator_whenPuttingIntoIteratedChain() {
+        int entryCount = 10;
+        for (int i = 0; i < entryCount; i++) {
+            Data key = collidingKey(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Object> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        int added = entryCount;
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            assertTrue(seen.add(ss.toObject(entry.getKey())));
+            // new entries go to the head of the chain being iterated
+            Data key = collidingKey(added++);
+            storage.put(key, recordFactory.newRecord(key, added));
+            storage.disposeDeferredBlocks();
+        }
+
+        for (int i = 0; i < entryCount; i++) {
+            assertTrue(seen.contains(i));
+        }
+        assertEquals(entryCount, seen.size());
+    }
+
+    @Test
+    public void testMemoryIsReleased_whenRecordIsPutAndRemovedBeforeDisposal() {
+        long usedMemory = memoryManager.getUsedMemory();
+        Data key = ss.toData("key");
+        storage.put(key, recordFactory.newRecord(key, "value"));
+        storage.removeRecord(key, storage.get(key));
+
+        storage.disposeDeferredBlocks();
+
+        assertEquals(usedMemory, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        int count = 0;
+        for (EntryView entryView : storage.getRandomSamples(15)) {
+            Data key = storage.extractDataKeyFromLazy(entryView);
+            assertTrue(storage.containsKey(key));
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void testFetchKeys_returnsAllKeys() {
+        int entryCount = 1000;
+        for (int i = 0; i < entryCount; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Data> fetched = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor keys = storage.fetchKeys(pointers, 100);
+            fetched.addAll(keys.getBatch());
+            pointers = keys.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(entryCount, fetched.size());
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        storage.clear(false);
+        storage.disposeDeferredBlocks();
+
+        assertTrue(storage.isEmpty());
+        assertNull(storage.get(ss.toData(1)));
+        assertEquals(memoryManager.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    /**
+     * Returns a key sharing its 64-bit hash with the other keys created by
+     * this method.
+     */
+    private Data collidingKey(int i) {
+        return new HeapData(ss.toData(i).toByteArray()) {
+            @Override
+            public long hash64() {
+                return 1;
+            }
+        };
+    }
+}
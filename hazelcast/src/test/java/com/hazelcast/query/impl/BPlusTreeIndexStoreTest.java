@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static org.junit.Assert.assertEquals;
+
+public class BPlusTreeIndexStoreTest extends OrderedIndexStoreTest {
+
+    private final Random random = new Random(42);
+
+    @Override
+    BaseSingleValueIndexStore createStore() {
+        return new BPlusTreeIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+    }
+
+    @Test
+    public void randomUpdatesMatchOrderedIndexStore() {
+        OrderedIndexStore expected = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+        BPlusTreeIndexStore actual = new BPlusTreeIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+        List<DummyEntry> inserted = new ArrayList<>();
+
+        // grow the tree to a few levels, then shrink it to exercise the merges
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 20_000; i++) {
+                DummyEntry entry = entry(random.nextInt(10_000), random.nextInt(500));
+                Object expectedPrevious = expected.insertInternal(entry.value, entry);
+                Object actualPrevious = actual.insertInternal(entry.value, entry);
+                assertEquals(expectedPrevious, actualPrevious);
+                inserted.add(entry);
+            }
+            assertSameContent(expected, actual);
+
+            for (int i = 0; i < 15_000 + round * 2_000; i++) {
+                DummyEntry entry = inserted.remove(random.nextInt(inserted.size()));
+                Object expectedPrevious = expected.removeInternal(entry.value, entry.getKeyData());
+                Object actualPrevious = actual.removeInternal(entry.value, entry.getKeyData());
+                assertEquals(expectedPrevious, actualPrevious);
+            }
+            assertSameContent(expected, actual);
+        }
+    }
+
+    @Test
+    public void removeAllInKeyOrder() {
+        removeAll(false);
+    }
+
+    @Test
+    public void removeAllInReverseKeyOrder() {
+        removeAll(true);
+    }
+
+    private void removeAll(boolean reverse) {
+        OrderedIndexStore expected = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+        BPlusTreeIndexStore actual = new BPlusTreeIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            DummyEntry entry = entry(i, i / 40);
+            expected.insertInternal(entry.value, entry);
+            actual.insertInternal(entry.value, entry);
+        }
+
+        // emptying the leaves one after another leaves the inner nodes along
+        // the edge of the tree with a single child
+        for (int i = 0; i < count; i++) {
+            int key = reverse ? count - 1 - i : i;
+            DummyEntry entry = entry(key, key / 40);
+            Object expectedPrevious = expected.removeInternal(entry.value, entry.getKeyData());
+            Object actualPrevious = actual.removeInternal(entry.value, entry.getKeyData());
+            assertEquals(expectedPrevious, actualPrevious);
+            if (i % 5_000 == 0) {
+                assertSameContent(expected, actual);
+            }
+        }
+        assertSameContent(expected, actual);
+        assertEquals(List.of(), keys(actual.getSqlRecordIterator(false)));
+    }
+
+    @Test
+    public void clear() {
+        BPlusTreeIndexStore actual = new BPlusTreeIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+        for (int i = 0; i < 1000; i++) {
+            actual.insertInternal(i % 10, entry(i, i % 10));
+        }
+        actual.clear();
+
+        assertEquals(0, actual.getRecords(Comparison.GREATER_OR_EQUAL, 0).size());
+        assertEquals(List.of(), keys(actual.getSqlRecordIterator(false)));
+    }
+
+    private void assertSameContent(OrderedIndexStore expected, BPlusTreeIndexStore actual) {
+        for (boolean descending : new boolean[]{false, true}) {
+            assertEquals(keys(expected.getSqlRecordIterator(descending)), keys(actual.getSqlRecordIterator(descending)));
+            assertEquals(batchKeys(expected.getSqlRecordIteratorBatch(descending)),
+                    batchKeys(actual.getSqlRecordIteratorBatch(descending)));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(520) - 10;
+            int to = from + random.nextInt(50);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            boolean descending = random.nextBoolean();
+
+            assertEquals(keys(expected.getSqlRecordIterator(from, fromInclusive, to, toInclusive, descending)),
+                    keys(actual.getSqlRecordIterator(from, fromInclusive, to, toInclusive, descending)));
+            assertEquals(keys(expected.getSqlRecordIterator(from)), keys(actual.getSqlRecordIterator(from)));
+            assertEquals(keySet(expected.getRecords(from, fromInclusive, to, toInclusive)),
+                    keySet(actual.getRecords(from, fromInclusive, to, toInclusive)));
+            assertEquals(keySet(expected.getRecords(from)), keySet(actual.getRecords(from)));
+            for (Comparison comparison : Comparison.values()) {
+                assertEquals(keySet(expected.getRecords(comparison, from)), keySet(actual.getRecords(comparison, from)));
+                assertEquals(keys(expected.getSqlRecordIterator(comparison, from, descending)),
+                        keys(actual.getSqlRecordIterator(comparison, from, descending)));
+            }
+
+            List<Integer> expectedBatch = batchKeys(expected.getSqlRecordIteratorBatch(from, true, to, true, descending));
+            assertEquals(expectedBatch, batchKeys(actual.getSqlRecordIteratorBatch(from, true, to, true, descending)));
+            if (!expectedBatch.isEmpty()) {
+                int lastKey = expectedBatch.get(random.nextInt(expectedBatch.size()));
+                DummyEntry cursor = entry(lastKey, 0);
+                assertEquals(
+                        batchKeys(expected.getSqlRecordIteratorBatch(from, true, to, true, descending, cursor.getKeyData())),
+                        batchKeys(actual.getSqlRecordIteratorBatch(from, true, to, true, descending, cursor.getKeyData())));
+            }
+        }
+    }
+
+    /**
+     * Creates an entry with the key in the payload of its Data, unlike the
+     * {@link DummyEntry} keys whose Data are all equal.
+     */
+    private static DummyEntry entry(int key, int value) {
+        DummyEntry entry = new DummyEntry(key, value);
+        entry.keyData = new HeapData(ByteBuffer.allocate(HEAP_DATA_OVERHEAD + Integer.BYTES)
+                .putInt(DATA_OFFSET, key).array());
+        return entry;
+    }
+
+    private static List<Integer> keys(Iterator<QueryableEntry> iterator) {
+        List<Integer> keys = new ArrayList<>();
+        iterator.forEachRemaining(entry -> keys.add((Integer) entry.getKey()));
+        return keys;
+    }
+
+    private static List<Integer> batchKeys(Iterator<IndexKeyEntries> iterator) {
+        List<Integer> keys = new ArrayList<>();
+        iterator.forEachRemaining(batch -> keys.addAll(keys(batch.getEntries())));
+        return keys;
+    }
+
+    private static Set<Object> keySet(Set<QueryableEntry> entries) {
+        Set<Object> keys = new HashSet<>();
+        entries.forEach(entry -> keys.add(entry.getKey()));
+        return keys;
+    }
+}
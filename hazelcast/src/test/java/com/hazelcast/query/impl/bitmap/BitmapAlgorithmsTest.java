@@ -39,7 +39,7 @@ public class BitmapAlgorithmsTest {
     private final List<SparseBitSet> actual = new ArrayList<>();
     private final List<TreeSet<Long>> expected = new ArrayList<>();
 
-    private final SparseArray<Long> actualUniverse = new SparseArray<>();
+    private final SparseBitSet actualUniverse = new SparseBitSet();
     private final TreeSet<Long> expectedUniverse = new TreeSet<>();
 
     @Test
@@ -219,14 +219,15 @@ public class BitmapAlgorithmsTest {
             }
         }
 
-        verify(BitmapAlgorithms.and(actualIterators()), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE);
+        assertEquals(expectedResult.size(), BitmapAlgorithms.and(actualBitSets()).cardinality());
+        verify(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualBitSets()).iterator(), expectedResult, Long.MAX_VALUE);
     }
 
     private void verifyOr() {
@@ -242,14 +243,15 @@ public class BitmapAlgorithmsTest {
             }
         }
 
-        verify(BitmapAlgorithms.or(actualIterators()), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE);
+        assertEquals(expectedResult.size(), BitmapAlgorithms.or(actualBitSets()).cardinality());
+        verify(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()).iterator(), expectedResult, Long.MAX_VALUE);
     }
 
     private void verifyNotAndThenClear() {
@@ -261,21 +263,22 @@ public class BitmapAlgorithmsTest {
 
         AscendingLongIterator actualIterator = actual.iterator();
         for (long i = actualIterator.advance(); i != AscendingLongIterator.END; i = actualIterator.advance()) {
-            actualUniverse.set(i, i);
+            actualUniverse.add(i);
         }
         expectedUniverse.addAll(expected);
 
         TreeSet<Long> expectedResult = new TreeSet<>(expectedUniverse);
         expectedResult.removeAll(expected);
 
-        verify(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Long.MAX_VALUE);
+        assertEquals(expectedResult.size(), BitmapAlgorithms.not(actual, actualUniverse).cardinality());
+        verify(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual, actualUniverse).iterator(), expectedResult, Long.MAX_VALUE);
 
         this.actual.clear();
         this.expected.clear();
@@ -283,12 +286,8 @@ public class BitmapAlgorithmsTest {
         expectedUniverse.clear();
     }
 
-    private AscendingLongIterator[] actualIterators() {
-        AscendingLongIterator[] actualIterators = new AscendingLongIterator[actual.size()];
-        for (int i = 0; i < actual.size(); ++i) {
-            actualIterators[i] = actual.get(i).iterator();
-        }
-        return actualIterators;
+    private SparseBitSet[] actualBitSets() {
+        return actual.toArray(new SparseBitSet[0]);
     }
 
     private void generate(long offset, long count, long step) {
@@ -345,7 +344,7 @@ public class BitmapAlgorithmsTest {
     private void generateUniverse(long offset, long count, long step) {
         for (long i = 0; i < count; ++i) {
             long index = offset + i * step;
-            actualUniverse.set(index, index);
+            actualUniverse.add(index);
             expectedUniverse.add(index);
         }
 
@@ -368,7 +367,7 @@ public class BitmapAlgorithmsTest {
         if (range != 0) {
             for (int i = 0; i < count; ++i) {
                 long member = (random.nextLong() & Long.MAX_VALUE) % range;
-                actualUniverse.set(member, member);
+                actualUniverse.add(member);
                 expectedUniverse.add(member);
             }
         }
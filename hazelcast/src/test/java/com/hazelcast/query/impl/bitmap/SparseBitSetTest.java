@@ -29,6 +29,8 @@ import java.util.TreeSet;
 
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE;
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_32_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.RUN_STORAGE_16_MAX_RUNS;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.STORAGE_16_CAPACITY;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -264,6 +266,67 @@ public class SparseBitSetTest {
         }
     }
 
+    @Test
+    public void testAddWithStorage16UpgradeToBitSet() {
+        // every other member: too many runs for a run storage
+        for (long i = 0; i < (ARRAY_STORAGE_16_MAX_SIZE + 10) * 2; i += 2) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // fill the gaps: the full storage becomes a single run
+        for (long i = 1; i < STORAGE_16_CAPACITY; i += 2) {
+            set(i);
+        }
+        for (long i = (ARRAY_STORAGE_16_MAX_SIZE + 10) * 2; i < STORAGE_16_CAPACITY; ++i) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+    }
+
+    @Test
+    public void testRemoveWithRunStorage16Splitting() {
+        for (long i = 100; i < 100 + STORAGE_16_CAPACITY * 2; ++i) {
+            set(i);
+        }
+        verify();
+
+        // split the runs until there are too many of them for a run storage
+        for (long i = 1000; i < 1000 + RUN_STORAGE_16_MAX_RUNS * 3; i += 3) {
+            clear(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 100; i < 100 + STORAGE_16_CAPACITY * 2; i += 2) {
+            clear(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 100; i < 100 + STORAGE_16_CAPACITY * 2; ++i) {
+            clear(i);
+        }
+        verify();
+    }
+
+    @Test
+    public void testIteratorAdvanceAtLeastToMissingStorage16() {
+        long prefix16 = ((long) Short.MAX_VALUE * 2 + 1) + 1;
+
+        // force creation of a 32-bit prefix storage with a gap in 16-bit prefixes
+        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE + 10; ++i) {
+            set(i);
+        }
+        set(prefix16 * 2 + 1);
+        verify();
+
+        AscendingLongIterator iterator = actual.iterator();
+        assertEquals(prefix16 * 2 + 1, iterator.advanceAtLeastTo(prefix16 + 100));
+    }
+
     @Test
     public void testIteratorAdvanceAtLeastTo() {
         // try empty set
@@ -398,6 +461,7 @@ public class SparseBitSetTest {
     private void verify() {
         AscendingLongIterator iterator = actual.iterator();
         verify(iterator, expected);
+        assertEquals(expected.size(), actual.cardinality());
     }
 
     private void verify(AscendingLongIterator actual, SortedSet<Long> expected) {
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GeneratedAccessorsTest {
+
+    private Car car;
+
+    @Before
+    public void setUp() {
+        assumeTrue(GeneratedAccessors.isEnabled());
+        car = new Car(550, new Wheel("front"), new Wheel("rear"));
+    }
+
+    @Test
+    public void newFieldAccessor_readsPrivateField() throws Exception {
+        Function<Object, Object> accessor = GeneratedAccessors.newFieldAccessor(Car.class.getDeclaredField("power"));
+
+        assertTrue(accessor.getClass().isHidden());
+        assertEquals(550, accessor.apply(car));
+    }
+
+    @Test
+    public void newFieldAccessor_readsStaticField() throws Exception {
+        Function<Object, Object> accessor = GeneratedAccessors.newFieldAccessor(Car.class.getDeclaredField("MAKE"));
+
+        assertEquals("hazelcar", accessor.apply(null));
+    }
+
+    @Test
+    public void newMethodAccessor_callsMethod() throws Exception {
+        Function<Object, Object> accessor = GeneratedAccessors.newMethodAccessor(Car.class.getMethod("getPower"));
+
+        assertTrue(accessor.getClass().isHidden());
+        assertEquals(550, accessor.apply(car));
+    }
+
+    @Test
+    public void newAccessor_definesClassPerMember() throws Exception {
+        Function<Object, Object> power = GeneratedAccessors.newFieldAccessor(Car.class.getDeclaredField("power"));
+        Function<Object, Object> wheels = GeneratedAccessors.newFieldAccessor(Car.class.getDeclaredField("wheels"));
+
+        assertNotSame(power.getClass(), wheels.getClass());
+        assertEquals(car.wheels, wheels.apply(car));
+    }
+
+    @Test
+    public void methodGetter_whenMethodThrows_thenInvocationTargetException() throws Exception {
+        MethodGetter getter = new MethodGetter(null, Wheel.class.getMethod("getBrokenName"), null, null);
+
+        assertThatThrownBy(() -> getter.getValue(new Wheel("spare")))
+                .isInstanceOf(InvocationTargetException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void fieldGetter_whenWrongTarget_thenIllegalArgumentException() throws Exception {
+        FieldGetter getter = new FieldGetter(null, Car.class.getDeclaredField("power"), null, null);
+
+        assertThatThrownBy(() -> getter.getValue(new Wheel("spare")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createGetter_nestedPathWithAnyModifier() throws Exception {
+        Getter getter = ReflectionHelper.createGetter(car, "wheels[any].name");
+
+        assertThat(getter.toString()).contains("generated = true");
+        MultiResult<String> result = (MultiResult<String>) getter.getValue(car);
+        assertThat(result.getResults()).containsExactly("front", "rear");
+    }
+
+    @Test
+    public void createGetter_nestedPath() throws Exception {
+        assertEquals("rear", ReflectionHelper.extractValue(car, "wheels[1].name", true));
+        assertEquals(550, ReflectionHelper.extractValue(car, "power", true));
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Car {
+        private static final String MAKE = "hazelcar";
+
+        private final int power;
+        private final List<Wheel> wheels;
+
+        Car(int power, Wheel... wheels) {
+            this.power = power;
+            this.wheels = List.of(wheels);
+        }
+
+        public int getPower() {
+            return power;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Wheel {
+        private final String name;
+
+        Wheel(String name) {
+            this.name = name;
+        }
+
+        public String getBrokenName() {
+            throw new IllegalStateException("broken " + name);
+        }
+    }
+}
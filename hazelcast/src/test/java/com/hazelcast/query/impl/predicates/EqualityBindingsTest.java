@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class EqualityBindingsTest {
+
+    private static final Set<String> ATTRIBUTES = Set.of("a", "b");
+
+    @Test
+    public void testEqualAndIn() {
+        assertEquals(List.of(Map.of("a", Set.of(1))), extract(Predicates.equal("a", 1)));
+        assertEquals(List.of(Map.of("a", Set.of(1, 2))), extract(Predicates.in("a", 1, 2, null)));
+        assertNull(extract(Predicates.sql("a = 1")));
+        assertNull(extract(Predicates.equal("c", 1)));
+        assertNull(extract(Predicates.greaterThan("a", 1)));
+    }
+
+    @Test
+    public void testAnd() {
+        assertEquals(List.of(Map.of("a", Set.of(1), "b", Set.of(2)), Map.of("a", Set.of(1), "b", Set.of(3))),
+                extract(Predicates.and(Predicates.equal("a", 1), Predicates.equal("c", 1),
+                        Predicates.or(Predicates.equal("b", 2), Predicates.equal("b", 3)))));
+        // the conjunctions exceeding the limit are ignored
+        assertEquals(List.of(Map.of("a", Set.of(1))),
+                extract(Predicates.and(Predicates.equal("a", 1),
+                        Predicates.or(Predicates.equal("b", 1), Predicates.equal("b", 2), Predicates.equal("b", 3),
+                                Predicates.equal("b", 4), Predicates.equal("b", 5)))));
+    }
+
+    @Test
+    public void testOr() {
+        assertEquals(List.of(Map.of("a", Set.of(1)), Map.of("b", Set.of(2))),
+                extract(Predicates.or(Predicates.equal("a", 1), Predicates.equal("b", 2))));
+        assertNull(extract(Predicates.or(Predicates.equal("a", 1), Predicates.equal("c", 2))));
+        assertNull(extract(Predicates.not(Predicates.equal("a", 1))));
+    }
+
+    private static List<Map<String, Set<Comparable>>> extract(Predicate predicate) {
+        return EqualityBindings.extract(predicate, ATTRIBUTES, 4);
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.hazelcast.query.Predicates.alwaysFalse;
+import static com.hazelcast.query.Predicates.alwaysTrue;
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.instanceOf;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.like;
+import static com.hazelcast.query.Predicates.not;
+import static com.hazelcast.query.Predicates.notEqual;
+import static com.hazelcast.query.Predicates.or;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PredicateCompilerTest {
+
+    private static final List<Object> VALUES = Arrays.asList(
+            -1, 0, 5, 10, 15, 20, 100, null, 7L, 10L, (short) 12, 3.5d, new BigDecimal("10"),
+            "10", "abc", Letter.B, multiResult(1, 12), multiResult(), multiResult(25, null));
+
+    @Test
+    public void compile_whenNull_thenReturnNull() {
+        assertNull(PredicateCompiler.compile(null));
+    }
+
+    @Test
+    public void compile_whenNothingToCompile_thenReturnSamePredicate() {
+        Predicate predicate = instanceOf(String.class);
+
+        assertSame(predicate, PredicateCompiler.compile(predicate));
+    }
+
+    @Test
+    public void compile_whenAttributePredicate_thenReturnCompiledPredicate() {
+        Predicate predicate = equal("this", 1);
+
+        assertNotSame(predicate, PredicateCompiler.compile(predicate));
+    }
+
+    @Test
+    public void apply_equal() {
+        assertSameResults(() -> equal("this", 10));
+        assertSameResults(() -> equal("this", "10"));
+        assertSameResults(() -> equal("this", null));
+        assertSameResults(() -> equal("this", "B"));
+    }
+
+    @Test
+    public void apply_notEqual() {
+        assertSameResults(() -> notEqual("this", 10));
+        assertSameResults(() -> notEqual("this", "10"));
+        assertSameResults(() -> notEqual("this", null));
+    }
+
+    @Test
+    public void apply_greaterLess() {
+        assertSameResults(() -> greaterThan("this", 10));
+        assertSameResults(() -> greaterThan("this", "5"));
+        assertSameResults(() -> lessEqual("this", 10));
+        assertSameResults(() -> lessEqual("this", 12.5d));
+    }
+
+    @Test
+    public void apply_between() {
+        assertSameResults(() -> between("this", 5, 15));
+        assertSameResults(() -> between("this", "0", "10"));
+    }
+
+    @Test
+    public void apply_compound() {
+        assertSameResults(() -> and(greaterThan("this", 0), lessEqual("this", 15), notEqual("this", 10)));
+        assertSameResults(() -> or(equal("this", 5), in("this", 15, 20), between("this", 90, 110)));
+        assertSameResults(() -> not(or(equal("this", 5), not(greaterThan("this", 10)))));
+        assertSameResults(() -> and(alwaysTrue(), or(alwaysFalse(), like("this", "ab%"))));
+        assertSameResults(() -> and(greaterThan("this", 0), instanceOf(Integer.class)));
+    }
+
+    @Test
+    public void apply_readsEveryAttributeOncePerEntry() {
+        QueryableEntry entry = mock(QueryableEntry.class);
+        when(entry.getAttributeValue("age")).thenReturn(30);
+        when(entry.getAttributeValue("name")).thenReturn("foo");
+        Predicate predicate = PredicateCompiler.compile(and(greaterThan("age", 18), lessEqual("age", 65),
+                or(equal("name", "bar"), notEqual("age", 40), equal("name", "foo"))));
+
+        assertTrue(predicate.apply(entry));
+        assertTrue(predicate.apply(entry));
+
+        verify(entry, times(2)).getAttributeValue("age");
+        verify(entry, times(2)).getAttributeValue("name");
+    }
+
+    private static void assertSameResults(Supplier<Predicate> predicateSupplier) {
+        // predicates convert their arguments for the first value met, so check every value order
+        for (int i = 0; i < VALUES.size(); i++) {
+            Predicate predicate = predicateSupplier.get();
+            Predicate compiled = PredicateCompiler.compile(predicateSupplier.get());
+            for (int j = 0; j < VALUES.size(); j++) {
+                Object value = VALUES.get((i + j) % VALUES.size());
+                assertEquals(predicate + " for " + value, apply(predicate, value), apply(compiled, value));
+            }
+        }
+    }
+
+    private static Object apply(Predicate predicate, Object value) {
+        QueryableEntry entry = mock(QueryableEntry.class);
+        when(entry.getAttributeValue("this")).thenReturn(value);
+        when(entry.getValue()).thenReturn(value);
+        try {
+            return predicate.apply(entry);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static MultiResult<Object> multiResult(Object... values) {
+        MultiResult<Object> result = new MultiResult<>();
+        for (Object value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    private enum Letter {
+        A, B {
+            @Override
+            public String toString() {
+                return "B";
+            }
+        }
+    }
+}
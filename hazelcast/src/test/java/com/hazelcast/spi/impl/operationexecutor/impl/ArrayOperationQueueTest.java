@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BusySpinIdleStrategy;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ArrayOperationQueueTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 4;
+
+    private ArrayOperationQueue newQueue(Thread consumer) {
+        ArrayOperationQueue queue = new ArrayOperationQueue(CAPACITY, null);
+        queue.setConsumerThread(consumer);
+        return queue;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenCapacityNotPositive() {
+        new ArrayOperationQueue(0, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        newQueue(Thread.currentThread()).add(null, false);
+    }
+
+    @Test
+    public void add_whenNormal() {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+
+        queue.add("task", false);
+
+        assertEquals(1, queue.normalSize());
+        assertEquals(0, queue.prioritySize());
+        assertEquals(1, queue.size());
+        assertFalse(queue.isEmpty());
+    }
+
+    @Test
+    public void add_whenPriority() {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+
+        queue.add("task", true);
+
+        // no trigger task is needed in the normal queue
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.prioritySize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void poll_whenEmpty() {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void take_priorityIsRetrievedFirst() throws InterruptedException {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+
+        queue.add("normal1", false);
+        queue.add("priority1", true);
+        queue.add("normal2", false);
+        queue.add("priority2", true);
+
+        assertSame("priority1", queue.take(false));
+        assertSame("priority2", queue.take(false));
+        assertSame("normal1", queue.take(false));
+        assertSame("normal2", queue.take(false));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void take_whenPriorityOnly() throws InterruptedException {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+
+        queue.add("normal", false);
+        queue.add("priority", true);
+
+        assertSame("priority", queue.take(true));
+        assertEquals(1, queue.normalSize());
+    }
+
+    @Test
+    public void take_whenNoItemAvailable_thenBlockTillItemAvailable() throws InterruptedException {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+
+        spawn(() -> {
+            sleepMillis(500);
+            queue.add("task", false);
+        });
+
+        assertSame("task", queue.take(false));
+    }
+
+    @Test
+    public void take_whenIdleStrategy_thenIdleTillItemAvailable() throws InterruptedException {
+        ArrayOperationQueue queue = new ArrayOperationQueue(CAPACITY, new BusySpinIdleStrategy());
+        queue.setConsumerThread(Thread.currentThread());
+
+        spawn(() -> {
+            sleepMillis(500);
+            queue.add("task", true);
+        });
+
+        assertSame("task", queue.take(false));
+    }
+
+    @Test
+    public void take_whenInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        ArrayOperationQueue queue = new ArrayOperationQueue(CAPACITY, null);
+        Thread consumer = new Thread(() -> {
+            started.countDown();
+            try {
+                queue.take(false);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        queue.setConsumerThread(consumer);
+        consumer.start();
+
+        started.await();
+        consumer.interrupt();
+        consumer.join(TimeUnit.SECONDS.toMillis(ASSERT_TRUE_EVENTUALLY_TIMEOUT));
+
+        assertInstanceOf(InterruptedException.class, thrown.get());
+    }
+
+    @Test
+    public void add_whenFull_thenProducerWaitsForConsumer() throws Exception {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+        for (int k = 0; k < CAPACITY; k++) {
+            queue.add(k, false);
+        }
+
+        Future<?> producer = spawn(() -> queue.add(CAPACITY, false));
+        assertTrueAllTheTime(() -> assertFalse(producer.isDone()), 1);
+
+        assertEquals(0, queue.take(false));
+        producer.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+
+        for (int k = 1; k <= CAPACITY; k++) {
+            assertEquals(k, queue.take(false));
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void add_whenFullAndCalledByConsumer_thenOrderPreserved() throws InterruptedException {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+        int taskCount = 3 * CAPACITY;
+        for (int k = 0; k < taskCount; k++) {
+            queue.add(k, false);
+        }
+        assertEquals(taskCount, queue.normalSize());
+
+        List<Object> taken = new ArrayList<>();
+        for (int k = 0; k < CAPACITY; k++) {
+            taken.add(queue.take(false));
+        }
+        // the consumer adds again while the overflow is not yet drained
+        queue.add(taskCount, false);
+        while (!queue.isEmpty()) {
+            taken.add(queue.take(false));
+        }
+
+        List<Object> expected = new ArrayList<>();
+        for (int k = 0; k <= taskCount; k++) {
+            expected.add(k);
+        }
+        assertEquals(expected, taken);
+    }
+
+    @Test
+    public void add_whenManyProducers() throws Exception {
+        ArrayOperationQueue queue = newQueue(Thread.currentThread());
+        int producerCount = 4;
+        int tasksPerProducer = 10_000;
+
+        List<Future<?>> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            int producer = p;
+            producers.add(spawn(() -> {
+                for (int k = 0; k < tasksPerProducer; k++) {
+                    queue.add(new long[]{producer, k}, k % 100 == 0);
+                }
+            }));
+        }
+
+        // the normal tasks of each producer are taken in FIFO order
+        long[] lastNormal = new long[producerCount];
+        Arrays.fill(lastNormal, -1);
+        for (int k = 0; k < producerCount * tasksPerProducer; k++) {
+            long[] task = (long[]) queue.take(false);
+            int producer = (int) task[0];
+            if (task[1] % 100 != 0) {
+                assertTrue(task[1] > lastNormal[producer]);
+                lastNormal[producer] = task[1];
+            }
+        }
+
+        for (Future<?> producer : producers) {
+            producer.get();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -220,6 +220,8 @@ public abstract class OperationExecutorImpl_AbstractTest extends HazelcastTestSu
         List<Packet> packets = synchronizedList(new LinkedList<>());
         List<Operation> operations = synchronizedList(new LinkedList<>());
         List<Runnable> tasks = synchronizedList(new LinkedList<>());
+        List<List<Packet>> batches = synchronizedList(new LinkedList<>());
+        private List<Packet> batch;
 
         DummyOperationRunner(int partitionId) {
             super(partitionId);
@@ -236,9 +238,23 @@ public abstract class OperationExecutorImpl_AbstractTest extends HazelcastTestSu
             task.run();
         }
 
+        @Override
+        public void beginBatch() {
+            batch = new LinkedList<>();
+        }
+
+        @Override
+        public void endBatch() {
+            batches.add(batch);
+            batch = null;
+        }
+
         @Override
         public void run(Packet packet) throws Exception {
             packets.add(packet);
+            if (batch != null) {
+                batch.add(packet);
+            }
             Operation op = serializationService.toObject(packet);
             run(op);
         }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
@@ -26,6 +27,7 @@ import org.junit.runner.RunWith;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
@@ -52,6 +54,77 @@ public class OperationExecutorImpl_BasicTest extends OperationExecutorImpl_Abstr
                 executor.getGenericThreadCount());
     }
 
+    @Test
+    public void testConstruction_whenQueueCapacityConfigured() {
+        config.setProperty("hazelcast.operation.partitionthread.queue.capacity", "16");
+        initExecutor();
+
+        for (PartitionOperationThread partitionThread : executor.getPartitionThreads()) {
+            assertInstanceOf(ArrayOperationQueue.class, partitionThread.queue);
+            assertEquals(16, ((ArrayOperationQueue) partitionThread.queue).capacity());
+        }
+
+        // more tasks than the capacity of the queues, so the producer has to wait for the partition threads
+        AtomicInteger executed = new AtomicInteger();
+        int taskCount = 1000;
+        for (int k = 0; k < taskCount; k++) {
+            int partitionId = k % props.getInteger(PARTITION_COUNT);
+            executor.execute(new PartitionSpecificRunnable() {
+                @Override
+                public void run() {
+                    executed.incrementAndGet();
+                }
+
+                @Override
+                public int getPartitionId() {
+                    return partitionId;
+                }
+            });
+        }
+
+        assertTrueEventually(() -> assertEquals(taskCount, executed.get()));
+    }
+
+    @Test
+    public void testPartitionThreadsDoNotWait_whenAddingToEachOthersFullQueues() {
+        config.setProperty("hazelcast.operation.partitionthread.queue.capacity", "2");
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "2");
+        initExecutor();
+
+        // each partition thread floods the queue of the other one, waiting for room would deadlock
+        AtomicInteger executed = new AtomicInteger();
+        int tasksPerThread = 100;
+        for (int i = 0; i < 2; i++) {
+            int partitionId = i;
+            int otherPartitionId = 1 - partitionId;
+            executor.execute(new PartitionSpecificRunnable() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < tasksPerThread; k++) {
+                        executor.execute(new PartitionSpecificRunnable() {
+                            @Override
+                            public void run() {
+                                executed.incrementAndGet();
+                            }
+
+                            @Override
+                            public int getPartitionId() {
+                                return otherPartitionId;
+                            }
+                        });
+                    }
+                }
+
+                @Override
+                public int getPartitionId() {
+                    return partitionId;
+                }
+            });
+        }
+
+        assertTrueEventually(() -> assertEquals(2 * tasksPerThread, executed.get()));
+    }
+
     @Test
     public void test_getRunningOperationCount() {
         initExecutor();
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the batching of packets for the same partition by the
+ * {@link PartitionOperationThread}.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationExecutorImpl_BatchPacketTest extends OperationExecutorImpl_AbstractTest {
+
+    private static final String BATCH_SIZE = "hazelcast.operation.partitionthread.batch.size";
+
+    @Test
+    public void whenBatchingDisabled() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "1");
+        initExecutor();
+
+        CountDownLatch latch = blockPartitionThread();
+        List<Packet> packets = acceptPackets(0, 5);
+        latch.countDown();
+
+        DummyOperationRunner runner = partitionRunner(0);
+        assertTrueEventually(() -> assertEquals(packets, runner.packets));
+        assertEquals(emptyList(), runner.batches);
+    }
+
+    @Test
+    public void whenConsecutivePacketsForSamePartition_thenBatched() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "1");
+        config.setProperty(BATCH_SIZE, "4");
+        initExecutor();
+
+        CountDownLatch latch = blockPartitionThread();
+        List<Packet> packets = acceptPackets(0, 6);
+        List<Packet> otherPackets = acceptPackets(1, 1);
+        List<Packet> morePackets = acceptPackets(0, 2);
+        latch.countDown();
+
+        DummyOperationRunner runner = partitionRunner(0);
+        DummyOperationRunner otherRunner = partitionRunner(1);
+        List<Packet> allPackets = new ArrayList<>(packets);
+        allPackets.addAll(morePackets);
+        assertTrueEventually(() -> {
+            assertEquals(allPackets, runner.packets);
+            assertEquals(otherPackets, otherRunner.packets);
+        });
+
+        // the batch size is respected and a packet for another partition ends the batch
+        assertEquals(List.of(packets.subList(0, 4), packets.subList(4, 6), morePackets), runner.batches);
+        // a single packet is not run as a batch
+        assertEquals(emptyList(), otherRunner.batches);
+    }
+
+    private CountDownLatch blockPartitionThread() {
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return 0;
+            }
+
+            @Override
+            public void run() {
+                started.countDown();
+                assertOpenEventually(latch);
+            }
+        });
+        assertOpenEventually(started);
+        return latch;
+    }
+
+    private List<Packet> acceptPackets(int partitionId, int count) {
+        List<Packet> packets = new ArrayList<>();
+        for (int k = 0; k < count; k++) {
+            Packet packet = new Packet(serializationService.toBytes(new DummyOperation(partitionId)), partitionId)
+                    .setPacketType(Packet.Type.OPERATION);
+            executor.accept(packet);
+            packets.add(packet);
+        }
+        return packets;
+    }
+
+    private DummyOperationRunner partitionRunner(int partitionId) {
+        return (DummyOperationRunner) executor.getPartitionOperationRunners()[partitionId];
+    }
+}
@@ -24,10 +24,12 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITION_ID;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastSerialClassRunner.class)
@@ -38,7 +40,7 @@ public class OperationExecutorImpl_RunOrExecuteTest extends OperationExecutorImp
     public void whenNullOperation() {
         initExecutor();
 
-        executor.runOrExecute(null);
+        executor.runOrExecute((Operation) null);
     }
 
     // ============= generic operations ==============================
@@ -198,6 +200,113 @@ public class OperationExecutorImpl_RunOrExecuteTest extends OperationExecutorImp
         assertTrueEventually(() -> assertInstanceOf(PartitionOperationThread.class, executingThread.get()));
     }
 
+    // ===================== partition specific runnables ========================
+
+    @Test(expected = NullPointerException.class)
+    public void whenNullPartitionSpecificRunnable() {
+        initExecutor();
+
+        executor.runOrExecute((PartitionSpecificRunnable) null);
+    }
+
+    @Test
+    public void whenPartitionSpecificRunnable_andCallingFromUserThread() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+
+        executor.runOrExecute(new ThreadCapturingRunnable(0, executingThread));
+
+        assertTrueEventually(() -> assertInstanceOf(PartitionOperationThread.class, executingThread.get()));
+    }
+
+    @Test
+    public void whenPartitionSpecificRunnable_andCallingFromOperationHostileThread() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+        final PartitionSpecificRunnable runnable = new ThreadCapturingRunnable(0, executingThread);
+
+        DummyOperationHostileThread thread = new DummyOperationHostileThread(() -> executor.runOrExecute(runnable));
+        thread.start();
+
+        assertTrueEventually(() -> assertInstanceOf(PartitionOperationThread.class, executingThread.get()));
+    }
+
+    @Test
+    public void whenPartitionSpecificRunnable_andCallingFromPartitionOperationThread_andWrongPartition() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+        final PartitionSpecificRunnable runnable = new ThreadCapturingRunnable(0, executingThread);
+        final PartitionSpecificCallable<Thread> task = new PartitionSpecificCallable<>(1) {
+            @Override
+            public Thread call() {
+                executor.runOrExecute(runnable);
+                return Thread.currentThread();
+            }
+        };
+
+        executor.execute(task);
+
+        assertTrueEventually(() -> {
+            assertInstanceOf(PartitionOperationThread.class, executingThread.get());
+            assertNotSame(task.getResult(), executingThread.get());
+        });
+    }
+
+    @Test
+    public void whenPartitionSpecificRunnable_andCallingFromRunningTask_andCorrectPartition_thenNotNested() {
+        initExecutor();
+
+        final AtomicBoolean outerCompleted = new AtomicBoolean();
+        final AtomicBoolean outerCompletedBeforeInner = new AtomicBoolean();
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+        final PartitionSpecificRunnable runnable = new ThreadCapturingRunnable(0, executingThread) {
+            @Override
+            public void run() {
+                outerCompletedBeforeInner.set(outerCompleted.get());
+                super.run();
+            }
+        };
+        final PartitionSpecificCallable<Thread> task = new PartitionSpecificCallable<>(0) {
+            @Override
+            public Thread call() {
+                executor.runOrExecute(runnable);
+                outerCompleted.set(true);
+                return Thread.currentThread();
+            }
+        };
+
+        executor.execute(task);
+
+        assertTrueEventually(() -> {
+            assertSame(task.getResult(), executingThread.get());
+            assertTrue(outerCompletedBeforeInner.get());
+        });
+    }
+
+    private static class ThreadCapturingRunnable implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final AtomicReference<Thread> executingThread;
+
+        ThreadCapturingRunnable(int partitionId, AtomicReference<Thread> executingThread) {
+            this.partitionId = partitionId;
+            this.executingThread = executingThread;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            executingThread.set(Thread.currentThread());
+        }
+    }
+
     private static class ThreadCapturingOperation extends Operation {
 
         private final AtomicReference<Thread> executingThread;
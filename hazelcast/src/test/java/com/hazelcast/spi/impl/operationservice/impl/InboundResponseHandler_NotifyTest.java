@@ -16,9 +16,12 @@
 
 package com.hazelcast.spi.impl.operationservice.impl;
 
+import com.hazelcast.cluster.Address;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.OperationTimeoutException;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.test.ExpectedRuntimeException;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -31,6 +34,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.spi.properties.ClusterProperty.BACKPRESSURE_ENABLED;
@@ -40,6 +44,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -221,6 +227,63 @@ public class InboundResponseHandler_NotifyTest extends HazelcastTestSupport {
         assertInvocationDeregisteredEventually(callId);
     }
 
+    // ==================== multiResponse =====================
+
+    @Test
+    public void multiResponse() {
+        Invocation invocation1 = newInvocation();
+        Invocation invocation2 = newInvocation();
+        invocationRegistry.register(invocation1);
+        invocationRegistry.register(invocation2);
+        long callId1 = invocation1.op.getCallId();
+        long callId2 = invocation2.op.getCallId();
+
+        OutboundResponseHandler outboundResponseHandler = operationService.outboundResponseHandler;
+        List<Packet> packets = List.of(
+                outboundResponseHandler.toNormalResponsePacket(callId1, 1, false, "foo"),
+                outboundResponseHandler.toNormalResponsePacket(callId2, 0, false, "bar"),
+                outboundResponseHandler.toBackupAckPacket(callId1, false));
+        Packet packet = outboundResponseHandler.toMultiResponsePacket(packets);
+        ServerConnection connection = mock(ServerConnection.class);
+        when(connection.getRemoteAddress()).thenReturn(new Address());
+        packet.setConn(connection);
+
+        inboundResponseHandler.accept(packet);
+
+        assertEquals("foo", invocation1.future.join());
+        assertEquals("bar", invocation2.future.join());
+        assertInvocationDeregisteredEventually(callId1);
+        assertInvocationDeregisteredEventually(callId2);
+        assertEquals(1, inboundResponseHandler.responsesMulti.get());
+        assertEquals(3, inboundResponseHandler.responsesMultiResponses.get());
+    }
+
+    // ==================== multiBackupAckResponse =====================
+
+    @Test
+    public void multiBackupAckResponse() {
+        Invocation invocation1 = newInvocation();
+        Invocation invocation2 = newInvocation();
+        invocationRegistry.register(invocation1);
+        invocationRegistry.register(invocation2);
+        long callId1 = invocation1.op.getCallId();
+        long callId2 = invocation2.op.getCallId();
+        inboundResponseHandler.notifyNormalResponse(callId1, "foo", 1, null);
+        inboundResponseHandler.notifyNormalResponse(callId2, "bar", 1, null);
+
+        Packet packet = operationService.outboundResponseHandler.toBackupAcksPacket(new long[]{callId1, callId2});
+        ServerConnection connection = mock(ServerConnection.class);
+        when(connection.getRemoteAddress()).thenReturn(new Address());
+        packet.setConn(connection);
+
+        inboundResponseHandler.accept(packet);
+
+        assertEquals("foo", invocation1.future.join());
+        assertEquals("bar", invocation2.future.join());
+        assertInvocationDeregisteredEventually(callId1);
+        assertInvocationDeregisteredEventually(callId2);
+    }
+
     private void assertInvocationDeregisteredEventually(final long callId) {
         assertTrueEventually(() -> assertNull(invocationRegistry.get(callId)));
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.test.Accessors.getOperationService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs operations with synchronous backups on members which hold back the
+ * backup acks, see {@link OutboundResponseHandler#BACKUP_ACK_DELAY}.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class Invocation_BackupAckDelayTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 200;
+
+    private HazelcastInstance[] cluster;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(OutboundResponseHandler.BACKUP_ACK_DELAY.getName(), "200");
+        config.getMapConfig("default").setBackupCount(2);
+        cluster = createHazelcastInstanceFactory(3).newInstances(config);
+        warmUpPartitions(cluster);
+    }
+
+    @Test
+    public void whenManyOperationsWithSyncBackups() {
+        IMap<Integer, Integer> map = cluster[0].getMap(randomMapName());
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int k = 0; k < KEY_COUNT; k++) {
+            futures.add(map.putAsync(k, k).toCompletableFuture());
+        }
+        for (CompletableFuture<Integer> future : futures) {
+            assertNull(future.join());
+        }
+
+        for (int k = 0; k < KEY_COUNT; k++) {
+            assertEquals(k, (int) map.put(k, k + 1));
+        }
+
+        // no invocation is left waiting for its backup acks
+        for (HazelcastInstance instance : cluster) {
+            InvocationRegistry invocationRegistry = getOperationService(instance).invocationRegistry;
+            assertTrueEventually(() -> assertEquals(0, invocationRegistry.size()));
+        }
+        long acksSent = 0;
+        for (HazelcastInstance instance : cluster) {
+            OutboundResponseHandler handler = getOperationService(instance).outboundResponseHandler;
+            acksSent += handler.backupAcksPiggybacked.get() + handler.multiBackupAcksSent.get();
+        }
+        assertTrue(acksSent > 0);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Runs operations on a member which runs the packets for the same partition
+ * as a batch, see {@link OperationRunnerImpl#beginBatch()}.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OperationRunnerImpl_BatchTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 100;
+    private static final int ROUNDS = 20;
+
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(PARTITION_COUNT.getName(), "3")
+                .setProperty("hazelcast.operation.partitionthread.batch.size", "32");
+        HazelcastInstance[] cluster = createHazelcastInstanceFactory(2).newInstances(config);
+        local = cluster[0];
+        remote = cluster[1];
+        warmUpPartitions(cluster);
+    }
+
+    @Test
+    public void whenManyRemoteOperationsForSamePartition() {
+        IMap<String, Integer> map = local.getMap(randomMapName());
+        List<String> keys = new ArrayList<>();
+        for (int k = 0; k < KEY_COUNT; k++) {
+            keys.add(generateKeyOwnedBy(remote));
+        }
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String key : keys) {
+                futures.add(map.putAsync(key, round).toCompletableFuture());
+            }
+        }
+
+        for (int k = 0; k < futures.size(); k++) {
+            Integer previous = futures.get(k).join();
+            int round = k / KEY_COUNT;
+            if (round == 0) {
+                assertNull(previous);
+            } else {
+                assertEquals(round - 1, (int) previous);
+            }
+        }
+        for (String key : keys) {
+            assertEquals(ROUNDS - 1, (int) map.get(key));
+        }
+    }
+
+    @Test
+    public void whenOperationFails_thenErrorResponseSent() {
+        IMap<String, Integer> map = local.getMap(randomMapName());
+        String key = generateKeyOwnedBy(remote);
+
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int k = 0; k < KEY_COUNT; k++) {
+            futures.add(map.submitToKey(key, entry -> {
+                throw new IllegalStateException("expected");
+            }).toCompletableFuture());
+        }
+
+        for (CompletableFuture<Object> future : futures) {
+            assertThrows(IllegalStateException.class, () -> {
+                try {
+                    future.join();
+                } catch (Exception e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
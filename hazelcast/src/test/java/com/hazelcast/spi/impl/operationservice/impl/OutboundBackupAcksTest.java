@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.ServerConnectionManager;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiBackupAckResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallerAddress;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setConnection;
+import static com.hazelcast.spi.impl.operationservice.impl.OutboundBackupAcks.MAX_PENDING_ACKS;
+import static com.hazelcast.spi.impl.operationservice.impl.OutboundResponseHandler.BACKUP_ACK_DELAY;
+import static com.hazelcast.spi.impl.operationservice.impl.OutboundResponseHandler.MULTI_RESPONSE_MAX_BYTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OutboundBackupAcksTest extends HazelcastTestSupport {
+
+    private static final long DELAY_MICROS = 500;
+
+    private final ILogger logger = Logger.getLogger(OutboundBackupAcksTest.class);
+    private final List<Packet> transmitted = new CopyOnWriteArrayList<>();
+    private final List<List<Packet>> written = new CopyOnWriteArrayList<>();
+
+    private InternalSerializationService serializationService;
+    private Address thisAddress;
+    private Address thatAddress;
+    private ServerConnectionManager connectionManager;
+    private ServerConnection connection;
+    private ScheduledExecutorService scheduler;
+    private OutboundResponseHandler handler;
+    private OutboundBackupAcks backupAcks;
+
+    @Before
+    public void setup() throws Exception {
+        thisAddress = new Address("127.0.0.1", 5701);
+        thatAddress = new Address("127.0.0.1", 5702);
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        connectionManager = mock(ServerConnectionManager.class);
+        connection = mock(ServerConnection.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        when(connection.getConnectionManager()).thenReturn(connectionManager);
+        when(connectionManager.get(eq(thatAddress), anyInt())).thenReturn(connection);
+        when(connectionManager.transmit(any(Packet.class), eq(thatAddress), anyInt()))
+                .thenAnswer(invocation -> transmitted.add(invocation.getArgument(0)));
+        when(connection.writeAll(any())).thenAnswer(invocation -> written.add(List.copyOf(invocation.getArgument(0))));
+
+        handler = newHandler(MULTI_RESPONSE_MAX_BYTES.getName(), MULTI_RESPONSE_MAX_BYTES.getDefaultValue());
+    }
+
+    @Test
+    public void sendBackupAck_whenDisabled_thenTransmitted() {
+        handler = new OutboundResponseHandler(thisAddress, serializationService, logger);
+
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+
+        assertNull(handler.getBackupAcks());
+        assertEquals(List.of(serializationService.toData(new BackupAckResponse(1, false))), transmitted);
+    }
+
+    @Test
+    public void sendBackupAck_whenClusterVersionTooLow_thenTransmitted() {
+        Properties properties = new Properties();
+        properties.setProperty(BACKUP_ACK_DELAY.getName(), String.valueOf(DELAY_MICROS));
+        handler = new OutboundResponseHandler(thisAddress, serializationService, logger,
+                new HazelcastProperties(properties), scheduler, () -> false);
+        backupAcks = handler.getBackupAcks();
+
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+        handler.sendBackupAck(connectionManager, thatAddress, 2, false);
+
+        assertEquals(List.of(serializationService.toData(new BackupAckResponse(1, false)),
+                serializationService.toData(new BackupAckResponse(2, false))), transmitted);
+        assertEquals(0, backupAcks.pendingCount(thatAddress));
+    }
+
+    @Test
+    public void sendBackupAck_whenUrgent_thenTransmitted() {
+        handler.sendBackupAck(connectionManager, thatAddress, 1, true);
+
+        assertEquals(List.of(serializationService.toData(new BackupAckResponse(1, true))), transmitted);
+        assertEquals(0, backupAcks.pendingCount(thatAddress));
+    }
+
+    @Test
+    public void sendBackupAck_thenSentCumulativeAfterDelay() {
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+        handler.sendBackupAck(connectionManager, thatAddress, 2, false);
+        handler.sendBackupAck(connectionManager, thatAddress, 3, false);
+
+        assertEquals(3, backupAcks.pendingCount(thatAddress));
+        assertEquals(List.of(), transmitted);
+
+        // a single flush is scheduled for the pending acks
+        runScheduledFlush();
+
+        assertEquals(List.of(serializationService.toData(new MultiBackupAckResponse(new long[]{1, 2, 3}))), transmitted);
+        assertEquals(0, backupAcks.pendingCount(thatAddress));
+        assertEquals(1, handler.multiBackupAcksSent.get());
+    }
+
+    @Test
+    public void sendBackupAck_whenSingleAck_thenSentAsBackupAck() {
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+
+        runScheduledFlush();
+
+        assertEquals(List.of(serializationService.toData(new BackupAckResponse(1, false))), transmitted);
+        assertEquals(0, handler.multiBackupAcksSent.get());
+    }
+
+    @Test
+    public void sendBackupAck_afterFlush_thenFlushScheduledAgain() {
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+        runScheduledFlush();
+
+        handler.sendBackupAck(connectionManager, thatAddress, 2, false);
+
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), eq(NANOSECONDS));
+    }
+
+    @Test
+    public void newScheduler_thenFlushedOnDedicatedThread() throws Exception {
+        ScheduledExecutorService scheduler = OutboundBackupAcks.newScheduler("hz");
+        try {
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            scheduler.schedule(() -> thread.set(Thread.currentThread()), DELAY_MICROS * 1000, NANOSECONDS).get();
+
+            assertTrue(thread.get().getName().contains("BackupAckFlushThread"));
+            assertTrue(thread.get() instanceof OperationHostileThread);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sendBackupAck_whenMaxPending_thenSentRightAway() {
+        long[] callIds = new long[MAX_PENDING_ACKS];
+        for (int k = 0; k < MAX_PENDING_ACKS; k++) {
+            callIds[k] = k + 1;
+            handler.sendBackupAck(connectionManager, thatAddress, callIds[k], false);
+        }
+
+        assertEquals(List.of(serializationService.toData(new MultiBackupAckResponse(callIds))), transmitted);
+        assertEquals(0, backupAcks.pendingCount(thatAddress));
+    }
+
+    @Test
+    public void sendBackupAck_whenSchedulerRejects_thenSentRightAway() {
+        doThrow(new RejectedExecutionException()).when(scheduler)
+                .schedule(any(Runnable.class), anyLong(), eq(NANOSECONDS));
+
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+
+        assertEquals(List.of(serializationService.toData(new BackupAckResponse(1, false))), transmitted);
+    }
+
+    @Test
+    public void sendResponse_whenPendingAcks_thenPiggybacked() {
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+        handler.sendBackupAck(connectionManager, thatAddress, 2, false);
+
+        handler.sendResponse(createDummyOperation(3), "foo");
+
+        MultiResponse expected = new MultiResponse(
+                serializationService.toBytes(new NormalResponse("foo", 3, 0, false)),
+                serializationService.toBytes(new MultiBackupAckResponse(new long[]{1, 2})));
+        assertEquals(List.of(serializationService.toData(expected)), transmitted);
+        assertEquals(2, handler.backupAcksPiggybacked.get());
+
+        // nothing is left for the scheduled flush
+        runScheduledFlush();
+        assertEquals(1, transmitted.size());
+    }
+
+    @Test
+    public void sendResponse_whenResponseTooBigForMultiResponse_thenWrittenTogether() {
+        handler = newHandler(MULTI_RESPONSE_MAX_BYTES.getName(), "0");
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+
+        handler.sendResponse(createDummyOperation(3), "foo");
+
+        assertEquals(List.of(), transmitted);
+        assertEquals(1, written.size());
+        assertEquals(List.of(serializationService.toData(new NormalResponse("foo", 3, 0, false)),
+                serializationService.toData(new BackupAckResponse(1, false))), written.get(0));
+    }
+
+    @Test
+    public void sendResponse_whenNoPendingAcks_thenTransmitted() {
+        handler.sendResponse(createDummyOperation(3), "foo");
+
+        assertEquals(List.of(serializationService.toData(new NormalResponse("foo", 3, 0, false))), transmitted);
+        assertEquals(0, handler.backupAcksPiggybacked.get());
+    }
+
+    @Test
+    public void sendResponse_whenUrgent_thenNotPiggybacked() {
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+
+        handler.sendResponse(createDummyOperation(3), new NormalResponse("foo", 3, 0, true));
+
+        assertEquals(List.of(serializationService.toData(new NormalResponse("foo", 3, 0, true))), transmitted);
+        assertEquals(1, backupAcks.pendingCount(thatAddress));
+    }
+
+    @Test
+    public void flushBatch_whenPendingAcks_thenPiggybacked() {
+        OutboundResponseBatch batch = new OutboundResponseBatch(handler, logger);
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+
+        batch.begin();
+        batch.sendResponse(createDummyOperation(3), "foo");
+        batch.flush();
+
+        assertEquals(1, written.size());
+        MultiResponse expected = new MultiResponse(
+                serializationService.toBytes(new NormalResponse("foo", 3, 0, false)),
+                serializationService.toBytes(new BackupAckResponse(1, false)));
+        assertEquals(List.of(serializationService.toData(expected)), written.get(0));
+        verify(connectionManager, never()).transmit(any(Packet.class), any(Address.class), anyInt());
+    }
+
+    @Test
+    public void drain_whenMemberLeft() {
+        handler.sendBackupAck(connectionManager, thatAddress, 1, false);
+
+        handler.onMemberLeft(thatAddress);
+
+        assertNull(handler.drainBackupAcks(thatAddress));
+    }
+
+    @Test
+    public void toBackupAcksPacket() {
+        Packet packet = handler.toBackupAcksPacket(new long[]{1, Long.MAX_VALUE, 3});
+
+        MultiBackupAckResponse response = serializationService.toObject(packet);
+        assertArrayEquals(new long[]{1, Long.MAX_VALUE, 3}, response.getCallIds());
+    }
+
+    private void runScheduledFlush() {
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), eq(DELAY_MICROS * 1000), eq(NANOSECONDS));
+        flush.getValue().run();
+    }
+
+    private OutboundResponseHandler newHandler(String property, String value) {
+        Properties properties = new Properties();
+        properties.setProperty(BACKUP_ACK_DELAY.getName(), String.valueOf(DELAY_MICROS));
+        properties.setProperty(property, value);
+        OutboundResponseHandler handler = new OutboundResponseHandler(thisAddress, serializationService, logger,
+                new HazelcastProperties(properties), scheduler);
+        backupAcks = handler.getBackupAcks();
+        return handler;
+    }
+
+    private Operation createDummyOperation(long callId) {
+        Operation op = new DummyOperation();
+        setCallId(op, callId);
+        setCallerAddress(op, thatAddress);
+        setConnection(op, connection);
+        return op;
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.ServerConnectionManager;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallerAddress;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setConnection;
+import static com.hazelcast.spi.impl.operationservice.impl.OutboundResponseHandler.MULTI_RESPONSE_MAX_BYTES;
+import static com.hazelcast.spi.impl.operationservice.impl.OutboundResponseHandler.MULTI_RESPONSE_MAX_DELAY;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OutboundResponseBatchTest extends HazelcastTestSupport {
+
+    private final ILogger logger = Logger.getLogger(OutboundResponseBatchTest.class);
+
+    private InternalSerializationService serializationService;
+    private Address thisAddress;
+    private Address thatAddress;
+    private Address otherAddress;
+    private ServerConnectionManager connectionManager;
+    private ServerConnection connection;
+    private ServerConnection otherConnection;
+    private OutboundResponseHandler handler;
+    private OutboundResponseBatch batch;
+    private final List<List<Packet>> written = new CopyOnWriteArrayList<>();
+    private final List<List<Packet>> otherWritten = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setup() throws Exception {
+        thisAddress = new Address("127.0.0.1", 5701);
+        thatAddress = new Address("127.0.0.1", 5702);
+        otherAddress = new Address("127.0.0.1", 5703);
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        connectionManager = mock(ServerConnectionManager.class);
+        connection = mock(ServerConnection.class);
+        otherConnection = mock(ServerConnection.class);
+        when(connection.getConnectionManager()).thenReturn(connectionManager);
+        when(otherConnection.getConnectionManager()).thenReturn(connectionManager);
+        when(connectionManager.get(eq(thatAddress), anyInt())).thenReturn(connection);
+        when(connectionManager.get(eq(otherAddress), anyInt())).thenReturn(otherConnection);
+        when(connectionManager.transmit(any(Packet.class), any(Address.class), anyInt())).thenReturn(true);
+        // the written list is reused by the batch, so it is copied
+        when(connection.writeAll(any())).thenAnswer(invocation -> written.add(List.copyOf(invocation.getArgument(0))));
+        when(otherConnection.writeAll(any())).thenAnswer(invocation -> otherWritten.add(List.copyOf(invocation.getArgument(0))));
+
+        batch = newBatch(MULTI_RESPONSE_MAX_BYTES.getName(), MULTI_RESPONSE_MAX_BYTES.getDefaultValue());
+    }
+
+    @Test
+    public void sendResponse_whenNoBatch_thenTransmitted() {
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+
+        assertEquals(0, batch.size());
+        verify(connectionManager).transmit(any(Packet.class), eq(thatAddress), anyInt());
+    }
+
+    @Test
+    public void sendResponse_whenOtherThread_thenTransmitted() throws Exception {
+        batch.begin();
+
+        spawn(() -> batch.sendResponse(createDummyOperation(1, thatAddress), "foo")).get();
+
+        assertEquals(0, batch.size());
+        verify(connectionManager).transmit(any(Packet.class), eq(thatAddress), anyInt());
+    }
+
+    @Test
+    public void flush_whenSameTarget_thenWrittenAsMultiResponse() {
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendResponse(createDummyOperation(2, thatAddress), "bar");
+        batch.sendResponse(createDummyOperation(3, thatAddress), null);
+        assertEquals(3, batch.size());
+        verify(connectionManager, never()).transmit(any(Packet.class), any(Address.class), anyInt());
+
+        batch.flush();
+
+        Packet packet = single(single(written));
+        assertMultiResponse(packet,
+                new NormalResponse("foo", 1, 0, false),
+                new NormalResponse("bar", 2, 0, false),
+                new NormalResponse(null, 3, 0, false));
+        verify(connectionManager, never()).transmit(any(Packet.class), any(Address.class), anyInt());
+        assertEquals(0, batch.size());
+        assertEquals(1, handler.multiResponsesSent.get());
+        assertEquals(3, handler.multiResponsesSentResponses.get());
+    }
+
+    @Test
+    public void flush_whenMultiResponseDisabled_thenWrittenAtOnce() {
+        batch = newBatch(MULTI_RESPONSE_MAX_BYTES.getName(), "0");
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendResponse(createDummyOperation(2, thatAddress), "bar");
+        batch.sendResponse(createDummyOperation(3, thatAddress), null);
+
+        batch.flush();
+
+        List<Packet> frames = single(written);
+        assertEquals(3, frames.size());
+        assertEquals(serializationService.toData(new NormalResponse("foo", 1, 0, false)), frames.get(0));
+        assertEquals(serializationService.toData(new NormalResponse("bar", 2, 0, false)), frames.get(1));
+        assertEquals(serializationService.toData(new NormalResponse(null, 3, 0, false)), frames.get(2));
+        verify(connectionManager, never()).transmit(any(Packet.class), any(Address.class), anyInt());
+        assertEquals(0, handler.multiResponsesSent.get());
+    }
+
+    @Test
+    public void flush_whenClusterVersionTooLow_thenWrittenAtOnce() {
+        handler = new OutboundResponseHandler(thisAddress, serializationService, logger,
+                new HazelcastProperties((Properties) null), null, () -> false);
+        batch = new OutboundResponseBatch(handler, logger);
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendResponse(createDummyOperation(2, thatAddress), "bar");
+
+        batch.flush();
+
+        List<Packet> frames = single(written);
+        assertEquals(2, frames.size());
+        assertEquals(serializationService.toData(new NormalResponse("foo", 1, 0, false)), frames.get(0));
+        assertEquals(serializationService.toData(new NormalResponse("bar", 2, 0, false)), frames.get(1));
+        assertEquals(0, handler.multiResponsesSent.get());
+    }
+
+    @Test
+    public void flush_whenDifferentTargets_thenWrittenPerTarget() {
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendResponse(createDummyOperation(2, otherAddress), "bar");
+        batch.sendResponse(createDummyOperation(3, thatAddress), "baz");
+        batch.sendResponse(createDummyOperation(4, otherAddress), "qux");
+
+        batch.flush();
+
+        assertMultiResponse(single(single(written)),
+                new NormalResponse("foo", 1, 0, false),
+                new NormalResponse("baz", 3, 0, false));
+        assertMultiResponse(single(single(otherWritten)),
+                new NormalResponse("bar", 2, 0, false),
+                new NormalResponse("qux", 4, 0, false));
+    }
+
+    @Test
+    public void flush_whenUrgentResponse_thenWrittenSeparately() {
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendResponse(createDummyOperation(2, thatAddress), new NormalResponse("bar", 2, 0, true));
+        batch.sendResponse(createDummyOperation(3, thatAddress), "baz");
+
+        batch.flush();
+
+        List<Packet> frames = single(written);
+        assertEquals(2, frames.size());
+        assertEquals(serializationService.toData(new NormalResponse("bar", 2, 0, true)), frames.get(0));
+        assertTrue(frames.get(0).isUrgent());
+        assertMultiResponse(frames.get(1),
+                new NormalResponse("foo", 1, 0, false),
+                new NormalResponse("baz", 3, 0, false));
+    }
+
+    @Test
+    public void flush_whenMaxBytesExceeded_thenMultipleMultiResponses() {
+        int responseBytes = handler.toNormalResponsePacket(1, 0, false, "foo").totalSize();
+        // two responses fit into a multi response
+        int maxBytes = MultiResponse.OFFSET_RESPONSES + 2 * (INT_SIZE_IN_BYTES + responseBytes);
+        batch = newBatch(MULTI_RESPONSE_MAX_BYTES.getName(), String.valueOf(maxBytes));
+        batch.begin();
+        for (int k = 1; k <= 5; k++) {
+            batch.sendResponse(createDummyOperation(k, thatAddress), "foo");
+        }
+
+        batch.flush();
+
+        List<Packet> frames = single(written);
+        assertEquals(3, frames.size());
+        assertMultiResponse(frames.get(0), new NormalResponse("foo", 1, 0, false), new NormalResponse("foo", 2, 0, false));
+        assertMultiResponse(frames.get(1), new NormalResponse("foo", 3, 0, false), new NormalResponse("foo", 4, 0, false));
+        assertEquals(serializationService.toData(new NormalResponse("foo", 5, 0, false)), frames.get(2));
+        assertTrue(frames.get(0).totalSize() <= maxBytes);
+    }
+
+    @Test
+    public void sendResponse_whenMaxDelayExceeded_thenWrittenBeforeFlush() {
+        batch = newBatch(MULTI_RESPONSE_MAX_DELAY.getName(), "0");
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendResponse(createDummyOperation(2, thatAddress), "bar");
+
+        assertEquals(0, batch.size());
+        assertMultiResponse(single(single(written)),
+                new NormalResponse("foo", 1, 0, false),
+                new NormalResponse("bar", 2, 0, false));
+    }
+
+    @Test
+    public void sendBackupAck_whenBatch_thenWrittenWithResponses() {
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendBackupAck(connectionManager, thatAddress, 2, false);
+
+        batch.flush();
+
+        assertMultiResponse(single(single(written)),
+                new NormalResponse("foo", 1, 0, false),
+                new BackupAckResponse(2, false));
+        verify(connectionManager, never()).transmit(any(Packet.class), any(Address.class), anyInt());
+    }
+
+    @Test
+    public void sendBackupAck_whenNoBatch_thenTransmitted() {
+        batch.sendBackupAck(connectionManager, thatAddress, 2, false);
+
+        assertEquals(0, batch.size());
+        verify(connectionManager).transmit(any(Packet.class), eq(thatAddress), anyInt());
+    }
+
+    @Test
+    public void flush_whenSingleResponse_thenTransmitted() {
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+
+        batch.flush();
+
+        verify(connectionManager).transmit(any(Packet.class), eq(thatAddress), anyInt());
+        verify(connection, never()).writeAll(any());
+    }
+
+    @Test
+    public void flush_whenNoConnection_thenTransmitted() {
+        when(connectionManager.get(eq(thatAddress), anyInt())).thenReturn(null);
+
+        batch.begin();
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+        batch.sendResponse(createDummyOperation(2, thatAddress), "bar");
+
+        batch.flush();
+
+        verify(connectionManager, times(2)).transmit(any(Packet.class), eq(thatAddress), anyInt());
+    }
+
+    @Test
+    public void sendResponse_afterFlush_thenTransmitted() {
+        batch.begin();
+        batch.flush();
+
+        batch.sendResponse(createDummyOperation(1, thatAddress), "foo");
+
+        assertEquals(0, batch.size());
+        verify(connectionManager).transmit(any(Packet.class), eq(thatAddress), anyInt());
+    }
+
+    private static <T> T single(List<T> list) {
+        assertEquals(1, list.size());
+        return list.get(0);
+    }
+
+    private void assertMultiResponse(Packet packet, Response... responses) {
+        byte[][] bytes = new byte[responses.length][];
+        for (int k = 0; k < responses.length; k++) {
+            bytes[k] = serializationService.toBytes(responses[k]);
+        }
+        assertEquals(serializationService.toData(new MultiResponse(bytes)), packet);
+        assertFalse(packet.isUrgent());
+    }
+
+    private OutboundResponseBatch newBatch(String property, String value) {
+        Properties properties = new Properties();
+        // the responses are not written before the flush, unless the test configures it
+        properties.setProperty(MULTI_RESPONSE_MAX_DELAY.getName(), String.valueOf(MINUTES.toMicros(1)));
+        properties.setProperty(property, value);
+        handler = new OutboundResponseHandler(thisAddress, serializationService, logger, new HazelcastProperties(properties),
+                null);
+        return new OutboundResponseBatch(handler, logger);
+    }
+
+    private Operation createDummyOperation(long callId, Address caller) {
+        Operation op = new DummyOperation();
+        setCallId(op, callId);
+        setCallerAddress(op, caller);
+        setConnection(op, caller.equals(thatAddress) ? connection : otherConnection);
+        return op;
+    }
+}
@@ -32,6 +32,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.HazelcastParametrizedRunner;
@@ -48,6 +49,7 @@ import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
+import java.util.List;
 
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallerAddress;
@@ -55,6 +57,8 @@ import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setConne
 import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -240,6 +244,28 @@ public class OutboundResponseHandlerTest {
         assertEquals(expected, new HeapData(packet.toByteArray()));
     }
 
+    @Test
+    public void toMultiResponsePacket() {
+        List<Packet> packets = List.of(
+                handler.toNormalResponsePacket(1, 0, false, "foo"),
+                handler.toBackupAckPacket(2, false),
+                handler.toNormalResponsePacket(3, 1, true, null),
+                handler.toNormalResponsePacket(4, 0, false, serializationService.toData("bar")));
+
+        Packet packet = handler.toMultiResponsePacket(packets.subList(1, 4));
+
+        HeapData expected = serializationService.toData(new MultiResponse(
+                packets.get(1).toByteArray(), packets.get(2).toByteArray(), packets.get(3).toByteArray()));
+        assertEquals(expected, new HeapData(packet.toByteArray()));
+        assertTrue(packet.isFlagRaised(Packet.FLAG_OP_RESPONSE));
+        assertFalse(packet.isUrgent());
+
+        MultiResponse response = serializationService.toObject(packet);
+        assertEquals(3, response.getResponses().length);
+        BackupAckResponse backupAck = serializationService.toObject(new HeapData(response.getResponses()[0]));
+        assertEquals(2, backupAck.getCallId());
+    }
+
     static class PortableAddress implements Portable {
 
         private String street;